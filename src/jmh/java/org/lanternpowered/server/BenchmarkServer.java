@@ -0,0 +1,104 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import joptsimple.OptionParser;
+import org.lanternpowered.server.inject.LanternModule;
+import org.lanternpowered.server.world.LanternWorld;
+import org.lanternpowered.server.world.LanternWorldManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.world.storage.WorldProperties;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Bootstraps a {@link LanternServer} for benchmarks that depend on the
+ * game registries or a {@link LanternWorld}. The game is initialized
+ * and the worlds are loaded, but the network isn't bound and the server
+ * doesn't tick. All the files are written to the working directory.
+ */
+public final class BenchmarkServer {
+
+    @Nullable private static LanternServer server;
+
+    /**
+     * Gets the {@link LanternServer}, bootstraps it the first time.
+     *
+     * @return The server
+     */
+    public static synchronized LanternServer get() {
+        if (server == null) {
+            final Logger logger = LoggerFactory.getLogger("benchmark");
+            final OptionParser optionParser = new OptionParser();
+            optionParser.allowsUnrecognizedOptions();
+
+            final LanternModule module = new LanternModule(logger, new String[0], optionParser);
+            final Injector injector = Guice.createInjector(Stage.DEVELOPMENT, module);
+
+            final LanternServer lanternServer = injector.getInstance(LanternServer.class);
+            lanternServer.initialize();
+            try {
+                lanternServer.getWorldManager().init();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load the worlds.", e);
+            }
+            server = lanternServer;
+        }
+        return server;
+    }
+
+    /**
+     * Gets the default {@link LanternWorld}, bootstraps the server the first time.
+     *
+     * @return The default world
+     */
+    public static LanternWorld getDefaultWorld() {
+        final LanternWorldManager worldManager = get().getWorldManager();
+        final WorldProperties properties = worldManager.getDefaultWorld()
+                .orElseThrow(() -> new IllegalStateException("The default world properties aren't loaded."));
+        return (LanternWorld) worldManager.getWorld(properties.getUniqueId())
+                .orElseThrow(() -> new IllegalStateException("The default world isn't loaded."));
+    }
+
+    /**
+     * Unloads the worlds and stops the world threads, if the
+     * server was bootstrapped.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.getWorldManager().shutdown();
+        }
+    }
+
+    private BenchmarkServer() {
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data;
+
+import static org.lanternpowered.server.data.key.LanternKeyFactory.makeValueKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.mutable.Value;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the value lookups of a {@link IValueContainer} with a
+ * realistic amount of registered keys, like a living entity has.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueContainerBenchmark {
+
+    private static final int KEYS = 40;
+
+    private BenchmarkValueContainer valueContainer;
+    private Key<Value<Integer>> presentKey;
+    private Key<Value<Integer>> absentKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.valueContainer = new BenchmarkValueContainer();
+        for (int i = 0; i < KEYS; i++) {
+            final Key<Value<Integer>> key = makeValueKey(Integer.class, DataQuery.of("Value" + i), "benchmark:value_" + i);
+            this.valueContainer.getValueCollection().register(key, i);
+            if (i == KEYS / 2) {
+                this.presentKey = key;
+            }
+        }
+        this.absentKey = makeValueKey(Integer.class, DataQuery.of("Absent"), "benchmark:absent");
+    }
+
+    @Benchmark
+    public Optional<Integer> getPresent() {
+        return this.valueContainer.get(this.presentKey);
+    }
+
+    @Benchmark
+    public Integer getOrNullPresent() {
+        return this.valueContainer.getOrNull(this.presentKey);
+    }
+
+    @Benchmark
+    public Optional<Integer> getAbsent() {
+        return this.valueContainer.get(this.absentKey);
+    }
+
+    @Benchmark
+    public boolean supportsPresent() {
+        return this.valueContainer.supports(this.presentKey);
+    }
+
+    private static final class BenchmarkValueContainer implements IValueContainer<BenchmarkValueContainer> {
+
+        private final ValueCollection valueCollection;
+
+        BenchmarkValueContainer() {
+            this(ValueCollection.create());
+        }
+
+        private BenchmarkValueContainer(ValueCollection valueCollection) {
+            this.valueCollection = valueCollection;
+        }
+
+        @Override
+        public ValueCollection getValueCollection() {
+            return this.valueCollection;
+        }
+
+        @Override
+        public BenchmarkValueContainer copy() {
+            return new BenchmarkValueContainer(this.valueCollection.copy());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.persistence.nbt;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates nbt samples that match the structure and
+ * sizes of the data that is stored by vanilla minecraft.
+ */
+final class NbtSamples {
+
+    private static final Random RANDOM = new Random(9872140913L);
+
+    /**
+     * Creates a sample of a chunk with all the sections populated.
+     *
+     * @return The chunk sample
+     */
+    static DataContainer createChunk() {
+        final DataContainer container = DataContainer.createNew();
+        container.set(DataQuery.of("DataVersion"), 1343);
+        final DataView level = container.createView(DataQuery.of("Level"));
+        level.set(DataQuery.of("xPos"), 12);
+        level.set(DataQuery.of("zPos"), -7);
+        level.set(DataQuery.of("LastUpdate"), 785412L);
+        level.set(DataQuery.of("InhabitedTime"), 4210L);
+        level.set(DataQuery.of("TerrainPopulated"), (byte) 1);
+        level.set(DataQuery.of("LightPopulated"), (byte) 1);
+        level.set(DataQuery.of("Biomes"), randomBytes(256));
+        final int[] heightMap = new int[256];
+        Arrays.fill(heightMap, 64);
+        level.set(DataQuery.of("HeightMap"), heightMap);
+        final List<DataView> sections = new ArrayList<>();
+        for (int y = 0; y < 16; y++) {
+            final DataContainer section = DataContainer.createNew();
+            section.set(DataQuery.of("Y"), (byte) y);
+            section.set(DataQuery.of("Blocks"), randomBytes(4096));
+            section.set(DataQuery.of("Data"), randomBytes(2048));
+            section.set(DataQuery.of("BlockLight"), randomBytes(2048));
+            section.set(DataQuery.of("SkyLight"), randomBytes(2048));
+            sections.add(section);
+        }
+        level.set(DataQuery.of("Sections"), sections);
+        final List<DataView> entities = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            entities.add(createEntity("minecraft:cow"));
+        }
+        level.set(DataQuery.of("Entities"), entities);
+        final List<DataView> tileEntities = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DataContainer tileEntity = DataContainer.createNew();
+            tileEntity.set(DataQuery.of("id"), "minecraft:chest");
+            tileEntity.set(DataQuery.of("x"), 192 + i);
+            tileEntity.set(DataQuery.of("y"), 64);
+            tileEntity.set(DataQuery.of("z"), -112);
+            tileEntity.set(DataQuery.of("Items"), createItems(27));
+            tileEntities.add(tileEntity);
+        }
+        level.set(DataQuery.of("TileEntities"), tileEntities);
+        return container;
+    }
+
+    /**
+     * Creates a sample of a player with a full inventory.
+     *
+     * @return The player sample
+     */
+    static DataContainer createPlayer() {
+        final DataContainer container = createEntity("minecraft:player");
+        container.set(DataQuery.of("DataVersion"), 1343);
+        container.set(DataQuery.of("Dimension"), 0);
+        container.set(DataQuery.of("playerGameType"), 0);
+        container.set(DataQuery.of("SelectedItemSlot"), 3);
+        container.set(DataQuery.of("XpLevel"), 30);
+        container.set(DataQuery.of("XpP"), 0.25f);
+        container.set(DataQuery.of("XpTotal"), 1395);
+        container.set(DataQuery.of("foodLevel"), 20);
+        container.set(DataQuery.of("foodSaturationLevel"), 5.0f);
+        container.set(DataQuery.of("Inventory"), createItems(36));
+        container.set(DataQuery.of("EnderItems"), createItems(27));
+        final DataView abilities = container.createView(DataQuery.of("abilities"));
+        abilities.set(DataQuery.of("flying"), (byte) 0);
+        abilities.set(DataQuery.of("flySpeed"), 0.05f);
+        abilities.set(DataQuery.of("walkSpeed"), 0.1f);
+        abilities.set(DataQuery.of("mayfly"), (byte) 0);
+        return container;
+    }
+
+    /**
+     * Creates a sample of a enchanted and named item.
+     *
+     * @return The item sample
+     */
+    static DataContainer createItem() {
+        return createItem(0);
+    }
+
+    private static DataContainer createEntity(String id) {
+        final DataContainer entity = DataContainer.createNew();
+        final UUID uniqueId = new UUID(RANDOM.nextLong(), RANDOM.nextLong());
+        entity.set(DataQuery.of("id"), id);
+        entity.set(DataQuery.of("UUIDMost"), uniqueId.getMostSignificantBits());
+        entity.set(DataQuery.of("UUIDLeast"), uniqueId.getLeastSignificantBits());
+        entity.set(DataQuery.of("Pos"), Arrays.asList(RANDOM.nextDouble() * 1000, 64.0, RANDOM.nextDouble() * 1000));
+        entity.set(DataQuery.of("Motion"), Arrays.asList(0.0, -0.0784000015258789, 0.0));
+        entity.set(DataQuery.of("Rotation"), Arrays.asList(RANDOM.nextFloat() * 360f, 0f));
+        entity.set(DataQuery.of("FallDistance"), 0f);
+        entity.set(DataQuery.of("Fire"), (short) -20);
+        entity.set(DataQuery.of("Air"), (short) 300);
+        entity.set(DataQuery.of("OnGround"), (byte) 1);
+        entity.set(DataQuery.of("Health"), 20f);
+        final List<DataView> attributes = new ArrayList<>();
+        for (String name : new String[] { "generic.maxHealth", "generic.movementSpeed", "generic.armor" }) {
+            final DataContainer attribute = DataContainer.createNew();
+            attribute.set(DataQuery.of("Name"), name);
+            attribute.set(DataQuery.of("Base"), RANDOM.nextDouble());
+            attributes.add(attribute);
+        }
+        entity.set(DataQuery.of("Attributes"), attributes);
+        return entity;
+    }
+
+    private static List<DataView> createItems(int count) {
+        final List<DataView> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(createItem(i));
+        }
+        return items;
+    }
+
+    private static DataContainer createItem(int slot) {
+        final DataContainer item = DataContainer.createNew();
+        item.set(DataQuery.of("Slot"), (byte) slot);
+        item.set(DataQuery.of("id"), "minecraft:diamond_sword");
+        item.set(DataQuery.of("Count"), (byte) 1);
+        item.set(DataQuery.of("Damage"), (short) RANDOM.nextInt(1561));
+        final DataView tag = item.createView(DataQuery.of("tag"));
+        final DataView display = tag.createView(DataQuery.of("display"));
+        display.set(DataQuery.of("Name"), "Sword of Benchmarking #" + slot);
+        display.set(DataQuery.of("Lore"), Arrays.asList("A sword forged", "in the fires of JMH"));
+        final List<DataView> enchantments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final DataContainer enchantment = DataContainer.createNew();
+            enchantment.set(DataQuery.of("id"), (short) (16 + i));
+            enchantment.set(DataQuery.of("lvl"), (short) (1 + RANDOM.nextInt(5)));
+            enchantments.add(enchantment);
+        }
+        tag.set(DataQuery.of("ench"), enchantments);
+        tag.set(DataQuery.of("Unbreakable"), true);
+        return item;
+    }
+
+    private static byte[] randomBytes(int length) {
+        final byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    private NbtSamples() {
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.persistence.nbt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the nbt stream codec with player, chunk and item data, both
+ * for the stream based variant (used by the world io) and the buffer based
+ * variant (used by the network).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NbtStreamBenchmark {
+
+    @Param({ "chunk", "player", "item" })
+    public String sample;
+
+    private DataContainer container;
+    private byte[] bytes;
+    private ByteBuf byteBuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        switch (this.sample) {
+            case "chunk":
+                this.container = NbtSamples.createChunk();
+                break;
+            case "player":
+                this.container = NbtSamples.createPlayer();
+                break;
+            case "item":
+                this.container = NbtSamples.createItem();
+                break;
+            default:
+                throw new IllegalStateException("Unknown sample: " + this.sample);
+        }
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(baos)) {
+            output.write(this.container);
+        }
+        this.bytes = baos.toByteArray();
+        this.byteBuf = Unpooled.directBuffer(this.bytes.length * 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.byteBuf.release();
+    }
+
+    @Benchmark
+    public DataContainer readStream() throws IOException {
+        try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(new ByteArrayInputStream(this.bytes))) {
+            return input.read();
+        }
+    }
+
+    @Benchmark
+    public DataContainer readByteBuf() throws IOException {
+        this.byteBuf.clear().writeBytes(this.bytes);
+        try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(this.byteBuf)) {
+            return input.read();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeStream() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(this.bytes.length);
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(baos)) {
+            output.write(this.container);
+        }
+        return baos.toByteArray();
+    }
+
+    @Benchmark
+    public int writeByteBuf() throws IOException {
+        this.byteBuf.clear();
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(this.byteBuf)) {
+            output.write(this.container);
+        }
+        return this.byteBuf.writerIndex();
+    }
+}
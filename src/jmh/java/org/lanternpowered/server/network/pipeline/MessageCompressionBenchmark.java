@@ -0,0 +1,112 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network.pipeline;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link MessageCompressionHandler} with payloads that compress
+ * about as well as real chunk and entity messages. Payloads that are smaller
+ * than the threshold measure the pass through path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCompressionBenchmark {
+
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    @Param({ "64", "1024", "16384", "131072" })
+    private int payloadSize;
+
+    private EmbeddedChannel channel;
+    private ByteBuf payload;
+    private ByteBuf compressed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Mostly small values with long runs of zeros, like
+        // block types, light values and entity metadata
+        final Random random = new Random(0L);
+        final byte[] data = new byte[this.payloadSize];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(4) == 0 ? 0 : (byte) random.nextInt(16);
+        }
+        this.payload = Unpooled.directBuffer(data.length).writeBytes(data);
+        this.channel = new EmbeddedChannel(new MessageCompressionHandler(COMPRESSION_THRESHOLD));
+
+        this.channel.writeOutbound(this.payload.retainedDuplicate());
+        final ByteBuf encoded = this.channel.readOutbound();
+        this.compressed = Unpooled.directBuffer(encoded.readableBytes()).writeBytes(encoded);
+        encoded.release();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.channel.finishAndReleaseAll();
+        this.payload.release();
+        this.compressed.release();
+    }
+
+    @Benchmark
+    public int encode() {
+        this.channel.writeOutbound(this.payload.retainedDuplicate());
+        final ByteBuf encoded = this.channel.readOutbound();
+        final int length = encoded.readableBytes();
+        encoded.release();
+        return length;
+    }
+
+    @Benchmark
+    public int decode() {
+        this.channel.writeInbound(this.compressed.retainedDuplicate());
+        final ByteBuf decoded = this.channel.readInbound();
+        final int length = decoded.readableBytes();
+        decoded.release();
+        return length;
+    }
+}
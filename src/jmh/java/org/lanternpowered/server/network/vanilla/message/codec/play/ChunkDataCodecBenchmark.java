@@ -0,0 +1,107 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network.vanilla.message.codec.play;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import org.lanternpowered.server.network.buffer.ByteBuffer;
+import org.lanternpowered.server.network.buffer.LanternByteBufferAllocator;
+import org.lanternpowered.server.network.message.codec.CodecContext;
+import org.lanternpowered.server.network.message.codec.SimpleCodecContext;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutChunkData;
+import org.lanternpowered.server.util.collect.array.VariableValueArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the encoding of a {@link MessagePlayOutChunkData} with a
+ * varying amount of filled chunk sections, using a local palette.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDataCodecBenchmark {
+
+    private static final int SECTION_SIZE = 4096;
+    private static final int BITS_PER_VALUE = 4;
+
+    @Param({ "1", "4", "16" })
+    private int sectionCount;
+
+    private final CodecPlayOutChunkData codec = new CodecPlayOutChunkData();
+    private CodecContext context;
+    private MessagePlayOutChunkData message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.context = new SimpleCodecContext(new LanternByteBufferAllocator(PooledByteBufAllocator.DEFAULT), null, null);
+
+        final Random random = new Random(0L);
+        final MessagePlayOutChunkData.Section[] sections = new MessagePlayOutChunkData.Section[16];
+        for (int i = 0; i < this.sectionCount; i++) {
+            final VariableValueArray types = new VariableValueArray(BITS_PER_VALUE, SECTION_SIZE);
+            final int[] palette = new int[1 << BITS_PER_VALUE];
+            for (int j = 0; j < palette.length; j++) {
+                palette[j] = j << 4;
+            }
+            for (int j = 0; j < SECTION_SIZE; j++) {
+                types.set(j, random.nextInt(palette.length));
+            }
+            final byte[] blockLight = new byte[SECTION_SIZE / 2];
+            final byte[] skyLight = new byte[SECTION_SIZE / 2];
+            random.nextBytes(blockLight);
+            random.nextBytes(skyLight);
+            sections[i] = new MessagePlayOutChunkData.Section(types, palette, blockLight, skyLight, new Short2ObjectOpenHashMap<>());
+        }
+        final byte[] biomes = new byte[256];
+        random.nextBytes(biomes);
+        this.message = new MessagePlayOutChunkData(0, 0, true, sections, biomes);
+    }
+
+    @Benchmark
+    public int encode() {
+        final ByteBuffer buf = this.codec.encode(this.context, this.message);
+        final int length = buf.writerIndex();
+        buf.release();
+        return length;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util.collect.array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks full passes over the {@link VariableValueArray} and {@link NibbleArray}
+ * of a chunk section, the way they are accessed when sections are encoded or lit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark {
+
+    // The amount of blocks in a chunk section
+    private static final int SIZE = 4096;
+
+    @Param({ "4", "5", "8", "13" })
+    private int bitsPerValue;
+
+    private VariableValueArray valueArray;
+    private NibbleArray nibbleArray;
+    private int[] values;
+    private byte[] nibbles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(0L);
+        final int maxValue = (1 << this.bitsPerValue) - 1;
+        this.values = new int[SIZE];
+        this.nibbles = new byte[SIZE];
+        this.valueArray = new VariableValueArray(this.bitsPerValue, SIZE);
+        this.nibbleArray = new NibbleArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = random.nextInt(maxValue + 1);
+            this.nibbles[i] = (byte) random.nextInt(16);
+            this.valueArray.set(i, this.values[i]);
+            this.nibbleArray.set(i, this.nibbles[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void variableValueArrayGet(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.valueArray.get(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public VariableValueArray variableValueArraySet() {
+        for (int i = 0; i < SIZE; i++) {
+            this.valueArray.set(i, this.values[i]);
+        }
+        return this.valueArray;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void nibbleArrayGet(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(this.nibbleArray.get(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public NibbleArray nibbleArraySet() {
+        for (int i = 0; i < SIZE; i++) {
+            this.nibbleArray.set(i, this.nibbles[i]);
+        }
+        return this.nibbleArray;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import org.lanternpowered.server.BenchmarkServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the block access of a {@link LanternChunk} that is filled with
+ * generated terrain. The game is bootstrapped through the {@link BenchmarkServer},
+ * the chunk is created for the default world but isn't added to its chunk manager.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkBenchmark {
+
+    // The amount of positions that are visited, a power of two
+    private static final int POSITIONS = 4096;
+
+    private static final int AIR = 0;
+    private static final int STONE = 1;
+    private static final int ORE = 2;
+    private static final int DIRT = 3;
+    private static final int GRASS = 4;
+
+    private final BlockState[] states = new BlockState[5];
+    private final int[] positions = new int[POSITIONS];
+    private LanternChunk chunk;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.states[AIR] = BlockTypes.AIR.getDefaultState();
+        this.states[STONE] = BlockTypes.STONE.getDefaultState();
+        this.states[ORE] = BlockTypes.COAL_ORE.getDefaultState();
+        this.states[DIRT] = BlockTypes.DIRT.getDefaultState();
+        this.states[GRASS] = BlockTypes.GRASS.getDefaultState();
+
+        this.chunk = new LanternChunk(BenchmarkServer.getDefaultWorld(), 0, 0);
+        this.chunk.initializeEmpty();
+
+        // Stone with some ores, covered by a few layers of dirt and grass
+        final Random random = new Random(0L);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y <= 64; y++) {
+                    final int state;
+                    if (y < 60) {
+                        state = random.nextInt(20) == 0 ? ORE : STONE;
+                    } else if (y < 64) {
+                        state = DIRT;
+                    } else {
+                        state = GRASS;
+                    }
+                    this.chunk.setBlock(x, y, z, this.states[state]);
+                }
+            }
+        }
+
+        // Random positions, mostly within the terrain and some above it
+        for (int i = 0; i < POSITIONS; i++) {
+            this.positions[i] = random.nextInt(16) | random.nextInt(16) << 4 | random.nextInt(96) << 8;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    private int nextPosition() {
+        return this.positions[this.index++ & (POSITIONS - 1)];
+    }
+
+    @Benchmark
+    public short getType() {
+        final int position = nextPosition();
+        return this.chunk.getType(position & 0xf, position >> 8, (position >> 4) & 0xf);
+    }
+
+    @Benchmark
+    public boolean setBlock() {
+        final int position = nextPosition();
+        // Cycle through the solid states, so that every call changes the block
+        final BlockState state = this.states[STONE + (this.index & 3)];
+        return this.chunk.setBlock(position & 0xf, position >> 8, (position >> 4) & 0xf, state);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public void setBlockEditSession() {
+        try (ChunkBlockEditSession session = this.chunk.newBlockEditSession()) {
+            for (int i = 0; i < POSITIONS; i++) {
+                final int position = this.positions[i];
+                final BlockState state = this.states[STONE + ((this.index + i) & 3)];
+                session.setBlock(position & 0xf, position >> 8, (position >> 4) & 0xf, state);
+            }
+        }
+        this.index++;
+    }
+}
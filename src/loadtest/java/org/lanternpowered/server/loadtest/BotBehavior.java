@@ -0,0 +1,89 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+/**
+ * The scripted patterns that a bot can follow.
+ */
+enum BotBehavior {
+    /**
+     * The bot only responds to keep alive and teleport messages.
+     */
+    IDLE        (false, false, false, false),
+    /**
+     * The bot walks around in random directions, close to its spawn.
+     */
+    WALK        (true, false, false, false),
+    /**
+     * The bot flies in large circles above its spawn, this
+     * constantly loads new chunks.
+     */
+    FLY         (false, true, false, false),
+    /**
+     * The bot stands still and sends chat messages.
+     */
+    CHAT        (false, false, true, false),
+    /**
+     * The bot stands still and breaks the block below it.
+     */
+    DIG         (false, false, false, true),
+    /**
+     * The bot walks around, sends chat messages and breaks blocks.
+     */
+    ALL         (true, false, true, true),
+    /**
+     * A mix of the other behaviors, see {@link #forBot(int)}.
+     */
+    MIXED       (false, false, false, false),
+    ;
+
+    // The distribution of the mixed behaviors, repeated every 10 bots
+    private static final BotBehavior[] MIXED_BEHAVIORS = {
+            WALK, WALK, WALK, WALK, FLY, FLY, CHAT, DIG, ALL, IDLE
+    };
+
+    final boolean walk;
+    final boolean fly;
+    final boolean chat;
+    final boolean dig;
+
+    BotBehavior(boolean walk, boolean fly, boolean chat, boolean dig) {
+        this.walk = walk;
+        this.fly = fly;
+        this.chat = chat;
+        this.dig = dig;
+    }
+
+    /**
+     * Gets the behavior of the bot with the given index.
+     *
+     * @param index The index of the bot
+     * @return The behavior
+     */
+    BotBehavior forBot(int index) {
+        return this == MIXED ? MIXED_BEHAVIORS[index % MIXED_BEHAVIORS.length] : this;
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector3i;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.ScheduledFuture;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.buffer.LanternByteBufferAllocator;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.network.message.codec.SimpleCodecContext;
+import org.lanternpowered.server.network.pipeline.MessageCompressionHandler;
+import org.lanternpowered.server.network.pipeline.MessageFramingHandler;
+import org.lanternpowered.server.network.pipeline.NoopHandler;
+import org.lanternpowered.server.network.protocol.Protocol;
+import org.lanternpowered.server.network.protocol.ProtocolState;
+import org.lanternpowered.server.network.vanilla.message.type.connection.MessageInOutKeepAlive;
+import org.lanternpowered.server.network.vanilla.message.type.handshake.MessageHandshakeIn;
+import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginInStart;
+import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginOutSetCompression;
+import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginOutSuccess;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInChatMessage;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInPlayerAbilities;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInPlayerDigging;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInPlayerMovement;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInPlayerMovementAndLook;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInTeleportConfirm;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutPlayerPositionAndLook;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutUnloadChunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.util.Direction;
+import org.spongepowered.api.util.RelativePositions;
+
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A simulated client that joins the server in offline mode and
+ * follows a scripted {@link BotBehavior}. All the state of the bot
+ * is only accessed from the event loop of its channel.
+ */
+final class BotClient extends SimpleChannelInboundHandler<Message> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BotClient.class);
+
+    // The speeds in blocks per tick, the same as the vanilla client
+    private static final double WALK_SPEED = 0.2158;
+    private static final double FLY_SPEED = 0.546;
+
+    // How far a walking bot may go from its spawn before it turns back
+    private static final double WANDER_RADIUS = 64.0;
+
+    // How high a flying bot flies above its spawn
+    private static final double FLY_HEIGHT = 16.0;
+
+    // The ticks between the starts of breaking blocks and how long it takes
+    private static final int DIG_INTERVAL = 100;
+    private static final int DIG_DURATION = 20;
+
+    // The ticks between idle position updates, the same as the vanilla client
+    private static final int IDLE_POSITION_INTERVAL = 20;
+
+    private static final long NO_REQUEST = Long.MIN_VALUE;
+
+    private final LoadTest.Settings settings;
+    private final LoadTestMetrics metrics;
+    private final String name;
+    private final BotBehavior behavior;
+    private final Random random;
+
+    // The chunks that should be received, with the time that they became visible
+    private final Long2LongOpenHashMap pendingChunks = new Long2LongOpenHashMap();
+    private final LongOpenHashSet loadedChunks = new LongOpenHashSet();
+
+    @Nullable private volatile Channel channel;
+    @Nullable private BotCodecHandler codecHandler;
+    @Nullable private ScheduledFuture<?> tickTask;
+
+    private long connectTime;
+    private long loginTime;
+    private boolean playing;
+    private boolean positioned;
+    private volatile boolean stopping;
+
+    private double x;
+    private double y;
+    private double z;
+    private float yaw;
+    private float pitch;
+
+    private double spawnX;
+    private double spawnY;
+    private double spawnZ;
+
+    private int chunkX;
+    private int chunkZ;
+
+    private int ticks;
+    private int walkTicks;
+    private double flyRadius;
+    private double flyAngle;
+    private int chatMessages;
+    private int actionOffset;
+    @Nullable private Vector3i digPosition;
+    private int digTicks;
+
+    BotClient(LoadTest.Settings settings, LoadTestMetrics metrics, int index) {
+        this.settings = settings;
+        this.metrics = metrics;
+        this.name = settings.namePrefix + index;
+        this.behavior = settings.behavior.forBot(index);
+        this.random = new Random(settings.seed + index);
+        this.pendingChunks.defaultReturnValue(NO_REQUEST);
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Connects the bot to the server.
+     *
+     * @param bootstrap The bootstrap with the event loop group and channel options
+     * @param address The address of the server
+     * @return The connect future
+     */
+    ChannelFuture connect(Bootstrap bootstrap, InetSocketAddress address) {
+        this.connectTime = System.nanoTime();
+        return bootstrap.clone()
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) throws Exception {
+                        final BotCodecHandler codecHandler = new BotCodecHandler(
+                                new SimpleCodecContext(new LanternByteBufferAllocator(ch.alloc()), ch, null));
+                        BotClient.this.codecHandler = codecHandler;
+                        ch.pipeline()
+                                .addLast(new TrafficCounter(BotClient.this.metrics))
+                                .addLast(NetworkSession.FRAMING, new MessageFramingHandler())
+                                .addLast(NetworkSession.COMPRESSION, NoopHandler.INSTANCE)
+                                .addLast(NetworkSession.CODECS, codecHandler)
+                                .addLast(NetworkSession.HANDLER, BotClient.this);
+                    }
+                })
+                .connect(address);
+    }
+
+    /**
+     * Disconnects the bot from the server.
+     */
+    void stop() {
+        this.stopping = true;
+        final Channel channel = this.channel;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        this.channel = ctx.channel();
+        final InetSocketAddress address = (InetSocketAddress) ctx.channel().remoteAddress();
+        ctx.write(new MessageHandshakeIn(ProtocolState.LOGIN.getId(), address.getHostString(),
+                address.getPort(), Protocol.CURRENT_VERSION));
+        this.codecHandler.setProtocolState(ProtocolState.LOGIN);
+        ctx.writeAndFlush(new MessageLoginInStart(this.name));
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (this.tickTask != null) {
+            this.tickTask.cancel(false);
+        }
+        if (this.playing) {
+            this.playing = false;
+            this.metrics.playingBots.decrementAndGet();
+        }
+        if (!this.stopping) {
+            if (this.positioned) {
+                this.metrics.disconnectedBots.incrementAndGet();
+            } else {
+                this.metrics.failedBots.incrementAndGet();
+            }
+            logger.warn("The bot {} was disconnected by the server.", this.name);
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        logger.error("An error occurred in the connection of the bot {}", this.name, cause);
+        ctx.close();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Message message) throws Exception {
+        if (message instanceof ChunkDataHeader) {
+            final ChunkDataHeader header = (ChunkDataHeader) message;
+            if (header.isFullChunk()) {
+                handleChunk(header.getX(), header.getZ());
+            }
+        } else if (message instanceof MessagePlayOutUnloadChunk) {
+            final MessagePlayOutUnloadChunk unloadChunk = (MessagePlayOutUnloadChunk) message;
+            this.loadedChunks.remove(chunkKey(unloadChunk.getX(), unloadChunk.getZ()));
+        } else if (message instanceof MessageInOutKeepAlive) {
+            ctx.writeAndFlush(message);
+        } else if (message instanceof MessagePlayOutPlayerPositionAndLook) {
+            handleTeleport((MessagePlayOutPlayerPositionAndLook) message);
+        } else if (message instanceof MessageLoginOutSetCompression) {
+            final int threshold = ((MessageLoginOutSetCompression) message).getThreshold();
+            ctx.pipeline().replace(NetworkSession.COMPRESSION, NetworkSession.COMPRESSION, new MessageCompressionHandler(threshold));
+        } else if (message instanceof MessageLoginOutSuccess) {
+            this.codecHandler.setProtocolState(ProtocolState.PLAY);
+            this.loginTime = System.nanoTime();
+            this.playing = true;
+            this.metrics.playingBots.incrementAndGet();
+            this.tickTask = ctx.channel().eventLoop().scheduleAtFixedRate(this::tick,
+                    LoadTest.TICK_DURATION, LoadTest.TICK_DURATION, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void handleTeleport(MessagePlayOutPlayerPositionAndLook message) {
+        final Set<RelativePositions> relativePositions = message.getRelativePositions();
+        this.x = relativePositions.contains(RelativePositions.X) ? this.x + message.getX() : message.getX();
+        this.y = relativePositions.contains(RelativePositions.Y) ? this.y + message.getY() : message.getY();
+        this.z = relativePositions.contains(RelativePositions.Z) ? this.z + message.getZ() : message.getZ();
+        this.yaw = relativePositions.contains(RelativePositions.YAW) ? this.yaw + message.getYaw() : message.getYaw();
+        this.pitch = relativePositions.contains(RelativePositions.PITCH) ? this.pitch + message.getPitch() : message.getPitch();
+
+        final Channel channel = this.channel;
+        channel.write(new MessagePlayInTeleportConfirm(message.getTeleportId()));
+        channel.write(new MessagePlayInPlayerMovementAndLook(this.x, this.y, this.z, this.yaw, this.pitch, false));
+
+        if (!this.positioned) {
+            this.positioned = true;
+            this.spawnX = this.x;
+            this.spawnY = this.y;
+            this.spawnZ = this.z;
+            this.flyRadius = 64.0 + this.random.nextInt(192);
+            this.actionOffset = this.random.nextInt(1000);
+            if (this.behavior.fly) {
+                channel.write(new MessagePlayInPlayerAbilities(true));
+            }
+            this.metrics.joinedBots.incrementAndGet();
+            this.metrics.loginLatencies.add(toMillis(System.nanoTime() - this.connectTime));
+            // All the chunks around the spawn are requested by the login
+            enterChunk(GenericMath.floor(this.x) >> 4, GenericMath.floor(this.z) >> 4, this.loginTime);
+        }
+        channel.flush();
+    }
+
+    private void handleChunk(int x, int z) {
+        final long now = System.nanoTime();
+        final long key = chunkKey(x, z);
+        this.loadedChunks.add(key);
+        if (!this.positioned) {
+            // The chunks that are sent before the spawn position
+            this.metrics.joinChunkLatencies.add(toMillis(now - this.loginTime));
+            return;
+        }
+        final long requestTime = this.pendingChunks.remove(key);
+        if (requestTime == NO_REQUEST) {
+            return;
+        }
+        if (requestTime == this.loginTime) {
+            this.metrics.joinChunkLatencies.add(toMillis(now - requestTime));
+        } else {
+            this.metrics.movementChunkLatencies.add(toMillis(now - requestTime));
+        }
+    }
+
+    /**
+     * Updates the chunk the bot is located in, all the chunks that became
+     * visible are expected to be sent by the server.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param time The time that the chunks became visible
+     */
+    private void enterChunk(int chunkX, int chunkZ, long time) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        final int radius = this.settings.viewDistance;
+        // The chunks that are no longer visible won't be sent
+        final LongIterator it = this.pendingChunks.keySet().iterator();
+        while (it.hasNext()) {
+            final long key = it.nextLong();
+            if (Math.abs((int) (key >> 32) - chunkX) > radius || Math.abs((int) key - chunkZ) > radius) {
+                it.remove();
+            }
+        }
+        for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                final long key = chunkKey(x, z);
+                if (!this.loadedChunks.contains(key) && !this.pendingChunks.containsKey(key)) {
+                    this.pendingChunks.put(key, time);
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        if (!this.positioned) {
+            return;
+        }
+        this.ticks++;
+        final Channel channel = this.channel;
+        if (this.behavior.walk || this.behavior.fly) {
+            if (this.behavior.walk) {
+                walk();
+            } else {
+                fly();
+            }
+            channel.write(new MessagePlayInPlayerMovementAndLook(this.x, this.y, this.z, this.yaw, this.pitch, this.behavior.walk));
+            final int chunkX = GenericMath.floor(this.x) >> 4;
+            final int chunkZ = GenericMath.floor(this.z) >> 4;
+            if (chunkX != this.chunkX || chunkZ != this.chunkZ) {
+                enterChunk(chunkX, chunkZ, System.nanoTime());
+            }
+        } else if (this.ticks % IDLE_POSITION_INTERVAL == 0) {
+            channel.write(new MessagePlayInPlayerMovement(this.x, this.y, this.z, true));
+        }
+        if (this.behavior.chat && (this.ticks + this.actionOffset) % this.settings.chatInterval == 0) {
+            channel.write(new MessagePlayInChatMessage("Load test message #" + ++this.chatMessages + " from " + this.name));
+        }
+        if (this.behavior.dig) {
+            dig();
+        }
+        channel.flush();
+    }
+
+    private void walk() {
+        if (--this.walkTicks <= 0) {
+            this.walkTicks = 40 + this.random.nextInt(60);
+            final double dx = this.spawnX - this.x;
+            final double dz = this.spawnZ - this.z;
+            if (dx * dx + dz * dz > WANDER_RADIUS * WANDER_RADIUS) {
+                // Turn back to the spawn
+                this.yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
+            } else {
+                this.yaw = this.random.nextFloat() * 360f;
+            }
+        }
+        final double yaw = Math.toRadians(this.yaw);
+        this.x -= Math.sin(yaw) * WALK_SPEED;
+        this.z += Math.cos(yaw) * WALK_SPEED;
+    }
+
+    private void fly() {
+        // Ascend above the spawn before flying in circles
+        final double flyY = this.spawnY + FLY_HEIGHT;
+        if (this.y < flyY) {
+            this.y = Math.min(this.y + FLY_SPEED, flyY);
+            return;
+        }
+        // The circle passes through the spawn, the start position
+        this.flyAngle += FLY_SPEED / this.flyRadius;
+        this.x = this.spawnX - this.flyRadius + Math.cos(this.flyAngle) * this.flyRadius;
+        this.z = this.spawnZ + Math.sin(this.flyAngle) * this.flyRadius;
+        this.yaw = (float) Math.toDegrees(this.flyAngle);
+    }
+
+    private void dig() {
+        if (this.digPosition == null) {
+            if ((this.ticks + this.actionOffset) % DIG_INTERVAL == 0) {
+                // Break the block below the bot
+                this.digPosition = new Vector3i(GenericMath.floor(this.x), GenericMath.floor(this.y) - 1, GenericMath.floor(this.z));
+                this.digTicks = 0;
+                this.channel.write(new MessagePlayInPlayerDigging(MessagePlayInPlayerDigging.Action.START, this.digPosition, Direction.UP));
+            }
+        } else if (++this.digTicks >= DIG_DURATION) {
+            this.channel.write(new MessagePlayInPlayerDigging(MessagePlayInPlayerDigging.Action.FINISH, this.digPosition, Direction.UP));
+            this.digPosition = null;
+        }
+    }
+
+    private static long chunkKey(int x, int z) {
+        return (long) x << 32 | z & 0xffffffffL;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+    /**
+     * Counts the bytes that are sent and received by a bot.
+     */
+    private static final class TrafficCounter extends ChannelDuplexHandler {
+
+        private final LoadTestMetrics metrics;
+
+        TrafficCounter(LoadTestMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof ByteBuf) {
+                this.metrics.bytesReceived.add(((ByteBuf) msg).readableBytes());
+            }
+            super.channelRead(ctx, msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (msg instanceof ByteBuf) {
+                this.metrics.bytesSent.add(((ByteBuf) msg).readableBytes());
+            }
+            super.write(ctx, msg, promise);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import static org.lanternpowered.server.network.buffer.LanternByteBuffer.readVarInt;
+import static org.lanternpowered.server.network.buffer.LanternByteBuffer.writeVarInt;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.MessageToMessageCodec;
+import org.lanternpowered.server.network.buffer.ByteBuffer;
+import org.lanternpowered.server.network.buffer.LanternByteBuffer;
+import org.lanternpowered.server.network.message.CodecRegistration;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.network.message.MessageRegistration;
+import org.lanternpowered.server.network.message.codec.Codec;
+import org.lanternpowered.server.network.message.codec.CodecContext;
+import org.lanternpowered.server.network.protocol.Protocol;
+import org.lanternpowered.server.network.protocol.ProtocolState;
+import org.lanternpowered.server.network.vanilla.message.codec.connection.CodecInOutKeepAlive;
+import org.lanternpowered.server.network.vanilla.message.codec.login.CodecLoginOutSetCompression;
+import org.lanternpowered.server.network.vanilla.message.codec.login.CodecLoginOutSuccess;
+import org.lanternpowered.server.network.vanilla.message.codec.play.CodecPlayInPlayerDigging;
+import org.lanternpowered.server.network.vanilla.message.codec.play.CodecPlayOutChunkData;
+import org.lanternpowered.server.network.vanilla.message.codec.play.CodecPlayOutPlayerPositionAndLook;
+import org.lanternpowered.server.network.vanilla.message.codec.play.CodecPlayOutUnloadChunk;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInPlayerDigging;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The client side counterpart of the server's message codec handler. Messages
+ * are encoded with the inbound and decoded with the outbound registrations of
+ * the current {@link ProtocolState}, so the bots use the same codecs as the server.
+ *
+ * <p>Only the clientbound messages that the bots react to are decoded, all the
+ * other messages are dropped after their bytes are counted.</p>
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class BotCodecHandler extends MessageToMessageCodec<ByteBuf, Message> {
+
+    /**
+     * The codecs that are bound without message types, these
+     * codecs decode into multiple types of messages.
+     */
+    private static final Map<Class<? extends Message>, Class<? extends Codec>> MULTI_MESSAGE_CODECS =
+            ImmutableMap.<Class<? extends Message>, Class<? extends Codec>>builder()
+                    .put(MessagePlayInPlayerDigging.class, CodecPlayInPlayerDigging.class)
+                    .build();
+
+    /**
+     * The clientbound codecs that will be used to decode messages.
+     */
+    private static final Set<Class<? extends Codec>> DECODED_CODECS = ImmutableSet.of(
+            CodecLoginOutSetCompression.class,
+            CodecLoginOutSuccess.class,
+            CodecInOutKeepAlive.class,
+            CodecPlayOutPlayerPositionAndLook.class,
+            CodecPlayOutUnloadChunk.class);
+
+    private final CodecContext codecContext;
+    private ProtocolState protocolState = ProtocolState.HANDSHAKE;
+
+    BotCodecHandler(CodecContext codecContext) {
+        this.codecContext = codecContext;
+    }
+
+    /**
+     * Sets the {@link ProtocolState}, may only be called
+     * from the event loop of the channel.
+     *
+     * @param protocolState The protocol state
+     */
+    void setProtocolState(ProtocolState protocolState) {
+        this.protocolState = protocolState;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Message message, List<Object> output) throws Exception {
+        final Protocol protocol = this.protocolState.getProtocol();
+        final Optional<MessageRegistration> registration = (Optional) protocol.inbound().findByMessageType(message.getClass());
+        CodecRegistration codecRegistration = null;
+        if (registration.isPresent()) {
+            codecRegistration = (CodecRegistration) registration.get().getCodecRegistration().orElse(null);
+        }
+        if (codecRegistration == null) {
+            final Class<? extends Codec> codecType = MULTI_MESSAGE_CODECS.get(message.getClass());
+            if (codecType != null) {
+                codecRegistration = (CodecRegistration) protocol.inbound().find((Class) codecType).orElse(null);
+            }
+        }
+        if (codecRegistration == null) {
+            throw new EncoderException("Message type (" + message.getClass().getName() + ") is not registered in the state "
+                    + this.protocolState + " to allow encoding!");
+        }
+
+        final ByteBuf opcode = ctx.alloc().buffer();
+        writeVarInt(opcode, codecRegistration.getOpcode());
+
+        final ByteBuffer content = codecRegistration.getCodec().encode(this.codecContext, message);
+        output.add(Unpooled.wrappedBuffer(opcode, ((LanternByteBuffer) content).getDelegate()));
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf input, List<Object> output) throws Exception {
+        if (input.readableBytes() == 0) {
+            return;
+        }
+
+        final int opcode = readVarInt(input);
+        final Optional<CodecRegistration> optRegistration = (Optional) this.protocolState.getProtocol().outbound().find(opcode);
+        if (!optRegistration.isPresent()) {
+            return;
+        }
+
+        final Codec codec = optRegistration.get().getCodec();
+        if (codec instanceof CodecPlayOutChunkData) {
+            // Only the position is needed, the chunk content is skipped
+            final int x = input.readInt();
+            final int z = input.readInt();
+            output.add(new ChunkDataHeader(x, z, input.readBoolean()));
+        } else if (DECODED_CODECS.contains(codec.getClass())) {
+            final ByteBuffer content = this.codecContext.byteBufAlloc().buffer(input.readableBytes());
+            input.readBytes(((LanternByteBuffer) content).getDelegate(), input.readableBytes());
+            try {
+                output.add(codec.decode(this.codecContext, content));
+            } finally {
+                content.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import org.lanternpowered.server.network.message.Message;
+
+/**
+ * The header of a chunk data message, the bots only need the
+ * position of the chunk to track the chunk send latency.
+ */
+final class ChunkDataHeader implements Message {
+
+    private final int x;
+    private final int z;
+    private final boolean fullChunk;
+
+    ChunkDataHeader(int x, int z, boolean fullChunk) {
+        this.x = x;
+        this.z = z;
+        this.fullChunk = fullChunk;
+    }
+
+    int getX() {
+        return this.x;
+    }
+
+    int getZ() {
+        return this.z;
+    }
+
+    /**
+     * Gets whether the message contains a full chunk column,
+     * otherwise it only updates some sections.
+     *
+     * @return Is full chunk
+     */
+    boolean isFullChunk() {
+        return this.fullChunk;
+    }
+}
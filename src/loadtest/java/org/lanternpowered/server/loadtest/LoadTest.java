@@ -0,0 +1,274 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.lanternpowered.server.network.protocol.ProtocolState;
+import org.lanternpowered.server.util.ThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A headless load test that joins simulated clients to a running server. The
+ * server should run in offline mode with the connection throttle disabled, the
+ * query server must be enabled to collect the tick times.
+ *
+ * <p>The bots join one after another, after all the bots joined and the warmup
+ * passed the metrics are collected for the configured duration. The results
+ * are written to a json file, which makes it possible to compare runs.</p>
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    /**
+     * The duration of a client tick in milliseconds.
+     */
+    static final long TICK_DURATION = 50;
+
+    /**
+     * The settings of a load test.
+     */
+    static final class Settings {
+
+        String host;
+        int port;
+        int queryPort;
+        int bots;
+        int joinInterval;
+        int warmup;
+        int duration;
+        BotBehavior behavior;
+        int viewDistance;
+        long seed;
+        int chatInterval;
+        String namePrefix;
+        int threads;
+        Path output;
+
+        JsonObject toJson() {
+            final JsonObject json = new JsonObject();
+            json.addProperty("host", this.host);
+            json.addProperty("port", this.port);
+            json.addProperty("bots", this.bots);
+            json.addProperty("joinIntervalMillis", this.joinInterval);
+            json.addProperty("warmupSeconds", this.warmup);
+            json.addProperty("durationSeconds", this.duration);
+            json.addProperty("behavior", this.behavior.name().toLowerCase(Locale.ROOT));
+            json.addProperty("viewDistance", this.viewDistance);
+            json.addProperty("seed", this.seed);
+            json.addProperty("chatIntervalTicks", this.chatInterval);
+            return json;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final OptionParser parser = new OptionParser();
+        final OptionSpec<Void> help = parser.acceptsAll(Arrays.asList("help", "h", "?"),
+                "Show this help text").forHelp();
+        final OptionSpec<String> host = parser.accepts("host", "The address of the server")
+                .withRequiredArg().defaultsTo("localhost");
+        final OptionSpec<Integer> port = parser.accepts("port", "The port of the server")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(25565);
+        final OptionSpec<Integer> queryPort = parser.accepts("query-port", "The query port of the server, defaults to the port")
+                .withRequiredArg().ofType(Integer.class);
+        final OptionSpec<Integer> bots = parser.accepts("bots", "The amount of bots")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(100);
+        final OptionSpec<Integer> joinInterval = parser.accepts("join-interval", "The milliseconds between the joins of two bots")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(50);
+        final OptionSpec<Integer> warmup = parser.accepts("warmup", "The seconds to wait after all the bots joined")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(30);
+        final OptionSpec<Integer> duration = parser.accepts("duration", "The seconds that the metrics are collected")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(300);
+        final OptionSpec<String> behavior = parser.accepts("behavior", "The behavior of the bots: "
+                + "idle, walk, fly, chat, dig, all or mixed").withRequiredArg().defaultsTo("mixed");
+        final OptionSpec<Integer> viewDistance = parser.accepts("view-distance", "The view distance of the server")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(10);
+        final OptionSpec<Long> seed = parser.accepts("seed", "The seed of the random bot patterns")
+                .withRequiredArg().ofType(Long.class).defaultsTo(0L);
+        final OptionSpec<Integer> chatInterval = parser.accepts("chat-interval", "The seconds between the chat messages of a bot")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(15);
+        final OptionSpec<String> namePrefix = parser.accepts("name-prefix", "The prefix of the bot names")
+                .withRequiredArg().defaultsTo("Bot");
+        final OptionSpec<Integer> threads = parser.accepts("threads", "The amount of network threads, 0 uses the netty default")
+                .withRequiredArg().ofType(Integer.class).defaultsTo(0);
+        final OptionSpec<String> output = parser.accepts("output", "The file the results are written to")
+                .withRequiredArg().defaultsTo("loadtest-results.json");
+
+        final OptionSet options = parser.parse(args);
+        if (options.has(help)) {
+            parser.printHelpOn(System.err);
+            return;
+        }
+
+        final Settings settings = new Settings();
+        settings.host = options.valueOf(host);
+        settings.port = options.valueOf(port);
+        settings.queryPort = options.has(queryPort) ? options.valueOf(queryPort) : settings.port;
+        settings.bots = options.valueOf(bots);
+        settings.joinInterval = options.valueOf(joinInterval);
+        settings.warmup = options.valueOf(warmup);
+        settings.duration = options.valueOf(duration);
+        settings.behavior = BotBehavior.valueOf(options.valueOf(behavior).toUpperCase(Locale.ROOT));
+        settings.viewDistance = options.valueOf(viewDistance);
+        settings.seed = options.valueOf(seed);
+        settings.chatInterval = Math.max(1, (int) (options.valueOf(chatInterval) * 1000 / TICK_DURATION));
+        settings.namePrefix = options.valueOf(namePrefix);
+        settings.threads = options.valueOf(threads);
+        settings.output = Paths.get(options.valueOf(output));
+
+        new LoadTest(settings).run();
+    }
+
+    private final Settings settings;
+    private final LoadTestMetrics metrics = new LoadTestMetrics();
+    private final List<BotClient> bots = new ArrayList<>();
+
+    // Whether a failed tick time query was logged, only accessed by the load test thread
+    private boolean queryWarningLogged;
+
+    private LoadTest(Settings settings) {
+        this.settings = settings;
+    }
+
+    private void run() throws Exception {
+        // Initialize the message registries
+        ProtocolState.init();
+
+        final boolean epoll = Epoll.isAvailable();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final EventLoopGroup group = epoll ?
+                new EpollEventLoopGroup(this.settings.threads, ThreadHelper.newFastThreadLocalThreadFactory(
+                        () -> "bot-netty-" + threadCounter.getAndIncrement())) :
+                new NioEventLoopGroup(this.settings.threads, ThreadHelper.newFastThreadLocalThreadFactory(
+                        () -> "bot-netty-" + threadCounter.getAndIncrement()));
+        final Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channel(epoll ? EpollSocketChannel.class : NioSocketChannel.class)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.TCP_NODELAY, true);
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "load-test"));
+        final QueryClient queryClient = new QueryClient(new InetSocketAddress(this.settings.host, this.settings.queryPort), 1000);
+        final InetSocketAddress address = new InetSocketAddress(this.settings.host, this.settings.port);
+
+        logger.info("Starting the load test with {} bots against {}.", this.settings.bots, address);
+        try {
+            for (int i = 0; i < this.settings.bots; i++) {
+                final BotClient bot = new BotClient(this.settings, this.metrics, i);
+                this.bots.add(bot);
+                executor.schedule(() -> bot.connect(bootstrap, address).addListener(future -> {
+                    if (!future.isSuccess()) {
+                        this.metrics.failedBots.incrementAndGet();
+                        logger.warn("The bot {} failed to connect.", bot.getName(), future.cause());
+                    }
+                }), (long) i * this.settings.joinInterval, TimeUnit.MILLISECONDS);
+            }
+            final ScheduledFuture<?> samplerTask = executor.scheduleAtFixedRate(
+                    () -> sample(queryClient), 1, 1, TimeUnit.SECONDS);
+
+            TimeUnit.MILLISECONDS.sleep((long) this.settings.bots * this.settings.joinInterval);
+            logger.info("All the bots are connecting, warming up for {} seconds.", this.settings.warmup);
+            TimeUnit.SECONDS.sleep(this.settings.warmup);
+            logger.info("{} of the {} bots joined, measuring for {} seconds.",
+                    this.metrics.joinedBots.get(), this.settings.bots, this.settings.duration);
+            executor.submit(this.metrics::clearSamples).get();
+            TimeUnit.SECONDS.sleep(this.settings.duration);
+
+            samplerTask.cancel(false);
+            writeResults(this.metrics.toJson());
+        } finally {
+            this.bots.forEach(BotClient::stop);
+            executor.shutdownNow();
+            queryClient.close();
+            group.shutdownGracefully().awaitUninterruptibly();
+        }
+    }
+
+    private void sample(QueryClient queryClient) {
+        this.metrics.sampleTraffic();
+        try {
+            final Map<String, String> stats = queryClient.requestFullStats();
+            final String tickTime = stats.get("mspt");
+            if (tickTime != null) {
+                this.metrics.tickTimes.add(Double.parseDouble(tickTime));
+            }
+        } catch (IOException | NumberFormatException e) {
+            if (!this.queryWarningLogged) {
+                this.queryWarningLogged = true;
+                logger.warn("Failed to query the tick times, is the query server enabled?", e);
+            }
+        }
+    }
+
+    private void writeResults(JsonObject results) throws IOException {
+        final JsonObject json = new JsonObject();
+        json.add("settings", this.settings.toJson());
+        results.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
+
+        final Path output = this.settings.output.toAbsolutePath();
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            gson.toJson(json, writer);
+        }
+        logger.info("The results are written to {}:\n{}", output, gson.toJson(results));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics that are collected during a load test. The bots record
+ * their traffic and latencies from the event loop threads.
+ */
+final class LoadTestMetrics {
+
+    /**
+     * A thread safe collection of samples.
+     */
+    static final class Samples {
+
+        private final DoubleArrayList values = new DoubleArrayList();
+
+        synchronized void add(double value) {
+            this.values.add(value);
+        }
+
+        synchronized void clear() {
+            this.values.clear();
+        }
+
+        /**
+         * Creates a summary of the samples that are collected so far.
+         *
+         * @return The summary
+         */
+        JsonObject toJson() {
+            final double[] values;
+            synchronized (this) {
+                values = this.values.toDoubleArray();
+            }
+            Arrays.sort(values);
+            final JsonObject json = new JsonObject();
+            json.addProperty("count", values.length);
+            if (values.length == 0) {
+                return json;
+            }
+            double sum = 0;
+            for (double value : values) {
+                sum += value;
+            }
+            json.addProperty("mean", sum / values.length);
+            json.addProperty("p50", percentile(values, 0.5));
+            json.addProperty("p95", percentile(values, 0.95));
+            json.addProperty("p99", percentile(values, 0.99));
+            json.addProperty("max", values[values.length - 1]);
+            return json;
+        }
+
+        private static double percentile(double[] sortedValues, double percentile) {
+            final int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+            return sortedValues[Math.max(0, index)];
+        }
+    }
+
+    // The traffic of all the bots since the last sample
+    final LongAdder bytesReceived = new LongAdder();
+    final LongAdder bytesSent = new LongAdder();
+
+    // The bots that are currently in the play state
+    final AtomicInteger playingBots = new AtomicInteger();
+    final AtomicInteger joinedBots = new AtomicInteger();
+    final AtomicInteger failedBots = new AtomicInteger();
+    final AtomicInteger disconnectedBots = new AtomicInteger();
+
+    // The average tick duration of the server, in milliseconds
+    final Samples tickTimes = new Samples();
+
+    // The received and sent bytes per second, divided by the playing bots
+    final Samples bytesReceivedPerPlayer = new Samples();
+    final Samples bytesSentPerPlayer = new Samples();
+
+    // The time between connecting and receiving the first position, in milliseconds
+    final Samples loginLatencies = new Samples();
+
+    // The time between the login and receiving the chunks around the spawn, in milliseconds
+    final Samples joinChunkLatencies = new Samples();
+
+    // The time between entering a chunk and receiving the newly visible chunks, in milliseconds
+    final Samples movementChunkLatencies = new Samples();
+
+    /**
+     * Samples the traffic of the last second, should be called once per second.
+     */
+    void sampleTraffic() {
+        final long received = this.bytesReceived.sumThenReset();
+        final long sent = this.bytesSent.sumThenReset();
+        final int players = this.playingBots.get();
+        if (players > 0) {
+            this.bytesReceivedPerPlayer.add((double) received / players);
+            this.bytesSentPerPlayer.add((double) sent / players);
+        }
+    }
+
+    /**
+     * Clears all the samples, the warmup samples shouldn't be part of the results.
+     */
+    void clearSamples() {
+        this.bytesReceived.reset();
+        this.bytesSent.reset();
+        this.tickTimes.clear();
+        this.bytesReceivedPerPlayer.clear();
+        this.bytesSentPerPlayer.clear();
+        this.loginLatencies.clear();
+        this.joinChunkLatencies.clear();
+        this.movementChunkLatencies.clear();
+    }
+
+    JsonObject toJson() {
+        final JsonObject bots = new JsonObject();
+        bots.addProperty("joined", this.joinedBots.get());
+        bots.addProperty("failed", this.failedBots.get());
+        bots.addProperty("disconnected", this.disconnectedBots.get());
+        bots.addProperty("playing", this.playingBots.get());
+
+        final JsonObject traffic = new JsonObject();
+        traffic.add("received", this.bytesReceivedPerPlayer.toJson());
+        traffic.add("sent", this.bytesSentPerPlayer.toJson());
+
+        final JsonObject chunkLatencies = new JsonObject();
+        chunkLatencies.add("join", this.joinChunkLatencies.toJson());
+        chunkLatencies.add("movement", this.movementChunkLatencies.toJson());
+
+        final JsonObject json = new JsonObject();
+        json.add("bots", bots);
+        json.add("mspt", this.tickTimes.toJson());
+        json.add("bytesPerPlayerPerSecond", traffic);
+        json.add("loginLatencyMillis", this.loginLatencies.toJson());
+        json.add("chunkSendLatencyMillis", chunkLatencies);
+        return json;
+    }
+}
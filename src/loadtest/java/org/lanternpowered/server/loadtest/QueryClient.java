@@ -0,0 +1,132 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A minimal client for the query protocol, it's used to poll the
+ * tick times of the server while the load test is running.
+ *
+ * @see <a href="http://wiki.vg/Query">Protocol Specifications</a>
+ */
+final class QueryClient implements Closeable {
+
+    private static final byte ACTION_HANDSHAKE = 9;
+    private static final byte ACTION_STATS = 0;
+
+    // The type, session id and the splitnum padding of a full stats response
+    private static final int FULL_STATS_HEADER_LENGTH = 16;
+
+    private final DatagramSocket socket;
+    private final InetSocketAddress address;
+    private final int sessionId = new Random().nextInt() & 0x0f0f0f0f;
+    private final byte[] receiveBuffer = new byte[65535];
+
+    QueryClient(InetSocketAddress address, int timeout) throws IOException {
+        this.address = address;
+        this.socket = new DatagramSocket();
+        this.socket.setSoTimeout(timeout);
+    }
+
+    /**
+     * Requests the full stats of the server.
+     *
+     * @return The key value section of the full stats
+     * @throws IOException If the server didn't respond
+     */
+    Map<String, String> requestFullStats() throws IOException {
+        // The challenge token is valid for a limited time,
+        // so request a new one every time
+        send(ACTION_HANDSHAKE, null);
+        int length = receive();
+        final int challengeToken = Integer.parseInt(readString(5, length));
+
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        final DataOutputStream dos = new DataOutputStream(payload);
+        dos.writeInt(challengeToken);
+        // Padding, requests the full stats
+        dos.writeInt(0);
+        send(ACTION_STATS, payload.toByteArray());
+        length = receive();
+
+        final Map<String, String> stats = new HashMap<>();
+        int index = FULL_STATS_HEADER_LENGTH;
+        while (index < length) {
+            final String key = readString(index, length);
+            index += key.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (key.isEmpty()) {
+                break;
+            }
+            final String value = readString(index, length);
+            index += value.getBytes(StandardCharsets.UTF_8).length + 1;
+            stats.put(key, value);
+        }
+        return stats;
+    }
+
+    private void send(byte type, byte[] payload) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream dos = new DataOutputStream(bytes);
+        dos.writeShort(0xfefd);
+        dos.writeByte(type);
+        dos.writeInt(this.sessionId);
+        if (payload != null) {
+            dos.write(payload);
+        }
+        final byte[] data = bytes.toByteArray();
+        this.socket.send(new DatagramPacket(data, data.length, this.address));
+    }
+
+    private int receive() throws IOException {
+        final DatagramPacket packet = new DatagramPacket(this.receiveBuffer, this.receiveBuffer.length);
+        this.socket.receive(packet);
+        return packet.getLength();
+    }
+
+    private String readString(int index, int length) {
+        int end = index;
+        while (end < length && this.receiveBuffer[end] != 0) {
+            end++;
+        }
+        return new String(this.receiveBuffer, index, end - index, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        this.socket.close();
+    }
+}
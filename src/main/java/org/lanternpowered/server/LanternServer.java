@@ -37,6 +37,8 @@
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import org.lanternpowered.server.advancement.AdvancementTrees;
+import org.lanternpowered.server.command.LanternCommandManager;
+import org.lanternpowered.server.config.ConfigBase;
 import org.lanternpowered.server.config.GlobalConfig;
 import org.lanternpowered.server.console.ConsoleManager;
 import org.lanternpowered.server.console.LanternConsoleSource;
@@ -154,6 +156,13 @@ public final class LanternServer implements Server {
     // The amount of ticks the server is running
     private final AtomicInteger runningTimeTicks = new AtomicInteger(0);
 
+    // The durations of the last ticks in nanoseconds, only accessed by the server thread
+    private final long[] tickTimes = new long[100];
+    private long tickTimesSum;
+
+    // The average duration of the last ticks in milliseconds
+    private volatile double averageTickTime;
+
     // All the players by their name
     private final Map<String, LanternPlayer> playersByName = Maps.newConcurrentMap();
 
@@ -286,11 +295,13 @@ void start() throws IOException {
         this.executor.submit(() -> CauseStack.set(new LanternCauseStack()));
         // Start server ticking.
         this.executor.scheduleAtFixedRate(() -> {
+            final long start = System.nanoTime();
             try {
                 pulse();
             } catch (Exception e) {
                 this.logger.error("Error while pulsing", e);
             }
+            updateTickTime(System.nanoTime() - start);
         }, 0, LanternGame.TICK_DURATION, TimeUnit.MILLISECONDS);
 
         this.game.postGameStateChange(SpongeEventFactory.createGameStartedServerEvent(gameCause));
@@ -373,6 +384,27 @@ private void pulse() {
         // Pulse the world threads
         this.worldManager.pulse();
         AdvancementTrees.INSTANCE.pulse();
+        // Send the tab list and scoreboard updates as batches, once per tick
+        this.unmodifiablePlayers.forEach(LanternPlayer::flushPendingUpdates);
+    }
+
+    private void updateTickTime(long tickTime) {
+        final int ticks = this.runningTimeTicks.get();
+        final int index = ticks % this.tickTimes.length;
+        this.tickTimesSum += tickTime - this.tickTimes[index];
+        this.tickTimes[index] = tickTime;
+        final int count = Math.min(ticks, this.tickTimes.length);
+        this.averageTickTime = count == 0 ? 0 : (double) this.tickTimesSum / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the average duration of the last 100 ticks in milliseconds, the
+     * time that is spent waiting for the next tick isn't included.
+     *
+     * @return The average tick time
+     */
+    public double getAverageTickTime() {
+        return this.averageTickTime;
     }
 
     /**
@@ -625,6 +657,9 @@ public void shutdown(Text kickMessage) {
         // Shutdown the executor
         this.executor.shutdown();
 
+        // Stop the command completion threads
+        ((LanternCommandManager) this.game.getCommandManager()).shutdown();
+
         // Stop the async scheduler
         this.game.getScheduler().shutdownAsyncScheduler(5, TimeUnit.SECONDS);
 
@@ -656,6 +691,9 @@ public void shutdown(Text kickMessage) {
             }
         });
 
+        // Wait for the player data to be written
+        this.game.getUserIOService().shutdown(10, TimeUnit.SECONDS);
+
         // Shutdown the game profile manager
         this.game.getGameProfileManager().getDefaultCache().save();
         final GameProfileCache cache = this.game.getGameProfileManager().getCache();
@@ -673,6 +711,9 @@ public void shutdown(Text kickMessage) {
             this.logger.error("A error occurred while saving the ops config.", e);
         }
 
+        // Write all the pending config changes
+        ConfigBase.flushAll();
+
         this.game.postGameStateChange(SpongeEventFactory.createGameStoppedServerEvent(gameCause));
         this.game.postGameStateChange(SpongeEventFactory.createGameStoppingEvent(gameCause));
         this.game.postGameStateChange(SpongeEventFactory.createGameStoppedEvent(gameCause));
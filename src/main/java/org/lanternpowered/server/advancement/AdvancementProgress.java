@@ -36,13 +36,16 @@
 
 public final class AdvancementProgress extends Achievable {
 
+    private final AdvancementsProgress advancementsProgress;
     private final Advancement advancement;
     private final Map<AdvancementCriterion, CriterionProgress> progress = new HashMap<>();
 
     private long achievingTime = INVALID_TIME;
     private boolean lock;
+    private boolean dirty;
 
-    public AdvancementProgress(Advancement advancement) {
+    AdvancementProgress(AdvancementsProgress advancementsProgress, Advancement advancement) {
+        this.advancementsProgress = advancementsProgress;
         this.advancement = advancement;
         for (AdvancementCriterion criterion : advancement.getLeafCriteria()) {
             final CriterionProgress progress;
@@ -140,6 +143,7 @@ public long set() {
                 }
             }
             this.achievingTime = time;
+            markDirty();
             return time;
         } finally {
             this.lock = false;
@@ -158,14 +162,31 @@ public OptionalLong revoke() {
                 }
             }
             this.achievingTime = INVALID_TIME;
+            markDirty();
             return time;
         } finally {
             this.lock = false;
         }
     }
 
+    /**
+     * Marks this progress as modified, the changes
+     * will be send to the client on the next update.
+     */
+    void markDirty() {
+        if (!this.dirty) {
+            this.dirty = true;
+            this.advancementsProgress.markDirty(this);
+        }
+    }
+
+    boolean isDirty() {
+        return this.dirty;
+    }
+
     @Override
     void resetDirtyState() {
+        this.dirty = false;
         this.progress.values().forEach(Achievable::resetDirtyState);
     }
 
@@ -183,6 +204,7 @@ void updateAchievedState(long time) {
         if (this.lock) {
             return;
         }
+        markDirty();
         final boolean achieved = testAchievedState(this.advancement.getCriterion());
         if (achieved) {
             this.achievingTime = time;
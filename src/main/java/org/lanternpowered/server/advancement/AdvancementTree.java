@@ -49,7 +49,6 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -75,6 +74,9 @@ public static AdvancementTreeBuilder builder() {
     private final List<LanternPlayer> trackers = new ArrayList<>();
     private final List<LanternPlayer> addedTrackers = new ArrayList<>();
 
+    // The global data that is used to initialize trackers, per locale
+    private final Map<Locale, GlobalAdvancementsData> initializeData = new HashMap<>();
+
     @Nullable private final Advancement rootAdvancement;
     private final Vector2d rootPosition;
     private final String internalTabId;
@@ -106,8 +108,8 @@ List<LanternPlayer> getTrackers() {
         return this.trackers;
     }
 
-    List<LanternPlayer> getUpdateTrackers() {
-        return this.trackers.stream().filter(p -> !this.addedTrackers.contains(p)).collect(Collectors.toList());
+    boolean isAddedTracker(LanternPlayer player) {
+        return this.addedTrackers.contains(player);
     }
 
     /**
@@ -120,7 +122,8 @@ public void addTracker(Player tracker) {
         final LanternPlayer player = (LanternPlayer) tracker;
         if (this.trackers.add(player)) {
             this.addedTrackers.add(player);
-            final MessagePlayOutAdvancements message = createAdvancementsMessage(Locale.ENGLISH, player.getAdvancementsProgress(), INITIALIZE);
+            final MessagePlayOutAdvancements message = createAdvancementsMessage(
+                    getInitializeData(player.getLocale()), player.getAdvancementsProgress(), INITIALIZE);
             if (message != null) {
                 player.getConnection().send(message);
             }
@@ -150,7 +153,8 @@ public void removeTracker(Player tracker) {
         final LanternPlayer player = (LanternPlayer) tracker;
         if (this.trackers.remove(player)) {
             this.addedTrackers.remove(player);
-            final MessagePlayOutAdvancements message = createAdvancementsMessage(Locale.ENGLISH, player.getAdvancementsProgress(), REMOVE);
+            final MessagePlayOutAdvancements message = createAdvancementsMessage(
+                    createGlobalData(player.getLocale(), REMOVE), player.getAdvancementsProgress(), REMOVE);
             if (message != null) {
                 player.getConnection().send(message);
             }
@@ -206,6 +210,7 @@ public void addAdvancement(double x, double y, Advancement advancement) {
         }
         this.advancements.put(advancement, new Vector2d(x, y));
         this.addedAdvancements.add(advancement);
+        this.initializeData.clear();
     }
 
     /**
@@ -218,6 +223,7 @@ public void removeAdvancement(Advancement advancement) {
         final Vector2d position = this.advancements.remove(advancement);
         if (position != null) {
             this.removedAdvancements.add(advancement);
+            this.initializeData.clear();
             if (position.getX() < 0 || position.getY() < 0) {
                 double xOffset = 0;
                 double yOffset = 0;
@@ -263,14 +269,35 @@ boolean isRefreshRequired() {
         return this.refresh;
     }
 
+    /**
+     * Gets whether the structure of this tree changed since the last update.
+     *
+     * @return Is dirty
+     */
+    boolean isDirty() {
+        return this.refresh || !this.addedAdvancements.isEmpty() || !this.removedAdvancements.isEmpty();
+    }
+
+    /**
+     * Gets the {@link GlobalAdvancementsData} to initialize trackers with
+     * the given {@link Locale}, the data will be reused until the structure
+     * of this tree changes.
+     *
+     * @param locale The locale
+     * @return The global advancements data
+     */
+    GlobalAdvancementsData getInitializeData(Locale locale) {
+        return this.initializeData.computeIfAbsent(locale, locale1 -> createGlobalData(locale1, INITIALIZE));
+    }
+
     final static class GlobalAdvancementsData {
 
         private final List<String> removed;
         private final List<MessagePlayOutAdvancements.AdvStruct> addedStructs;
 
         private GlobalAdvancementsData(@Nullable List<String> removed, @Nullable List<MessagePlayOutAdvancements.AdvStruct> addedStructs) {
-            this.removed = removed == null ? Collections.emptyList() : removed;
-            this.addedStructs = addedStructs == null ? Collections.emptyList() : addedStructs;
+            this.removed = removed == null ? Collections.emptyList() : Collections.unmodifiableList(removed);
+            this.addedStructs = addedStructs == null ? Collections.emptyList() : Collections.unmodifiableList(addedStructs);
         }
     }
 
@@ -285,14 +312,17 @@ GlobalAdvancementsData createGlobalData(Locale locale, int state) {
 
         List<String> removed = null;
         if (state != INITIALIZE && !this.removedAdvancements.isEmpty()) {
-            removed = this.removedAdvancements.stream().map(a -> formatId0(a.getId())).collect(Collectors.toList());
+            removed = new ArrayList<>(this.removedAdvancements.size());
+            for (Advancement advancement : this.removedAdvancements) {
+                removed.add(formatId0(advancement.getId()));
+            }
         }
         if (state == REFRESH || state == REMOVE) {
-            final List<String> removed1 = this.advancements.keySet().stream().map(a -> formatId0(a.getId())).collect(Collectors.toList());
             if (removed == null) {
-                removed = removed1;
-            } else {
-                removed.addAll(removed1);
+                removed = new ArrayList<>(this.advancements.size());
+            }
+            for (Advancement advancement : this.advancements.keySet()) {
+                removed.add(formatId0(advancement.getId()));
             }
             if (state == REMOVE) {
                 return removed.isEmpty() ? null : new GlobalAdvancementsData(removed, null);
@@ -311,8 +341,8 @@ GlobalAdvancementsData createGlobalData(Locale locale, int state) {
             addedStructs = new ArrayList<>();
             addedStructs.add(createStruct(rootId, null, createDisplay(
                     // The title has to be reset afterwards, otherwise is the style also used for the description
-                    new LocalizedText(Text.builder().append(getTitle()).style(TextStyles.RESET).build(), Locale.ENGLISH),
-                    new LocalizedText(getDescription(), Locale.ENGLISH),
+                    new LocalizedText(Text.builder().append(getTitle()).style(TextStyles.RESET).build(), locale),
+                    new LocalizedText(getDescription(), locale),
                     getIcon(), getFrameType(), this.background,
                     this.rootPosition.getX() + this.xOffset,
                     this.rootPosition.getY() + this.yOffset,
@@ -362,11 +392,6 @@ GlobalAdvancementsData createGlobalData(Locale locale, int state) {
         return removed == null && addedStructs == null ? null : new GlobalAdvancementsData(removed, addedStructs);
     }
 
-    @Nullable
-    private MessagePlayOutAdvancements createAdvancementsMessage(Locale locale, AdvancementsProgress progress, int state) {
-        return createAdvancementsMessage(createGlobalData(locale, state), progress, state);
-    }
-
     public String getInternalId() {
         return this.internalTabId;
     }
@@ -386,25 +411,25 @@ MessagePlayOutAdvancements createAdvancementsMessage(@Nullable GlobalAdvancement
             progressMap.put(rootId, Object2LongMaps.singleton(AdvancementCriterion.DUMMY, System.currentTimeMillis()));
         }
 
-        for (Advancement advancement : this.advancements.keySet()) {
-            final AdvancementProgress progress1 = progress.getOrNull(advancement);
-            if (progress1 != null) {
-                final Object2LongMap<String> entries;
-                if (advancement.getCriterion() != AdvancementCriterion.EMPTY) {
-                    entries = new Object2LongOpenHashMap<>();
-                    if (state == INITIALIZE || state == REFRESH) {
-                        progress1.fillProgress(entries);
-                    } else {
-                        progress1.fillDirtyProgress(entries);
-                    }
-                } else {
-                    entries = Object2LongMaps.singleton(AdvancementCriterion.DUMMY, progress1.get().orElse(-1L));
+        if (state == INITIALIZE || state == REFRESH) {
+            for (Advancement advancement : this.advancements.keySet()) {
+                final AdvancementProgress progress1 = progress.getOrNull(advancement);
+                if (progress1 != null) {
+                    progressMap = addProgress(progressMap, progress1, true);
                 }
-                if (!entries.isEmpty()) {
-                    if (progressMap == null) {
-                        progressMap = new HashMap<>();
-                    }
-                    progressMap.put(formatId0(advancement.getId()), entries);
+            }
+        } else {
+            // Only the progress that changed since the last update needs to be send,
+            // and the full progress of advancements that were added to the tree
+            for (AdvancementProgress progress1 : progress.getDirtyProgresses()) {
+                if (this.advancements.containsKey(progress1.getAdvancement())) {
+                    progressMap = addProgress(progressMap, progress1, false);
+                }
+            }
+            for (Advancement advancement : this.addedAdvancements) {
+                final AdvancementProgress progress1 = progress.getOrNull(advancement);
+                if (progress1 != null && !progress1.isDirty()) {
+                    progressMap = addProgress(progressMap, progress1, true);
                 }
             }
         }
@@ -414,6 +439,30 @@ MessagePlayOutAdvancements createAdvancementsMessage(@Nullable GlobalAdvancement
                 progressMap == null ? Collections.emptyMap() : progressMap);
     }
 
+    @Nullable
+    private Map<String, Object2LongMap<String>> addProgress(@Nullable Map<String, Object2LongMap<String>> progressMap,
+            AdvancementProgress progress, boolean full) {
+        final Advancement advancement = progress.getAdvancement();
+        final Object2LongMap<String> entries;
+        if (advancement.getCriterion() != AdvancementCriterion.EMPTY) {
+            entries = new Object2LongOpenHashMap<>();
+            if (full) {
+                progress.fillProgress(entries);
+            } else {
+                progress.fillDirtyProgress(entries);
+            }
+        } else {
+            entries = Object2LongMaps.singleton(AdvancementCriterion.DUMMY, progress.get().orElse(-1L));
+        }
+        if (!entries.isEmpty()) {
+            if (progressMap == null) {
+                progressMap = new HashMap<>();
+            }
+            progressMap.put(formatId0(advancement.getId()), entries);
+        }
+        return progressMap;
+    }
+
     private MessagePlayOutAdvancements.AdvStruct.Display createDisplay(LocalizedText title, LocalizedText description, ItemStackSnapshot icon,
             FrameType frameType, @Nullable String background, double x, double y, boolean showToast, boolean hidden) {
         return new MessagePlayOutAdvancements.AdvStruct.Display(title, description, icon, frameType, background, x, y, showToast, hidden);
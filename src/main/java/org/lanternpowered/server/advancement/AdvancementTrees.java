@@ -27,8 +27,6 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import org.lanternpowered.server.entity.living.player.LanternPlayer;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutAdvancements;
@@ -37,10 +35,12 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public final class AdvancementTrees {
 
@@ -49,11 +49,13 @@ public final class AdvancementTrees {
     private final static int UPDATE_DELAY = 10;
 
     private final Map<String, AdvancementTree> advancementTrees = new HashMap<>();
+    private final List<AdvancementTree> trees = new ArrayList<>();
 
     void add(AdvancementTree tree) {
         checkNotNull(tree, "tree");
         this.advancementTrees.put(tree.getInternalId(), tree);
         this.advancementTrees.put(tree.getId(), tree);
+        this.trees.add(tree);
     }
 
     public Optional<AdvancementTree> get(String id) {
@@ -63,47 +65,35 @@ public Optional<AdvancementTree> get(String id) {
     private int counter = UPDATE_DELAY;
 
     public void removeTracker(Player player) {
-        for (AdvancementTree advancementTree : this.advancementTrees.values()) {
+        for (AdvancementTree advancementTree : this.trees) {
             advancementTree.removeRawTracker(player);
         }
     }
 
-    private static <T> List<T> modifiable(List<T> list) {
-        return list == Collections.emptyList() ? new ArrayList<>() :
-                list instanceof ImmutableList ? new ArrayList<>(list) : list;
-    }
-
-    private static <K, V> Map<K, V> modifiable(Map<K, V> map) {
-        return map == Collections.emptyMap() ? new HashMap<>() :
-                map instanceof ImmutableMap ? new HashMap<>(map) : map;
-    }
-
     public void initialize(Player player) {
         final LanternPlayer player1 = (LanternPlayer) player;
 
         List<MessagePlayOutAdvancements.AdvStruct> addedAdvStructs = null;
         Map<String, Object2LongMap<String>> progress = null;
 
-        for (AdvancementTree advancementTree : this.advancementTrees.values()) {
-            final List<LanternPlayer> trackers1 = advancementTree.getTrackers();
-            if (!trackers1.contains(player1)) {
+        for (AdvancementTree advancementTree : this.trees) {
+            if (!advancementTree.getTrackers().contains(player1)) {
                 continue;
             }
-            final AdvancementTree.GlobalAdvancementsData globalAdvancementsData = advancementTree.createGlobalData(
-                    Locale.ENGLISH, AdvancementTree.INITIALIZE);
+            final AdvancementTree.GlobalAdvancementsData globalAdvancementsData =
+                    advancementTree.getInitializeData(player1.getLocale());
             final MessagePlayOutAdvancements message = advancementTree.createAdvancementsMessage(
                     globalAdvancementsData, player1.getAdvancementsProgress(), AdvancementTree.INITIALIZE);
             if (message != null) {
+                // The structs are shared between players, so always copy them
                 if (addedAdvStructs == null) {
-                    addedAdvStructs = modifiable(message.getAddedAdvStructs());
-                } else {
-                    addedAdvStructs.addAll(message.getAddedAdvStructs());
+                    addedAdvStructs = new ArrayList<>();
                 }
+                addedAdvStructs.addAll(message.getAddedAdvStructs());
                 if (progress == null) {
-                    progress = modifiable(message.getProgress());
-                } else {
-                    progress.putAll(message.getProgress());
+                    progress = new HashMap<>();
                 }
+                progress.putAll(message.getProgress());
             }
         }
 
@@ -117,15 +107,31 @@ public void pulse() {
             return;
         }
         this.counter = UPDATE_DELAY;
-        final List<LanternPlayer> trackers = new ArrayList<>();
-        for (AdvancementTree advancementTree : this.advancementTrees.values()) {
-            final List<LanternPlayer> trackers1 = advancementTree.getUpdateTrackers();
-            trackers.addAll(trackers1);
+        final Set<LanternPlayer> trackers = new HashSet<>();
+        for (AdvancementTree advancementTree : this.trees) {
+            // Only build the global data if the structure of the tree changed,
+            // otherwise only players with modified progress need an update
+            final boolean dirty = advancementTree.isDirty();
             final int state = advancementTree.isRefreshRequired() ? AdvancementTree.REFRESH : AdvancementTree.UPDATE;
-            final AdvancementTree.GlobalAdvancementsData globalAdvancementsData = advancementTree.createGlobalData(Locale.ENGLISH, state);
-            for (LanternPlayer tracker : trackers1) {
+            Map<Locale, Optional<AdvancementTree.GlobalAdvancementsData>> globalData = null;
+            for (LanternPlayer tracker : advancementTree.getTrackers()) {
+                if (advancementTree.isAddedTracker(tracker)) {
+                    continue;
+                }
+                trackers.add(tracker);
+                final AdvancementsProgress progress = tracker.getAdvancementsProgress();
+                AdvancementTree.GlobalAdvancementsData globalAdvancementsData = null;
+                if (dirty) {
+                    if (globalData == null) {
+                        globalData = new HashMap<>();
+                    }
+                    globalAdvancementsData = globalData.computeIfAbsent(tracker.getLocale(),
+                            locale -> Optional.ofNullable(advancementTree.createGlobalData(locale, state))).orElse(null);
+                } else if (!progress.isDirty()) {
+                    continue;
+                }
                 final MessagePlayOutAdvancements message = advancementTree.createAdvancementsMessage(
-                        globalAdvancementsData, tracker.getAdvancementsProgress(), state);
+                        globalAdvancementsData, progress, state);
                 if (message != null) {
                     tracker.getConnection().send(message);
                 }
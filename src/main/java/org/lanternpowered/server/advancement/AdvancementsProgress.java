@@ -27,8 +27,11 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -36,6 +39,9 @@ public final class AdvancementsProgress {
 
     private final Map<Advancement, AdvancementProgress> progresses = new HashMap<>();
 
+    // All the progresses that were modified since the last update
+    private final Set<AdvancementProgress> dirtyProgresses = new LinkedHashSet<>();
+
     /**
      * Gets the {@link AdvancementProgress} for the specified {@link Advancement}.
      *
@@ -44,7 +50,7 @@ public final class AdvancementsProgress {
      */
     public AdvancementProgress get(Advancement advancement) {
         checkNotNull(advancement, "advancement");
-        return this.progresses.computeIfAbsent(advancement, AdvancementProgress::new);
+        return this.progresses.computeIfAbsent(advancement, advancement1 -> new AdvancementProgress(this, advancement1));
     }
 
     @Nullable
@@ -53,7 +59,35 @@ AdvancementProgress getOrNull(Advancement advancement) {
         return this.progresses.get(advancement);
     }
 
+    void markDirty(AdvancementProgress progress) {
+        this.dirtyProgresses.add(progress);
+    }
+
+    /**
+     * Gets whether any {@link AdvancementProgress} was
+     * modified since the last update.
+     *
+     * @return Is dirty
+     */
+    boolean isDirty() {
+        return !this.dirtyProgresses.isEmpty();
+    }
+
+    /**
+     * Gets all the {@link AdvancementProgress}s that were
+     * modified since the last update.
+     *
+     * @return The dirty progresses
+     */
+    Collection<AdvancementProgress> getDirtyProgresses() {
+        return this.dirtyProgresses;
+    }
+
     void resetDirtyState() {
-        this.progresses.values().forEach(AdvancementProgress::resetDirtyState);
+        if (this.dirtyProgresses.isEmpty()) {
+            return;
+        }
+        this.dirtyProgresses.forEach(AdvancementProgress::resetDirtyState);
+        this.dirtyProgresses.clear();
     }
 }
@@ -44,6 +44,7 @@ public class ScoreCriterionProgress extends AbstractCriterionProgress {
     public long set() {
         if (this.score == 0) {
             this.score = getCriterion().getGoal();
+            getProgress().markDirty();
         }
         return super.set();
     }
@@ -51,6 +52,7 @@ public long set() {
     @Override
     public OptionalLong revoke() {
         this.score = 0;
+        getProgress().markDirty();
         return super.revoke();
     }
 
@@ -118,6 +120,7 @@ public OptionalLong set(int score) {
         checkArgument(score >= 0, "score to add may not be negative");
         final int goal = getGoal();
         this.score = Math.min(score, goal);
+        getProgress().markDirty();
         if (score == goal) {
             return OptionalLong.of(super.set());
         } else {
@@ -140,6 +143,7 @@ public OptionalLong add(int score) {
             return super.get();
         }
         this.score = Math.min(this.score + score, goal);
+        getProgress().markDirty();
         if (this.score == goal) {
             return OptionalLong.of(super.set());
         }
@@ -156,6 +160,7 @@ public OptionalLong add(int score) {
     public OptionalLong remove(int score) {
         checkArgument(score > 0, "score to remove must be greater then zero");
         this.score = Math.max(0, this.score - score);
+        getProgress().markDirty();
         return super.revoke();
     }
 }
@@ -36,7 +36,9 @@
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.lanternpowered.server.event.CauseStack;
+import org.lanternpowered.server.event.LanternCauseStack;
 import org.lanternpowered.server.text.LanternTexts;
+import org.lanternpowered.server.util.ThreadHelper;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandCallable;
@@ -50,6 +52,7 @@
 import org.spongepowered.api.command.dispatcher.Disambiguator;
 import org.spongepowered.api.command.dispatcher.SimpleDispatcher;
 import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.command.SendCommandEvent;
 import org.spongepowered.api.event.command.TabCompleteEvent;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -64,12 +67,19 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -81,12 +91,25 @@
 @Singleton
 public class LanternCommandManager implements CommandManager {
 
+    /**
+     * The amount of threads that are used to complete commands.
+     */
+    private static final int COMPLETION_THREADS = 2;
+
     private final Logger logger;
     private final SimpleDispatcher dispatcher;
     private final Multimap<PluginContainer, CommandMapping> owners = HashMultimap.create();
     private final Map<CommandMapping, PluginContainer> reverseOwners = new ConcurrentHashMap<>();
     private final Object lock = new Object();
 
+    // The executor that is used to complete commands off the main thread
+    private final AtomicInteger completionThreadCounter = new AtomicInteger();
+    private final ExecutorService completionExecutor = Executors.newFixedThreadPool(COMPLETION_THREADS, this::newCompletionThread);
+
+    // All the aliases sorted alphabetically, mapped to their command mappings,
+    // this will be rebuilt lazily when the commands change
+    @Nullable private volatile NavigableMap<String, List<CommandMapping>> aliasTree;
+
     /**
      * Construct a simple {@link CommandManager}.
      *
@@ -99,6 +122,16 @@ public LanternCommandManager(Logger logger, Disambiguator disambiguator) {
         this.logger = logger;
     }
 
+    private Thread newCompletionThread(Runnable runnable) {
+        final Thread thread = ThreadHelper.newFastThreadLocalThread(thread0 -> {
+            // Initialize the completion cause stack.
+            CauseStack.set(new LanternCauseStack());
+            runnable.run();
+        }, "command-completion-" + this.completionThreadCounter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+
     @Override
     public Optional<CommandMapping> register(Object plugin, CommandCallable callable, String... alias) {
         return register(plugin, callable, Arrays.asList(alias));
@@ -142,6 +175,7 @@ public Optional<CommandMapping> register(Object plugin, CommandCallable callable
             if (mapping.isPresent()) {
                 this.owners.put(container, mapping.get());
                 this.reverseOwners.put(mapping.get(), container);
+                this.aliasTree = null;
             }
 
             return mapping;
@@ -153,6 +187,7 @@ public Optional<CommandMapping> removeMapping(CommandMapping mapping) {
         synchronized (this.lock) {
             final Optional<CommandMapping> removed = this.dispatcher.removeMapping(mapping);
             removed.ifPresent(this::forgetMapping);
+            this.aliasTree = null;
             return removed;
         }
     }
@@ -313,31 +348,8 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
         final CauseStack causeStack = CauseStack.currentOrEmpty();
         try (CauseStack.Frame frame = causeStack.pushCauseFrame()) {
             frame.pushCause(source);
-            final List<String> suggestions;
-            final String[] argSplit = arguments.split(" ", 2);
-            // TODO: Fix this in the SimpleDispatcher -> in 'getSuggestions' add after
-            // 'argSplit.length == 1' the check '&& !arguments.endsWith(" ")'
-            if (argSplit.length == 1 && !arguments.endsWith(" ")) {
-                suggestions = this.dispatcher.getSuggestions(source, arguments, targetPosition);
-            } else {
-                final Optional<? extends CommandMapping> cmdOptional = this.dispatcher.get(argSplit[0], source);
-                if (!cmdOptional.isPresent()) {
-                    suggestions = ImmutableList.of();
-                } else {
-                    suggestions = cmdOptional.get().getCallable().getSuggestions(source, argSplit[1], targetPosition);
-                }
-            }
-
-            final List<String> rawSuggestions = new ArrayList<>(suggestions);
-            final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(frame.getCurrentCause(),
-                    ImmutableList.copyOf(suggestions), rawSuggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0],
-                    arguments, Optional.ofNullable(targetPosition), usingBlock);
-            Sponge.getGame().getEventManager().post(event);
-            if (event.isCancelled()) {
-                return ImmutableList.of();
-            } else {
-                return ImmutableList.copyOf(event.getTabCompletions());
-            }
+            final List<String> suggestions = getRawSuggestions(source, arguments, targetPosition);
+            return postTabCompleteEvent(frame.getCurrentCause(), suggestions, arguments, targetPosition, usingBlock);
         } catch (CommandException e) {
             source.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
             return ImmutableList.of();
@@ -346,6 +358,154 @@ public List<String> getSuggestions(CommandSource source, String arguments, @Null
         }
     }
 
+    /**
+     * Gets the suggestions for the given arguments from the command callables, this
+     * should be called from the main thread. The suggestions of callables that implement
+     * {@link AsyncCompletableCallable} are computed off the main thread, all the other
+     * suggestions are computed directly and a completed future will be returned.
+     * No {@link TabCompleteEvent} will be thrown for the suggestions,
+     * see {@link #postTabCompleteEvent(CommandSource, List, String, Location, boolean)}.
+     *
+     * @param source The command source
+     * @param arguments The arguments
+     * @param targetPosition The target position
+     * @return The future of the suggestions
+     */
+    public CompletableFuture<List<String>> getRawSuggestionsAsync(CommandSource source, String arguments,
+            @Nullable Location<World> targetPosition) {
+        checkNotNull(source, "source");
+        checkNotNull(arguments, "arguments");
+        final String[] argSplit = arguments.split(" ", 2);
+        if (argSplit.length > 1) {
+            final CommandMapping mapping = this.dispatcher.get(argSplit[0], source).orElse(null);
+            if (mapping != null && mapping.getCallable() instanceof AsyncCompletableCallable) {
+                return CompletableFuture.supplyAsync(() -> getRawSuggestions(source, arguments, () ->
+                        mapping.getCallable().getSuggestions(source, argSplit[1], targetPosition)), this.completionExecutor);
+            }
+        }
+        return CompletableFuture.completedFuture(getRawSuggestions(source, arguments, () ->
+                getRawSuggestions(source, arguments, targetPosition)));
+    }
+
+    private List<String> getRawSuggestions(CommandSource source, String arguments, SuggestionsSupplier supplier) {
+        final CauseStack causeStack = CauseStack.current();
+        try (CauseStack.Frame frame = causeStack.pushCauseFrame()) {
+            frame.pushCause(source);
+            return supplier.get();
+        } catch (CommandException e) {
+            source.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
+        } catch (Exception e) {
+            this.logger.error("Error occurred while tab completing '{}'", arguments, e);
+        }
+        return ImmutableList.of();
+    }
+
+    @FunctionalInterface
+    private interface SuggestionsSupplier {
+
+        List<String> get() throws CommandException;
+    }
+
+    /**
+     * Shuts down the command completion threads.
+     */
+    public void shutdown() {
+        this.completionExecutor.shutdownNow();
+    }
+
+    /**
+     * Throws the {@link TabCompleteEvent} for the given raw suggestions, this
+     * should be called from the main thread.
+     *
+     * @param source The command source
+     * @param suggestions The raw suggestions
+     * @param arguments The arguments
+     * @param targetPosition The target position
+     * @param usingBlock Whether the command is completed by a command block
+     * @return The final suggestions
+     */
+    public List<String> postTabCompleteEvent(CommandSource source, List<String> suggestions, String arguments,
+            @Nullable Location<World> targetPosition, boolean usingBlock) {
+        final CauseStack causeStack = CauseStack.currentOrEmpty();
+        try (CauseStack.Frame frame = causeStack.pushCauseFrame()) {
+            frame.pushCause(source);
+            return postTabCompleteEvent(frame.getCurrentCause(), suggestions, arguments, targetPosition, usingBlock);
+        }
+    }
+
+    private List<String> postTabCompleteEvent(Cause cause, List<String> suggestions, String arguments,
+            @Nullable Location<World> targetPosition, boolean usingBlock) {
+        final String[] argSplit = arguments.split(" ", 2);
+        final List<String> rawSuggestions = new ArrayList<>(suggestions);
+        final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(cause,
+                ImmutableList.copyOf(suggestions), rawSuggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0],
+                arguments, Optional.ofNullable(targetPosition), usingBlock);
+        Sponge.getGame().getEventManager().post(event);
+        if (event.isCancelled()) {
+            return ImmutableList.of();
+        } else {
+            return ImmutableList.copyOf(event.getTabCompletions());
+        }
+    }
+
+    private List<String> getRawSuggestions(CommandSource source, String arguments,
+            @Nullable Location<World> targetPosition) throws CommandException {
+        final String[] argSplit = arguments.split(" ", 2);
+        // TODO: Fix this in the SimpleDispatcher -> in 'getSuggestions' add after
+        // 'argSplit.length == 1' the check '&& !arguments.endsWith(" ")'
+        if (argSplit.length == 1 && !arguments.endsWith(" ")) {
+            return getAliasSuggestions(source, arguments);
+        }
+        final Optional<? extends CommandMapping> cmdOptional = this.dispatcher.get(argSplit[0], source);
+        if (!cmdOptional.isPresent()) {
+            return ImmutableList.of();
+        }
+        return cmdOptional.get().getCallable().getSuggestions(source, argSplit[1], targetPosition);
+    }
+
+    /**
+     * Gets all the aliases that start with the given prefix and
+     * that can be used by the {@link CommandSource}.
+     *
+     * @param source The command source
+     * @param prefix The alias prefix
+     * @return The aliases
+     */
+    private List<String> getAliasSuggestions(CommandSource source, String prefix) {
+        final String prefix0 = prefix.toLowerCase();
+        final ImmutableList.Builder<String> suggestions = ImmutableList.builder();
+        for (Map.Entry<String, List<CommandMapping>> entry : getAliasTree().tailMap(prefix0, true).entrySet()) {
+            final String alias = entry.getKey();
+            if (!alias.startsWith(prefix0)) {
+                break;
+            }
+            for (CommandMapping mapping : entry.getValue()) {
+                if (mapping.getCallable().testPermission(source)) {
+                    suggestions.add(alias);
+                    break;
+                }
+            }
+        }
+        return suggestions.build();
+    }
+
+    private NavigableMap<String, List<CommandMapping>> getAliasTree() {
+        NavigableMap<String, List<CommandMapping>> aliasTree = this.aliasTree;
+        if (aliasTree == null) {
+            synchronized (this.lock) {
+                aliasTree = this.aliasTree;
+                if (aliasTree == null) {
+                    final TreeMap<String, List<CommandMapping>> map = new TreeMap<>();
+                    for (Map.Entry<String, Collection<CommandMapping>> entry : this.dispatcher.getAll().asMap().entrySet()) {
+                        map.put(entry.getKey().toLowerCase(), ImmutableList.copyOf(entry.getValue()));
+                    }
+                    this.aliasTree = aliasTree = Collections.unmodifiableNavigableMap(map);
+                }
+            }
+        }
+        return aliasTree;
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
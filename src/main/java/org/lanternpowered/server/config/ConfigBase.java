@@ -45,10 +45,12 @@
 import org.lanternpowered.server.config.serializer.MultimapTypeSerializer;
 import org.lanternpowered.server.config.serializer.ProxyTypeSerializer;
 import org.lanternpowered.server.config.serializer.TextTypeSerializer;
+import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.network.ProxyType;
 import org.lanternpowered.server.profile.LanternGameProfile;
 import org.lanternpowered.server.profile.LanternProfileProperty;
 import org.lanternpowered.server.util.IpSet;
+import org.lanternpowered.server.util.ThreadHelper;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataView;
@@ -63,6 +65,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public abstract class ConfigBase {
@@ -90,6 +98,43 @@ public abstract class ConfigBase {
         DEFAULT_OPTIONS = ConfigurationOptions.defaults().setSerializers(typeSerializers);
     }
 
+    // The delay in seconds before a dirty config is saved, all the
+    // changes within this delay will be written at once
+    private static final long WRITE_BEHIND_DELAY = 5;
+
+    private static final ScheduledThreadPoolExecutor WRITE_BEHIND_EXECUTOR = createWriteBehindExecutor();
+
+    // All the configs that have a pending write behind save
+    private static final Set<ConfigBase> DIRTY_CONFIGS = ConcurrentHashMap.newKeySet();
+
+    private static ScheduledThreadPoolExecutor createWriteBehindExecutor() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                ThreadHelper.newFastThreadLocalThreadFactory(() -> "config-write-behind", thread -> thread.setDaemon(true)));
+        // The pending saves will be done by flushAll
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    /**
+     * Shuts down the write behind executor and saves all the configs which
+     * have pending changes. Configs that are marked dirty after this method
+     * is called will be saved directly.
+     */
+    public static void flushAll() {
+        WRITE_BEHIND_EXECUTOR.shutdown();
+        try {
+            // Wait for the save that is currently running, if any
+            if (!WRITE_BEHIND_EXECUTOR.awaitTermination(10, TimeUnit.SECONDS)) {
+                Lantern.getLogger().warn("Timed out while waiting for the config write behind executor.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (ConfigBase config : DIRTY_CONFIGS) {
+            config.saveIfDirty();
+        }
+    }
+
     private final ObjectMapper<ConfigBase>.BoundInstance configMapper;
     private final ConfigurationLoader<ConfigurationNode> loader;
     private final ConfigurationOptions options;
@@ -98,6 +143,9 @@ public abstract class ConfigBase {
 
     private volatile ConfigurationNode root;
 
+    // Whether there is a pending write behind save
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
     /**
      * Creates a new config object.
      * 
@@ -172,7 +220,42 @@ public void copyFrom(ConfigBase configBase) throws IOException {
         }
     }
 
-    public void save() throws IOException {
+    /**
+     * Marks this config dirty, the config will be saved in the background
+     * after a short delay. Multiple changes within that delay only result
+     * in a single save.
+     */
+    public void markDirty() {
+        if (this.dirty.compareAndSet(false, true)) {
+            DIRTY_CONFIGS.add(this);
+            try {
+                WRITE_BEHIND_EXECUTOR.schedule(this::saveIfDirty, WRITE_BEHIND_DELAY, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                // The executor is shut down, save directly
+                saveIfDirty();
+            }
+        }
+    }
+
+    /**
+     * Saves this config if it was marked dirty and
+     * the changes weren't written yet.
+     */
+    public void saveIfDirty() {
+        if (this.dirty.get()) {
+            try {
+                save();
+            } catch (IOException e) {
+                Lantern.getLogger().error("An error occurred while saving the config: {}", this.path, e);
+            }
+        }
+    }
+
+    public synchronized void save() throws IOException {
+        // All the changes up until now will be written, changes that
+        // are made while saving will mark this config dirty again
+        DIRTY_CONFIGS.remove(this);
+        this.dirty.set(false);
         if (!Files.exists(this.path.getParent())) {
             Files.createDirectories(this.path.getParent());
         }
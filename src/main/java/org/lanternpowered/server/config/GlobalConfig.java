@@ -32,10 +32,13 @@
 
 import com.flowpowered.math.GenericMath;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 import org.lanternpowered.server.config.world.chunk.ChunkLoading;
@@ -44,6 +47,8 @@
 import org.lanternpowered.server.config.world.chunk.GlobalChunkLoading;
 import org.lanternpowered.server.game.DirectoryKeys;
 import org.lanternpowered.server.network.ProxyType;
+import org.lanternpowered.server.network.auth.HttpSessionAuthBackend;
+import org.lanternpowered.server.util.InetAddressIndex;
 import org.lanternpowered.server.util.IpSet;
 import org.lanternpowered.server.util.functions.Predicates;
 import org.spongepowered.api.text.Text;
@@ -54,9 +59,11 @@
 import java.io.IOException;
 import java.net.InetAddress;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -66,6 +73,8 @@ public class GlobalConfig extends ConfigBase implements ChunkLoadingConfig {
 
     private static final String FILE_NAME = "global.conf";
 
+    @Nullable private volatile IpSetIndex ipSetIndex;
+
     @Inject
     private GlobalConfig(@Named(DirectoryKeys.CONFIG) Path configFolder) throws IOException {
         super(configFolder.resolve(FILE_NAME), true);
@@ -202,6 +211,145 @@ private static final class Server {
         @Setting(value = "prevent-proxy-connections", comment = "Whether proxy connections should be prevented.\n"
                 + "This is only supported in the online mode.")
         private boolean preventProxyConnections = false;
+
+        @Setting(value = "authentication", comment = "Configuration for the authentication of players in online mode.")
+        private Authentication authentication = new Authentication();
+
+        @Setting(value = "connection-throttle", comment =
+                "Configuration for the throttling of new connections, status pings and logins.\n" +
+                "The limits per address are ignored when a proxy is used, the global limits still apply.")
+        private ConnectionThrottle connectionThrottle = new ConnectionThrottle();
+    }
+
+    @ConfigSerializable
+    public static final class ConnectionThrottle {
+
+        @Setting(value = ENABLED, comment = "Whether the connection throttle is enabled.")
+        private boolean enabled = true;
+
+        @Setting(value = "connections", comment = "The limits of new connections.")
+        private Limits connections = new Limits(2.0, 8, 200.0, 400);
+
+        @Setting(value = "status-pings", comment = "The limits of status pings, including legacy pings.")
+        private Limits statusPings = new Limits(2.0, 8, 200.0, 400);
+
+        @Setting(value = "logins", comment = "The limits of login attempts.")
+        private Limits logins = new Limits(0.5, 3, 50.0, 100);
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public Limits getConnections() {
+            return this.connections;
+        }
+
+        public Limits getStatusPings() {
+            return this.statusPings;
+        }
+
+        public Limits getLogins() {
+            return this.logins;
+        }
+    }
+
+    @ConfigSerializable
+    public static final class Limits {
+
+        @Setting(value = "per-address-rate", comment =
+                "The amount of attempts per second that are allowed for a single address.\n" +
+                "A value of zero or less disables the limit.")
+        private double perAddressRate;
+
+        @Setting(value = "per-address-burst", comment = "The amount of attempts a single address may do at once.")
+        private int perAddressBurst;
+
+        @Setting(value = "global-rate", comment =
+                "The amount of attempts per second that are allowed for all the addresses combined.\n" +
+                "A value of zero or less disables the limit.")
+        private double globalRate;
+
+        @Setting(value = "global-burst", comment = "The amount of attempts all the addresses combined may do at once.")
+        private int globalBurst;
+
+        // Used by the object mapper
+        @SuppressWarnings("unused")
+        private Limits() {
+        }
+
+        private Limits(double perAddressRate, int perAddressBurst, double globalRate, int globalBurst) {
+            this.perAddressRate = perAddressRate;
+            this.perAddressBurst = perAddressBurst;
+            this.globalRate = globalRate;
+            this.globalBurst = globalBurst;
+        }
+
+        public double getPerAddressRate() {
+            return this.perAddressRate;
+        }
+
+        public int getPerAddressBurst() {
+            return this.perAddressBurst;
+        }
+
+        public double getGlobalRate() {
+            return this.globalRate;
+        }
+
+        public int getGlobalBurst() {
+            return this.globalBurst;
+        }
+    }
+
+    @ConfigSerializable
+    public static final class Authentication {
+
+        @Setting(value = "session-server-url", comment =
+                "The url of the session server that is used to authenticate players.\n" +
+                "This may point to a local stub server for testing purposes.")
+        private String sessionServerUrl = HttpSessionAuthBackend.DEFAULT_URL;
+
+        @Setting(value = "connect-timeout", comment = "The connect timeout in milliseconds.")
+        private int connectTimeout = 5000;
+
+        @Setting(value = "read-timeout", comment = "The read timeout in milliseconds.")
+        private int readTimeout = 10000;
+
+        @Setting(value = "max-concurrent-requests", comment =
+                "The maximum amount of authentication requests that run at the same time.")
+        private int maxConcurrentRequests = 16;
+
+        @Setting(value = "max-queued-requests", comment =
+                "The maximum amount of authentication requests that may wait, logins\n" +
+                "beyond this amount will be rejected until the queue drains.")
+        private int maxQueuedRequests = 512;
+
+        @Setting(value = "cache-duration", comment = "The duration in seconds that an authentication result will be cached.")
+        private int cacheDuration = 30;
+
+        public String getSessionServerUrl() {
+            return this.sessionServerUrl;
+        }
+
+        public int getConnectTimeout() {
+            return this.connectTimeout;
+        }
+
+        public int getReadTimeout() {
+            return this.readTimeout;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return this.maxConcurrentRequests;
+        }
+
+        public int getMaxQueuedRequests() {
+            return this.maxQueuedRequests;
+        }
+
+        public int getCacheDuration() {
+            return this.cacheDuration;
+        }
     }
 
     @ConfigSerializable
@@ -337,6 +485,54 @@ public Predicate<InetAddress> getIpSet(String name) {
         return this.server.ipSets.containsKey(name) ? Predicates.and(this.server.ipSets.get(name)) : null;
     }
 
+    /**
+     * Gets the names of all the ip sets that contain the given {@link InetAddress}.
+     *
+     * @param address The address
+     * @return The names of the matching ip sets
+     */
+    public Set<String> getMatchingIpSets(InetAddress address) {
+        final Map<String, List<IpSet>> ipSets = this.server.ipSets;
+        IpSetIndex index = this.ipSetIndex;
+        // Rebuild the index if the ip sets were reloaded
+        if (index == null || index.ipSets != ipSets) {
+            this.ipSetIndex = index = new IpSetIndex(ipSets);
+        }
+        return index.getMatches(address);
+    }
+
+    private static final class IpSetIndex {
+
+        private final Map<String, List<IpSet>> ipSets;
+        private final InetAddressIndex<String> index = new InetAddressIndex<>();
+
+        private IpSetIndex(Map<String, List<IpSet>> ipSets) {
+            this.ipSets = ipSets;
+            for (Map.Entry<String, List<IpSet>> entry : ipSets.entrySet()) {
+                for (IpSet ipSet : entry.getValue()) {
+                    this.index.put(ipSet, entry.getKey());
+                }
+            }
+        }
+
+        private Set<String> getMatches(InetAddress address) {
+            if (this.index.isEmpty()) {
+                return Collections.emptySet();
+            }
+            // A named set only matches if all its entries
+            // match, so count the matches per name
+            final Object2IntMap<String> matches = new Object2IntOpenHashMap<>();
+            this.index.forEachMatch(address, name -> matches.put(name, matches.getInt(name) + 1));
+            final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+            for (Object2IntMap.Entry<String> entry : matches.object2IntEntrySet()) {
+                if (entry.getIntValue() == this.ipSets.get(entry.getKey()).size()) {
+                    builder.add(entry.getKey());
+                }
+            }
+            return builder.build();
+        }
+    }
+
     public int getDefaultOpPermissionLevel() {
         return this.server.opPermissionLevel;
     }
@@ -413,6 +609,14 @@ public boolean shouldPreventProxyConnections() {
         return this.server.preventProxyConnections;
     }
 
+    public Authentication getAuthentication() {
+        return this.server.authentication;
+    }
+
+    public ConnectionThrottle getConnectionThrottle() {
+        return this.server.connectionThrottle;
+    }
+
     @Override
     public ChunkLoadingTickets getChunkLoadingTickets(String plugin) {
         return this.worlds.chunkLoading.getChunkLoadingTickets(plugin);
@@ -34,15 +34,20 @@
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public abstract class UserConfig<T extends UserEntry> extends ConfigBase implements UserStorage<T> {
 
     private final Map<UUID, T> byUUID = Maps.newConcurrentMap();
     private final Map<String, T> byName = Maps.newConcurrentMap();
+    private final List<Consumer<UUID>> changeListeners = new CopyOnWriteArrayList<>();
 
     public UserConfig(Path path, boolean hocon) throws IOException {
         super(path, hocon);
@@ -54,6 +59,22 @@ public UserConfig(Path path, ConfigurationOptions options, boolean hocon) throws
 
     protected abstract List<T> getBackingList();
 
+    /**
+     * Adds a listener that will be called with the unique id of
+     * a profile every time that its entry is added, replaced or removed.
+     *
+     * @param listener The listener
+     */
+    public void addChangeListener(Consumer<UUID> listener) {
+        this.changeListeners.add(listener);
+    }
+
+    private void notifyChange(UUID uniqueId) {
+        for (Consumer<UUID> listener : this.changeListeners) {
+            listener.accept(uniqueId);
+        }
+    }
+
     @Override
     public void save() throws IOException {
         synchronized (this) {
@@ -67,8 +88,10 @@ public void save() throws IOException {
 
     @Override
     public void load() throws IOException {
+        final Set<UUID> changed;
         synchronized (this) {
             super.load();
+            changed = new HashSet<>(this.byUUID.keySet());
             this.byUUID.clear();
             this.byName.clear();
             for (T entry : this.getBackingList()) {
@@ -78,7 +101,9 @@ public void load() throws IOException {
                     this.byName.put(optName.get().toLowerCase(), entry);
                 }
             }
+            changed.addAll(this.byUUID.keySet());
         }
+        changed.forEach(this::notifyChange);
     }
 
     @Override
@@ -104,6 +129,8 @@ public void addEntry(T entry) {
         if (optName.isPresent()) {
             this.byName.put(optName.get().toLowerCase(), entry);
         }
+        markDirty();
+        notifyChange(gameProfile.getUniqueId());
     }
 
     @Override
@@ -114,6 +141,8 @@ public boolean removeEntry(UUID uniqueId) {
             if (optName.isPresent()) {
                 this.byName.remove(optName.get().toLowerCase());
             }
+            markDirty();
+            notifyChange(uniqueId);
             return true;
         }
         return false;
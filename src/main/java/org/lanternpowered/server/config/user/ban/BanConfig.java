@@ -42,7 +42,6 @@
 import org.lanternpowered.server.game.DirectoryKeys;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.service.CloseableService;
-import org.lanternpowered.server.util.collect.Lists2;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Event;
@@ -59,10 +58,16 @@
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
 
 @Singleton
 @SuppressWarnings({"unchecked", "rawtypes", "SuspiciousMethodCalls"})
@@ -88,8 +93,22 @@ public final class BanConfig extends ConfigBase implements UserStorage<BanEntry>
     @Setting(value = "entries")
     private List<BanEntry> entries = new ArrayList<>();
 
-    // A version of the entries list that allows concurrent operations
-    private final List<BanEntry> entries0 = Collections.synchronizedList(Lists2.createExpirableValueListWithPredicate(BanEntry::isExpired));
+    // The profile bans, indexed by the unique id of the profile
+    private final Map<UUID, BanEntry.Profile> profileBans = new ConcurrentHashMap<>();
+
+    // The profile bans, indexed by the lowercase name of the profile
+    private final Map<String, BanEntry.Profile> profileBansByName = new ConcurrentHashMap<>();
+
+    // The ip bans, indexed by the address, these will be checked for
+    // every connection so they need to be available without any scanning
+    private final Map<InetAddress, BanEntry.Ip> ipBans = new ConcurrentHashMap<>();
+
+    // All the bans that will expire, sorted by expiration date
+    private final PriorityQueue<BanEntry> expirationQueue = new PriorityQueue<>(
+            Comparator.comparing((BanEntry entry) -> entry.getExpirationDate().get()));
+
+    // The time in milliseconds when the next ban expires
+    private volatile long nextExpirationTime = Long.MAX_VALUE;
 
     @Inject
     public BanConfig(@Named(DirectoryKeys.CONFIG) Path configFolder) throws IOException {
@@ -102,7 +121,7 @@ public BanConfig(@Named(DirectoryKeys.CONFIG) Path configFolder) throws IOExcept
     public void save() throws IOException {
         synchronized (this) {
             this.entries.clear();
-            this.entries.addAll(this.entries0);
+            this.entries.addAll(getEntries());
             super.save();
         }
     }
@@ -111,26 +130,137 @@ public void save() throws IOException {
     public void load() throws IOException {
         synchronized (this) {
             super.load();
-            this.entries0.clear();
-            this.entries0.addAll(this.entries);
+            this.profileBans.clear();
+            this.profileBansByName.clear();
+            this.ipBans.clear();
+            this.expirationQueue.clear();
+            this.nextExpirationTime = Long.MAX_VALUE;
+            this.entries.forEach(this::putEntry);
+        }
+    }
+
+    /**
+     * Adds the {@link BanEntry} to the lookup maps, replacing
+     * the ban with the same target. Expired bans are ignored.
+     *
+     * @param entry The ban entry
+     * @return The previous ban entry, if present
+     */
+    @Nullable
+    private BanEntry putEntry(BanEntry entry) {
+        if (entry.isExpired()) {
+            return null;
+        }
+        final BanEntry oldEntry;
+        if (entry instanceof BanEntry.Ip) {
+            oldEntry = this.ipBans.put(((BanEntry.Ip) entry).getAddress(), (BanEntry.Ip) entry);
+        } else {
+            final BanEntry.Profile profileEntry = (BanEntry.Profile) entry;
+            oldEntry = this.profileBans.put(profileEntry.getProfile().getUniqueId(), profileEntry);
+            if (oldEntry != null) {
+                removeName((BanEntry.Profile) oldEntry);
+            }
+            profileEntry.getProfile().getName().ifPresent(
+                    name -> this.profileBansByName.put(name.toLowerCase(Locale.ENGLISH), profileEntry));
+        }
+        final boolean expires = entry.getExpirationDate().isPresent();
+        final boolean oldExpires = oldEntry != null && oldEntry.getExpirationDate().isPresent();
+        if (expires || oldExpires) {
+            synchronized (this.expirationQueue) {
+                if (oldExpires) {
+                    this.expirationQueue.remove(oldEntry);
+                }
+                if (expires) {
+                    this.expirationQueue.add(entry);
+                }
+                updateNextExpirationTime();
+            }
+        }
+        return oldEntry;
+    }
+
+    /**
+     * Removes the {@link BanEntry} from the lookup maps and
+     * the expiration queue.
+     *
+     * @param entry The ban entry
+     * @return Whether the entry was removed
+     */
+    private boolean removeEntry(BanEntry entry) {
+        if (!removeIndexedEntry(entry)) {
+            return false;
+        }
+        if (entry.getExpirationDate().isPresent()) {
+            synchronized (this.expirationQueue) {
+                this.expirationQueue.remove(entry);
+                updateNextExpirationTime();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the {@link BanEntry} from the lookup maps.
+     *
+     * @param entry The ban entry
+     * @return Whether the entry was removed
+     */
+    private boolean removeIndexedEntry(BanEntry entry) {
+        if (entry instanceof BanEntry.Ip) {
+            return this.ipBans.remove(((BanEntry.Ip) entry).getAddress(), entry);
+        }
+        final BanEntry.Profile profileEntry = (BanEntry.Profile) entry;
+        if (!this.profileBans.remove(profileEntry.getProfile().getUniqueId(), profileEntry)) {
+            return false;
+        }
+        removeName(profileEntry);
+        return true;
+    }
+
+    private void removeName(BanEntry.Profile entry) {
+        entry.getProfile().getName().ifPresent(
+                name -> this.profileBansByName.remove(name.toLowerCase(Locale.ENGLISH), entry));
+    }
+
+    /**
+     * Updates the time of the next expiration, the caller
+     * is responsible for holding the expiration queue lock.
+     */
+    private void updateNextExpirationTime() {
+        final BanEntry entry = this.expirationQueue.peek();
+        this.nextExpirationTime = entry == null ? Long.MAX_VALUE : entry.getExpirationDate().get().toEpochMilli();
+    }
+
+    /**
+     * Removes all the bans that expired. This only needs to visit the
+     * expired entries, the check is a single comparison if none expired.
+     */
+    private void removeExpiredEntries() {
+        if (System.currentTimeMillis() <= this.nextExpirationTime) {
+            return;
+        }
+        synchronized (this.expirationQueue) {
+            BanEntry entry;
+            while ((entry = this.expirationQueue.peek()) != null && entry.isExpired()) {
+                this.expirationQueue.poll();
+                removeIndexedEntry(entry);
+            }
+            updateNextExpirationTime();
         }
     }
 
     @Override
     public Optional<BanEntry> getEntryByUUID(UUID uniqueId) {
-        return this.entries0.stream().filter(e -> e instanceof BanEntry.Profile &&
-                ((BanEntry.Profile) e).getProfile().getUniqueId().equals(uniqueId)).findFirst();
+        checkNotNull(uniqueId, "uniqueId");
+        removeExpiredEntries();
+        return Optional.ofNullable(this.profileBans.get(uniqueId));
     }
 
     @Override
     public Optional<BanEntry> getEntryByName(String username) {
-        return this.entries0.stream().filter(e -> {
-            if (!(e instanceof BanEntry.Profile)) {
-                return false;
-            }
-            final Optional<String> optName = ((BanEntry.Profile) e).getProfile().getName();
-            return optName.isPresent() && optName.get().equalsIgnoreCase(username);
-        }).findFirst();
+        checkNotNull(username, "username");
+        removeExpiredEntries();
+        return Optional.ofNullable(this.profileBansByName.get(username.toLowerCase(Locale.ENGLISH)));
     }
 
     @Override
@@ -146,9 +276,9 @@ public Optional<BanEntry> getEntryByProfile(GameProfile gameProfile) {
      * @return The ban entry
      */
     public Optional<BanEntry> getEntryByIp(InetAddress address) {
-        final String address0 = checkNotNull(address, "address").getHostAddress();
-        return this.entries0.stream().filter(e -> e instanceof BanEntry.Ip &&
-                ((BanEntry.Ip) e).getAddress().getHostAddress().equalsIgnoreCase(address0)).findFirst();
+        checkNotNull(address, "address");
+        removeExpiredEntries();
+        return Optional.ofNullable(this.ipBans.get(address));
     }
 
     @Override
@@ -164,17 +294,19 @@ public boolean removeEntry(UUID uniqueId) {
 
     @Override
     public Collection<? extends Ban> getBans() {
-        return ImmutableList.copyOf(this.entries0);
+        return getEntries();
     }
 
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        return (Collection) this.entries0.stream().filter(e -> e instanceof Ban.Profile).collect(ImmutableList.toImmutableList());
+        removeExpiredEntries();
+        return ImmutableList.<Ban.Profile>copyOf(this.profileBans.values());
     }
 
     @Override
     public Collection<Ban.Ip> getIpBans() {
-        return (Collection) this.entries0.stream().filter(e -> e instanceof Ban.Ip).collect(ImmutableList.toImmutableList());
+        removeExpiredEntries();
+        return ImmutableList.<Ban.Ip>copyOf(this.ipBans.values());
     }
 
     @Override
@@ -212,7 +344,8 @@ public boolean pardon(InetAddress address) {
     @Override
     public boolean removeBan(Ban ban) {
         checkNotNull(ban, "ban");
-        if (this.entries0.remove(ban)) {
+        if (ban instanceof BanEntry && removeEntry((BanEntry) ban)) {
+            markDirty();
             final CauseStack causeStack = CauseStack.currentOrEmpty();
             // Post the pardon events
             final Event event;
@@ -242,14 +375,9 @@ public boolean removeBan(Ban ban) {
     @Override
     public Optional<? extends Ban> addBan(Ban ban) {
         checkNotNull(ban, "ban");
-        final Optional<Ban> oldBan;
-        if (ban instanceof Ban.Ip) {
-            oldBan = (Optional) getBanFor(((Ban.Ip) ban).getAddress());
-        } else {
-            oldBan = (Optional) getBanFor(((Ban.Profile) ban).getProfile());
-        }
-        oldBan.ifPresent(this.entries0::remove);
-        this.entries0.add((BanEntry) ban);
+        removeExpiredEntries();
+        final Optional<Ban> oldBan = Optional.ofNullable(putEntry((BanEntry) ban));
+        markDirty();
         if (!oldBan.isPresent() || !oldBan.get().equals(ban)) {
             final CauseStack causeStack = CauseStack.currentOrEmpty();
             // Post the ban events
@@ -278,12 +406,22 @@ public Optional<? extends Ban> addBan(Ban ban) {
 
     @Override
     public boolean hasBan(Ban ban) {
-        return this.entries0.contains(checkNotNull(ban, "ban"));
+        checkNotNull(ban, "ban");
+        removeExpiredEntries();
+        if (ban instanceof Ban.Ip) {
+            return this.ipBans.get(((Ban.Ip) ban).getAddress()) == ban;
+        } else {
+            return this.profileBans.get(((Ban.Profile) ban).getProfile().getUniqueId()) == ban;
+        }
     }
 
     @Override
     public Collection<BanEntry> getEntries() {
-        return ImmutableList.copyOf(this.entries0);
+        removeExpiredEntries();
+        return ImmutableList.<BanEntry>builder()
+                .addAll(this.profileBans.values())
+                .addAll(this.ipBans.values())
+                .build();
     }
 
     @Override
@@ -80,7 +80,7 @@ default <E> boolean transformFast(Key<? extends BaseValue<E>> key, Function<E, E
      */
     default <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerFastTo(this, element);
         }
@@ -117,7 +117,7 @@ default <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
     @Override
     default <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E element) {
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerTo(this, element);
         }
@@ -177,7 +177,7 @@ default <E> boolean offerFast(BaseValue<E> value) {
         final Key<? extends BaseValue<E>> key = value.getKey();
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerFastTo(this, value);
         }
@@ -218,7 +218,7 @@ default <E> DataTransactionResult offer(BaseValue<E> value) {
         final Key<? extends BaseValue<E>> key = value.getKey();
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).offerTo(this, value);
         }
@@ -297,7 +297,7 @@ default boolean removeFast(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).removeFastFrom(this);
         }
@@ -335,7 +335,7 @@ default DataTransactionResult remove(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).removeFrom(this);
         }
@@ -46,6 +46,8 @@
 import java.util.Set;
 import java.util.stream.StreamSupport;
 
+import javax.annotation.Nullable;
+
 @SuppressWarnings("unchecked")
 public interface IValueContainer<C extends ValueContainer<C>> extends ValueContainer<C>, IValueHolder {
 
@@ -101,7 +103,7 @@ static boolean matchContents(IValueContainer<?> valueContainerA, IValueContainer
         }
 
         for (KeyRegistration<?,?> registration1 : valueCollectionA.getAll()) {
-            final KeyRegistration registration2 = (KeyRegistration) valueCollectionB.get((Key) registration1.getKey()).get();
+            final KeyRegistration registration2 = valueCollectionB.getRegistration(registration1.getKey());
             // Get the values from both of the containers and match them
             final Object value1 = ((Processor) registration1).getFrom(valueContainerA).orElse(null);
             final Object value2 = ((Processor) registration2).getFrom(valueContainerB).orElse(null);
@@ -142,7 +144,7 @@ default boolean supports(Key<?> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<?, ?> localKeyRegistration = (KeyRegistration<?, ?>) getValueCollection().get((Key) key).orElse(null);
+        final KeyRegistration<?, ?> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<?>, ?>) localKeyRegistration).isApplicableTo(this);
         }
@@ -173,7 +175,7 @@ default <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
         checkNotNull(key, "key");
 
         // Check the local key registration
-        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().get(key).orElse(null);
+        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<BaseValue<E>, E>) localKeyRegistration).getFrom(this);
         }
@@ -198,11 +200,43 @@ default <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
         return Optional.empty();
     }
 
+    /**
+     * Gets the element for the given {@link Key}, this is a alternative for
+     * {@link #get(Key)} which doesn't wrap the result in a {@link Optional}.
+     *
+     * @param key The key
+     * @param <E> The element type
+     * @return The element, or {@code null} if not present
+     */
+    @Nullable
+    default <E> E getOrNull(Key<? extends BaseValue<E>> key) {
+        // Check the local key registration, this is the most common case
+        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().getRegistration(key);
+        if (localKeyRegistration != null) {
+            return ((Processor<BaseValue<E>, E>) localKeyRegistration).getOrNullFrom(this);
+        }
+        return get(key).orElse(null);
+    }
+
+    /**
+     * Gets the element for the given {@link Key}, or the default
+     * element if not present.
+     *
+     * @param key The key
+     * @param defaultElement The default element
+     * @param <E> The element type
+     * @return The element
+     */
+    default <E> E getOrElse(Key<? extends BaseValue<E>> key, E defaultElement) {
+        final E element = getOrNull(key);
+        return element == null ? defaultElement : element;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     default <E, V extends BaseValue<E>> Optional<V> getRawValueFor(Key<V> key) {
         // Check the local key registration
-        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().get(key).orElse(null);
+        final KeyRegistration<BaseValue<E>, E> localKeyRegistration = getValueCollection().getRegistration(key);
         if (localKeyRegistration != null) {
             return ((Processor<V, E>) localKeyRegistration).getValueFrom(this);
         }
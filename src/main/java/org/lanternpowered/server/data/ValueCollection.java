@@ -28,8 +28,10 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Maps;
 import org.lanternpowered.server.data.element.Element;
 import org.lanternpowered.server.data.element.ElementKeyRegistration;
+import org.lanternpowered.server.data.key.LanternKey;
 import org.lanternpowered.server.data.processor.ElementProcessorBuilder;
 import org.lanternpowered.server.data.processor.ValueProcessorKeyRegistration;
 import org.lanternpowered.server.data.processor.Processor;
@@ -45,6 +47,7 @@
 import org.spongepowered.api.data.value.mutable.MutableBoundedValue;
 import org.spongepowered.api.data.value.mutable.Value;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -86,7 +89,15 @@ public static ValueCollection create(Mode mode) {
         return new ValueCollection(new HashMap<>(), mode);
     }
 
+    private static final KeyRegistration[] EMPTY_SLOTS = new KeyRegistration[0];
+
     private final Map<Key<?>, KeyRegistration> values;
+
+    /**
+     * All the {@link KeyRegistration}s indexed by the
+     * {@link LanternKey#getIndex()} of their key.
+     */
+    private KeyRegistration[] slots = EMPTY_SLOTS;
     private final Set<Key<?>> unmodifiableKeys;
     private final Collection<KeyRegistration<?,?>> unmodifiableRegistrations;
     private final Mode mode;
@@ -105,12 +116,34 @@ private void checkKey(Key<?> key) {
 
     @Override
     public ValueCollection copy() {
-        final Map<Key<?>, KeyRegistration> values = new HashMap<>();
+        final Map<Key<?>, KeyRegistration> values = Maps.newHashMapWithExpectedSize(this.values.size());
+        final ValueCollection copy = new ValueCollection(values, this.mode);
+        // The slots will end up with the same length, so allocate them only once
+        final KeyRegistration[] slots = this.slots.length == 0 ? EMPTY_SLOTS : new KeyRegistration[this.slots.length];
+        copy.slots = slots;
         for (Map.Entry<Key<?>, KeyRegistration> entry : this.values.entrySet()) {
-            final KeyRegistration registration = entry.getValue();
-            values.put(entry.getKey(), Copyable.copy(registration).orElse(registration));
+            final Key<?> key = entry.getKey();
+            KeyRegistration registration = entry.getValue();
+            registration = Copyable.copy(registration).orElse(registration);
+            values.put(key, registration);
+            if (key instanceof LanternKey) {
+                slots[((LanternKey) key).getIndex()] = registration;
+            }
+        }
+        return copy;
+    }
+
+    private void put(Key<?> key, KeyRegistration registration) {
+        this.values.put(key, registration);
+        if (!(key instanceof LanternKey)) {
+            return;
+        }
+        final int index = ((LanternKey) key).getIndex();
+        if (index >= this.slots.length) {
+            // Grow geometrically, the keys aren't registered in index order
+            this.slots = Arrays.copyOf(this.slots, Math.max(index + 1, this.slots.length * 2));
         }
-        return new ValueCollection(values, this.mode);
+        this.slots[index] = registration;
     }
 
     /**
@@ -141,7 +174,7 @@ public Collection<KeyRegistration<?,?>> getAll() {
      * @return Is registered
      */
     public boolean has(Key<?> key) {
-        return this.values.containsKey(key);
+        return getRegistration(key) != null;
     }
 
     /**
@@ -153,7 +186,27 @@ public boolean has(Key<?> key) {
      * @return The key registration, if present
      */
     public <V extends BaseValue<E>, E> Optional<KeyRegistration<V, E>> get(Key<? extends BaseValue<E>> key) {
-        return Optional.ofNullable(this.values.get(key));
+        return Optional.ofNullable(getRegistration(key));
+    }
+
+    /**
+     * Gets the {@link KeyRegistration} for the given {@link Key}, this
+     * is a faster alternative for {@link #get(Key)} which doesn't
+     * need to hash the key.
+     *
+     * @param key The key
+     * @param <V> The value type
+     * @param <E> The element type
+     * @return The key registration, or {@code null} if not present
+     */
+    @Nullable
+    public <V extends BaseValue<E>, E> KeyRegistration<V, E> getRegistration(Key<?> key) {
+        if (key instanceof LanternKey) {
+            final int index = ((LanternKey) key).getIndex();
+            final KeyRegistration[] slots = this.slots;
+            return index < slots.length ? slots[index] : null;
+        }
+        return this.values.get(key);
     }
 
     /**
@@ -165,7 +218,7 @@ public <V extends BaseValue<E>, E> Optional<KeyRegistration<V, E>> get(Key<? ext
      */
     public <E> Optional<Element<E>> getElement(Key<? extends BaseValue<E>> key) {
         checkNotNull(key, "key");
-        final Object object = this.values.get(key);
+        final Object object = getRegistration(key);
         return object instanceof Element ? Optional.of((Element<E>) object) : Optional.empty();
     }
 
@@ -184,7 +237,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> registerNonRemov
         checkKey(key);
         final ElementKeyRegistration<V, E> processor = (ElementKeyRegistration<V, E>) ElementProcessorBuilder.createNonRemovable(key);
         processor.set(defaultValue);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -205,7 +258,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
         checkKey(key);
         final ElementKeyRegistration<V, E> processor = (ElementKeyRegistration<V, E>) ElementProcessorBuilder.createDefault(key);
         processor.set(defaultValue);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -232,7 +285,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
         builderConsumer.accept(builder);
         final ElementKeyRegistration<V, E> element = (ElementKeyRegistration<V, E>) builder.build();
         element.set(defaultValue);
-        this.values.put(key, element);
+        put(key, element);
         return element;
     }
 
@@ -247,7 +300,7 @@ public <V extends BaseValue<E>, E> ElementKeyRegistration<V, E> register(
     public <V extends BaseValue<E>, E> ValueProcessorKeyRegistration<V, E> registerProcessor(Key<? extends V> key) {
         checkKey(key);
         final ValueProcessorKeyRegistration<V, E> processor = ValueProcessorKeyRegistration.create(key);
-        this.values.put(key, processor);
+        put(key, processor);
         return processor;
     }
 
@@ -350,7 +403,7 @@ private <V extends BoundedValue<E>, E extends Comparable<E>> ElementKeyRegistrat
         });
         final ElementKeyRegistration<V, E> element = (ElementKeyRegistration<V, E>) builder.build();
         element.set(defaultValue);
-        this.values.put(key, element);
+        put(key, element);
         return element;
     }
 
@@ -53,7 +53,8 @@
     E get();
 
     /**
-     * Adds a listener that tracks the changes of the internal value.
+     * Adds a listener that tracks the changes of the internal value. Listeners
+     * aren't transferred to copies of this element.
      *
      * @param listener The listener
      */
@@ -25,6 +25,8 @@
  */
 package org.lanternpowered.server.data.io;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import org.lanternpowered.server.data.DataQueries;
 import org.lanternpowered.server.data.io.store.ObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectStoreRegistry;
@@ -34,19 +36,30 @@
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 public final class UserIO {
 
     private final static Path SPONGE_PLAYER_DATA_FOLDER = Paths.get("data", "sponge");
     private final static Path PLAYER_DATA_FOLDER = Paths.get("playerdata");
     private final static Path STATISTICS_FOLDER = Paths.get("stats");
     private final static DataQuery NAME = DataQuery.of("Name");
+    private final static Gson GSON = new Gson();
 
     public static boolean exists(Path dataFolder, UUID uniqueId) {
         final String fileName = uniqueId.toString() + ".dat";
@@ -63,12 +76,31 @@ public static Optional<String> loadName(Path dataFolder, UUID uniqueId) throws I
     }
 
     public static void load(Path dataFolder, AbstractUser player) throws IOException {
-        final String fileName = player.getUniqueId().toString() + ".dat";
+        apply(player, read(dataFolder, player.getUniqueId()));
+    }
+
+    public static void save(Path dataFolder, AbstractUser player) throws IOException {
+        write(dataFolder, player.getUniqueId(), serialize(player));
+    }
+
+    /**
+     * Reads the {@link UserData} of the user with the given
+     * {@link UUID}, this only accesses the file system and can
+     * safely be called from any thread.
+     *
+     * @param dataFolder The data folder
+     * @param uniqueId The unique id of the user
+     * @return The user data
+     * @throws IOException If an error occurred while reading the data
+     */
+    public static UserData read(Path dataFolder, UUID uniqueId) throws IOException {
+        final String fileName = uniqueId.toString() + ".dat";
 
         // Search for the player data and load it
+        DataContainer dataContainer = null;
         Path dataFile = dataFolder.resolve(PLAYER_DATA_FOLDER).resolve(fileName);
         if (Files.exists(dataFile)) {
-            final DataContainer dataContainer = NbtStreamUtils.read(Files.newInputStream(dataFile), true);
+            dataContainer = NbtStreamUtils.read(Files.newInputStream(dataFile), true);
 
             // Load sponge data if present and attach it to the main data
             dataFile = dataFolder.resolve(SPONGE_PLAYER_DATA_FOLDER).resolve(fileName);
@@ -76,49 +108,168 @@ public static void load(Path dataFolder, AbstractUser player) throws IOException
                 final DataContainer spongeDataContainer = NbtStreamUtils.read(Files.newInputStream(dataFile), true);
                 dataContainer.set(DataQueries.EXTENDED_SPONGE_DATA, spongeDataContainer);
             }
-
-            final ObjectStore<AbstractUser> objectStore = ObjectStoreRegistry.get().get(AbstractUser.class).get();
-            objectStore.deserialize(player, dataContainer);
         }
 
-        final Path statisticsFile = dataFolder.resolve(STATISTICS_FOLDER).resolve(player.getUniqueId().toString() + ".json");
+        JsonObject statistics = null;
+        final Path statisticsFile = dataFolder.resolve(STATISTICS_FOLDER).resolve(uniqueId.toString() + ".json");
         if (Files.exists(statisticsFile)) {
-            player.getStatisticMap().load(statisticsFile);
+            try (BufferedReader reader = Files.newBufferedReader(statisticsFile)) {
+                statistics = GSON.fromJson(reader, JsonObject.class);
+            }
         }
+        return new UserData(dataContainer, null, statistics);
     }
 
-    public static void save(Path dataFolder, AbstractUser player) throws IOException {
-        final String fileName = player.getUniqueId().toString() + ".dat";
+    /**
+     * Applies the {@link UserData} to the given {@link AbstractUser}.
+     *
+     * @param player The user
+     * @param userData The user data
+     */
+    public static void apply(AbstractUser player, UserData userData) {
+        DataContainer data = userData.data;
+        if (data != null) {
+            if (userData.spongeData != null) {
+                // Attach the sponge data without modifying the snapshot
+                data = data.copy();
+                data.set(DataQueries.EXTENDED_SPONGE_DATA, userData.spongeData);
+            }
+            final ObjectStore<AbstractUser> objectStore = ObjectStoreRegistry.get().get(AbstractUser.class).get();
+            objectStore.deserialize(player, data);
+        }
+        if (userData.statistics != null) {
+            player.getStatisticMap().fromJson(userData.statistics);
+        }
+    }
 
-        final DataContainer dataContainer = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+    /**
+     * Creates a {@link UserData} snapshot of the given {@link AbstractUser},
+     * this should be called from the thread that modifies the user.
+     *
+     * @param player The user
+     * @return The user data
+     */
+    public static UserData serialize(AbstractUser player) {
+        // All the data is cloned, the snapshot may be written on a different thread
+        final DataContainer dataContainer = DataContainer.createNew();
         final ObjectStore<AbstractUser> objectStore = ObjectStoreRegistry.get().get(AbstractUser.class).get();
         objectStore.serialize(player, dataContainer);
 
         final Optional<DataView> optSpongeData = dataContainer.getView(DataQueries.EXTENDED_SPONGE_DATA);
         dataContainer.remove(DataQueries.EXTENDED_SPONGE_DATA);
+        optSpongeData.ifPresent(spongeData -> spongeData.set(NAME, player.getName()));
+
+        return new UserData(dataContainer, optSpongeData.orElse(null), player.getStatisticMap().toJson());
+    }
 
-        Path dataFolder0 = dataFolder.resolve(PLAYER_DATA_FOLDER);
-        if (!Files.exists(dataFolder0)) {
-            Files.createDirectories(dataFolder0);
+    /**
+     * Writes the {@link UserData} of the user with the given {@link UUID}. Every
+     * file is first written to a temporary file which is synced to the disk and then
+     * moved atomically in place, a crash during the write will never leave a corrupted
+     * file behind.
+     *
+     * @param dataFolder The data folder
+     * @param uniqueId The unique id of the user
+     * @param userData The user data
+     * @throws IOException If an error occurred while writing the data
+     */
+    public static void write(Path dataFolder, UUID uniqueId, UserData userData) throws IOException {
+        final String fileName = uniqueId.toString() + ".dat";
+
+        final DataView data = userData.data;
+        if (data != null) {
+            Path dataFolder0 = dataFolder.resolve(PLAYER_DATA_FOLDER);
+            if (!Files.exists(dataFolder0)) {
+                Files.createDirectories(dataFolder0);
+            }
+            writeAtomically(dataFolder0.resolve(fileName), outputStream -> NbtStreamUtils.write(data, outputStream, true));
+
+            dataFolder0 = dataFolder.resolve(SPONGE_PLAYER_DATA_FOLDER);
+            if (!Files.exists(dataFolder0)) {
+                Files.createDirectories(dataFolder0);
+            }
+            final Path dataFile = dataFolder0.resolve(fileName);
+            final DataView spongeData = userData.spongeData;
+            if (spongeData != null) {
+                writeAtomically(dataFile, outputStream -> NbtStreamUtils.write(spongeData, outputStream, true));
+            } else {
+                Files.deleteIfExists(dataFile);
+            }
         }
-        Path dataFile = dataFolder0.resolve(fileName);
-        NbtStreamUtils.write(dataContainer, Files.newOutputStream(dataFile), true);
 
-        dataFolder0 = dataFolder.resolve(SPONGE_PLAYER_DATA_FOLDER);
-        if (!Files.exists(dataFolder0)) {
-            Files.createDirectories(dataFolder0);
+        final JsonObject statistics = userData.statistics;
+        if (statistics != null) {
+            final Path statisticsFolder = dataFolder.resolve(STATISTICS_FOLDER);
+            if (!Files.exists(statisticsFolder)) {
+                Files.createDirectories(statisticsFolder);
+            }
+            writeAtomically(statisticsFolder.resolve(uniqueId.toString() + ".json"), outputStream -> {
+                try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                    GSON.toJson(statistics, writer);
+                    writer.flush();
+                }
+            });
         }
-        dataFile = dataFolder0.resolve(fileName);
-        if (optSpongeData.isPresent()) {
-            final DataView spongeData = optSpongeData.get();
-            spongeData.set(NAME, player.getName());
-            NbtStreamUtils.write(spongeData, Files.newOutputStream(dataFile), true);
-        } else {
-            Files.deleteIfExists(dataFile);
+    }
+
+    private static void writeAtomically(Path file, StreamWriter streamWriter) throws IOException {
+        final Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            streamWriter.write(new FileOutputStream(tempFile.toFile()) {
+
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (this.closed) {
+                        return;
+                    }
+                    this.closed = true;
+                    try {
+                        // Make sure that the contents are on the disk before the file is moved
+                        getFD().sync();
+                    } finally {
+                        super.close();
+                    }
+                }
+            });
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
+    }
 
-        final Path statisticsFile = dataFolder.resolve(STATISTICS_FOLDER).resolve(player.getUniqueId().toString() + ".json");
-        player.getStatisticMap().save(statisticsFile);
+    @FunctionalInterface
+    private interface StreamWriter {
+
+        /**
+         * Writes the contents to the output stream and closes it.
+         *
+         * @param outputStream The output stream
+         * @throws IOException If an error occurred while writing
+         */
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * A snapshot of the persistent data of a user, detached from the user
+     * itself so that it can be read or written from any thread.
+     */
+    public static final class UserData {
+
+        @Nullable private final DataContainer data;
+        @Nullable private final DataView spongeData;
+        @Nullable private final JsonObject statistics;
+
+        private UserData(@Nullable DataContainer data, @Nullable DataView spongeData, @Nullable JsonObject statistics) {
+            this.spongeData = spongeData;
+            this.statistics = statistics;
+            this.data = data;
+        }
     }
 
     private UserIO() {
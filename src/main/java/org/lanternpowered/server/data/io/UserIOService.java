@@ -0,0 +1,220 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.lanternpowered.server.entity.living.player.AbstractUser;
+import org.lanternpowered.server.game.DirectoryKeys;
+import org.lanternpowered.server.util.ThreadHelper;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads and writes the user data asynchronously. All the operations of a specific
+ * user are executed in the order that they were submitted, so a load that follows
+ * a save will always see the saved data. The data of users that recently went
+ * offline is kept in memory, so quick reconnects don't have to touch the disk.
+ */
+@Singleton
+public final class UserIOService {
+
+    private static final int IO_THREADS = 2;
+
+    // The maximum amount of recently offline users that are kept in memory
+    private static final int MAXIMUM_CACHE_SIZE = 256;
+    private static final long CACHE_EXPIRATION_MINUTES = 10;
+
+    private final Logger logger;
+    private final Provider<Path> dataFolder;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(IO_THREADS, this::newIOThread);
+
+    // The last submitted operation of every user, new operations are chained to it
+    private final Map<UUID, CompletableFuture<?>> queues = new ConcurrentHashMap<>();
+
+    private final Cache<UUID, CompletableFuture<UserIO.UserData>> userDataCache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_CACHE_SIZE)
+            .expireAfterWrite(CACHE_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Inject
+    private UserIOService(Logger logger, @Named(DirectoryKeys.ROOT_WORLD) Provider<Path> dataFolder) {
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+    }
+
+    private Thread newIOThread(Runnable runnable) {
+        final Thread thread = ThreadHelper.newFastThreadLocalThread(runnable, "user-io-" + this.threadCounter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Starts loading the data of the user with the given {@link UUID} in the
+     * background, a following {@link #load(AbstractUser)} can use the result.
+     *
+     * @param uniqueId The unique id of the user
+     */
+    public void prefetch(UUID uniqueId) {
+        read(uniqueId);
+    }
+
+    /**
+     * Loads the data of the given {@link AbstractUser}, this will only block if
+     * the data wasn't prefetched or cached. The data is applied on the calling thread.
+     *
+     * @param user The user
+     */
+    public void load(AbstractUser user) {
+        checkNotNull(user, "user");
+        final UUID uniqueId = user.getUniqueId();
+        final UserIO.UserData userData;
+        try {
+            userData = read(uniqueId).join();
+        } catch (CompletionException e) {
+            this.logger.warn("An error occurred while loading the player data for {}", user.getProfile(), e.getCause());
+            return;
+        } finally {
+            // The data of the online user will be modified, so it's no longer needed
+            this.userDataCache.invalidate(uniqueId);
+        }
+        UserIO.apply(user, userData);
+    }
+
+    /**
+     * Saves the data of the given {@link AbstractUser}. A snapshot is taken on the
+     * calling thread, the snapshot will be written in the background.
+     *
+     * @param user The user
+     * @return The future that will be completed once the data is written
+     */
+    public CompletableFuture<Void> save(AbstractUser user) {
+        checkNotNull(user, "user");
+        final UUID uniqueId = user.getUniqueId();
+        final UserIO.UserData userData = UserIO.serialize(user);
+        // Cache the snapshot, loads will no longer need to wait for the write
+        this.userDataCache.put(uniqueId, CompletableFuture.completedFuture(userData));
+        return submit(uniqueId, () -> {
+            UserIO.write(this.dataFolder.get(), uniqueId, userData);
+            return null;
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                this.logger.warn("An error occurred while saving the player data for {}", user.getProfile(), throwable);
+            }
+        });
+    }
+
+    private CompletableFuture<UserIO.UserData> read(UUID uniqueId) {
+        checkNotNull(uniqueId, "uniqueId");
+        return this.userDataCache.get(uniqueId, uniqueId0 -> submit(uniqueId0, () -> UserIO.read(this.dataFolder.get(), uniqueId0)));
+    }
+
+    private <T> CompletableFuture<T> submit(UUID uniqueId, IOCallable<T> callable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Runnable task = () -> {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+        final CompletableFuture<?> previous = this.queues.put(uniqueId, future);
+        if (previous == null) {
+            execute(task);
+        } else {
+            // Wait for the previous operation, whether it failed or not
+            previous.whenComplete((result, throwable) -> execute(task));
+        }
+        // Cleanup the queue if this was the last operation
+        future.whenComplete((result, throwable) -> this.queues.remove(uniqueId, future));
+        return future;
+    }
+
+    private void execute(Runnable task) {
+        if (!this.executor.isShutdown()) {
+            try {
+                this.executor.execute(task);
+                return;
+            } catch (RejectedExecutionException ignored) {
+                // Shut down in the meantime
+            }
+        }
+        // The service is shut down, run the operation on the current thread
+        task.run();
+    }
+
+    /**
+     * Waits for all the pending operations to complete and shuts down
+     * the executor. Operations that are submitted afterwards will be
+     * executed on the calling thread.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The time unit of the timeout
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        // Wait for the last operation of every user, queued operations
+        // are only submitted to the executor once the previous one is done
+        final CompletableFuture<?>[] pending = this.queues.values().toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(pending).get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // Already logged by the failed operation
+        } catch (TimeoutException e) {
+            this.logger.warn("Not all the player data could be saved in time, {} users are still pending.",
+                    this.queues.size());
+        }
+        this.executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface IOCallable<T> {
+
+        T call() throws Exception;
+    }
+}
@@ -31,15 +31,23 @@
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.value.BaseValue;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class LanternKey<V extends BaseValue<?>> implements Key<V> {
 
+    private static final Map<LanternKey<?>, Integer> indices = new ConcurrentHashMap<>();
+    private static final AtomicInteger indexCounter = new AtomicInteger();
+
     private final TypeToken<V> valueToken;
     private final String id;
     private final String name;
     private final DataQuery query;
     private final TypeToken<?> elementToken;
+    private final int hashCode;
+    private final int index;
 
     LanternKey(LanternKeyBuilder<?, V> builder) {
         this.valueToken = builder.valueToken;
@@ -47,6 +55,19 @@
         this.name = builder.name;
         this.query = builder.query;
         this.elementToken = this.valueToken.resolveType(BaseValue.class.getTypeParameters()[0]);
+        this.hashCode = Objects.hash(this.valueToken, this.id, this.name, this.query, this.elementToken);
+        // Equal keys share the same index
+        this.index = indices.computeIfAbsent(this, key -> indexCounter.getAndIncrement());
+    }
+
+    /**
+     * Gets the dense index of this key, the index is unique
+     * for every key that isn't equal to this one.
+     *
+     * @return The index
+     */
+    public int getIndex() {
+        return this.index;
     }
 
     @Override
@@ -92,7 +113,7 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.valueToken, this.id, this.name, this.query, this.elementToken);
+        return this.hashCode;
     }
 
     @Override
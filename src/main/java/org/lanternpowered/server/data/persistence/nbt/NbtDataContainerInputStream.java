@@ -27,7 +27,6 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BOOLEAN;
-import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BOOLEAN_IDENTIFER;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BOOLEAN_LIST;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BYTE;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BYTE_ARRAY;
@@ -43,16 +42,20 @@
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.STRING;
 
 import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import org.lanternpowered.server.data.persistence.DataContainerInput;
 import org.spongepowered.api.data.DataContainer;
-import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataFormatException;
 
 import java.io.Closeable;
+import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
 
@@ -63,9 +66,24 @@
  */
 public class NbtDataContainerInputStream implements Closeable, DataContainerInput {
 
-    private final DataInputStream dis;
+    // The maximum amount of bytes that will be buffered at once to decode int arrays
+    private static final int MAX_ARRAY_BUFFER_SIZE = 4096;
+
+    // The maximum amount of elements that will be allocated up front for arrays and lists if
+    // the amount of remaining bytes is unknown, larger arrays will grow while they are read
+    private static final int MAX_UNCHECKED_ARRAY_LENGTH = 65536;
+
+    private final DataInput input;
+    @Nullable private final Closeable closeable;
+    @Nullable private final ByteBufInputStream byteBufInput;
     private final int maximumDepth;
 
+    // The buffer that is reused to read tag names and int arrays
+    private byte[] buffer = new byte[64];
+
+    // The name of the entry that was read last
+    @Nullable private NbtTagNames.DecodedName entryName;
+
     /**
      * Creates a new nbt data view input stream.
      *
@@ -82,7 +100,41 @@ public NbtDataContainerInputStream(DataInputStream dataInputStream) {
      * @param maximumDepth the maximum depth of the data contains
      */
     public NbtDataContainerInputStream(DataInputStream dataInputStream, int maximumDepth) {
-        this.dis = checkNotNull(dataInputStream, "dataInputStream");
+        this(checkNotNull(dataInputStream, "dataInputStream"), dataInputStream, null, maximumDepth);
+    }
+
+    /**
+     * Creates a new nbt data view input stream that reads
+     * directly from the {@link ByteBuf}.
+     *
+     * @param byteBuf the byte buffer
+     */
+    public NbtDataContainerInputStream(ByteBuf byteBuf) {
+        this(byteBuf, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new nbt data view input stream that reads
+     * directly from the {@link ByteBuf}. Closing the stream
+     * will not release the buffer.
+     *
+     * @param byteBuf the byte buffer
+     * @param maxBytes the maximum amount of bytes that may be read
+     * @param maximumDepth the maximum depth of the data contains
+     */
+    public NbtDataContainerInputStream(ByteBuf byteBuf, int maxBytes, int maximumDepth) {
+        this(new ByteBufInputStream(checkNotNull(byteBuf, "byteBuf"), Math.min(maxBytes, byteBuf.readableBytes())), maximumDepth);
+    }
+
+    private NbtDataContainerInputStream(ByteBufInputStream byteBufInput, int maximumDepth) {
+        this(byteBufInput, null, byteBufInput, maximumDepth);
+    }
+
+    private NbtDataContainerInputStream(DataInput input, @Nullable Closeable closeable,
+            @Nullable ByteBufInputStream byteBufInput, int maximumDepth) {
+        this.input = input;
+        this.closeable = closeable;
+        this.byteBufInput = byteBufInput;
         this.maximumDepth = maximumDepth;
     }
 
@@ -130,35 +182,78 @@ public NbtDataContainerInputStream(InputStream inputStream, boolean compressed,
 
     @Override
     public void close() throws IOException, InvalidDataFormatException {
-        this.dis.close();
+        if (this.closeable != null) {
+            this.closeable.close();
+        }
     }
 
     @Override
     public DataContainer read() throws IOException, InvalidDataFormatException {
-        Entry entry = this.readEntry();
-        if (entry == null) {
+        final byte type = this.readEntry();
+        if (type == END) {
             throw new IOException("There is no more data to read.");
         }
-        return (DataContainer) this.readObject(null, entry, 0);
+        return (DataContainer) this.readPayload(null, type, 0);
     }
 
-    private Object readObject(@Nullable DataView container, Entry entry, int depth) throws IOException, InvalidDataFormatException {
-        return this.readPayload(container, entry.type, depth);
+    /**
+     * Reads the type and name of the next entry, the name
+     * will be available through {@link #entryName}.
+     *
+     * @return The type of the entry, or {@link NbtConstants#END} if there are no more entries
+     * @throws IOException
+     */
+    private byte readEntry() throws IOException {
+        final byte type = this.input.readByte();
+        if (type == END) {
+            return END;
+        }
+        final int length = this.input.readUnsignedShort();
+        final byte[] buffer = getBuffer(length);
+        this.input.readFully(buffer, 0, length);
+        final NbtTagNames.DecodedName name = NbtTagNames.decode(buffer, length);
+        this.entryName = name;
+        if (name.bool) {
+            return type == LIST ? BOOLEAN_LIST : BOOLEAN;
+        }
+        return type;
     }
 
-    @Nullable
-    private Entry readEntry() throws IOException {
-        byte type = this.dis.readByte();
-        if (type == END) {
-            return null;
+    private byte[] getBuffer(int length) {
+        byte[] buffer = this.buffer;
+        if (buffer.length < length) {
+            this.buffer = buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    private int readArrayLength(int elementSize) throws IOException {
+        final int length = this.input.readInt();
+        if (length < 0) {
+            throw new IOException("Attempted to read a array with a negative length: " + length);
         }
-        String name = this.dis.readUTF();
-        int index = name.lastIndexOf(BOOLEAN_IDENTIFER);
-        if (index != -1) {
-            name = name.substring(0, index);
-            type = type == LIST ? BOOLEAN_LIST : BOOLEAN;
+        // Avoid allocating huge arrays for data that can never be read
+        if (this.byteBufInput != null && (long) length * elementSize > this.byteBufInput.available()) {
+            throw new IOException("Attempted to read a array with a length of " + length
+                    + " elements, which exceeds the remaining bytes.");
         }
-        return new Entry(name, type);
+        return length;
+    }
+
+    /**
+     * Gets the length of the array that should be allocated before the
+     * elements are read, the length of arrays read from streams can't be
+     * verified so a corrupted length can't cause huge allocations.
+     *
+     * @param length The length of the array
+     * @return The initial length
+     */
+    private int getInitialArrayLength(int length) {
+        return this.byteBufInput != null ? length : Math.min(length, MAX_UNCHECKED_ARRAY_LENGTH);
+    }
+
+    private static int getGrownArrayLength(int currentLength, int length) {
+        return (int) Math.min(length, currentLength * 2L);
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -168,46 +263,67 @@ private Object readPayload(@Nullable DataView container, byte type, int depth) t
                     + " exceeded the maximum depth of " + this.maximumDepth);
         }
         if (type == BYTE) {
-            return this.dis.readByte();
+            return this.input.readByte();
         } else if (type == BYTE_ARRAY) {
-            byte[] array = new byte[this.dis.readInt()];
-            for (int i = 0; i < array.length; i++) {
-                array[i] = this.dis.readByte();
+            final int length = readArrayLength(1);
+            byte[] array = new byte[getInitialArrayLength(length)];
+            int index = 0;
+            while (index < length) {
+                if (index == array.length) {
+                    array = Arrays.copyOf(array, getGrownArrayLength(array.length, length));
+                }
+                final int count = array.length - index;
+                this.input.readFully(array, index, count);
+                index += count;
             }
             return array;
         } else if (type == COMPOUND) {
             if (container == null) {
                 container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
             }
-            Entry entry;
+            byte entryType;
             final int depth1 = depth + 1;
-            while ((entry = this.readEntry()) != null) {
-                if (entry.type == COMPOUND) {
-                    this.readObject(container.createView(DataQuery.of(entry.name)), entry, depth1);
+            while ((entryType = this.readEntry()) != END) {
+                final NbtTagNames.DecodedName name = this.entryName;
+                if (entryType == COMPOUND) {
+                    this.readPayload(container.createView(name.query), entryType, depth1);
                 } else {
-                    container.set(DataQuery.of(entry.name), this.readObject(null, entry, depth1));
+                    container.set(name.query, this.readPayload(null, entryType, depth1));
                 }
             }
             return container;
         } else if (type == DOUBLE) {
-            return this.dis.readDouble();
+            return this.input.readDouble();
         } else if (type == FLOAT) {
-            return this.dis.readFloat();
+            return this.input.readFloat();
         } else if (type == INT) {
-            return this.dis.readInt();
+            return this.input.readInt();
         } else if (type == INT_ARRAY) {
-            int[] array = new int[this.dis.readInt()];
-            for (int i = 0; i < array.length; i++) {
-                array[i] = this.dis.readInt();
+            final int length = readArrayLength(4);
+            int[] array = new int[getInitialArrayLength(length)];
+            // Read the ints in bulk instead of one at a time
+            int index = 0;
+            while (index < length) {
+                if (index == array.length) {
+                    array = Arrays.copyOf(array, getGrownArrayLength(array.length, length));
+                }
+                final int count = Math.min(array.length - index, MAX_ARRAY_BUFFER_SIZE / 4);
+                final byte[] buffer = getBuffer(count * 4);
+                this.input.readFully(buffer, 0, count * 4);
+                ByteBuffer.wrap(buffer, 0, count * 4).asIntBuffer().get(array, index, count);
+                index += count;
             }
             return array;
         } else if (type == LIST || type == BOOLEAN_LIST) {
-            byte type0 = this.dis.readByte();
+            byte type0 = this.input.readByte();
             if (type == BOOLEAN_LIST) {
                 type0 = BOOLEAN;
             }
-            int size = this.dis.readInt();
-            List list = Lists.newArrayListWithExpectedSize(size);
+            final int size = this.input.readInt();
+            if (size < 0) {
+                throw new IOException("Attempted to read a list with a negative size: " + size);
+            }
+            final List list = Lists.newArrayListWithExpectedSize(Math.min(size, MAX_UNCHECKED_ARRAY_LENGTH));
             if (size == 0 || type0 == END) {
                 return list;
             }
@@ -217,26 +333,15 @@ private Object readPayload(@Nullable DataView container, byte type, int depth) t
             }
             return list;
         } else if (type == LONG) {
-            return this.dis.readLong();
+            return this.input.readLong();
         } else if (type == SHORT) {
-            return this.dis.readShort();
+            return this.input.readShort();
         } else if (type == STRING) {
-            return this.dis.readUTF();
+            return this.input.readUTF();
         } else if (type == BOOLEAN) {
-            return this.dis.readByte() != 0;
+            return this.input.readByte() != 0;
         } else {
             throw new InvalidDataFormatException("Attempt to deserialize a unknown nbt tag type: " + type);
         }
     }
-
-    private static class Entry {
-
-        private final String name;
-        private final byte type;
-
-        public Entry(String name, byte type) {
-            this.name = name;
-            this.type = type;
-        }
-    }
 }
@@ -41,27 +41,39 @@
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.STRING;
 import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.UNKNOWN;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import org.lanternpowered.server.data.persistence.DataContainerOutput;
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataSerializable;
 import org.spongepowered.api.data.DataView;
 
 import java.io.Closeable;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 /**
  * A data output stream that serializes data views into the nbt format.
  */
 public class NbtDataContainerOutputStream implements Closeable, Flushable, DataContainerOutput {
 
-    private final DataOutputStream dos;
+    // The maximum amount of bytes that will be buffered at once to encode int arrays
+    private static final int MAX_ARRAY_BUFFER_SIZE = 4096;
+
+    private final DataOutput dos;
+    @Nullable private final DataOutputStream stream;
+
+    @Nullable private byte[] buffer;
 
     /**
      * Creates a new nbt data view output stream.
@@ -69,7 +81,19 @@ public class NbtDataContainerOutputStream implements Closeable, Flushable, DataC
      * @param dataOutputStream the data output stream
      */
     public NbtDataContainerOutputStream(DataOutputStream dataOutputStream) {
-        this.dos = checkNotNull(dataOutputStream, "dataOutputStream");
+        this.dos = this.stream = checkNotNull(dataOutputStream, "dataOutputStream");
+    }
+
+    /**
+     * Creates a new nbt data view output stream that writes
+     * directly to the {@link ByteBuf}. Closing the stream
+     * will not release the buffer.
+     *
+     * @param byteBuf the byte buffer
+     */
+    public NbtDataContainerOutputStream(ByteBuf byteBuf) {
+        this.dos = new ByteBufOutputStream(checkNotNull(byteBuf, "byteBuf"));
+        this.stream = null;
     }
 
     /**
@@ -95,12 +119,16 @@ public NbtDataContainerOutputStream(OutputStream outputStream, boolean compresse
 
     @Override
     public void close() throws IOException {
-        this.dos.close();
+        if (this.stream != null) {
+            this.stream.close();
+        }
     }
 
     @Override
     public void flush() throws IOException {
-        this.dos.flush();
+        if (this.stream != null) {
+            this.stream.flush();
+        }
     }
 
     @Override
@@ -125,7 +153,7 @@ private void writePayload(byte type, Object object) throws IOException {
                 Byte[] array1 = (Byte[]) object;
                 array0 = new byte[array1.length];
                 for (int i = 0; i < array0.length; i++) {
-                    array1[i] = array0[i];
+                    array0[i] = array1[i];
                 }
             }
             this.dos.writeInt(array0.length);
@@ -138,7 +166,7 @@ private void writePayload(byte type, Object object) throws IOException {
                 object = ((DataSerializable) object).toContainer().getValues(false);
             }
             for (Entry<DataQuery, Object> entry : ((Map<DataQuery, Object>) object).entrySet()) {
-                writeEntry(entry.getKey().asString('.'), entry.getValue());
+                writeEntry(entry.getKey(), entry.getValue());
             }
             this.dos.writeByte(END);
         } else if (type == DOUBLE) {
@@ -149,10 +177,21 @@ private void writePayload(byte type, Object object) throws IOException {
             this.dos.writeInt((Integer) object);
         } else if (type == INT_ARRAY) {
             if (object instanceof int[]) {
-                int[] array0 = (int[]) object;
+                final int[] array0 = (int[]) object;
                 this.dos.writeInt(array0.length);
-                for (int value : array0) {
-                    this.dos.writeInt(value);
+                // Write the ints in bulk instead of one at a time
+                byte[] buffer = this.buffer;
+                if (buffer == null) {
+                    this.buffer = buffer = new byte[MAX_ARRAY_BUFFER_SIZE];
+                }
+                final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                int index = 0;
+                while (index < array0.length) {
+                    final int count = Math.min(array0.length - index, MAX_ARRAY_BUFFER_SIZE / 4);
+                    byteBuffer.clear();
+                    byteBuffer.asIntBuffer().put(array0, index, count);
+                    this.dos.write(buffer, 0, count * 4);
+                    index += count;
                 }
             } else {
                 Integer[] array0 = (Integer[]) object;
@@ -181,18 +220,32 @@ private void writePayload(byte type, Object object) throws IOException {
         }
     }
 
-    private void writeEntry(String key, Object object) throws IOException {
+    private void writeEntry(DataQuery key, Object object) throws IOException {
         final byte type = typeFor(object);
         this.dos.writeByte(type);
         if (object instanceof Boolean || (object instanceof List && !((List<?>) object).isEmpty()
                 && ((List<?>) object).get(0) instanceof Boolean)) {
-            key += BOOLEAN_IDENTIFER;
+            this.dos.write(NbtTagNames.encodeString(key.asString('.') + BOOLEAN_IDENTIFER));
+        } else {
+            // The encoded names are cached, most keys are repeated a lot
+            this.dos.write(NbtTagNames.encode(key));
         }
+        writeEntryPayload(key, type, object);
+    }
+
+    private void writeEntry(String key, Object object) throws IOException {
+        final byte type = typeFor(object);
+        this.dos.writeByte(type);
         this.dos.writeUTF(key);
+        writeEntryPayload(key, type, object);
+    }
+
+    private void writeEntryPayload(Object key, byte type, Object object) throws IOException {
         try {
             writePayload(type, object);
         } catch (Exception e) {
-            throw new IOException("Exception while serializing key: " + key, e);
+            throw new IOException("Exception while serializing key: " +
+                    (key instanceof DataQuery ? ((DataQuery) key).asString('.') : key), e);
         }
     }
 
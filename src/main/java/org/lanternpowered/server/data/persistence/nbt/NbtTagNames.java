@@ -0,0 +1,224 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.data.persistence.nbt;
+
+import static org.lanternpowered.server.data.persistence.nbt.NbtConstants.BOOLEAN_IDENTIFER;
+
+import com.google.common.io.ByteStreams;
+import org.spongepowered.api.data.DataQuery;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A interning table for the names of nbt tags. Decoded names are mapped to
+ * a shared {@link String} and {@link DataQuery} and encoded names are mapped
+ * to their encoded bytes, this avoids allocations for the names that are
+ * repeated in every compound, like the keys of chunk sections or items.
+ * <p>
+ * Both tables are direct mapped caches, a slot will be overwritten if
+ * another name is mapped to it. The entries are immutable, which allows
+ * the tables to be shared between threads without locking.
+ */
+final class NbtTagNames {
+
+    private static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+
+    /**
+     * The names that are commonly used by player, chunk and item data.
+     */
+    private static final String[] COMMON_NAMES = {
+            // Chunks
+            "Level", "xPos", "zPos", "LastUpdate", "InhabitedTime", "TerrainPopulated", "LightPopulated", "V",
+            "Sections", "Y", "Blocks", "Add", "Data", "BlockLight", "SkyLight", "Biomes", "HeightMap",
+            "Entities", "TileEntities", "TileTicks", "i", "p", "t", "x", "y", "z",
+            // Entities and players
+            "id", "UUIDMost", "UUIDLeast", "Pos", "Motion", "Rotation", "FallDistance", "Fire", "Air", "OnGround",
+            "Dimension", "Invulnerable", "PortalCooldown", "Health", "AbsorptionAmount", "HurtTime", "HurtByTimestamp",
+            "DeathTime", "Attributes", "Name", "Base", "Modifiers", "Amount", "Operation", "ActiveEffects",
+            "Inventory", "EnderItems", "SelectedItemSlot", "playerGameType", "XpLevel", "XpP", "XpTotal", "XpSeed",
+            "Score", "foodLevel", "foodSaturationLevel", "foodExhaustionLevel", "foodTickTimer", "abilities",
+            "flying", "flySpeed", "walkSpeed", "mayfly", "mayBuild", "instabuild", "invulnerable", "SpawnX",
+            "SpawnY", "SpawnZ", "SpawnForced", "Sleeping", "SleepTimer", "seenCredits", "recipeBook",
+            // Items
+            "Slot", "Count", "Damage", "tag", "display", "Lore", "ench", "lvl", "Unbreakable", "HideFlags",
+            "BlockEntityTag", "CustomPotionEffects", "Potion", "SkullOwner", "Items",
+    };
+
+    private static final DecodedName[] decodedNames = new DecodedName[SIZE];
+    private static final EncodedName[] encodedNames = new EncodedName[SIZE];
+
+    static {
+        try {
+            for (String name : COMMON_NAMES) {
+                final byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+                decode(bytes, bytes.length);
+                encode(DataQuery.of(name));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class DecodedName {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        /**
+         * The name without the boolean identifier.
+         */
+        final String name;
+
+        /**
+         * The query of the name.
+         */
+        final DataQuery query;
+
+        /**
+         * Whether the name contained the boolean identifier.
+         */
+        final boolean bool;
+
+        private DecodedName(byte[] bytes, int hash, String name) {
+            this.bytes = bytes;
+            this.hash = hash;
+            final int index = name.lastIndexOf(BOOLEAN_IDENTIFER);
+            this.bool = index != -1;
+            this.name = this.bool ? name.substring(0, index) : name;
+            this.query = DataQuery.of(this.name);
+        }
+    }
+
+    private static final class EncodedName {
+
+        private final DataQuery query;
+        private final byte[] bytes;
+
+        private EncodedName(DataQuery query, byte[] bytes) {
+            this.query = query;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Gets the {@link DecodedName} for the given modified UTF-8 bytes.
+     *
+     * @param bytes The bytes, without the length prefix
+     * @param length The amount of bytes of the name
+     * @return The decoded name
+     * @throws IOException If the name is malformed
+     */
+    static DecodedName decode(byte[] bytes, int length) throws IOException {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        final int slot = mix(hash) & MASK;
+        DecodedName decodedName = decodedNames[slot];
+        if (decodedName != null && decodedName.hash == hash && decodedName.bytes.length == length &&
+                equals(decodedName.bytes, bytes, length)) {
+            return decodedName;
+        }
+        final byte[] copy = Arrays.copyOf(bytes, length);
+        decodedName = new DecodedName(copy, hash, decodeString(copy));
+        decodedNames[slot] = decodedName;
+        return decodedName;
+    }
+
+    /**
+     * Gets the modified UTF-8 bytes for the given {@link DataQuery},
+     * including the length prefix.
+     *
+     * @param query The query
+     * @return The encoded name
+     * @throws IOException If the name is too long
+     */
+    static byte[] encode(DataQuery query) throws IOException {
+        final int slot = mix(query.hashCode()) & MASK;
+        EncodedName encodedName = encodedNames[slot];
+        if (encodedName != null && encodedName.query.equals(query)) {
+            return encodedName.bytes;
+        }
+        encodedName = new EncodedName(query, encodeString(query.asString('.')));
+        encodedNames[slot] = encodedName;
+        return encodedName.bytes;
+    }
+
+    /**
+     * Encodes the name into modified UTF-8 bytes, including the length prefix.
+     *
+     * @param name The name
+     * @return The bytes
+     * @throws IOException If the name is too long
+     */
+    static byte[] encodeString(String name) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(name.length() + 2);
+        new DataOutputStream(baos).writeUTF(name);
+        return baos.toByteArray();
+    }
+
+    private static String decodeString(byte[] bytes) throws IOException {
+        boolean ascii = true;
+        for (byte b : bytes) {
+            if (b <= 0) {
+                ascii = false;
+                break;
+            }
+        }
+        if (ascii) {
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+        // Modified UTF-8 isn't supported by the charsets, so let
+        // the data input stream decode it with the length prefix
+        final byte[] data = new byte[bytes.length + 2];
+        data[0] = (byte) (bytes.length >>> 8);
+        data[1] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, data, 2, bytes.length);
+        return DataInputStream.readUTF(ByteStreams.newDataInput(data));
+    }
+
+    private static boolean equals(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private NbtTagNames() {
+    }
+}
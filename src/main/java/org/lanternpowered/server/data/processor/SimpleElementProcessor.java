@@ -97,9 +97,6 @@ public SimpleElementProcessor<V, E> copy() {
                 this.retrieveHandler,
                 this.valueBuilder);
         copy.element = this.element;
-        if (this.listeners != null) {
-            copy.listeners = new ArrayList<>(this.listeners);
-        }
         return copy;
     }
 
@@ -167,6 +164,19 @@ public Optional<E> getFrom(IValueContainer<?> valueContainer) {
         return isApplicableTo(valueContainer) ? this.retrieveHandler.get(valueContainer, this) : Optional.empty();
     }
 
+    @Nullable
+    @Override
+    public E getOrNullFrom(IValueContainer<?> valueContainer) {
+        if (!isApplicableTo(valueContainer)) {
+            return null;
+        }
+        // The default retrieve handler only wraps the element
+        if (this.retrieveHandler == SimpleElementProcessorBuilder.DEFAULT_RETRIEVE_HANDLER) {
+            return Copyable.copyOrSelf(get());
+        }
+        return this.retrieveHandler.get(valueContainer, this).orElse(null);
+    }
+
     @Override
     public Optional<V> getValueFrom(IValueContainer<?> valueContainer) {
         return isApplicableTo(valueContainer) ? this.valueRetrieveHandler.get(valueContainer, this) : Optional.empty();
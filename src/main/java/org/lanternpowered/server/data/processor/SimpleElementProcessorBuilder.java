@@ -47,6 +47,9 @@
     private static final ValueBuilderFunction<BaseValue<Object>, Object> DEFAULT_VALUE_BUILDER =
             (container, element, object) -> LanternValueFactory.get().createValueForKey(element.getKey(), object);
 
+    static final RetrieveFunction<Object> DEFAULT_RETRIEVE_HANDLER =
+            (container, element) -> Optional.ofNullable(Copyable.copyOrSelf(element.get()));
+
     /**
      * Creates a new {@link ElementProcessorBuilder}.
      *
@@ -276,7 +279,7 @@ public ElementProcessor<V, E> build() {
         ///////////////////////
         if (this.retrieveHandler == null) {
             if (this.valueRetrieveHandler == null) {
-                valueProcessor.retrieveHandler = (valueContainer, element) -> Optional.ofNullable(Copyable.copyOrSelf(element.get()));
+                valueProcessor.retrieveHandler = (RetrieveFunction) DEFAULT_RETRIEVE_HANDLER;
             } else {
                 valueProcessor.retrieveHandler = (valueContainer, element) -> valueProcessor.valueRetrieveHandler
                         .get(valueContainer, element).flatMap(value -> Optional.of(value.get()));
@@ -29,8 +29,6 @@
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.value.BaseValue;
 
-import java.util.ArrayList;
-
 final class SynchronizedElementProcessor<V extends BaseValue<E>, E> extends SimpleElementProcessor<V, E> {
 
     SynchronizedElementProcessor(Key<? extends V> key,
@@ -77,9 +75,6 @@ public synchronized SimpleElementProcessor<V, E> copy() {
                 this.retrieveHandler,
                 this.valueBuilder);
         copy.element = this.element;
-        if (this.listeners != null) {
-            copy.listeners = new ArrayList<>(this.listeners);
-        }
         return copy;
     }
 }
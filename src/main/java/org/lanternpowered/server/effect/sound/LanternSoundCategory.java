@@ -33,7 +33,30 @@
 
 public final class LanternSoundCategory extends PluginCatalogType.Base.Translatable.Internal implements SoundCategory, Translatable {
 
+    /**
+     * The range in which sounds can be heard at full volume.
+     */
+    public static final double DEFAULT_AUDIBLE_RANGE = 16.0;
+
+    private final double audibleRange;
+
     public LanternSoundCategory(String pluginId, String identifier, int internalId) {
+        this(pluginId, identifier, internalId, DEFAULT_AUDIBLE_RANGE);
+    }
+
+    public LanternSoundCategory(String pluginId, String identifier, int internalId, double audibleRange) {
         super(pluginId, identifier, tr("soundCategory.%s", identifier), internalId);
+        this.audibleRange = audibleRange;
+    }
+
+    /**
+     * Gets the range around the sound position in which players
+     * can hear sounds of this category for the given volume.
+     *
+     * @param volume The volume
+     * @return The audible range
+     */
+    public double getAudibleRange(double volume) {
+        return this.audibleRange * Math.max(1.0, volume);
     }
 }
@@ -30,7 +30,6 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import org.lanternpowered.server.cause.entity.damage.source.IDamageSource;
 import org.lanternpowered.server.data.AdditionalContainerCollection;
@@ -51,6 +50,7 @@
 import org.lanternpowered.server.text.LanternTexts;
 import org.lanternpowered.server.util.Quaternions;
 import org.lanternpowered.server.world.LanternWorld;
+import org.lanternpowered.server.world.chunk.LanternChunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -146,7 +146,8 @@ public class LanternEntity implements Entity, IAdditionalDataHolder, AbstractPro
 
     private boolean onGround;
 
-    @Nullable private volatile Vector3i lastChunkCoords;
+    // The packed coordinates of the chunk section this entity was last indexed in
+    private volatile long lastChunkSectionKey = LanternChunk.NO_SECTION_KEY;
 
     /**
      * The base of the {@link AABB} of this entity.
@@ -327,13 +328,18 @@ public void resurrect() {
         this.removeState = null;
     }
 
-    @Nullable
-    public Vector3i getLastChunkSectionCoords() {
-        return this.lastChunkCoords;
+    /**
+     * Gets the packed coordinates of the chunk section this entity was last
+     * indexed in, see {@link LanternChunk#sectionKey(int, int, int)}.
+     *
+     * @return The section key, or {@link LanternChunk#NO_SECTION_KEY}
+     */
+    public long getLastChunkSectionKey() {
+        return this.lastChunkSectionKey;
     }
 
-    public void setLastChunkCoords(@Nullable Vector3i coords) {
-        this.lastChunkCoords = coords;
+    public void setLastChunkSectionKey(long sectionKey) {
+        this.lastChunkSectionKey = sectionKey;
     }
 
     @Override
@@ -31,6 +31,7 @@
 import org.lanternpowered.server.entity.event.CollectEntityEvent;
 import org.lanternpowered.server.event.CauseStack;
 import org.lanternpowered.server.event.LanternEventContextKeys;
+import org.lanternpowered.server.event.LanternEventManager;
 import org.lanternpowered.server.inventory.IInventory;
 import org.lanternpowered.server.inventory.LanternItemStack;
 import org.lanternpowered.server.inventory.LanternItemStackSnapshot;
@@ -289,11 +290,14 @@ private CombineData combineItemStacks(int pickupDelay, int despawnDelay) {
             if (quantity2 >= max || !LanternItemStack.areSimilar(itemStackSnapshot1, itemStackSnapshot2)) {
                 continue;
             }
-            // Call the merge event
-            final ItemMergeItemEvent event = SpongeEventFactory.createItemMergeItemEvent(causeStack.getCurrentCause(), (Item) entity, this);
-            Sponge.getEventManager().post(event);
-            if (event.isCancelled()) {
-                continue;
+            // Call the merge event, if anyone is listening
+            if (((LanternEventManager) Sponge.getEventManager()).hasListeners(ItemMergeItemEvent.class)) {
+                final ItemMergeItemEvent event = SpongeEventFactory.createItemMergeItemEvent(
+                        causeStack.getCurrentCause(), (Item) entity, this);
+                Sponge.getEventManager().post(event);
+                if (event.isCancelled()) {
+                    continue;
+                }
             }
             // Merge the items
             quantity1 += quantity2;
@@ -343,7 +343,7 @@ private void pulsePotions(int deltaTicks) {
     }
 
     private void pulseFood() {
-        if (!supports(FoodData.class) || get(Keys.GAME_MODE).orElse(GameModes.NOT_SET).equals(GameModes.CREATIVE)) {
+        if (!supports(FoodData.class) || getOrElse(Keys.GAME_MODE, GameModes.NOT_SET).equals(GameModes.CREATIVE)) {
             return;
         }
         final Difficulty difficulty = getWorld().getDifficulty();
@@ -384,7 +384,7 @@ private void pulseFood() {
             }
         } else if (foodLevel.get() <= foodLevel.getMinValue()) {
             if ((currentTickTime - this.lastFoodTickTime) >= 80) {
-                final double health = get(Keys.HEALTH).orElse(20.0);
+                final double health = getOrElse(Keys.HEALTH, 20.0);
                 if ((health > 10.0 && difficulty.equals(Difficulties.EASY))
                         || (health > 1.0 && difficulty.equals(Difficulties.NORMAL))
                         || difficulty.equals(Difficulties.HARD)) {
@@ -403,9 +403,9 @@ private void pulseFood() {
                 this.lastPeacefulHealthTickTime = currentTickTime;
             }
 
-            final int oldFoodLevel = get(Keys.FOOD_LEVEL).orElse(0);
+            final int oldFoodLevel = getOrElse(Keys.FOOD_LEVEL, 0);
             if (currentTickTime - this.lastPeacefulFoodTickTime >= 10
-                    && oldFoodLevel < get(LanternKeys.MAX_FOOD_LEVEL).orElse(20)) {
+                    && oldFoodLevel < getOrElse(LanternKeys.MAX_FOOD_LEVEL, 20)) {
                 offer(Keys.FOOD_LEVEL, oldFoodLevel + 1);
                 this.lastPeacefulFoodTickTime = currentTickTime;
             }
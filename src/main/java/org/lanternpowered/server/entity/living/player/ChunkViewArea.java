@@ -0,0 +1,163 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.entity.living.player;
+
+import org.lanternpowered.server.world.chunk.LanternChunk;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks the square area of chunks that is visible to a player. When the
+ * center or radius changes, only the chunks that enter or leave the area
+ * are computed instead of rebuilding the complete area. The chunks are
+ * represented by their packed {@link LanternChunk#key(int, int)}.
+ */
+final class ChunkViewArea {
+
+    private boolean present;
+
+    private int centerX;
+    private int centerZ;
+    private int radius;
+
+    /**
+     * Gets whether this area is currently tracking chunks.
+     *
+     * @return Is present
+     */
+    boolean isPresent() {
+        return this.present;
+    }
+
+    /**
+     * Updates the center and the radius of this area. The chunks that are no
+     * longer within the area will be passed to the leaving consumer, the chunks
+     * that entered the area will be passed to the entering consumer, in a spiral
+     * order around the new center so that the closest chunks come first.
+     *
+     * @param centerX The chunk x coordinate of the center
+     * @param centerZ The chunk z coordinate of the center
+     * @param radius The radius
+     * @param entering The consumer for entering chunks
+     * @param leaving The consumer for leaving chunks
+     * @return Whether the area changed
+     */
+    boolean update(int centerX, int centerZ, int radius, LongConsumer entering, LongConsumer leaving) {
+        final boolean present = this.present;
+        if (present && this.centerX == centerX && this.centerZ == centerZ && this.radius == radius) {
+            return false;
+        }
+
+        final int oldMinX = this.centerX - this.radius;
+        final int oldMaxX = this.centerX + this.radius;
+        final int oldMinZ = this.centerZ - this.radius;
+        final int oldMaxZ = this.centerZ + this.radius;
+
+        this.present = true;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+
+        final int minX = centerX - radius;
+        final int maxX = centerX + radius;
+        final int minZ = centerZ - radius;
+        final int maxZ = centerZ + radius;
+
+        if (present) {
+            // Only walk the strips of the old area that are outside the new one
+            for (int x = oldMinX; x <= oldMaxX; x++) {
+                if (x < minX || x > maxX) {
+                    for (int z = oldMinZ; z <= oldMaxZ; z++) {
+                        leaving.accept(LanternChunk.key(x, z));
+                    }
+                } else {
+                    final int lowerZ = Math.min(oldMaxZ, minZ - 1);
+                    for (int z = oldMinZ; z <= lowerZ; z++) {
+                        leaving.accept(LanternChunk.key(x, z));
+                    }
+                    for (int z = Math.max(oldMinZ, maxZ + 1); z <= oldMaxZ; z++) {
+                        leaving.accept(LanternChunk.key(x, z));
+                    }
+                }
+            }
+        }
+
+        for (int d = 0; d <= radius; d++) {
+            final int ringMinX = centerX - d;
+            final int ringMaxX = centerX + d;
+            final int ringMinZ = centerZ - d;
+            final int ringMaxZ = centerZ + d;
+            // Skip rings that are completely within the old area
+            if (present && ringMinX >= oldMinX && ringMaxX <= oldMaxX && ringMinZ >= oldMinZ && ringMaxZ <= oldMaxZ) {
+                continue;
+            }
+            if (d == 0) {
+                entering.accept(LanternChunk.key(centerX, centerZ));
+                continue;
+            }
+            for (int x = ringMinX; x <= ringMaxX; x++) {
+                accept(present, oldMinX, oldMaxX, oldMinZ, oldMaxZ, x, ringMinZ, entering);
+                accept(present, oldMinX, oldMaxX, oldMinZ, oldMaxZ, x, ringMaxZ, entering);
+            }
+            for (int z = ringMinZ + 1; z < ringMaxZ; z++) {
+                accept(present, oldMinX, oldMaxX, oldMinZ, oldMaxZ, ringMinX, z, entering);
+                accept(present, oldMinX, oldMaxX, oldMinZ, oldMaxZ, ringMaxX, z, entering);
+            }
+        }
+        return true;
+    }
+
+    private static void accept(boolean present, int oldMinX, int oldMaxX, int oldMinZ, int oldMaxZ,
+            int x, int z, LongConsumer consumer) {
+        if (!present || x < oldMinX || x > oldMaxX || z < oldMinZ || z > oldMaxZ) {
+            consumer.accept(LanternChunk.key(x, z));
+        }
+    }
+
+    /**
+     * Passes all the chunks within this area to the consumer.
+     *
+     * @param consumer The consumer
+     */
+    void forEach(LongConsumer consumer) {
+        if (!this.present) {
+            return;
+        }
+        for (int x = this.centerX - this.radius; x <= this.centerX + this.radius; x++) {
+            for (int z = this.centerZ - this.radius; z <= this.centerZ + this.radius; z++) {
+                consumer.accept(LanternChunk.key(x, z));
+            }
+        }
+    }
+
+    /**
+     * Clears this area, the next update will
+     * pass all the chunks as entering chunks.
+     */
+    void clear() {
+        this.present = false;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.entity.living.player;
+
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTIONS;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_VOLUME;
+
+import java.util.Arrays;
+
+/**
+ * A buffer of block positions within a chunk that were modified and
+ * that should be send to the client. The positions are stored packed
+ * per section and deduplicated through a bit set, so no objects have
+ * to be allocated when a block changes.
+ * <p>
+ * The packed format of a position is {@code (x << 12) | (z << 8) | y}
+ * with x and z being local to the chunk, which matches the layout of
+ * a record in the multi block change message.
+ */
+final class DirtyBlockBuffer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The dirty positions per section, indexed as {@link #index(int, int, int)}.
+     */
+    private final short[][] positions = new short[CHUNK_SECTIONS][];
+
+    /**
+     * The amount of dirty positions per section.
+     */
+    private final int[] counts = new int[CHUNK_SECTIONS];
+
+    /**
+     * The dedupe bit set per section.
+     */
+    private final long[][] masks = new long[CHUNK_SECTIONS][];
+
+    /**
+     * The bit mask of all the sections that contain dirty positions.
+     */
+    private int dirtySections;
+
+    /**
+     * The total amount of dirty positions.
+     */
+    private int size;
+
+    /**
+     * Gets the index of the local coordinates within a section.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The index
+     */
+    private static int index(int x, int y, int z) {
+        return (y & 0xf) << 8 | (z & 0xf) << 4 | (x & 0xf);
+    }
+
+    /**
+     * Adds the block position to this buffer, positions
+     * that were already added will be ignored.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     */
+    synchronized void add(int x, int y, int z) {
+        final int section = y >> 4;
+        final int index = index(x, y, z);
+        long[] mask = this.masks[section];
+        if (mask == null) {
+            mask = this.masks[section] = new long[CHUNK_SECTION_VOLUME >> 6];
+        }
+        final long bit = 1L << index;
+        if ((mask[index >> 6] & bit) != 0) {
+            return;
+        }
+        mask[index >> 6] |= bit;
+        short[] positions = this.positions[section];
+        final int count = this.counts[section];
+        if (positions == null) {
+            positions = this.positions[section] = new short[INITIAL_CAPACITY];
+        } else if (count == positions.length) {
+            positions = this.positions[section] = Arrays.copyOf(positions, count << 1);
+        }
+        positions[count] = (short) index;
+        this.counts[section] = count + 1;
+        this.dirtySections |= 1 << section;
+        this.size++;
+    }
+
+    /**
+     * Gets whether there are no dirty positions.
+     *
+     * @return Is empty
+     */
+    synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Clears all the dirty positions.
+     */
+    synchronized void clear() {
+        if (this.size == 0) {
+            return;
+        }
+        for (int section = 0; section < CHUNK_SECTIONS; section++) {
+            if ((this.dirtySections & (1 << section)) != 0) {
+                Arrays.fill(this.masks[section], 0L);
+                this.counts[section] = 0;
+            }
+        }
+        this.dirtySections = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Drains all the dirty positions that aren't located within
+     * one of the excluded sections into a packed array and clears
+     * this buffer.
+     *
+     * @param excludedSections The bit mask of the sections to skip
+     * @return The packed positions
+     */
+    synchronized Drained drain(int excludedSections) {
+        final int includedSections = this.dirtySections & ~excludedSections;
+        int size = 0;
+        for (int section = 0; section < CHUNK_SECTIONS; section++) {
+            if ((includedSections & (1 << section)) != 0) {
+                size += this.counts[section];
+            }
+        }
+        final short[] packed = new short[size];
+        int i = 0;
+        for (int section = 0; section < CHUNK_SECTIONS; section++) {
+            if ((includedSections & (1 << section)) == 0) {
+                continue;
+            }
+            final short[] positions = this.positions[section];
+            final int count = this.counts[section];
+            final int baseY = section << 4;
+            for (int j = 0; j < count; j++) {
+                final int index = positions[j];
+                packed[i++] = (short) ((index & 0xf) << 12 | ((index >> 4) & 0xf) << 8 | (baseY | index >> 8));
+            }
+        }
+        clear();
+        return new Drained(packed, includedSections);
+    }
+
+    static final class Drained {
+
+        /**
+         * The packed positions, see {@link DirtyBlockBuffer}.
+         */
+        final short[] positions;
+
+        /**
+         * The bit mask of the sections that contain the positions.
+         */
+        final int sections;
+
+        private Drained(short[] positions, int sections) {
+            this.positions = positions;
+            this.sections = sections;
+        }
+    }
+}
@@ -89,6 +89,7 @@
 import org.lanternpowered.server.world.LanternWorld;
 import org.lanternpowered.server.world.LanternWorldBorder;
 import org.lanternpowered.server.world.chunk.ChunkLoadingTicket;
+import org.lanternpowered.server.world.chunk.LanternChunk;
 import org.lanternpowered.server.world.difficulty.LanternDifficulty;
 import org.lanternpowered.server.world.dimension.LanternDimensionType;
 import org.lanternpowered.server.world.rules.RuleTypes;
@@ -187,14 +188,11 @@ public class LanternPlayer extends AbstractUser implements Player, AbstractViewe
     private boolean sleepingIgnored;
 
     // The chunks the client knows about
-    private final Set<Vector2i> knownChunks = new HashSet<>();
+    private final ChunkViewArea chunkViewArea = new ChunkViewArea();
 
     // The interaction handler
     private final PlayerInteractionHandler interactionHandler;
 
-    // The chunk position since the last #pulseChunkChanges call
-    @Nullable private Vector2i lastChunkPos = null;
-
     // The loading ticket that will force the chunks to be loaded
     @Nullable private ChunkTicketManager.PlayerEntityLoadingTicket loadingTicket;
 
@@ -335,11 +333,8 @@ private void setWorld(@Nullable LanternWorld oldWorld, @Nullable LanternWorld wo
             // Remove the player from all the observed chunks, there is no need
             // to send unload messages because we will respawn in a different world
             final ObservedChunkManager observedChunkManager = oldWorld.getObservedChunkManager();
-            final Set<Vector2i> knownChunks = new HashSet<>(this.knownChunks);
-            knownChunks.forEach(coords -> observedChunkManager.removeObserver(coords, this, false));
-            this.knownChunks.clear();
-            // Clear the last chunk pos
-            this.lastChunkPos = null;
+            this.chunkViewArea.forEach(key -> observedChunkManager.removeObserver(key, this, false));
+            this.chunkViewArea.clear();
             // Remove the player from the world
             oldWorld.removePlayer(this);
             if (this.worldBorder == null) {
@@ -667,22 +662,11 @@ public void pulseChunkChanges() {
             return;
         }
 
-        ChunkLoadingTicket loadingTicket = this.getChunkLoadingTicket();
-        Vector3d position = this.getPosition();
-
-        double xPos = position.getX();
-        double zPos = position.getZ();
-
-        int centralX = ((int) xPos) >> 4;
-        int centralZ = ((int) zPos) >> 4;
-
-        // Fail fast if the player hasn't moved a chunk
-        if (this.lastChunkPos != null && this.lastChunkPos.getX() == centralX &&
-                this.lastChunkPos.getY() == centralZ) {
-            return;
-        }
+        final ChunkLoadingTicket loadingTicket = this.getChunkLoadingTicket();
+        final Vector3d position = this.getPosition();
 
-        this.lastChunkPos = new Vector2i(centralX, centralZ);
+        final int centralX = ((int) position.getX()) >> 4;
+        final int centralZ = ((int) position.getZ()) >> 4;
 
         // Get the radius of visible chunks
         int radius = world.getProperties().getConfig().getViewDistance();
@@ -693,49 +677,20 @@ public void pulseChunkChanges() {
             radius = Math.min(radius, this.viewDistance + 1);
         }
 
-        final Set<Vector2i> previousChunks = new HashSet<>(this.knownChunks);
-        final List<Vector2i> newChunks = new ArrayList<>();
+        final ObservedChunkManager observedChunkManager = world.getObservedChunkManager();
 
-        for (int x = (centralX - radius); x <= (centralX + radius); x++) {
-            for (int z = (centralZ - radius); z <= (centralZ + radius); z++) {
-                final Vector2i coords = new Vector2i(x, z);
-                if (!previousChunks.remove(coords)) {
-                    newChunks.add(coords);
-                }
-            }
-        }
-
-        // Early end if there's no changes
-        if (newChunks.size() == 0 && previousChunks.size() == 0) {
-            return;
-        }
-
-        // Sort chunks by distance from player - closer chunks sent/forced first
-        newChunks.sort((a, b) -> {
-            double dx = 16 * a.getX() + 8 - xPos;
-            double dz = 16 * a.getY() + 8 - zPos;
-            double da = dx * dx + dz * dz;
-            dx = 16 * b.getX() + 8 - xPos;
-            dz = 16 * b.getY() + 8 - zPos;
-            double db = dx * dx + dz * dz;
-            return Double.compare(da, db);
-        });
-
-        ObservedChunkManager observedChunkManager = world.getObservedChunkManager();
-
-        // Force all the new chunks to be loaded and track the changes
-        newChunks.forEach(coords -> {
+        // Only the chunks that enter or leave the view area will be visited,
+        // the new chunks are provided closest first so they are sent/forced first
+        this.chunkViewArea.update(centralX, centralZ, radius, key -> {
+            // Force all the new chunks to be loaded and track the changes
+            final Vector2i coords = new Vector2i(LanternChunk.keyX(key), LanternChunk.keyZ(key));
             observedChunkManager.addObserver(coords, this);
             loadingTicket.forceChunk(coords);
+        }, key -> {
+            // Unforce old chunks so they can unload and untrack the chunk
+            observedChunkManager.removeObserver(key, this, true);
+            loadingTicket.unforceChunk(new Vector2i(LanternChunk.keyX(key), LanternChunk.keyZ(key)));
         });
-        // Unforce old chunks so they can unload and untrack the chunk
-        previousChunks.forEach(coords -> {
-            observedChunkManager.removeObserver(coords, this, true);
-            loadingTicket.unforceChunk(coords);
-        });
-
-        this.knownChunks.removeAll(previousChunks);
-        this.knownChunks.addAll(newChunks);
     }
 
     @Override
@@ -1019,6 +974,18 @@ public void setScoreboard(Scoreboard scoreboard) {
         this.scoreboard.addPlayer(this);
     }
 
+    /**
+     * Sends the tab list and scoreboard updates that were
+     * collected since the last flush to this player.
+     */
+    public void flushPendingUpdates() {
+        this.tabList.flush();
+        final LanternScoreboard scoreboard = this.scoreboard;
+        if (scoreboard != null) {
+            scoreboard.flush();
+        }
+    }
+
     @Override
     public Text getTeamRepresentation() {
         return Text.of(getName());
@@ -61,12 +61,9 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ObservedChunkManager implements WorldEventListener {
 
@@ -117,13 +114,45 @@ public void onBlockChange(int x, int y, int z, BlockState oldBlockState, BlockSt
         final long key = LanternChunk.key(x >> 4, z >> 4);
         final ObservedChunk observedChunk = this.observedChunks.get(key);
         if (observedChunk != null) {
-            observedChunk.addBlockChange(() -> new Vector3i(x, y, z));
+            observedChunk.addBlockChange(x, y, z);
             if (oldBlockState.getType() != newBlockState.getType()) {
                 observedChunk.removeBlockAction(new Vector3i(x, y, z));
             }
         }
     }
 
+    @Override
+    public void onBlockChanges(LanternChunk chunk, int section, int[] positions,
+            BlockState[] oldBlockStates, BlockState[] newBlockStates, int count) {
+        final ObservedChunk observedChunk = this.observedChunks.get(chunk.getKey());
+        if (observedChunk == null) {
+            return;
+        }
+        final int baseX = chunk.getX() << 4;
+        final int baseY = section << 4;
+        final int baseZ = chunk.getZ() << 4;
+        // Just resend the whole section if there are too many changes
+        final int clumpingThreshold = this.world.getProperties().getConfig().getChunkClumpingThreshold();
+        if (count >= clumpingThreshold) {
+            observedChunk.addDirtySection(section);
+        } else {
+            for (int i = 0; i < count; i++) {
+                final int position = positions[i];
+                observedChunk.addBlockChange(baseX | (position & 0xf), baseY | (position >> 8), baseZ | ((position >> 4) & 0xf));
+            }
+        }
+        if (!observedChunk.hasBlockActions()) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (oldBlockStates[i].getType() != newBlockStates[i].getType()) {
+                final int position = positions[i];
+                observedChunk.removeBlockAction(new Vector3i(baseX | (position & 0xf),
+                        baseY | (position >> 8), baseZ | ((position >> 4) & 0xf)));
+            }
+        }
+    }
+
     @Override
     public void onBlockAction(int x, int y, int z, BlockType blockType, BlockAction blockAction) {
         final long key = LanternChunk.key(x >> 4, z >> 4);
@@ -139,8 +168,7 @@ void addObserver(Vector2i coords, LanternPlayer observer) {
         observedChunk.addObserver(observer);
     }
 
-    void removeObserver(Vector2i coords, LanternPlayer observer, boolean updateClient) {
-        final long key = LanternChunk.key(coords.getX(), coords.getY());
+    void removeObserver(long key, LanternPlayer observer, boolean updateClient) {
         final ObservedChunk observedChunk = this.observedChunks.get(key);
         if (observedChunk != null) {
             observedChunk.removeObserver(observer, updateClient);
@@ -195,7 +223,12 @@ private QueuedBlockAction(BlockAction blockAction, MessagePlayOutBlockAction blo
         /**
          * All the block changes that should be send to the observers.
          */
-        private final Queue<Vector3i> dirtyBlocks = new ConcurrentLinkedQueue<>();
+        private final DirtyBlockBuffer dirtyBlocks = new DirtyBlockBuffer();
+
+        /**
+         * The bit mask of all the sections that should be resend to the observers.
+         */
+        private final AtomicInteger dirtySections = new AtomicInteger();
 
         /**
          * All the block events that should be send to the observers.
@@ -215,6 +248,10 @@ private QueuedBlockAction(BlockAction blockAction, MessagePlayOutBlockAction blo
             this.coords = coords;
         }
 
+        boolean hasBlockActions() {
+            return !this.addedBlockActions.isEmpty() || !this.activeBlockActions.isEmpty();
+        }
+
         void removeBlockAction(Vector3i coords) {
             this.addedBlockActions.remove(coords);
             this.activeBlockActions.remove(coords);
@@ -234,11 +271,17 @@ void addBlockAction(Vector3i coords, BlockType blockType, BlockAction blockActio
             this.addedBlockActions.put(coords, new QueuedBlockAction(blockAction, blockActionData));
         }
 
-        void addBlockChange(Supplier<Vector3i> coords) {
+        void addBlockChange(int x, int y, int z) {
             // There is not need to track the changes if no one wants to see them
             // dirtyBiomes will force the chunk to be completely resend
             if (!this.dirtyChunk && !this.clientObservers.isEmpty()) {
-                this.dirtyBlocks.add(coords.get());
+                this.dirtyBlocks.add(x, y, z);
+            }
+        }
+
+        void addDirtySection(int section) {
+            if (!this.dirtyChunk && !this.clientObservers.isEmpty()) {
+                this.dirtySections.getAndUpdate(sections -> sections | (1 << section));
             }
         }
 
@@ -253,44 +296,50 @@ void streamChanges() {
                 this.clientObservers.forEach(player -> player.getConnection().send(message));
                 this.dirtyChunk = false;
                 this.dirtyBlocks.clear();
+                this.dirtySections.set(0);
                 return;
             }
 
-            if (!this.dirtyBlocks.isEmpty()) {
-                // All the changes per coordinate
-                final Set<Vector3i> changes = new HashSet<>();
-
-                // All the section which contain a block change
-                int dirtySections = 0;
+            // The sections that will be completely resend
+            int resendSections = this.dirtySections.getAndSet(0);
 
-                // Get all the changes
-                Vector3i dirtyBlock;
-                while ((dirtyBlock = this.dirtyBlocks.poll()) != null) {
-                    dirtySections |= 1 << (dirtyBlock.getY() >> 4);
-                    changes.add(dirtyBlock);
-                }
+            if (!this.dirtyBlocks.isEmpty()) {
+                // Get all the changes, skip the ones that will be resend anyway
+                final DirtyBlockBuffer.Drained changes = this.dirtyBlocks.drain(resendSections);
+                final short[] positions = changes.positions;
 
                 final int clumpingThreshold = world.getProperties().getConfig().getChunkClumpingThreshold();
-                if (changes.size() >= clumpingThreshold) {
-                    final MessagePlayOutChunkData message = createLoadChunkMessage(chunk, dirtySections, false);
-                    this.clientObservers.forEach(player -> player.getConnection().send(message));
-                } else if (changes.size() > 1) {
-                    final MessagePlayOutMultiBlockChange message = new MessagePlayOutMultiBlockChange(
-                            this.coords.getX(), this.coords.getY(), changes.stream().map(coords -> {
-                                final int x = coords.getX() & 0xf;
-                                final int z = coords.getZ() & 0xf;
-                                return new MessagePlayOutBlockChange(new Vector3i(x, coords.getY(), z), chunk.getType(coords));
-                            }).collect(Collectors.toList()));
-                    this.clientObservers.forEach(player -> player.getConnection().send(message));
-                } else {
-                    dirtyBlock = changes.iterator().next();
-                    final MessagePlayOutBlockChange message = new MessagePlayOutBlockChange(dirtyBlock, chunk.getType(dirtyBlock));
+                if (positions.length >= clumpingThreshold) {
+                    resendSections |= changes.sections;
+                } else if (positions.length > 0) {
+                    final int baseX = this.coords.getX() << 4;
+                    final int baseZ = this.coords.getY() << 4;
+                    final int[] blockStates = new int[positions.length];
+                    for (int i = 0; i < positions.length; i++) {
+                        final int position = positions[i];
+                        blockStates[i] = chunk.getType(baseX | ((position >> 12) & 0xf),
+                                position & 0xff, baseZ | ((position >> 8) & 0xf));
+                    }
+                    final Message message;
+                    if (positions.length == 1) {
+                        final int position = positions[0];
+                        message = new MessagePlayOutBlockChange(new Vector3i(baseX | ((position >> 12) & 0xf),
+                                position & 0xff, baseZ | ((position >> 8) & 0xf)), blockStates[0]);
+                    } else {
+                        message = new MessagePlayOutMultiBlockChange(
+                                this.coords.getX(), this.coords.getY(), positions, blockStates);
+                    }
                     this.clientObservers.forEach(player -> player.getConnection().send(message));
                 }
 
                 // TODO: Also update tile entities
             }
 
+            if (resendSections != 0) {
+                final MessagePlayOutChunkData message = createLoadChunkMessage(chunk, resendSections, false);
+                this.clientObservers.forEach(player -> player.getConnection().send(message));
+            }
+
             if (!this.addedBlockActions.isEmpty()) {
                 final Set<Message> messages = new HashSet<>();
 
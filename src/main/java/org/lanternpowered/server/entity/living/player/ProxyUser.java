@@ -28,7 +28,6 @@
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Objects;
-import org.lanternpowered.server.data.io.UserIO;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.permission.AbstractProxySubject;
 import org.spongepowered.api.data.DataContainer;
@@ -52,7 +51,6 @@
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.util.Tristate;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
@@ -79,11 +77,8 @@ public ProxyUser(GameProfile gameProfile) {
      */
     public void setInternalUser(@Nullable AbstractUser user) {
         if (this.user != null) {
-            try {
-                UserIO.save(Lantern.getGame().getSavesDirectory(), this.user);
-            } catch (IOException e) {
-                Lantern.getLogger().warn("An error occurred while saving the player data for {}", this.gameProfile, e);
-            }
+            // The data is written in the background
+            Lantern.getGame().getUserIOService().save(this.user);
         }
         this.user = user;
         if (user != null) {
@@ -95,11 +90,7 @@ public void setInternalUser(@Nullable AbstractUser user) {
             if (!Objects.equal(oldProfile.getName().orElse(null), this.gameProfile.getName().orElse(null))) {
                 initializeSubject();
             }
-            try {
-                UserIO.load(Lantern.getGame().getSavesDirectory(), this.user);
-            } catch (IOException e) {
-                Lantern.getLogger().warn("An error occurred while loading the player data for {}", this.gameProfile, e);
-            }
+            Lantern.getGame().getUserIOService().load(this.user);
         }
     }
 
@@ -25,13 +25,11 @@
  */
 package org.lanternpowered.server.entity.living.player.tab;
 
-import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListEntries;
 import org.spongepowered.api.entity.living.player.gamemode.GameMode;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -83,11 +81,9 @@ public void removeEntry() {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.Remove(this.gameProfile)));
         this.tabListEntries.forEach(tabListEntry -> {
             tabListEntry.getList().removeRawEntry(this.gameProfile.getUniqueId());
-            tabListEntry.getList().getPlayer().getConnection().send(message);
+            tabListEntry.getList().queueRemove(this.gameProfile);
         });
         this.tabListEntries.clear();
         this.tabList.remove(this.gameProfile);
@@ -97,11 +93,9 @@ public void setDisplayName(@Nullable Text displayName) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(this.gameProfile, displayName)));
         this.tabListEntries.forEach(tabListEntry -> {
             tabListEntry.setRawDisplayName(displayName);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
+            tabListEntry.getList().queueUpdate(tabListEntry, false, false, true);
         });
     }
 
@@ -109,11 +103,9 @@ public void setLatency(int latency) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateLatency(this.gameProfile, latency)));
         this.tabListEntries.forEach(tabListEntry -> {
             tabListEntry.setRawLatency(latency);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
+            tabListEntry.getList().queueUpdate(tabListEntry, false, true, false);
         });
     }
 
@@ -121,11 +113,9 @@ public void setGameMode(GameMode gameMode) {
         if (this.tabListEntries.isEmpty()) {
             return;
         }
-        MessagePlayOutTabListEntries message = new MessagePlayOutTabListEntries(Collections.singletonList(
-                new MessagePlayOutTabListEntries.Entry.UpdateGameMode(this.gameProfile, gameMode)));
         this.tabListEntries.forEach(tabListEntry -> {
             tabListEntry.setRawGameMode(gameMode);
-            tabListEntry.getList().getPlayer().getConnection().send(message);
+            tabListEntry.getList().queueUpdate(tabListEntry, true, false, false);
         });
     }
 }
@@ -34,11 +34,12 @@
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListHeaderAndFooter;
 import org.spongepowered.api.entity.living.player.tab.TabList;
 import org.spongepowered.api.entity.living.player.tab.TabListEntry;
+import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -55,6 +56,13 @@ public class LanternTabList implements TabList {
     private Optional<Text> header = Optional.empty();
     private Optional<Text> footer = Optional.empty();
 
+    // The entry updates and removals that will be sent on the next flush,
+    // only the latest state of every entry is kept. Additions are never
+    // queued, the client must know the entry before a player with the
+    // same profile is spawned
+    private final Map<UUID, PendingEntry> pendingEntries = new LinkedHashMap<>();
+    private boolean pendingHeaderAndFooter;
+
     public LanternTabList(LanternPlayer player) {
         this.player = player;
     }
@@ -84,7 +92,121 @@ public void init(List<LanternTabListEntry> entries) {
     }
 
     private void sendHeaderAndFooterUpdate() {
-        this.player.getConnection().send(new MessagePlayOutTabListHeaderAndFooter(this.header.orElse(null), this.footer.orElse(null)));
+        synchronized (this.pendingEntries) {
+            this.pendingHeaderAndFooter = true;
+        }
+    }
+
+    /**
+     * Sends the addition of the {@link LanternTabListEntry} directly, a
+     * pending removal of the same profile will be sent before it.
+     *
+     * @param entry The tab list entry
+     */
+    void sendAdd(LanternTabListEntry entry) {
+        final GameProfile gameProfile = entry.getProfile();
+        synchronized (this.pendingEntries) {
+            // The add already includes all the values, so pending updates can be dropped
+            final PendingEntry pendingEntry = this.pendingEntries.remove(gameProfile.getUniqueId());
+            if (pendingEntry != null && pendingEntry.remove) {
+                this.player.getConnection().send(new MessagePlayOutTabListEntries(
+                        ImmutableList.of(new MessagePlayOutTabListEntries.Entry.Remove(gameProfile))));
+            }
+            this.player.getConnection().send(new MessagePlayOutTabListEntries(
+                    ImmutableList.of(new MessagePlayOutTabListEntries.Entry.Add(gameProfile, entry.getGameMode(),
+                            entry.getDisplayName().orElse(null), entry.getLatency()))));
+        }
+    }
+
+    /**
+     * Queues the removal of the entry with the given {@link GameProfile}.
+     *
+     * @param gameProfile The game profile
+     */
+    void queueRemove(GameProfile gameProfile) {
+        synchronized (this.pendingEntries) {
+            final PendingEntry pendingEntry = this.pendingEntries.computeIfAbsent(
+                    gameProfile.getUniqueId(), uniqueId -> new PendingEntry(gameProfile));
+            pendingEntry.entry = null;
+            pendingEntry.remove = true;
+            pendingEntry.clearUpdates();
+        }
+    }
+
+    /**
+     * Queues a update for the {@link LanternTabListEntry}.
+     *
+     * @param entry The tab list entry
+     * @param gameMode Whether the game mode changed
+     * @param latency Whether the latency changed
+     * @param displayName Whether the display name changed
+     */
+    void queueUpdate(LanternTabListEntry entry, boolean gameMode, boolean latency, boolean displayName) {
+        synchronized (this.pendingEntries) {
+            final PendingEntry pendingEntry = this.pendingEntries.computeIfAbsent(
+                    entry.getProfile().getUniqueId(), uniqueId -> new PendingEntry(entry.getProfile()));
+            if (pendingEntry.remove) {
+                // The entry is already removed
+                return;
+            }
+            pendingEntry.entry = entry;
+            pendingEntry.gameMode |= gameMode;
+            pendingEntry.latency |= latency;
+            pendingEntry.displayName |= displayName;
+        }
+    }
+
+    /**
+     * Sends all the updates that were queued since the last flush to the
+     * player, grouped into one message for each kind of update.
+     */
+    public void flush() {
+        final List<MessagePlayOutTabListEntries.Entry> removes = new ArrayList<>();
+        final List<MessagePlayOutTabListEntries.Entry> gameModes = new ArrayList<>();
+        final List<MessagePlayOutTabListEntries.Entry> latencies = new ArrayList<>();
+        final List<MessagePlayOutTabListEntries.Entry> displayNames = new ArrayList<>();
+        final boolean headerAndFooter;
+        synchronized (this.pendingEntries) {
+            headerAndFooter = this.pendingHeaderAndFooter;
+            this.pendingHeaderAndFooter = false;
+            if (this.pendingEntries.isEmpty() && !headerAndFooter) {
+                return;
+            }
+            for (PendingEntry pendingEntry : this.pendingEntries.values()) {
+                final GameProfile gameProfile = pendingEntry.gameProfile;
+                if (pendingEntry.remove) {
+                    removes.add(new MessagePlayOutTabListEntries.Entry.Remove(gameProfile));
+                    continue;
+                }
+                final LanternTabListEntry entry = checkNotNull(pendingEntry.entry);
+                if (pendingEntry.gameMode) {
+                    gameModes.add(new MessagePlayOutTabListEntries.Entry.UpdateGameMode(gameProfile, entry.getGameMode()));
+                }
+                if (pendingEntry.latency) {
+                    latencies.add(new MessagePlayOutTabListEntries.Entry.UpdateLatency(gameProfile, entry.getLatency()));
+                }
+                if (pendingEntry.displayName) {
+                    displayNames.add(new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(
+                            gameProfile, entry.getDisplayName().orElse(null)));
+                }
+            }
+            this.pendingEntries.clear();
+        }
+        // A tab list entries message can only hold one kind of entry
+        this.sendEntries(removes);
+        this.sendEntries(gameModes);
+        this.sendEntries(latencies);
+        this.sendEntries(displayNames);
+        if (headerAndFooter) {
+            this.player.getConnection().send(new MessagePlayOutTabListHeaderAndFooter(
+                    this.header.orElse(null), this.footer.orElse(null)));
+        }
+    }
+
+    private void sendEntries(List<MessagePlayOutTabListEntries.Entry> entries) {
+        if (!entries.isEmpty()) {
+            this.player.getConnection().send(new MessagePlayOutTabListEntries(entries));
+        }
     }
 
     public void clear() {
@@ -147,9 +269,8 @@ public TabList addEntry(TabListEntry entry) throws IllegalArgumentException {
         checkArgument(!this.tabListEntries.containsKey(uniqueId),
                 "There is already a tab list entry assigned with the unique id: " + uniqueId.toString());
         this.tabListEntries.put(uniqueId, (LanternTabListEntry) entry);
-        this.player.getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(new MessagePlayOutTabListEntries.Entry.Add(
-                entry.getProfile(), entry.getGameMode(), entry.getDisplayName().orElse(null), entry.getLatency()))));
         LanternTabListEntry entry0 = (LanternTabListEntry) entry;
+        this.sendAdd(entry0);
         entry0.attached = true;
         entry0.getGlobalEntry().addEntry(entry0);
         return this;
@@ -168,10 +289,34 @@ Optional<TabListEntry> removeRawEntry(UUID uniqueId) {
     public Optional<TabListEntry> removeEntry(UUID uniqueId) {
         final Optional<TabListEntry> entry = this.removeRawEntry(uniqueId);
         entry.ifPresent(entry0 -> {
-            this.player.getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
-                    new MessagePlayOutTabListEntries.Entry.Remove(entry0.getProfile()))));
+            this.queueRemove(entry0.getProfile());
             ((LanternTabListEntry) entry0).getGlobalEntry().removeEntry((LanternTabListEntry) entry0);
         });
         return entry;
     }
+
+    private static final class PendingEntry {
+
+        private final GameProfile gameProfile;
+
+        // The entry whose values should be sent, or null if
+        // the entry is removed
+        @Nullable private LanternTabListEntry entry;
+
+        private boolean remove;
+
+        private boolean gameMode;
+        private boolean latency;
+        private boolean displayName;
+
+        private PendingEntry(GameProfile gameProfile) {
+            this.gameProfile = gameProfile;
+        }
+
+        private void clearUpdates() {
+            this.gameMode = false;
+            this.latency = false;
+            this.displayName = false;
+        }
+    }
 }
@@ -27,13 +27,11 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListEntries;
 import org.spongepowered.api.entity.living.player.gamemode.GameMode;
 import org.spongepowered.api.entity.living.player.tab.TabListEntry;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 
-import java.util.Collections;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
@@ -95,8 +93,7 @@ void setRawDisplayName(@Nullable Text displayName) {
     public LanternTabListEntry setDisplayName(@Nullable Text displayName) {
         this.setRawDisplayName(displayName);
         if (this.attached) {
-            this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
-                    new MessagePlayOutTabListEntries.Entry.UpdateDisplayName(this.getProfile(), displayName))));
+            this.tabList.queueUpdate(this, false, false, true);
         }
         return this;
     }
@@ -119,8 +116,7 @@ void setRawLatency(int latency) {
     public LanternTabListEntry setLatency(int latency) {
         this.setRawLatency(latency);
         if (this.attached) {
-            this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
-                    new MessagePlayOutTabListEntries.Entry.UpdateLatency(this.getProfile(), latency))));
+            this.tabList.queueUpdate(this, false, true, false);
         }
         return this;
     }
@@ -143,8 +139,7 @@ void setRawGameMode(GameMode gameMode) {
     public LanternTabListEntry setGameMode(GameMode gameMode) {
         this.setRawGameMode(gameMode);
         if (this.attached) {
-            this.tabList.getPlayer().getConnection().send(new MessagePlayOutTabListEntries(Collections.singletonList(
-                    new MessagePlayOutTabListEntries.Entry.UpdateGameMode(this.getProfile(), gameMode))));
+            this.tabList.queueUpdate(this, true, false, false);
         }
         return this;
     }
@@ -0,0 +1,112 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.event;
+
+import org.slf4j.Logger;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+
+/**
+ * Dispatches events of a specific type to all the {@link RegisteredListener}s
+ * that are baked for that type. A dispatcher is only valid for the listener
+ * generation it was baked for.
+ */
+final class EventDispatcher {
+
+    private static final RegisteredListener<?>[] NO_LISTENERS = new RegisteredListener<?>[0];
+
+    /**
+     * The listener generation this dispatcher was baked for.
+     */
+    final int generation;
+
+    /**
+     * All the listeners, sorted by their order.
+     */
+    private final RegisteredListener<?>[] listeners;
+
+    EventDispatcher(int generation, List<RegisteredListener<?>> listeners) {
+        this.listeners = listeners.isEmpty() ? NO_LISTENERS : listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        this.generation = generation;
+    }
+
+    /**
+     * Gets whether there are any listeners.
+     *
+     * @return Has listeners
+     */
+    boolean hasListeners() {
+        return this.listeners.length != 0;
+    }
+
+    /**
+     * Posts the {@link Event} to all the listeners.
+     *
+     * @param event The event
+     * @param logger The logger to report listener errors to
+     * @return Whether the event is cancelled
+     */
+    @SuppressWarnings("unchecked")
+    boolean post(Event event, Logger logger) {
+        final RegisteredListener<?>[] listeners = this.listeners;
+        if (listeners.length == 0) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        final AbstractEvent abstractEvent = event instanceof AbstractEvent ? (AbstractEvent) event : null;
+        final CauseStack causeStack = CauseStack.currentOrEmpty();
+        // The plugin that is currently pushed to the cause stack, consecutive
+        // listeners of the same plugin don't need to push it again
+        PluginContainer plugin = null;
+        for (RegisteredListener listener : listeners) {
+            if (listener.getPlugin() != plugin) {
+                if (plugin != null) {
+                    causeStack.popCause();
+                }
+                plugin = listener.getPlugin();
+                // Add the calling plugin to the cause stack
+                causeStack.pushCause(plugin);
+            }
+            try {
+                if (abstractEvent != null) {
+                    abstractEvent.currentOrder = listener.getOrder();
+                }
+                listener.handle(event);
+            } catch (Throwable e) {
+                logger.error("Could not pass {} to {}", event.getClass().getSimpleName(),
+                        listener.getPlugin(), e);
+            }
+        }
+        causeStack.popCause();
+        if (abstractEvent != null) {
+            abstractEvent.currentOrder = null;
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+}
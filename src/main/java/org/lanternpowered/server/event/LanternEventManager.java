@@ -28,8 +28,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.lanternpowered.server.util.Conditions.checkPlugin;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.reflect.TypeToken;
@@ -38,16 +36,13 @@
 import org.lanternpowered.server.event.filter.FilterFactory;
 import org.lanternpowered.server.util.DefineableClassLoader;
 import org.slf4j.Logger;
-import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
-import org.spongepowered.api.event.impl.AbstractEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -58,7 +53,6 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -76,37 +70,42 @@ public class LanternEventManager implements EventManager {
     private final Set<Object> registeredListeners = new HashSet<>();
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
+     * The generation of the registered listeners, this will be increased every
+     * time that listeners are (un)registered which invalidates all the dispatchers.
      */
-    private final LoadingCache<Class<? extends Event>, List<RegisteredListener<?>>> listenersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    private volatile int generation;
+
+    /**
+     * The baked dispatchers for every event type for quick event posting.
+     */
+    private final ClassValue<DispatcherSlot> dispatchers = new ClassValue<DispatcherSlot>() {
+        @Override
+        protected DispatcherSlot computeValue(Class<?> type) {
+            return new DispatcherSlot();
+        }
+    };
+
+    private static final class DispatcherSlot {
+
+        @Nullable volatile EventDispatcher dispatcher;
+    }
 
     @Inject
     public LanternEventManager(Logger logger) {
         this.logger = logger;
+    }
 
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            final Field innerCache = this.listenersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            final Object innerCacheValue = innerCache.get(this.listenersCache);
-            final Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            final Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            final ConcurrentHashMap<Class<? extends Event>, List<RegisteredListener<?>>> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.listenersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
+    private EventDispatcher getDispatcher(Class<?> eventClass) {
+        final DispatcherSlot slot = this.dispatchers.get(eventClass);
+        EventDispatcher dispatcher = slot.dispatcher;
+        final int generation = this.generation;
+        if (dispatcher == null || dispatcher.generation != generation) {
+            // Listeners that are registered while baking will
+            // increase the generation, so it will be baked again
+            dispatcher = new EventDispatcher(generation, bakeHandlers(eventClass));
+            slot.dispatcher = dispatcher;
         }
+        return dispatcher;
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -155,16 +154,16 @@ private void register(RegisteredListener<?> listener) {
         register(Collections.singletonList(listener));
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     private void register(List<RegisteredListener<?>> listeners) {
-        final Set<Class<?>> types = new HashSet<>();
+        boolean modified = false;
         synchronized (this.lock) {
-            listeners.stream()
-                    .filter(listener -> this.listenersByEvent.put(listener.getEventClass(), listener))
-                    .forEach(listener -> types.addAll(TypeToken.of(listener.getEventClass()).getTypes().rawTypes()));
-        }
-        if (!types.isEmpty()) {
-            this.listenersCache.invalidateAll(types);
+            for (RegisteredListener<?> listener : listeners) {
+                modified |= this.listenersByEvent.put(listener.getEventClass(), listener);
+            }
+            // Invalidate all the baked dispatchers
+            if (modified) {
+                this.generation++;
+            }
         }
     }
 
@@ -267,7 +266,7 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        final Set<Class<?>> types = new HashSet<>();
+        boolean modified = false;
         synchronized (this.lock) {
             final Iterator<RegisteredListener<?>> it = this.listenersByEvent.values().iterator();
 
@@ -277,13 +276,14 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
                     synchronized (this.registeredListeners) {
                         this.registeredListeners.remove(listener.getHandle());
                     }
-                    types.addAll(TypeToken.of(listener.getEventClass()).getTypes().rawTypes());
                     it.remove();
+                    modified = true;
                 }
             }
-        }
-        if (!types.isEmpty()) {
-            this.listenersCache.invalidateAll(types);
+            // Invalidate all the baked dispatchers
+            if (modified) {
+                this.generation++;
+            }
         }
     }
 
@@ -299,28 +299,22 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
-    @SuppressWarnings({"unchecked", "ConstantConditions"})
+    /**
+     * Gets whether there are any listeners registered that would receive
+     * events of the given type. This can be used to avoid constructing
+     * events that no one is listening to.
+     *
+     * @param eventClass The event class
+     * @return Whether there are listeners
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        checkNotNull(eventClass, "eventClass");
+        return getDispatcher(eventClass).hasListeners();
+    }
+
     @Override
     public boolean post(Event event) {
         checkNotNull(event, "event");
-        final CauseStack causeStack = CauseStack.currentOrEmpty();
-        for (RegisteredListener listener : this.listenersCache.get(event.getClass())) {
-            // Add the calling plugin to the cause stack
-            causeStack.pushCause(listener.getPlugin());
-            try {
-                if (event instanceof AbstractEvent) {
-                    ((AbstractEvent) event).currentOrder = listener.getOrder();
-                }
-                listener.handle(event);
-            } catch (Throwable e) {
-                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(),
-                        listener.getPlugin(), e);
-            }
-            causeStack.popCause();
-        }
-        if (event instanceof AbstractEvent) {
-            ((AbstractEvent) event).currentOrder = null;
-        }
-        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        return getDispatcher(event.getClass()).post(event, this.logger);
     }
 }
@@ -46,6 +46,7 @@
 import org.lanternpowered.server.config.user.WhitelistConfig;
 import org.lanternpowered.server.config.user.ban.BanConfig;
 import org.lanternpowered.server.data.LanternDataManager;
+import org.lanternpowered.server.data.io.UserIOService;
 import org.lanternpowered.server.data.property.LanternPropertyRegistry;
 import org.lanternpowered.server.event.CauseStack;
 import org.lanternpowered.server.event.LanternCauseStack;
@@ -164,6 +165,9 @@ public static long currentTimeTicks() {
     // The chunk load service
     @Inject private LanternChunkTicketManager chunkTicketManager;
 
+    // The user data io service
+    @Inject private UserIOService userIOService;
+
     // The command manager
     @Inject private LanternCommandManager commandManager;
 
@@ -523,6 +527,15 @@ public LanternChunkTicketManager getChunkTicketManager() {
         return this.chunkTicketManager;
     }
 
+    /**
+     * Gets the {@link UserIOService}.
+     *
+     * @return The user io service
+     */
+    public UserIOService getUserIOService() {
+        return this.userIOService;
+    }
+
     /**
      * Gets the {@link LanternChannelRegistrar}.
      * 
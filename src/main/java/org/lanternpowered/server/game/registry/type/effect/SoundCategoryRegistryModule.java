@@ -39,8 +39,9 @@ public SoundCategoryRegistryModule() {
     @Override
     public void registerDefaults() {
         register(new LanternSoundCategory("minecraft", "master", 0));
-        register(new LanternSoundCategory("minecraft", "music", 1));
-        register(new LanternSoundCategory("minecraft", "record", 2));
+        // Music isn't positional, so it can be heard everywhere
+        register(new LanternSoundCategory("minecraft", "music", 1, Double.POSITIVE_INFINITY));
+        register(new LanternSoundCategory("minecraft", "record", 2, 64.0));
         register(new LanternSoundCategory("minecraft", "weather", 3));
         register(new LanternSoundCategory("minecraft", "block", 4));
         register(new LanternSoundCategory("minecraft", "hostile", 5));
@@ -38,10 +38,13 @@
 import org.lanternpowered.server.item.LanternItemType;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataTransactionResult;
 import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.ItemTypes;
 import org.spongepowered.api.item.inventory.ItemStack;
@@ -51,6 +54,7 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -67,6 +71,28 @@ public static ItemStack orEmpty(@Nullable ItemStack itemStack) {
 
     private int quantity;
 
+    /**
+     * The version of the data of this item stack, this
+     * will be increased every time a value is modified.
+     */
+    private volatile int dataVersion;
+
+    /**
+     * The cached network representation of this item stack.
+     */
+    @Nullable private volatile NetworkData networkData;
+
+    private static final class NetworkData {
+
+        private final int version;
+        private final byte[] data;
+
+        private NetworkData(int version, byte[] data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+
     /**
      * Constructs a new {@link LanternItemStack} for the specified {@link BlockType},
      * a {@link IllegalArgumentException} will be thrown if {@link BlockType#getItem()}
@@ -129,6 +155,80 @@ private void registerKeys() {
         c.register(Keys.ITEM_ENCHANTMENTS, Collections.emptyList());
     }
 
+    private boolean trackChange(boolean success) {
+        if (success) {
+            this.dataVersion++;
+        }
+        return success;
+    }
+
+    private DataTransactionResult trackChange(DataTransactionResult result) {
+        if (result.isSuccessful()) {
+            this.dataVersion++;
+        }
+        return result;
+    }
+
+    // All the key based modifications pass through the following methods,
+    // the data version is increased for every successful modification
+
+    @Override
+    public <E> boolean offerFast(Key<? extends BaseValue<E>> key, E element) {
+        return trackChange(IAdditionalDataHolder.super.offerFast(key, element));
+    }
+
+    @Override
+    public <E> DataTransactionResult offer(Key<? extends BaseValue<E>> key, E element) {
+        return trackChange(IAdditionalDataHolder.super.offer(key, element));
+    }
+
+    @Override
+    public <E> boolean offerFast(BaseValue<E> value) {
+        return trackChange(IAdditionalDataHolder.super.offerFast(value));
+    }
+
+    @Override
+    public <E> DataTransactionResult offer(BaseValue<E> value) {
+        return trackChange(IAdditionalDataHolder.super.offer(value));
+    }
+
+    @Override
+    public boolean removeFast(Key<?> key) {
+        return trackChange(IAdditionalDataHolder.super.removeFast(key));
+    }
+
+    @Override
+    public DataTransactionResult remove(Key<?> key) {
+        return trackChange(IAdditionalDataHolder.super.remove(key));
+    }
+
+    /**
+     * Gets the network representation of this item stack, the representation
+     * will be cached until one of the values of this item stack is modified.
+     * <p>
+     * The quantity isn't expected to be part of the network representation, it
+     * won't invalidate the cached representation.
+     *
+     * @param encoder The encoder that creates the network representation
+     * @return The network representation
+     */
+    public byte[] getNetworkData(Function<LanternItemStack, byte[]> encoder) {
+        // Additional containers can't be tracked, don't cache them
+        if (!this.additionalContainers.getAll().isEmpty()) {
+            return encoder.apply(this);
+        }
+        final int version = this.dataVersion;
+        final NetworkData networkData = this.networkData;
+        if (networkData != null && networkData.version == version) {
+            return networkData.data;
+        }
+        final byte[] data = encoder.apply(this);
+        // If the data was modified while encoding, the version won't
+        // match anymore and the data will be encoded again next time
+        this.networkData = new NetworkData(version, data);
+        return data;
+    }
+
     @Override
     public AdditionalContainerCollection<DataManipulator<?, ?>> getAdditionalContainers() {
         return this.additionalContainers;
@@ -150,6 +250,7 @@ public void setRawData(DataView dataView) throws InvalidDataException {
         dataView.remove(DataQueries.ITEM_TYPE);
         this.quantity = dataView.getInt(DataQueries.QUANTITY).orElse(1);
         IAdditionalDataHolder.super.setRawData(dataView);
+        this.dataVersion++;
     }
 
     @Override
@@ -213,7 +314,14 @@ public boolean isEmpty() {
 
     @Override
     public LanternItemStack copy() {
-        return new LanternItemStack(this.itemType, this.quantity, getValueCollection().copy(), this.additionalContainers.copy());
+        final LanternItemStack copy = new LanternItemStack(this.itemType, this.quantity,
+                getValueCollection().copy(), this.additionalContainers.copy());
+        // The copy has the same data, so the representation can be shared
+        final NetworkData networkData = this.networkData;
+        if (networkData != null && networkData.version == this.dataVersion) {
+            copy.networkData = new NetworkData(copy.dataVersion, networkData.data);
+        }
+        return copy;
     }
 
     /**
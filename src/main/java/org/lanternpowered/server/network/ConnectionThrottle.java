@@ -0,0 +1,234 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.lanternpowered.server.config.GlobalConfig;
+
+import java.net.InetAddress;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Throttles new connections, status pings and logins with token buckets per
+ * address and a global token bucket. This is checked as early as possible so
+ * that floods are rejected before any expensive work is done.
+ */
+public final class ConnectionThrottle {
+
+    /**
+     * The maximum amount of addresses that will be tracked at the same time.
+     */
+    private static final int MAX_TRACKED_ADDRESSES = 65536;
+
+    /**
+     * The types of attempts that can be throttled.
+     */
+    public enum Type {
+        /**
+         * A new connection is accepted.
+         */
+        CONNECTION,
+        /**
+         * A status ping is requested, this includes legacy pings.
+         */
+        STATUS,
+        /**
+         * A login is started.
+         */
+        LOGIN
+    }
+
+    private final Map<Type, Limiter> limiters = new EnumMap<>(Type.class);
+
+    /**
+     * Creates a new connection throttle.
+     *
+     * @param config The connection throttle config
+     * @param perAddress Whether the per address limits should be applied, should be
+     *                   disabled if all the connections originate from a proxy
+     */
+    public ConnectionThrottle(GlobalConfig.ConnectionThrottle config, boolean perAddress) {
+        checkNotNull(config, "config");
+        this.limiters.put(Type.CONNECTION, new Limiter(config.getConnections(), perAddress));
+        this.limiters.put(Type.STATUS, new Limiter(config.getStatusPings(), perAddress));
+        this.limiters.put(Type.LOGIN, new Limiter(config.getLogins(), perAddress));
+    }
+
+    /**
+     * Attempts to acquire a permit for the given {@link Type} and {@link InetAddress}.
+     *
+     * @param type The type of the attempt
+     * @param address The address
+     * @return Whether the attempt is allowed
+     */
+    public boolean tryAcquire(Type type, InetAddress address) {
+        checkNotNull(type, "type");
+        checkNotNull(address, "address");
+        return this.limiters.get(type).tryAcquire(address, System.nanoTime());
+    }
+
+    /**
+     * Gets the amount of attempts of the given {@link Type} that were
+     * rejected because a single address exceeded its limit.
+     *
+     * @param type The type
+     * @return The amount of rejected attempts
+     */
+    public long getPerAddressRejections(Type type) {
+        return this.limiters.get(checkNotNull(type, "type")).perAddressRejections.sum();
+    }
+
+    /**
+     * Gets the amount of attempts of the given {@link Type} that
+     * were rejected because the global limit was exceeded.
+     *
+     * @param type The type
+     * @return The amount of rejected attempts
+     */
+    public long getGlobalRejections(Type type) {
+        return this.limiters.get(checkNotNull(type, "type")).globalRejections.sum();
+    }
+
+    /**
+     * Gets the amount of attempts of the given {@link Type} that were accepted.
+     *
+     * @param type The type
+     * @return The amount of accepted attempts
+     */
+    public long getAccepted(Type type) {
+        return this.limiters.get(checkNotNull(type, "type")).accepted.sum();
+    }
+
+    static final class Limiter {
+
+        @Nullable private final Cache<InetAddress, TokenBucket> perAddressBuckets;
+        @Nullable private final TokenBucket globalBucket;
+
+        private final double perAddressRate;
+        private final int perAddressBurst;
+
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder perAddressRejections = new LongAdder();
+        private final LongAdder globalRejections = new LongAdder();
+
+        Limiter(GlobalConfig.Limits limits, boolean perAddress) {
+            this.perAddressRate = limits.getPerAddressRate();
+            this.perAddressBurst = Math.max(1, limits.getPerAddressBurst());
+            if (perAddress && this.perAddressRate > 0) {
+                // An address is no longer tracked once its bucket would be refilled
+                final long expireNanos = (long) (TimeUnit.SECONDS.toNanos(1) * this.perAddressBurst / this.perAddressRate);
+                this.perAddressBuckets = Caffeine.newBuilder()
+                        .expireAfterAccess(Math.max(expireNanos, TimeUnit.SECONDS.toNanos(1)), TimeUnit.NANOSECONDS)
+                        .maximumSize(MAX_TRACKED_ADDRESSES)
+                        .build();
+            } else {
+                this.perAddressBuckets = null;
+            }
+            this.globalBucket = limits.getGlobalRate() > 0 ? new TokenBucket(limits.getGlobalRate(),
+                    Math.max(1, limits.getGlobalBurst()), System.nanoTime()) : null;
+        }
+
+        /**
+         * Attempts to acquire a permit for the given {@link InetAddress}.
+         *
+         * @param address The address
+         * @param now The current time in nanoseconds
+         * @return Whether the attempt is allowed
+         */
+        boolean tryAcquire(InetAddress address, long now) {
+            TokenBucket bucket = null;
+            if (this.perAddressBuckets != null) {
+                bucket = this.perAddressBuckets.get(address,
+                        key -> new TokenBucket(this.perAddressRate, this.perAddressBurst, now));
+                if (!bucket.tryAcquire(now)) {
+                    this.perAddressRejections.increment();
+                    return false;
+                }
+            }
+            if (this.globalBucket != null && !this.globalBucket.tryAcquire(now)) {
+                // The attempt wasn't allowed, so it shouldn't count against the address
+                if (bucket != null) {
+                    bucket.refund();
+                }
+                this.globalRejections.increment();
+                return false;
+            }
+            this.accepted.increment();
+            return true;
+        }
+    }
+
+    static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double tokensPerSecond, int capacity, long now) {
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        /**
+         * Attempts to take a token from this bucket, after
+         * refilling it for the time that passed.
+         *
+         * @param now The current time in nanoseconds
+         * @return Whether a token was taken
+         */
+        synchronized boolean tryAcquire(long now) {
+            final long elapsed = now - this.lastRefill;
+            if (elapsed > 0) {
+                this.tokens = Math.min(this.capacity, this.tokens + elapsed * this.tokensPerNano);
+                this.lastRefill = now;
+            }
+            if (this.tokens < 1.0) {
+                return false;
+            }
+            this.tokens -= 1.0;
+            return true;
+        }
+
+        /**
+         * Puts back a token that was taken by {@link #tryAcquire(long)}.
+         */
+        synchronized void refund() {
+            this.tokens = Math.min(this.capacity, this.tokens + 1.0);
+        }
+    }
+}
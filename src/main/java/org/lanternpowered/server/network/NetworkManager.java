@@ -25,6 +25,9 @@
  */
 package org.lanternpowered.server.network;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -38,6 +41,10 @@
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import org.lanternpowered.server.LanternServer;
+import org.lanternpowered.server.config.GlobalConfig;
+import org.lanternpowered.server.network.auth.HttpSessionAuthBackend;
+import org.lanternpowered.server.network.auth.SessionAuthBackend;
+import org.lanternpowered.server.network.auth.SessionAuthClient;
 import org.lanternpowered.server.network.buffer.LanternByteBufferAllocator;
 import org.lanternpowered.server.network.message.codec.CodecContext;
 import org.lanternpowered.server.network.message.codec.SimpleCodecContext;
@@ -49,10 +56,12 @@
 import org.lanternpowered.server.util.ThreadHelper;
 
 import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Singleton
@@ -70,6 +79,10 @@ public final class NetworkManager extends ServerBase {
 
     @Nullable private SocketAddress socketAddress;
 
+    @Nullable private SessionAuthBackend authBackend;
+    @Nullable private SessionAuthClient authClient;
+    @Nullable private ConnectionThrottle connectionThrottle;
+
     @Inject
     public NetworkManager(LanternServer server) {
         this.server = server;
@@ -93,6 +106,50 @@ public LanternServer getServer() {
         return this.server;
     }
 
+    /**
+     * Sets the {@link SessionAuthBackend} that should be used to authenticate
+     * players, this must be called before the network manager is initialized.
+     * Defaults to the http backend that is configured in the global config.
+     *
+     * @param authBackend The auth backend
+     */
+    public void setAuthBackend(SessionAuthBackend authBackend) {
+        checkState(this.authClient == null, "The network manager is already initialized.");
+        this.authBackend = checkNotNull(authBackend, "authBackend");
+    }
+
+    /**
+     * Gets the {@link SessionAuthClient}.
+     *
+     * @return The auth client
+     */
+    public SessionAuthClient getAuthClient() {
+        checkState(this.authClient != null, "The network manager isn't initialized yet.");
+        return this.authClient;
+    }
+
+    /**
+     * Gets the {@link ConnectionThrottle}, if enabled.
+     *
+     * @return The connection throttle
+     */
+    public Optional<ConnectionThrottle> getConnectionThrottle() {
+        return Optional.ofNullable(this.connectionThrottle);
+    }
+
+    /**
+     * Attempts to acquire a permit from the {@link ConnectionThrottle}
+     * for the given address, always succeeds if the throttle is disabled.
+     *
+     * @param type The type of the attempt
+     * @param address The remote address
+     * @return Whether the attempt is allowed
+     */
+    public boolean tryAcquireThrottle(ConnectionThrottle.Type type, InetSocketAddress address) {
+        final ConnectionThrottle connectionThrottle = this.connectionThrottle;
+        return connectionThrottle == null || connectionThrottle.tryAcquire(type, address.getAddress());
+    }
+
     /**
      * Pulses all the sessions.
      */
@@ -127,12 +184,32 @@ protected ChannelFuture init0(SocketAddress address, boolean epoll) {
         this.bossGroup = createEventLoopGroup(epoll, threadFactory);
         this.workerGroup = createEventLoopGroup(epoll, threadFactory);
         this.socketAddress = address;
+        final GlobalConfig.Authentication authConfig = this.server.getGame().getGlobalConfig().getAuthentication();
+        SessionAuthBackend authBackend = this.authBackend;
+        if (authBackend == null) {
+            authBackend = new HttpSessionAuthBackend(authConfig.getSessionServerUrl(),
+                    authConfig.getConnectTimeout(), authConfig.getReadTimeout());
+        }
+        this.authClient = new SessionAuthClient(authBackend, authConfig.getMaxConcurrentRequests(),
+                authConfig.getMaxQueuedRequests(), authConfig.getCacheDuration(), TimeUnit.SECONDS);
+        final GlobalConfig.ConnectionThrottle throttleConfig = this.server.getGame().getGlobalConfig().getConnectionThrottle();
+        if (throttleConfig.isEnabled()) {
+            // All the connections originate from the proxy if present,
+            // so only the global limits can be applied in that case
+            final boolean perAddress = this.server.getGame().getGlobalConfig().getProxyType() == ProxyType.NONE;
+            this.connectionThrottle = new ConnectionThrottle(throttleConfig, perAddress);
+        }
         return this.bootstrap
                 .group(this.bossGroup, this.workerGroup)
                 .channel(getServerSocketChannelClass(epoll))
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) throws Exception {
+                        // Reject throttled connections before anything is allocated
+                        if (!tryAcquireThrottle(ConnectionThrottle.Type.CONNECTION, ch.remoteAddress())) {
+                            ch.close();
+                            return;
+                        }
                         final ChannelPipeline pipeline = ch.pipeline();
                         final NetworkSession networkSession = new NetworkSession(ch, server, NetworkManager.this);
                         final CodecContext codecContext = new SimpleCodecContext(new LanternByteBufferAllocator(ch.alloc()), ch, networkSession);
@@ -157,5 +234,8 @@ public void shutdown0() {
         this.workerGroup.shutdownGracefully();
         this.bossGroup.shutdownGracefully();
         this.bootstrap = null;
+        if (this.authClient != null) {
+            this.authClient.shutdown();
+        }
     }
 }
@@ -489,6 +489,15 @@ public LanternServer getServer() {
         return this.server;
     }
 
+    /**
+     * Gets the {@link NetworkManager}.
+     *
+     * @return The network manager
+     */
+    public NetworkManager getNetworkManager() {
+        return this.networkManager;
+    }
+
     /**
      * Gets the {@link Channel} of this session.
      *
@@ -806,6 +815,45 @@ private void leavePlayer() {
         }
     }
 
+    /**
+     * Checks whether the remote address of this session is banned, the
+     * session will be disconnected if this is the case. This is done before
+     * the client is authenticated, which avoids any expensive work for
+     * connections from banned addresses.
+     *
+     * @return Whether the address is banned
+     */
+    public boolean checkAddressBan() {
+        final BanService banService = Sponge.getServiceManager().provideUnchecked(BanService.class);
+        final Optional<Ban.Ip> ban = banService.getBanFor(getAddress().getAddress());
+        if (ban.isPresent()) {
+            disconnect(createBanMessage(ban.get()));
+            return true;
+        }
+        return false;
+    }
+
+    private static Text createBanMessage(Ban ban) {
+        final Optional<Instant> optExpirationDate = ban.getExpirationDate();
+        final Optional<Text> optReason = ban.getReason();
+
+        // Generate the kick message
+        final Text.Builder builder = Text.builder();
+        if (ban instanceof Ban.Profile) {
+            builder.append(t("multiplayer.disconnect.ban.banned"));
+        } else {
+            builder.append(t("multiplayer.disconnect.ban.ip_banned"));
+        }
+        // There is optionally a reason
+        optReason.ifPresent(reason -> builder.append(Text.NEW_LINE).append(t("multiplayer.disconnect.ban.reason", reason)));
+        // And a expiration date if present
+        optExpirationDate.ifPresent(expirationDate -> {
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(tr("multiplayer.disconnect.ban.expiration_date_format").get());
+            builder.append(Text.NEW_LINE).append(t("multiplayer.disconnect.ban.expiration", formatter.format(expirationDate)));
+        });
+        return builder.build();
+    }
+
     /**
      * Initializes the {@link LanternPlayer} instance
      * and spawns it in a world if permitted to join
@@ -860,25 +908,7 @@ public void initPlayer() {
             }
         }
         if (ban != null) {
-            final Optional<Instant> optExpirationDate = ban.getExpirationDate();
-            final Optional<Text> optReason = ban.getReason();
-
-            // Generate the kick message
-            Text.Builder builder = Text.builder();
-            if (ban instanceof Ban.Profile) {
-                builder.append(t("multiplayer.disconnect.ban.banned"));
-            } else {
-                builder.append(t("multiplayer.disconnect.ban.ip_banned"));
-            }
-            // There is optionally a reason
-            optReason.ifPresent(reason -> builder.append(Text.NEW_LINE).append(t("multiplayer.disconnect.ban.reason", reason)));
-            // And a expiration date if present
-            optExpirationDate.ifPresent(expirationDate -> {
-                final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(tr("multiplayer.disconnect.ban.expiration_date_format").get());
-                builder.append(Text.NEW_LINE).append(t("multiplayer.disconnect.ban.expiration", formatter.format(expirationDate)));
-            });
-
-            kickReason = builder.build();
+            kickReason = createBanMessage(ban);
             // Check for white-list
         } else if (!isWhitelisted(this.gameProfile)) {
             kickReason = t("multiplayer.disconnect.not_whitelisted");
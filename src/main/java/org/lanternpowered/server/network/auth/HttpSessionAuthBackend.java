@@ -0,0 +1,127 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network.auth;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Multimap;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.lanternpowered.server.profile.LanternGameProfile;
+import org.lanternpowered.server.profile.LanternProfileProperty;
+import org.lanternpowered.server.util.UUIDHelper;
+import org.spongepowered.api.profile.property.ProfileProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SessionAuthBackend} that queries a session server over http.
+ */
+public final class HttpSessionAuthBackend implements SessionAuthBackend {
+
+    /**
+     * The url of the official session server.
+     */
+    public static final String DEFAULT_URL = "https://sessionserver.mojang.com/session/minecraft/hasJoined";
+
+    private static final Gson GSON = new Gson();
+
+    private final String url;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    /**
+     * Constructs a new {@link HttpSessionAuthBackend}.
+     *
+     * @param url The url of the has joined endpoint
+     * @param connectTimeout The connect timeout in milliseconds
+     * @param readTimeout The read timeout in milliseconds
+     */
+    public HttpSessionAuthBackend(String url, int connectTimeout, int readTimeout) {
+        checkNotNull(url, "url");
+        checkArgument(connectTimeout > 0, "connectTimeout must be greater than 0");
+        checkArgument(readTimeout > 0, "readTimeout must be greater than 0");
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.url = url;
+    }
+
+    @Nullable
+    @Override
+    public LanternGameProfile hasJoined(String username, String serverHash, @Nullable String ip) throws IOException {
+        final StringBuilder url = new StringBuilder(this.url)
+                .append("?username=").append(URLEncoder.encode(username, "UTF-8"))
+                .append("&serverId=").append(serverHash);
+        if (ip != null) {
+            url.append("&ip=").append(URLEncoder.encode(ip, "UTF-8"));
+        }
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url.toString()).openConnection();
+        connection.setConnectTimeout(this.connectTimeout);
+        connection.setReadTimeout(this.readTimeout);
+        connection.setUseCaches(false);
+        try {
+            final int responseCode = connection.getResponseCode();
+            // No content means that the player didn't join
+            if (responseCode == HttpURLConnection.HTTP_NO_CONTENT) {
+                return null;
+            } else if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response code: " + responseCode);
+            }
+            final JsonObject json;
+            try (InputStream is = connection.getInputStream()) {
+                json = GSON.fromJson(new InputStreamReader(is, StandardCharsets.UTF_8), JsonObject.class);
+            }
+            if (json == null) {
+                return null;
+            }
+            final String name = json.get("name").getAsString();
+            final String id = json.get("id").getAsString();
+
+            final UUID uniqueId;
+            try {
+                uniqueId = UUIDHelper.fromFlatString(id);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Returned authentication UUID invalid: " + id, e);
+            }
+
+            final Multimap<String, ProfileProperty> properties = LanternProfileProperty
+                    .createPropertiesMapFromJson(json.getAsJsonArray("properties"));
+            return new LanternGameProfile(uniqueId, name, properties);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
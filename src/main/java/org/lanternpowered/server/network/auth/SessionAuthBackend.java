@@ -0,0 +1,55 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network.auth;
+
+import org.lanternpowered.server.profile.LanternGameProfile;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents a backend that verifies whether players joined the
+ * server through the session server. This may be replaced by a
+ * local stub implementation for testing purposes.
+ */
+@FunctionalInterface
+public interface SessionAuthBackend {
+
+    /**
+     * Checks whether the player with the given username joined the server with
+     * the specified server hash. This method may block until the response is
+     * received, but it won't be called on a network thread.
+     *
+     * @param username The username of the player
+     * @param serverHash The server hash
+     * @param ip The ip address that should be matched to prevent proxy connections, if present
+     * @return The game profile of the player, or {@code null} if the player didn't join
+     * @throws IOException If the session server couldn't be reached
+     */
+    @Nullable
+    LanternGameProfile hasJoined(String username, String serverHash, @Nullable String ip) throws IOException;
+}
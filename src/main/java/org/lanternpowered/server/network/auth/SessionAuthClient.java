@@ -0,0 +1,144 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network.auth;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.lanternpowered.server.profile.LanternGameProfile;
+import org.lanternpowered.server.util.ThreadHelper;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * A client that authenticates players through a {@link SessionAuthBackend}. The
+ * requests are executed on a dedicated bounded executor, so that a burst of logins
+ * can't starve other tasks, and the results are cached for a short duration.
+ * <p>
+ * The server hash is unique per login, so the cache mainly avoids that duplicate
+ * or retried requests hit the session server multiple times.
+ */
+public final class SessionAuthClient {
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final SessionAuthBackend backend;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, CompletableFuture<Optional<LanternGameProfile>>> cache;
+
+    /**
+     * Constructs a new {@link SessionAuthClient}.
+     *
+     * @param backend The backend that performs the requests
+     * @param maxConcurrentRequests The maximum amount of requests that run at the same time
+     * @param maxQueuedRequests The maximum amount of requests that may wait to be executed,
+     *                          requests beyond this amount will be rejected
+     * @param cacheDuration The duration that results will be cached
+     * @param unit The time unit of the cache duration
+     */
+    public SessionAuthClient(SessionAuthBackend backend, int maxConcurrentRequests, int maxQueuedRequests,
+            long cacheDuration, TimeUnit unit) {
+        checkNotNull(backend, "backend");
+        checkNotNull(unit, "unit");
+        checkArgument(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0");
+        checkArgument(maxQueuedRequests > 0, "maxQueuedRequests must be greater than 0");
+        this.backend = backend;
+        this.executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedRequests), ThreadHelper.newFastThreadLocalThreadFactory(
+                        () -> "auth-" + threadCounter.getAndIncrement(), thread -> thread.setDaemon(true)));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheDuration, unit)
+                .maximumSize(maxConcurrentRequests + maxQueuedRequests)
+                .build();
+    }
+
+    /**
+     * Gets the {@link SessionAuthBackend}.
+     *
+     * @return The backend
+     */
+    public SessionAuthBackend getBackend() {
+        return this.backend;
+    }
+
+    /**
+     * Authenticates the player with the given username and server hash. The
+     * returned future will be completed exceptionally if the session server
+     * couldn't be reached or if too many requests are pending.
+     *
+     * @param username The username of the player
+     * @param serverHash The server hash
+     * @param ip The ip address that should be matched to prevent proxy connections, if present
+     * @return The game profile future, empty if the player didn't join
+     */
+    public CompletableFuture<Optional<LanternGameProfile>> authenticate(String username, String serverHash, @Nullable String ip) {
+        checkNotNull(username, "username");
+        checkNotNull(serverHash, "serverHash");
+        final String key = username + ':' + serverHash + ':' + (ip == null ? "" : ip);
+        final CompletableFuture<Optional<LanternGameProfile>> future = this.cache.get(key, key1 -> request(username, serverHash, ip));
+        // Don't cache failures, allow them to be retried
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                this.cache.asMap().remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Optional<LanternGameProfile>> request(String username, String serverHash, @Nullable String ip) {
+        final CompletableFuture<Optional<LanternGameProfile>> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(Optional.ofNullable(this.backend.hasJoined(username, serverHash, ip)));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down this client, pending requests will still be executed.
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+}
@@ -28,15 +28,13 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.handler.codec.CodecException;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import org.lanternpowered.server.data.persistence.nbt.NbtDataContainerInputStream;
-import org.lanternpowered.server.data.persistence.nbt.NbtStreamUtils;
+import org.lanternpowered.server.data.persistence.nbt.NbtDataContainerOutputStream;
 import org.lanternpowered.server.network.buffer.objects.Type;
-import org.lanternpowered.server.util.io.LimitInputStream;
 import org.spongepowered.api.data.DataView;
 
 import java.io.IOException;
@@ -643,8 +641,8 @@ public LanternByteBuffer writeDataView(@Nullable DataView data) {
             this.buf.writeByte(0);
             return this;
         }
-        try {
-            NbtStreamUtils.write(data, new ByteBufOutputStream(this.buf), false);
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(this.buf)) {
+            output.write(data);
         } catch (IOException e) {
             throw new CodecException(e);
         }
@@ -669,8 +667,7 @@ public DataView readLimitedDataView(int maximumDepth, int maxBytes) {
         }
         this.buf.readerIndex(index);
         try {
-            try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(
-                    new LimitInputStream(new ByteBufInputStream(this.buf), maxBytes), false, maximumDepth)) {
+            try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(this.buf, maxBytes, maximumDepth)) {
                 return input.read();
             }
         } catch (IOException e) {
@@ -27,14 +27,22 @@
 
 import com.flowpowered.math.vector.Vector3f;
 import com.flowpowered.math.vector.Vector3i;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
 import io.netty.handler.codec.CodecException;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
 import org.lanternpowered.server.data.io.store.ObjectStore;
 import org.lanternpowered.server.data.io.store.ObjectStoreRegistry;
 import org.lanternpowered.server.data.io.store.item.ItemStackStore;
+import org.lanternpowered.server.data.persistence.nbt.NbtStreamUtils;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.registry.type.item.ItemRegistryModule;
 import org.lanternpowered.server.inventory.LanternItemStack;
@@ -47,7 +55,21 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.text.ScoreText;
+import org.spongepowered.api.text.SelectorText;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TranslatableText;
+import org.spongepowered.api.text.action.HoverAction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -112,7 +134,7 @@ public Vector3f read(ByteBuffer buf) throws CodecException {
     public static final Type<Text> TEXT = Type.create(Text.class, new ValueSerializer<Text>() {
         @Override
         public void write(ByteBuffer buf, Text object) throws CodecException {
-            buf.writeString(fixJson(TEXT_GSON.toJson(object)));
+            writeJson(buf, object);
         }
 
         @Override
@@ -121,6 +143,17 @@ public Text read(ByteBuffer buf) throws CodecException {
         }
     });
 
+    /**
+     * A cache of the UTF-8 encoded json of {@link Text} objects per {@link Locale}. The
+     * texts are compared by identity, this allows broadcasted messages to be serialized
+     * only once per locale. Texts which serialize mutable state, like the score of a
+     * {@link ScoreText}, are mapped to {@link #UNCACHEABLE_TEXT} and always serialized.
+     */
+    private static final Cache<Text, Map<Locale, byte[]>> LOCALIZED_TEXT_CACHE =
+            Caffeine.newBuilder().weakKeys().maximumSize(2000).build();
+
+    private static final Map<Locale, byte[]> UNCACHEABLE_TEXT = Collections.emptyMap();
+
     /**
      * A serializer for {@link LocalizedText} objects,
      * NULL {@code null} values are NOT SUPPORTED.
@@ -130,9 +163,28 @@ public Text read(ByteBuffer buf) throws CodecException {
     public static final Type<LocalizedText> LOCALIZED_TEXT = Type.create(LocalizedText.class, new ValueSerializer<LocalizedText>() {
         @Override
         public void write(ByteBuffer buf, LocalizedText object) throws CodecException {
-            JsonTextTranslatableSerializer.setCurrentLocale(object.getLocale());
-            buf.writeString(fixJson(TEXT_GSON.toJson(object.getText())));
-            JsonTextTranslatableSerializer.removeCurrentLocale();
+            final Map<Locale, byte[]> encoded = LOCALIZED_TEXT_CACHE.get(object.getText(),
+                    text -> isCacheable(text) ? new ConcurrentHashMap<>(4) : UNCACHEABLE_TEXT);
+            if (encoded == UNCACHEABLE_TEXT) {
+                JsonTextTranslatableSerializer.setCurrentLocale(object.getLocale());
+                try {
+                    writeJson(buf, object.getText());
+                } finally {
+                    JsonTextTranslatableSerializer.removeCurrentLocale();
+                }
+                return;
+            }
+            byte[] bytes = encoded.get(object.getLocale());
+            if (bytes == null) {
+                JsonTextTranslatableSerializer.setCurrentLocale(object.getLocale());
+                try {
+                    bytes = toJsonBytes(object.getText());
+                } finally {
+                    JsonTextTranslatableSerializer.removeCurrentLocale();
+                }
+                encoded.put(object.getLocale(), bytes);
+            }
+            buf.writeByteArray(bytes);
         }
 
         @Override
@@ -146,19 +198,111 @@ public LocalizedText read(ByteBuffer buf) throws CodecException {
         }
     });
 
+    /**
+     * Gets whether the serialized json of the {@link Text} only depends on
+     * the text object itself, texts that include scores, selectors or
+     * arguments that aren't texts or primitives can change over time.
+     *
+     * @param text The text
+     * @return Whether the serialized text can be cached
+     */
+    private static boolean isCacheable(Text text) {
+        for (Text child : text.withChildren()) {
+            if (child instanceof ScoreText || child instanceof SelectorText) {
+                return false;
+            }
+            if (child instanceof TranslatableText) {
+                for (Object argument : ((TranslatableText) child).getArguments()) {
+                    if (argument instanceof Text) {
+                        if (!isCacheable((Text) argument)) {
+                            return false;
+                        }
+                    } else if (!(argument instanceof String || argument instanceof Number ||
+                            argument instanceof Boolean || argument instanceof Character)) {
+                        return false;
+                    }
+                }
+            }
+            final HoverAction<?> hoverAction = child.getHoverAction().orElse(null);
+            if (hoverAction instanceof HoverAction.ShowText &&
+                    !isCacheable(((HoverAction.ShowText) hoverAction).getResult())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The maximum length of json that can be written by writeJson, the
+    // length prefix is always written as a var-int of 3 bytes
+    private static final int MAX_JSON_LENGTH = (1 << 21) - 1;
+
+    /**
+     * Serializes the {@link Text} as UTF-8 encoded json directly into
+     * the {@link ByteBuffer}, prefixed by the length as a var-int.
+     * <p>
+     * The length isn't known before the json is written, so space for a
+     * var-int of 3 bytes is reserved which is filled in afterwards. Var-ints
+     * that aren't encoded in their shortest form are still valid.
+     *
+     * @param buf The byte buffer
+     * @param text The text
+     */
+    private static void writeJson(ByteBuffer buf, Text text) {
+        final JsonElement json = fixJson(TEXT_GSON.toJsonTree(text));
+        final int lengthIndex = buf.writerIndex();
+        buf.writeByte((byte) 0);
+        buf.writeByte((byte) 0);
+        buf.writeByte((byte) 0);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(buf.asOutputStream(), StandardCharsets.UTF_8))) {
+            TEXT_GSON.toJson(json, writer);
+        } catch (IOException e) {
+            throw new CodecException(e);
+        }
+        final int length = buf.writerIndex() - lengthIndex - 3;
+        if (length > MAX_JSON_LENGTH) {
+            throw new EncoderException("The text json is too long: " + length);
+        }
+        buf.setByte(lengthIndex, (byte) (length & 0x7f | 0x80));
+        buf.setByte(lengthIndex + 1, (byte) ((length >>> 7) & 0x7f | 0x80));
+        buf.setByte(lengthIndex + 2, (byte) (length >>> 14));
+    }
+
+    /**
+     * Serializes the {@link Text} into UTF-8 encoded json bytes
+     * which can be cached, see {@link #LOCALIZED_TEXT_CACHE}.
+     *
+     * @param text The text
+     * @return The json bytes
+     */
+    private static byte[] toJsonBytes(Text text) {
+        final JsonElement json = fixJson(TEXT_GSON.toJsonTree(text));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(128);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            TEXT_GSON.toJson(json, writer);
+        } catch (IOException e) {
+            throw new CodecException(e);
+        }
+        return output.toByteArray();
+    }
+
     // We need to fix the json format yay, the minecraft client
     // can't handle primitives or arrays as root, just expect
     // things to break, so fix it...
-    private static String fixJson(String json) {
-        final char start = json.charAt(0);
-        if (start == '{') {
+    private static JsonElement fixJson(JsonElement json) {
+        if (json.isJsonObject()) {
             return json;
+        }
+        final JsonArray extra;
+        if (json.isJsonArray()) {
+            extra = json.getAsJsonArray();
         } else {
-            if (start != '[') {
-                json = '[' + json + ']';
-            }
-            return "{\"text\":\"\",\"extra\":" + json + "}";
+            extra = new JsonArray();
+            extra.add(json);
         }
+        final JsonObject root = new JsonObject();
+        root.addProperty("text", "");
+        root.add("extra", extra);
+        return root;
     }
 
     /**
@@ -174,12 +318,34 @@ public void write(ByteBuffer buf, @Nullable ItemStack object) throws CodecExcept
             if (object == null) {
                 buf.write(Types.RAW_ITEM_STACK, null);
             } else {
-                final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-                this.store.serialize((LanternItemStack) object, dataView);
-                buf.write(Types.RAW_ITEM_STACK, new RawItemStack(ItemRegistryModule.get().getInternalId(object.getType()),
-                        dataView.getShort(ItemStackStore.DATA).orElse((short) 0), object.getQuantity(),
-                        dataView.getView(ItemStackStore.TAG).orElse(null)));
+                // The cached data is encoded in the raw item stack format,
+                // only the quantity needs to be filled in
+                final byte[] data = ((LanternItemStack) object).getNetworkData(this::encode);
+                buf.writeBytes(data, 0, Short.BYTES);
+                buf.writeByte((byte) object.getQuantity());
+                buf.writeBytes(data, Short.BYTES + 1, data.length - Short.BYTES - 1);
+            }
+        }
+
+        private byte[] encode(LanternItemStack itemStack) {
+            final DataView dataView = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            this.store.serialize(itemStack, dataView);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(64);
+            try {
+                final DataOutputStream dos = new DataOutputStream(output);
+                dos.writeShort(ItemRegistryModule.get().getInternalId(itemStack.getType()));
+                dos.writeByte(0); // Placeholder for the quantity
+                dos.writeShort(dataView.getShort(ItemStackStore.DATA).orElse((short) 0));
+                final DataView tag = dataView.getView(ItemStackStore.TAG).orElse(null);
+                if (tag == null) {
+                    dos.writeByte(0);
+                } else {
+                    NbtStreamUtils.write(tag, dos, false);
+                }
+            } catch (IOException e) {
+                throw new CodecException(e);
             }
+            return output.toByteArray();
         }
 
         @Override
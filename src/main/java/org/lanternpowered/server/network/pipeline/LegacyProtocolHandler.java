@@ -34,6 +34,7 @@
 import org.lanternpowered.server.LanternServer;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.version.LanternMinecraftVersion;
+import org.lanternpowered.server.network.ConnectionThrottle;
 import org.lanternpowered.server.network.NetworkSession;
 import org.lanternpowered.server.network.SimpleRemoteConnection;
 import org.lanternpowered.server.network.status.LanternStatusClient;
@@ -170,6 +171,13 @@ public void channelRead(ChannelHandlerContext ctx, Object object) throws Excepti
             // The message was successfully decoded as a legacy one
             legacy = true;
 
+            // Throttled pings are closed without a response
+            if (!this.session.getNetworkManager().tryAcquireThrottle(ConnectionThrottle.Type.STATUS,
+                    (InetSocketAddress) ctx.channel().remoteAddress())) {
+                ctx.channel().close();
+                return;
+            }
+
             final boolean full1 = full;
             final int protocol1 = protocol;
             final InetSocketAddress virtualAddress1 = virtualAddress;
@@ -72,6 +72,7 @@
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -227,6 +228,7 @@ private void handleFullStats(ChannelHandlerContext ctx, DatagramPacket packet, i
         data.put("maxplayers", event.getMaxPlayerCount());
         data.put("hostport", address.getPort());
         data.put("hostip", address.getHostString());
+        data.put("mspt", String.format(Locale.ROOT, "%.2f", server.getAverageTickTime()));
         event.getCustomValuesMap().entrySet().stream().filter(entry -> !data.containsKey(entry.getKey()))
                 .forEach(entry -> data.put(entry.getKey(), entry.getValue()));
 
@@ -35,6 +35,16 @@
 
 public final class CodecHandshakeIn implements Codec<MessageHandshakeIn> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessageHandshakeIn message) throws CodecException {
+        final ByteBuffer buf = context.byteBufAlloc().buffer();
+        buf.writeVarInt(message.getProtocolVersion());
+        buf.writeString(message.getHostname());
+        buf.writeShort((short) message.getPort());
+        buf.writeVarInt(message.getNextState());
+        return buf;
+    }
+
     @Override
     public MessageHandshakeIn decode(CodecContext context, ByteBuffer buf) throws CodecException {
         int protocol = buf.readVarInt();
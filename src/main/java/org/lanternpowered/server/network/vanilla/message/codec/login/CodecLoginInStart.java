@@ -33,6 +33,11 @@
 
 public final class CodecLoginInStart implements Codec<MessageLoginInStart> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessageLoginInStart message) throws CodecException {
+        return context.byteBufAlloc().buffer().writeString(message.getUsername());
+    }
+
     @Override
     public MessageLoginInStart decode(CodecContext context, ByteBuffer buf) throws CodecException {
         return new MessageLoginInStart(buf.readString());
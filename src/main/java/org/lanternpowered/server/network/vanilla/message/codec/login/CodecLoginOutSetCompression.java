@@ -37,4 +37,9 @@ public final class CodecLoginOutSetCompression implements Codec<MessageLoginOutS
     public ByteBuffer encode(CodecContext context, MessageLoginOutSetCompression message) throws CodecException {
         return context.byteBufAlloc().buffer().writeVarInt(message.getThreshold());
     }
+
+    @Override
+    public MessageLoginOutSetCompression decode(CodecContext context, ByteBuffer buf) throws CodecException {
+        return new MessageLoginOutSetCompression(buf.readVarInt());
+    }
 }
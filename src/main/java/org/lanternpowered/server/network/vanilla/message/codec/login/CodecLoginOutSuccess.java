@@ -31,6 +31,8 @@
 import org.lanternpowered.server.network.message.codec.CodecContext;
 import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginOutSuccess;
 
+import java.util.UUID;
+
 public final class CodecLoginOutSuccess implements Codec<MessageLoginOutSuccess> {
 
     @Override
@@ -40,4 +42,10 @@ public ByteBuffer encode(CodecContext context, MessageLoginOutSuccess message) t
         buf.writeString(message.getUsername());
         return buf;
     }
+
+    @Override
+    public MessageLoginOutSuccess decode(CodecContext context, ByteBuffer buf) throws CodecException {
+        final UUID uniqueId = UUID.fromString(buf.readString());
+        return new MessageLoginOutSuccess(uniqueId, buf.readString());
+    }
 }
@@ -33,6 +33,11 @@
 
 public final class CodecPlayInChatMessage implements Codec<MessagePlayInChatMessage> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessagePlayInChatMessage message) throws CodecException {
+        return context.byteBufAlloc().buffer().writeString(message.getMessage());
+    }
+
     @Override
     public MessagePlayInChatMessage decode(CodecContext context, ByteBuffer buf) throws CodecException {
         return new MessagePlayInChatMessage(buf.readLimitedString(256));
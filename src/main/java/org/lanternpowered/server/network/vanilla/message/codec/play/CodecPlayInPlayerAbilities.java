@@ -33,6 +33,16 @@
 
 public final class CodecPlayInPlayerAbilities implements Codec<MessagePlayInPlayerAbilities> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessagePlayInPlayerAbilities message) throws CodecException {
+        final ByteBuffer buf = context.byteBufAlloc().buffer(9);
+        buf.writeByte((byte) (message.isFlying() ? 0x02 : 0));
+        // The fly and walk speed, they are ignored by the server
+        buf.writeFloat(0.05f);
+        buf.writeFloat(0.1f);
+        return buf;
+    }
+
     @Override
     public MessagePlayInPlayerAbilities decode(CodecContext context, ByteBuffer buf) throws CodecException {
         boolean flying = (buf.readByte() & 0x02) != 0;
@@ -26,10 +26,12 @@
 package org.lanternpowered.server.network.vanilla.message.codec.play;
 
 import static org.lanternpowered.server.network.vanilla.message.codec.play.CodecUtils.fromFace;
+import static org.lanternpowered.server.network.vanilla.message.codec.play.CodecUtils.toFace;
 
 import com.flowpowered.math.vector.Vector3i;
 import io.netty.handler.codec.CodecException;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
 import org.lanternpowered.server.network.buffer.ByteBuffer;
 import org.lanternpowered.server.network.message.Message;
 import org.lanternpowered.server.network.message.codec.Codec;
@@ -42,6 +44,32 @@
 
 public final class CodecPlayInPlayerDigging implements Codec<Message> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, Message message) throws CodecException {
+        final int action;
+        Vector3i position = Vector3i.ZERO;
+        int face = 0;
+        if (message instanceof MessagePlayInPlayerDigging) {
+            final MessagePlayInPlayerDigging message1 = (MessagePlayInPlayerDigging) message;
+            action = message1.getAction().ordinal();
+            position = message1.getPosition();
+            face = toFace(message1.getFace());
+        } else if (message instanceof MessagePlayInDropHeldItem) {
+            action = ((MessagePlayInDropHeldItem) message).isFullStack() ? 3 : 4;
+        } else if (message instanceof MessagePlayInOutFinishUsingItem) {
+            action = 5;
+        } else if (message instanceof MessagePlayInSwapHandItems) {
+            action = 6;
+        } else {
+            throw new EncoderException("Unsupported player digging message: " + message.getClass().getName());
+        }
+        final ByteBuffer buf = context.byteBufAlloc().buffer();
+        buf.writeByte((byte) action);
+        buf.write(Types.VECTOR_3_I, position);
+        buf.writeByte((byte) face);
+        return buf;
+    }
+
     @Override
     public Message decode(CodecContext context, ByteBuffer buf) throws CodecException {
         int action = buf.readByte();
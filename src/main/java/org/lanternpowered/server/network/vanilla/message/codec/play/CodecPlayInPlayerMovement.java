@@ -33,6 +33,16 @@
 
 public final class CodecPlayInPlayerMovement implements Codec<MessagePlayInPlayerMovement> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessagePlayInPlayerMovement message) throws CodecException {
+        final ByteBuffer buf = context.byteBufAlloc().buffer(25);
+        buf.writeDouble(message.getX());
+        buf.writeDouble(message.getY());
+        buf.writeDouble(message.getZ());
+        buf.writeBoolean(message.isOnGround());
+        return buf;
+    }
+
     @Override
     public MessagePlayInPlayerMovement decode(CodecContext context, ByteBuffer buf) throws CodecException {
         double x = buf.readDouble();
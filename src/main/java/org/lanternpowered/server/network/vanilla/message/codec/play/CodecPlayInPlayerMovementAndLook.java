@@ -33,6 +33,18 @@
 
 public final class CodecPlayInPlayerMovementAndLook implements Codec<MessagePlayInPlayerMovementAndLook> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessagePlayInPlayerMovementAndLook message) throws CodecException {
+        final ByteBuffer buf = context.byteBufAlloc().buffer(33);
+        buf.writeDouble(message.getX());
+        buf.writeDouble(message.getY());
+        buf.writeDouble(message.getZ());
+        buf.writeFloat(message.getYaw());
+        buf.writeFloat(message.getPitch());
+        buf.writeBoolean(message.isOnGround());
+        return buf;
+    }
+
     @Override
     public MessagePlayInPlayerMovementAndLook decode(CodecContext context, ByteBuffer buf) throws CodecException {
         double x = buf.readDouble();
@@ -33,6 +33,11 @@
 
 public final class CodecPlayInTeleportConfirm implements Codec<MessagePlayInTeleportConfirm> {
 
+    @Override
+    public ByteBuffer encode(CodecContext context, MessagePlayInTeleportConfirm message) throws CodecException {
+        return context.byteBufAlloc().buffer(5).writeVarInt(message.getTeleportId());
+    }
+
     @Override
     public MessagePlayInTeleportConfirm decode(CodecContext context, ByteBuffer buf) throws CodecException {
         return new MessagePlayInTeleportConfirm(buf.readVarInt());
@@ -25,30 +25,28 @@
  */
 package org.lanternpowered.server.network.vanilla.message.codec.play;
 
-import com.flowpowered.math.vector.Vector3i;
 import io.netty.handler.codec.CodecException;
 import org.lanternpowered.server.network.buffer.ByteBuffer;
 import org.lanternpowered.server.network.message.codec.Codec;
 import org.lanternpowered.server.network.message.codec.CodecContext;
-import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutBlockChange;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutMultiBlockChange;
 
-import java.util.Collection;
-
 public final class CodecPlayOutMultiBlockChange implements Codec<MessagePlayOutMultiBlockChange> {
 
     @Override
     public ByteBuffer encode(CodecContext context, MessagePlayOutMultiBlockChange message) throws CodecException {
-        ByteBuffer buf = context.byteBufAlloc().buffer();
+        final short[] positions = message.getPositions();
+        final int[] blockStates = message.getBlockStates();
+        // Most block state ids fit within a two byte var int
+        final ByteBuffer buf = context.byteBufAlloc().buffer(13 + positions.length * 4);
         buf.writeInteger(message.getChunkX());
         buf.writeInteger(message.getChunkZ());
-        Collection<MessagePlayOutBlockChange> changes = message.getChanges();
-        buf.writeVarInt(changes.size());
-        for (MessagePlayOutBlockChange change : changes) {
-            Vector3i position = change.getPosition();
-            buf.writeByte((byte) ((position.getX() & 0xf) << 4 | position.getZ() & 0xf));
-            buf.writeByte((byte) position.getY());
-            buf.writeVarInt(change.getBlockState());
+        buf.writeVarInt(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            // The packed position already matches the
+            // (x << 4 | z) and y byte layout
+            buf.writeShort(positions[i]);
+            buf.writeVarInt(blockStates[i]);
         }
         return buf;
     }
@@ -32,6 +32,7 @@
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutPlayerPositionAndLook;
 import org.spongepowered.api.util.RelativePositions;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 public final class CodecPlayOutPlayerPositionAndLook implements Codec<MessagePlayOutPlayerPositionAndLook> {
@@ -65,4 +66,31 @@ public ByteBuffer encode(CodecContext context, MessagePlayOutPlayerPositionAndLo
         buf.writeVarInt(message.getTeleportId());
         return buf;
     }
+
+    @Override
+    public MessagePlayOutPlayerPositionAndLook decode(CodecContext context, ByteBuffer buf) throws CodecException {
+        final double x = buf.readDouble();
+        final double y = buf.readDouble();
+        final double z = buf.readDouble();
+        final float yaw = buf.readFloat();
+        final float pitch = buf.readFloat();
+        final byte flags = buf.readByte();
+        final Set<RelativePositions> relativePositions = EnumSet.noneOf(RelativePositions.class);
+        if ((flags & 0x01) != 0) {
+            relativePositions.add(RelativePositions.X);
+        }
+        if ((flags & 0x02) != 0) {
+            relativePositions.add(RelativePositions.Y);
+        }
+        if ((flags & 0x04) != 0) {
+            relativePositions.add(RelativePositions.Z);
+        }
+        if ((flags & 0x08) != 0) {
+            relativePositions.add(RelativePositions.PITCH);
+        }
+        if ((flags & 0x10) != 0) {
+            relativePositions.add(RelativePositions.YAW);
+        }
+        return new MessagePlayOutPlayerPositionAndLook(x, y, z, yaw, pitch, relativePositions, buf.readVarInt());
+    }
 }
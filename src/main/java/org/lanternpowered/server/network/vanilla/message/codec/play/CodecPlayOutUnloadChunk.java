@@ -37,4 +37,10 @@ public final class CodecPlayOutUnloadChunk implements Codec<MessagePlayOutUnload
     public ByteBuffer encode(CodecContext context, MessagePlayOutUnloadChunk message) throws CodecException {
         return context.byteBufAlloc().buffer(8).writeInteger(message.getX()).writeInteger(message.getZ());
     }
+
+    @Override
+    public MessagePlayOutUnloadChunk decode(CodecContext context, ByteBuffer buf) throws CodecException {
+        final int x = buf.readInteger();
+        return new MessagePlayOutUnloadChunk(x, buf.readInteger());
+    }
 }
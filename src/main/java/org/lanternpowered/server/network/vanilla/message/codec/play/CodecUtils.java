@@ -43,6 +43,19 @@ public static Direction fromFace(int face) {
         }
     }
 
+    public static int toFace(Direction direction) {
+        switch (direction) {
+            case DOWN: return 0;
+            case UP: return 1;
+            case NORTH: return 2;
+            case SOUTH: return 3;
+            case WEST: return 4;
+            case EAST: return 5;
+            default:
+                throw new IllegalArgumentException("Unsupported face direction: " + direction);
+        }
+    }
+
     /**
      * Wraps the double angle into a byte.
      * 
@@ -34,6 +34,7 @@
 import com.google.gson.JsonObject;
 import io.netty.handler.codec.CodecException;
 import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.network.ConnectionThrottle;
 import org.lanternpowered.server.network.NetworkContext;
 import org.lanternpowered.server.network.NetworkSession;
 import org.lanternpowered.server.network.ProxyType;
@@ -72,6 +73,13 @@ public void handle(NetworkContext context, MessageHandshakeIn message) {
             session.disconnect(t("Received a unexpected handshake message! (%s)", nextState));
             return;
         }
+        // Status pings are throttled before any of the proxy data is parsed,
+        // a throttled ping is just closed without sending a response
+        if (nextState == ProtocolState.STATUS &&
+                !session.getNetworkManager().tryAcquireThrottle(ConnectionThrottle.Type.STATUS, session.getAddress())) {
+            session.getChannel().close();
+            return;
+        }
 
         final ProxyType proxyType = Lantern.getGame().getGlobalConfig().getProxyType();
         String hostname = message.getHostname();
@@ -49,9 +49,6 @@
 
 import static org.lanternpowered.server.text.translation.TranslationHelper.t;
 
-import com.google.common.collect.Multimap;
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.network.NetworkContext;
 import org.lanternpowered.server.network.message.handler.Handler;
@@ -60,32 +57,23 @@
 import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginInEncryptionResponse;
 import org.lanternpowered.server.network.vanilla.message.type.login.MessageLoginInFinish;
 import org.lanternpowered.server.profile.LanternGameProfile;
-import org.lanternpowered.server.profile.LanternProfileProperty;
-import org.lanternpowered.server.util.UUIDHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.event.message.MessageEvent;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
-import org.spongepowered.api.profile.property.ProfileProperty;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
-import java.net.URL;
-import java.net.URLConnection;
-import java.net.URLEncoder;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.Nullable;
 import javax.crypto.Cipher;
@@ -94,10 +82,6 @@
 
 public final class HandlerEncryptionResponse implements Handler<MessageLoginInEncryptionResponse> {
 
-    private final static String AUTH_BASE_URL =
-            "https://sessionserver.mojang.com/session/minecraft/hasJoined";
-    private final static Gson GSON = new Gson();
-
     @Override
     public void handle(NetworkContext context, MessageLoginInEncryptionResponse message) {
         final NetworkSession session = context.getSession();
@@ -167,17 +151,10 @@ public void handle(NetworkContext context, MessageLoginInEncryptionResponse mess
         if (Lantern.getGame().getGlobalConfig().shouldPreventProxyConnections()) {
             final InetAddress address = context.getSession().getAddress().getAddress();
             if (!isLocalAddress(address)) { // Ignore local addresses, they will always fail
-                try {
-                    preventProxiesIp = URLEncoder.encode(address.getHostAddress(), "UTF-8");
-                } catch (UnsupportedEncodingException e) {
-                    Lantern.getLogger().error("Failed to encode the ip address to prevent proxies.", e);
-                    session.disconnect(t("Something funky happened."));
-                    return;
-                }
+                preventProxiesIp = address.getHostAddress();
             }
         }
-        final String preventProxiesIp1 = preventProxiesIp;
-        Lantern.getScheduler().submitAsyncTask(() -> performAuth(session, authData.getUsername(), hash, preventProxiesIp1));
+        performAuth(session, authData.getUsername(), hash, preventProxiesIp);
     }
 
     // https://stackoverflow.com/questions/2406341/how-to-check-if-an-ip-address-is-the-local-host-on-a-multi-homed-system
@@ -195,60 +172,43 @@ private static boolean isLocalAddress(InetAddress address) {
     }
 
     private void performAuth(NetworkSession session, String username, String hash, @Nullable String preventProxiesIp) {
-        final String postUrl = AUTH_BASE_URL + "?username=" + username + "&serverId=" + hash +
-                (preventProxiesIp == null ? "" : "?ip=" + preventProxiesIp);
-        try {
-            // Authenticate
-            URLConnection connection = new URL(postUrl).openConnection();
-
-            JsonObject json;
-            try (InputStream is = connection.getInputStream()) {
-                if (is.available() == 0) {
-                    session.disconnect(t("Invalid username or session id!"));
-                    return;
-                }
-                try {
-                    json = GSON.fromJson(new InputStreamReader(is), JsonObject.class);
-                } catch (Exception e) {
-                    Lantern.getLogger().warn("Username \"{}\" failed to authenticate!", username);
-                    session.disconnect(t("multiplayer.disconnect.unverified_username"));
-                    return;
+        // Always complete on the async scheduler, a cached result may already be
+        // available and the auth event shouldn't be called on the network thread
+        session.getNetworkManager().getAuthClient().authenticate(username, hash, preventProxiesIp).whenCompleteAsync((result, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof RejectedExecutionException) {
+                    Lantern.getLogger().warn("Too many pending authentication requests, rejecting \"{}\".", username);
+                    session.disconnect(t("multiplayer.disconnect.authservers_down"));
+                } else {
+                    Lantern.getLogger().error("Error in authentication thread", throwable);
+                    session.disconnect(t("Internal error during authentication."));
                 }
+                return;
             }
-
-            final String name = json.get("name").getAsString();
-            final String id = json.get("id").getAsString();
-
-            // Parse UUID
-            final UUID uuid;
-
-            try {
-                uuid = UUIDHelper.fromFlatString(id);
-            } catch (IllegalArgumentException e) {
-                Lantern.getLogger().error("Returned authentication UUID invalid: {}", id, e);
-                session.disconnect(t("Invalid UUID."));
+            if (!result.isPresent()) {
+                Lantern.getLogger().warn("Username \"{}\" failed to authenticate!", username);
+                session.disconnect(t("multiplayer.disconnect.unverified_username"));
                 return;
             }
+            try {
+                final LanternGameProfile gameProfile = result.get();
 
-            final Multimap<String, ProfileProperty> properties = LanternProfileProperty
-                    .createPropertiesMapFromJson(json.getAsJsonArray("properties"));
-            final LanternGameProfile gameProfile = new LanternGameProfile(uuid, name, properties);
-
-            Lantern.getLogger().info("Finished authenticating.");
+                Lantern.getLogger().info("Finished authenticating.");
 
-            final Cause cause = Cause.of(EventContext.empty(), session, gameProfile);
-            final ClientConnectionEvent.Auth event = SpongeEventFactory.createClientConnectionEventAuth(cause,
-                    session, new MessageEvent.MessageFormatter(t("multiplayer.disconnect.not_allowed_to_join")), gameProfile, false);
+                final Cause cause = Cause.of(EventContext.empty(), session, gameProfile);
+                final ClientConnectionEvent.Auth event = SpongeEventFactory.createClientConnectionEventAuth(cause,
+                        session, new MessageEvent.MessageFormatter(t("multiplayer.disconnect.not_allowed_to_join")), gameProfile, false);
 
-            Sponge.getEventManager().post(event);
-            if (event.isCancelled()) {
-                session.disconnect(event.isMessageCancelled() ? t("multiplayer.disconnect.generic") : event.getMessage());
-            } else {
-                session.messageReceived(new MessageLoginInFinish(gameProfile));
+                Sponge.getEventManager().post(event);
+                if (event.isCancelled()) {
+                    session.disconnect(event.isMessageCancelled() ? t("multiplayer.disconnect.generic") : event.getMessage());
+                } else {
+                    session.messageReceived(new MessageLoginInFinish(gameProfile));
+                }
+            } catch (Exception e) {
+                Lantern.getLogger().error("Error in authentication thread", e);
+                session.disconnect(t("Internal error during authentication."));
             }
-        } catch (Exception e) {
-            Lantern.getLogger().error("Error in authentication thread", e);
-            session.disconnect(t("Internal error during authentication."));
-        }
+        }, Lantern.getScheduler().getAsyncExecutor());
     }
 }
@@ -61,6 +61,9 @@ public void handle(NetworkContext context, MessageLoginInFinish message) {
                 profile -> context.getChannel().attr(NetworkSession.PREVIOUS_GAME_PROFILE).set(profile));
         // Cache the new profile
         gameProfileCache.add(gameProfile, true, (Instant) null);
+        // Start loading the player data, so that it's
+        // available by the time the player is initialized
+        Lantern.getGame().getUserIOService().prefetch(gameProfile.getUniqueId());
         session.sendWithFuture(new MessageLoginOutSuccess(gameProfile.getUniqueId(), gameProfile.getName().get()))
                 .addListener(future -> {
                     session.setGameProfile(gameProfile);
@@ -47,8 +47,11 @@
  */
 package org.lanternpowered.server.network.vanilla.message.handler.login;
 
+import static org.lanternpowered.server.text.translation.TranslationHelper.t;
+
 import io.netty.util.AttributeKey;
 import org.lanternpowered.server.game.Lantern;
+import org.lanternpowered.server.network.ConnectionThrottle;
 import org.lanternpowered.server.network.NetworkContext;
 import org.lanternpowered.server.network.message.Async;
 import org.lanternpowered.server.network.message.handler.Handler;
@@ -79,6 +82,14 @@ public final class HandlerLoginStart implements Handler<MessageLoginInStart> {
     @Override
     public void handle(NetworkContext context, MessageLoginInStart message) {
         final NetworkSession session = context.getSession();
+        if (!session.getNetworkManager().tryAcquireThrottle(ConnectionThrottle.Type.LOGIN, session.getAddress())) {
+            session.disconnect(t("Connection throttled! Please wait before reconnecting."));
+            return;
+        }
+        // Reject banned addresses before any authentication is done
+        if (session.checkAddressBan()) {
+            return;
+        }
         final String username = message.getUsername();
 
         if (session.getServer().getOnlineMode()) {
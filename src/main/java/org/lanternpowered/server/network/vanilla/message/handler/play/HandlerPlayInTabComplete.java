@@ -26,8 +26,11 @@
 package org.lanternpowered.server.network.vanilla.message.handler.play;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.lanternpowered.server.command.LanternCommandManager;
+import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.network.NetworkContext;
 import org.lanternpowered.server.network.message.handler.Handler;
 import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayInTabComplete;
@@ -44,10 +47,15 @@
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class HandlerPlayInTabComplete implements Handler<MessagePlayInTabComplete> {
 
+    // The command completion that is currently pending for the player
+    private static final AttributeKey<CompletableFuture<List<String>>> PENDING_COMPLETION = AttributeKey.valueOf("pending-completion");
+
     @Override
     public void handle(NetworkContext context, MessagePlayInTabComplete message) {
         final String text = message.getText();
@@ -73,18 +81,40 @@ public void handle(NetworkContext context, MessagePlayInTabComplete message) {
                 command = command + " ";
             }
 
-            // Get the suggestions
-            List<String> suggestions = ((LanternCommandManager) Sponge.getCommandManager())
-                    .getSuggestions(player, command, targetBlock, message.getAssumeCommand());
-
-            // If the suggestions are for the command and there was a prefix, then append the prefix
-            if (hasPrefix && command.split(" ").length == 1 && !command.endsWith(" ")) {
-                suggestions = suggestions.stream()
-                        .map(suggestion -> '/' + suggestion)
-                        .collect(ImmutableList.toImmutableList());
+            // Get the suggestions, these may be computed off the main thread if the
+            // command supports it, a previous completion that didn't finish yet is
+            // stale and will be cancelled
+            final LanternCommandManager commandManager = (LanternCommandManager) Sponge.getCommandManager();
+            final Attribute<CompletableFuture<List<String>>> attribute = context.getChannel().attr(PENDING_COMPLETION);
+            final CompletableFuture<List<String>> future = commandManager.getRawSuggestionsAsync(player, command, targetBlock);
+            final CompletableFuture<List<String>> previous = attribute.getAndSet(future);
+            if (previous != null) {
+                previous.cancel(false);
             }
 
-            context.getSession().send(new MessagePlayOutTabComplete(suggestions));
+            final String command1 = command;
+            final Consumer<List<String>> consumer = rawSuggestions -> {
+                // A newer completion was requested in the meantime
+                if (!attribute.compareAndSet(future, null)) {
+                    return;
+                }
+                List<String> suggestions = commandManager.postTabCompleteEvent(
+                        player, rawSuggestions, command1, targetBlock, message.getAssumeCommand());
+
+                // If the suggestions are for the command and there was a prefix, then append the prefix
+                if (hasPrefix && command1.split(" ").length == 1 && !command1.endsWith(" ")) {
+                    suggestions = suggestions.stream()
+                            .map(suggestion -> '/' + suggestion)
+                            .collect(ImmutableList.toImmutableList());
+                }
+
+                context.getSession().send(new MessagePlayOutTabComplete(suggestions));
+            };
+            if (future.isDone()) {
+                consumer.accept(future.join());
+            } else {
+                future.thenAcceptAsync(consumer, Lantern.getSyncExecutorService());
+            }
         } else {
             // Vanilla mc will complete user names if
             // no command is being completed
@@ -103,7 +133,7 @@ public void handle(NetworkContext context, MessagePlayInTabComplete message) {
                     .map(CommandSource::getName)
                     .filter(n -> n.toLowerCase().startsWith(part1))
                     .collect(Collectors.toList());
-            final Cause cause = Cause.of(EventContext.empty(), context.getSession().getPlayer());
+            final Cause cause = Cause.of(EventContext.empty(), player);
             final TabCompleteEvent.Chat event = SpongeEventFactory.createTabCompleteEventChat(
                     cause, ImmutableList.copyOf(suggestions), suggestions, text, Optional.ofNullable(targetBlock), false);
             if (!Sponge.getEventManager().post(event)) {
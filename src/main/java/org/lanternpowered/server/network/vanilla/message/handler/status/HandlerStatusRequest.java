@@ -31,6 +31,7 @@
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.lanternpowered.server.LanternServer;
+import org.lanternpowered.server.event.LanternEventManager;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.game.version.LanternMinecraftVersion;
 import org.lanternpowered.server.network.NetworkContext;
@@ -50,6 +51,7 @@
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.event.server.ClientPingServerEvent;
+import org.spongepowered.api.network.status.Favicon;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
@@ -58,18 +60,46 @@
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public final class HandlerStatusRequest implements Handler<MessageStatusInRequest> {
 
+    /**
+     * The maximum duration in milliseconds that a status response may be cached.
+     */
+    private static final long CACHE_DURATION = 1000L;
+
+    private static final Gson GSON = new Gson();
+
+    private static final class CachedResponse {
+
+        private final String json;
+        private final long time;
+        private final int online;
+        private final int max;
+        private final Text motd;
+        @Nullable private final Favicon favicon;
+
+        private CachedResponse(String json, long time, int online, int max, Text motd, @Nullable Favicon favicon) {
+            this.json = json;
+            this.time = time;
+            this.online = online;
+            this.max = max;
+            this.motd = motd;
+            this.favicon = favicon;
+        }
+    }
+
+    /**
+     * The cached status response, this will be used as long as there are no listeners
+     * for the {@link ClientPingServerEvent}, listeners can customize every response.
+     */
+    @Nullable private volatile CachedResponse cachedResponse;
+
     @Override
     public void handle(NetworkContext context, MessageStatusInRequest message) {
         final NetworkSession session = context.getSession();
         final LanternServer server = session.getServer();
-        final Gson gson = new Gson();
-
-        final Text description = server.getMotd();
-
-        final InetSocketAddress address = session.getAddress();
-        final InetSocketAddress virtualAddress = session.getVirtualHost();
 
         final int protocol = session.getProtocolVersion();
         final MinecraftVersion clientVersion = Lantern.getGame().getMinecraftVersionCache().getVersionOrUnknown(protocol, false);
@@ -77,21 +107,50 @@ public void handle(NetworkContext context, MessageStatusInRequest message) {
             Lantern.getLogger().debug("Client with unknown protocol version {} pinged the server.", protocol);
         }
 
-        final LanternStatusClient client = new LanternStatusClient(address, clientVersion, virtualAddress);
+        final Text description = server.getMotd();
+        final Favicon favicon = server.getFavicon().orElse(null);
+        final int online = server.getRawOnlinePlayers().size();
+        final int max = server.getMaxPlayers();
+
+        final boolean hasListeners = ((LanternEventManager) Sponge.getEventManager()).hasListeners(ClientPingServerEvent.class);
+        if (!hasListeners) {
+            final CachedResponse cachedResponse = this.cachedResponse;
+            if (cachedResponse != null && System.currentTimeMillis() - cachedResponse.time < CACHE_DURATION &&
+                    cachedResponse.online == online && cachedResponse.max == max &&
+                    cachedResponse.motd == description && cachedResponse.favicon == favicon) {
+                session.send(new MessageStatusOutResponse(cachedResponse.json));
+                return;
+            }
+        }
+
         final ClientPingServerEvent.Response.Players players = LanternStatusHelper.createPlayers(server);
         final LanternStatusResponse response = new LanternStatusResponse(Lantern.getGame().getPlatform().getMinecraftVersion(),
-                server.getFavicon(), description, players);
+                Optional.ofNullable(favicon), description, players);
 
-        final Cause cause = Cause.of(EventContext.empty(), new WrappedRemoteConnection(session));
-        final ClientPingServerEvent event = SpongeEventFactory.createClientPingServerEvent(cause, client, response);
-        Sponge.getEventManager().post(event);
+        if (hasListeners) {
+            final InetSocketAddress address = session.getAddress();
+            final InetSocketAddress virtualAddress = session.getVirtualHost();
 
-        // Cancelled, we are done here
-        if (event.isCancelled()) {
-            context.getChannel().close();
-            return;
+            final LanternStatusClient client = new LanternStatusClient(address, clientVersion, virtualAddress);
+            final Cause cause = Cause.of(EventContext.empty(), new WrappedRemoteConnection(session));
+            final ClientPingServerEvent event = SpongeEventFactory.createClientPingServerEvent(cause, client, response);
+            Sponge.getEventManager().post(event);
+
+            // Cancelled, we are done here
+            if (event.isCancelled()) {
+                context.getChannel().close();
+                return;
+            }
         }
 
+        final String json = toJson(response);
+        if (!hasListeners) {
+            this.cachedResponse = new CachedResponse(json, System.currentTimeMillis(), online, max, description, favicon);
+        }
+        session.send(new MessageStatusOutResponse(json));
+    }
+
+    private static String toJson(LanternStatusResponse response) {
         final JsonObject rootObject = new JsonObject();
         final JsonObject versionObject = new JsonObject();
 
@@ -101,6 +160,8 @@ public void handle(NetworkContext context, MessageStatusInRequest message) {
         versionObject.addProperty("protocol", serverVersion.getProtocol());
 
         if (response.getPlayers().isPresent()) {
+            final ClientPingServerEvent.Response.Players players = response.getPlayers().get();
+
             final JsonObject playersObject = new JsonObject();
             playersObject.addProperty("max", players.getMax());
             playersObject.addProperty("online", players.getOnline());
@@ -137,6 +198,6 @@ public void handle(NetworkContext context, MessageStatusInRequest message) {
         // Add the fml info
         rootObject.add("modinfo", fmlObject);
 
-        session.send(new MessageStatusOutResponse(gson.toJson(rootObject)));
+        return GSON.toJson(rootObject);
     }
 }
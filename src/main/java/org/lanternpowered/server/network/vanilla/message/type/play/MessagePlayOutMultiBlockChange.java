@@ -25,19 +25,32 @@
  */
 package org.lanternpowered.server.network.vanilla.message.type.play;
 
-import org.lanternpowered.server.network.message.Message;
+import static com.google.common.base.Preconditions.checkArgument;
 
-import java.util.Collection;
+import org.lanternpowered.server.network.message.Message;
 
 public final class MessagePlayOutMultiBlockChange implements Message {
 
     private final int chunkX;
     private final int chunkZ;
 
-    private final Collection<MessagePlayOutBlockChange> changes;
+    private final short[] positions;
+    private final int[] blockStates;
 
-    public MessagePlayOutMultiBlockChange(int chunkX, int chunkZ, Collection<MessagePlayOutBlockChange> changes) {
-        this.changes = changes;
+    /**
+     * Constructs a new multi block change message.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param chunkZ The z coordinate of the chunk
+     * @param positions The packed positions of the changes, each position is
+     *                  encoded as {@code (x << 12) | (z << 8) | y} with x and z
+     *                  being local to the chunk
+     * @param blockStates The internal block state ids of the changes
+     */
+    public MessagePlayOutMultiBlockChange(int chunkX, int chunkZ, short[] positions, int[] blockStates) {
+        checkArgument(positions.length == blockStates.length, "Positions and block states length mismatch");
+        this.positions = positions;
+        this.blockStates = blockStates;
         this.chunkX = chunkX;
         this.chunkZ = chunkZ;
     }
@@ -50,7 +63,11 @@ public int getChunkZ() {
         return this.chunkZ;
     }
 
-    public Collection<MessagePlayOutBlockChange> getChanges() {
-        return this.changes;
+    public short[] getPositions() {
+        return this.positions;
+    }
+
+    public int[] getBlockStates() {
+        return this.blockStates;
     }
 }
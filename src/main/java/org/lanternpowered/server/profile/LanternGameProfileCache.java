@@ -147,6 +147,15 @@ private Instant calculateDefaultExpirationDate() {
         return Instant.now().plus(EXPIRATION_DURATION);
     }
 
+    /**
+     * Marks the cache file dirty, it will be saved in the background.
+     */
+    private void markDirty() {
+        if (this.cacheFile != null) {
+            this.cacheFile.markDirty();
+        }
+    }
+
     /**
      * Saves the game profile cache.
      */
@@ -170,6 +179,7 @@ public boolean add(GameProfile profile, boolean overwrite, @Nullable Instant exp
         final ProfileCacheEntry entry = new ProfileCacheEntry(profile, expiry);
         this.byUUID.put(uuid, entry);
         profile.getName().ifPresent(name -> this.byName.put(name, entry));
+        this.markDirty();
         return true;
     }
 
@@ -179,6 +189,9 @@ public boolean remove(GameProfile profile) {
         if (profile.getName().isPresent()) {
             flag = this.byName.remove(profile.getName().get()) != null || flag;
         }
+        if (flag) {
+            this.markDirty();
+        }
         return flag;
     }
 
@@ -197,6 +210,7 @@ public Collection<GameProfile> remove(Iterable<GameProfile> profiles) {
     public void clear() {
         this.byName.clear();
         this.byUUID.clear();
+        this.markDirty();
     }
 
     @Override
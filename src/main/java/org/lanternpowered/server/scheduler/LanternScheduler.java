@@ -45,6 +45,7 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
@@ -177,6 +178,15 @@ public SpongeExecutorService createAsyncExecutor(Object plugin) {
         return new TaskExecutorService(() -> createTaskBuilder().async(), this.asyncScheduler, checkPlugin(plugin, "plugin"));
     }
 
+    /**
+     * Gets the {@link Executor} that runs the asynchronous tasks.
+     *
+     * @return The async executor
+     */
+    public Executor getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
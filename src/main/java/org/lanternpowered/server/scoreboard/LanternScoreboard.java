@@ -53,8 +53,10 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -69,14 +71,79 @@ public class LanternScoreboard implements Scoreboard {
     private final Map<DisplaySlot, Objective> objectivesInSlot = new HashMap<>();
     private final Map<String, Team> teams = new HashMap<>();
 
+    /**
+     * The messages that are waiting to be sent to the players, repeated
+     * updates of the same score, objective, team or display slot share
+     * a key so that only the last one will be sent.
+     */
+    private final Map<Object, Message> pendingMessages = new LinkedHashMap<>();
+    @Nullable private Object lastPendingKey;
+
     void sendToPlayers(Supplier<List<Message>> messageSupplier) {
         if (!this.players.isEmpty()) {
             final List<Message> messages = messageSupplier.get();
-            this.players.forEach(player -> player.getConnection().send(messages));
+            synchronized (this.pendingMessages) {
+                messages.forEach(this::queueMessage);
+            }
+        }
+    }
+
+    private void queueMessage(Message message) {
+        if (message instanceof MessagePlayOutTeams.AddPlayers || message instanceof MessagePlayOutTeams.RemovePlayers) {
+            // Merge the players into the previous message, if it's the same action for the same team
+            final Message lastMessage = this.lastPendingKey == null ? null : this.pendingMessages.get(this.lastPendingKey);
+            if (lastMessage != null && lastMessage.getClass() == message.getClass() &&
+                    ((MessagePlayOutTeams) lastMessage).getTeamName().equals(((MessagePlayOutTeams) message).getTeamName())) {
+                final List<String> players = new ArrayList<>(((MessagePlayOutTeams.Players) lastMessage).getPlayers());
+                players.addAll(((MessagePlayOutTeams.Players) message).getPlayers());
+                final String teamName = ((MessagePlayOutTeams) message).getTeamName();
+                this.pendingMessages.put(this.lastPendingKey, message instanceof MessagePlayOutTeams.AddPlayers ?
+                        new MessagePlayOutTeams.AddPlayers(teamName, players) :
+                        new MessagePlayOutTeams.RemovePlayers(teamName, players));
+                return;
+            }
+        }
+        final Object key;
+        if (message instanceof MessagePlayOutScoreboardScore) {
+            final MessagePlayOutScoreboardScore message0 = (MessagePlayOutScoreboardScore) message;
+            key = new UpdateKey(MessagePlayOutScoreboardScore.class, message0.getObjectiveName(), message0.getScoreName());
+        } else if (message instanceof MessagePlayOutScoreboardObjective.Update) {
+            key = new UpdateKey(message.getClass(), ((MessagePlayOutScoreboardObjective) message).getObjectiveName(), null);
+        } else if (message instanceof MessagePlayOutTeams.Update) {
+            key = new UpdateKey(message.getClass(), ((MessagePlayOutTeams) message).getTeamName(), null);
+        } else if (message instanceof MessagePlayOutScoreboardDisplayObjective) {
+            key = new UpdateKey(message.getClass(), ((MessagePlayOutScoreboardDisplayObjective) message).getDisplaySlot(), null);
+        } else {
+            key = new Object();
+        }
+        // Remove the old message first, the new one should be sent
+        // after all the messages that were queued in between
+        this.pendingMessages.remove(key);
+        this.pendingMessages.put(key, message);
+        this.lastPendingKey = key;
+    }
+
+    /**
+     * Sends all the updates that were queued since the last
+     * flush to the players of this scoreboard.
+     */
+    public void flush() {
+        final List<Message> messages;
+        synchronized (this.pendingMessages) {
+            if (this.pendingMessages.isEmpty()) {
+                return;
+            }
+            messages = new ArrayList<>(this.pendingMessages.values());
+            this.pendingMessages.clear();
+            this.lastPendingKey = null;
         }
+        this.players.forEach(player -> player.getConnection().send(messages));
     }
 
     public void removePlayer(LanternPlayer player) {
+        // Make sure that the player receives all the pending updates before the objectives
+        // and teams are removed, otherwise could the remove be followed by an update
+        this.flush();
         this.players.remove(player);
         for (Objective objective : this.objectives.values()) {
             player.getConnection().send(new MessagePlayOutScoreboardObjective.Remove(objective.getName()));
@@ -87,6 +154,8 @@ public void removePlayer(LanternPlayer player) {
     }
 
     public void addPlayer(LanternPlayer player) {
+        // The pending updates are already included in the initial state
+        this.flush();
         this.players.add(player);
         for (Objective objective : this.objectives.values()) {
             player.getConnection().send(this.createObjectiveInitMessages(objective));
@@ -245,4 +314,31 @@ public Optional<Team> getMemberTeam(Text member) {
     void removeTeam(Team team) {
         this.teams.remove(team.getName());
     }
+
+    private static final class UpdateKey {
+
+        private final Class<?> type;
+        private final Object name;
+        @Nullable private final Object subName;
+
+        private UpdateKey(Class<?> type, Object name, @Nullable Object subName) {
+            this.type = type;
+            this.name = name;
+            this.subName = subName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof UpdateKey)) {
+                return false;
+            }
+            final UpdateKey other = (UpdateKey) obj;
+            return this.type == other.type && this.name.equals(other.name) && Objects.equals(this.subName, other.subName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.name, this.subName);
+        }
+    }
 }
@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.service.permission;
 
+import com.google.common.collect.ImmutableList;
 import org.lanternpowered.server.service.permission.base.LanternSubject;
 import org.lanternpowered.server.service.permission.base.LanternSubjectCollection;
 import org.spongepowered.api.command.CommandSource;
@@ -34,9 +35,9 @@
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.service.permission.SubjectReference;
-import org.spongepowered.api.util.Tristate;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -125,15 +126,9 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
-            if (ret == Tristate.UNDEFINED) {
-                ret = getDataPermissionValue(DataFactoryCollection.this.getDefaults().getTransientSubjectData(), permission);
-            }
-            if (ret == Tristate.UNDEFINED) {
-                ret = getDataPermissionValue(DataFactoryCollection.this.service.getDefaults().getTransientSubjectData(), permission);
-            }
-            return ret;
+        protected List<MemorySubjectData> getFallbackSubjectData() {
+            return ImmutableList.of(DataFactoryCollection.this.getDefaults().getTransientSubjectData(),
+                    DataFactoryCollection.this.service.getDefaults().getTransientSubjectData());
         }
 
         @Override
@@ -30,7 +30,6 @@
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.lanternpowered.server.game.Lantern;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.RemoteSource;
@@ -64,7 +63,7 @@ private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String
                 final ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
                 final InetAddress address = checkNotNull(function.apply(key), "address");
                 builder.add(new Context(contextKey, address.getHostAddress()));
-                for (String set : Maps.filterValues(Lantern.getGame().getGlobalConfig().getIpSets(), input -> input.test(address)).keySet()) {
+                for (String set : Lantern.getGame().getGlobalConfig().getMatchingIpSets(address)) {
                     builder.add(new Context(contextKey, set));
                 }
                 return builder.build();
@@ -27,6 +27,8 @@
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.service.permission.base.LanternSubject;
 import org.lanternpowered.server.service.permission.base.LanternSubjectCollection;
@@ -45,8 +47,20 @@
  */
 public class UserCollection extends LanternSubjectCollection {
 
+    // The subjects that are still referenced, so that their
+    // resolved permissions can be reused between lookups
+    private final Cache<UUID, UserSubject> subjects = Caffeine.newBuilder().weakValues().build();
+
     UserCollection(LanternPermissionService service) {
         super(PermissionService.SUBJECTS_USER, service);
+        Lantern.getGame().getOpsConfig().addChangeListener(this::onOpLevelChanged);
+    }
+
+    private void onOpLevelChanged(UUID uniqueId) {
+        final UserSubject subject = this.subjects.getIfPresent(uniqueId);
+        if (subject != null) {
+            subject.onOpLevelChanged();
+        }
     }
 
     @Nullable
@@ -62,13 +76,15 @@ private UUID parseUUID(String identifier) {
     public LanternSubject get(String identifier) {
         final UUID uuid = parseUUID(identifier);
         checkArgument(uuid != null, "Provided identifier must be a uuid, was %s", identifier);
-        final GameProfile profile;
-        try {
-            profile = Sponge.getServer().getGameProfileManager().get(uuid, true).get();
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to lookup game profile for " + uuid, e);
-        }
-        return new UserSubject(profile, this);
+        return this.subjects.get(uuid, key -> {
+            final GameProfile profile;
+            try {
+                profile = Sponge.getServer().getGameProfileManager().get(key, true).get();
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to lookup game profile for " + key, e);
+            }
+            return new UserSubject(profile, this);
+        });
     }
 
     @Override
@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.service.permission;
 
+import com.google.common.collect.ImmutableList;
 import org.lanternpowered.server.config.user.OpsEntry;
 import org.lanternpowered.server.game.Lantern;
 import org.lanternpowered.server.profile.LanternGameProfile;
@@ -41,6 +42,7 @@
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -50,39 +52,59 @@
 final class UserSubject extends LanternSubject {
 
     private final GameProfile player;
-    private final MemorySubjectData data;
+    private final UserSubjectData data;
     private final UserCollection collection;
 
     UserSubject(GameProfile player, UserCollection users) {
         this.player = player;
         this.collection = users;
-        this.data = new SingleParentMemorySubjectData(users.getService()) {
+        this.data = new UserSubjectData();
+    }
 
-            @Override
-            public SubjectReference getParent() {
-                int opLevel = getOpLevel();
-                return opLevel == 0 ? null : users.getService().getGroupForOpLevel(opLevel).asSubjectReference();
-            }
+    /**
+     * Is called when the op level of this user was changed in the ops config.
+     */
+    void onOpLevelChanged() {
+        this.data.onOpLevelChanged();
+    }
 
-            @Override
-            public void setParent(SubjectReference parent) {
-                int opLevel;
-                if (parent == null) {
-                    opLevel = 0;
-                } else {
-                    final Subject subject = parent.resolve().join();
-                    if (!(subject instanceof OpLevelCollection.OpLevelSubject)) {
-                        return;
-                    }
-                    opLevel = ((OpLevelCollection.OpLevelSubject) subject).getOpLevel();
-                }
-                if (opLevel > 0) {
-                    Lantern.getGame().getOpsConfig().addEntry(new OpsEntry(((LanternGameProfile) player).withoutProperties(), opLevel));
-                } else {
-                    Lantern.getGame().getOpsConfig().removeEntry(player.getUniqueId());
+    private final class UserSubjectData extends SingleParentMemorySubjectData {
+
+        private UserSubjectData() {
+            super(UserSubject.this.collection.getService());
+        }
+
+        private void onOpLevelChanged() {
+            // The parent is backed by the ops config
+            markDirty();
+        }
+
+        @Override
+        public SubjectReference getParent() {
+            final int opLevel = getOpLevel();
+            return opLevel == 0 ? null : UserSubject.this.collection.getService().getGroupForOpLevel(opLevel).asSubjectReference();
+        }
+
+        @Override
+        public void setParent(SubjectReference parent) {
+            final int opLevel;
+            if (parent == null) {
+                opLevel = 0;
+            } else {
+                final Subject subject = parent.resolve().join();
+                if (!(subject instanceof OpLevelCollection.OpLevelSubject)) {
+                    return;
                 }
+                opLevel = ((OpLevelCollection.OpLevelSubject) subject).getOpLevel();
+            }
+            // The ops config will notify the subject about the change
+            if (opLevel > 0) {
+                Lantern.getGame().getOpsConfig().addEntry(new OpsEntry(
+                        ((LanternGameProfile) UserSubject.this.player).withoutProperties(), opLevel));
+            } else {
+                Lantern.getGame().getOpsConfig().removeEntry(UserSubject.this.player.getUniqueId());
             }
-        };
+        }
     }
 
     @Override
@@ -123,15 +145,15 @@ public PermissionService getService() {
         return this.collection.getService();
     }
 
+    @Override
+    protected List<MemorySubjectData> getFallbackSubjectData() {
+        return ImmutableList.of(this.collection.getDefaults().getSubjectData(),
+                this.collection.getService().getDefaults().getSubjectData());
+    }
+
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
         Tristate ret = super.getPermissionValue(contexts, permission);
-        if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getDefaults().getSubjectData(), permission);
-        }
-        if (ret == Tristate.UNDEFINED) {
-            ret = getDataPermissionValue(this.collection.getService().getDefaults().getSubjectData(), permission);
-        }
         if (ret == Tristate.UNDEFINED && getOpLevel() >= Lantern.getGame().getGlobalConfig().getDefaultOpPermissionLevel()) {
             ret = Tristate.TRUE;
         }
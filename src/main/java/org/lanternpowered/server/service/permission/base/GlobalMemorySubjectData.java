@@ -36,9 +36,12 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    private final AtomicInteger version = new AtomicInteger();
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -48,6 +51,29 @@ public GlobalMemorySubjectData(PermissionService service) {
         super(service);
     }
 
+    /**
+     * Gets the version of this subject data, the version will
+     * be increased every time the permissions or parents are
+     * modified. Can be used to validate cached permission lookups.
+     *
+     * @return The version
+     */
+    public int getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * Marks this subject data as modified.
+     */
+    protected void markDirty() {
+        this.version.incrementAndGet();
+    }
+
+    private <T> CompletableFuture<T> markDirty(CompletableFuture<T> result) {
+        markDirty();
+        return result;
+    }
+
     @Override
     public Map<Set<Context>, List<SubjectReference>> getAllParents() {
         return ImmutableMap.of(GLOBAL_CONTEXT, getParents(GLOBAL_CONTEXT));
@@ -58,7 +84,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        return markDirty(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -66,7 +92,7 @@ public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearPermissions(contexts);
+        return markDirty(super.clearPermissions(contexts));
     }
 
     @Override
@@ -74,7 +100,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.addParent(contexts, parent);
+        return markDirty(super.addParent(contexts, parent));
     }
 
     @Override
@@ -82,7 +108,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.removeParent(contexts, parent);
+        return markDirty(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -90,6 +116,16 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearParents(contexts);
+        return markDirty(super.clearParents(contexts));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        return markDirty(super.clearPermissions());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        return markDirty(super.clearParents());
     }
 }
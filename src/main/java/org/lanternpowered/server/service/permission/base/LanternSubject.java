@@ -33,12 +33,15 @@
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public abstract class LanternSubject implements Subject {
 
+    private final ResolvedPermissionCache permissionCache = new ResolvedPermissionCache(this);
+
     public abstract PermissionService getService();
 
     @Override
@@ -66,20 +69,38 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        return getDataPermissionValue(getTransientSubjectData(), permission);
+        return this.permissionCache.get(contexts, permission);
     }
 
-    protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
-        Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
-        if (res == Tristate.UNDEFINED) {
-            for (SubjectReference parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
-                res = parent.resolve().join().getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
-                if (res != Tristate.UNDEFINED) {
-                    return res;
-                }
-            }
-        }
-        return res;
+    /**
+     * Gets the {@link MemorySubjectData}s that should be checked after
+     * the subject data and all the parents of this subject, if they
+     * didn't define a value for a permission.
+     *
+     * @return The fallback subject data
+     */
+    protected List<MemorySubjectData> getFallbackSubjectData() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Gets the amount of permission lookups of this
+     * subject that were served from the cache.
+     *
+     * @return The hit count
+     */
+    public long getPermissionCacheHits() {
+        return this.permissionCache.getHits();
+    }
+
+    /**
+     * Gets the amount of permission lookups of this
+     * subject that had to be resolved.
+     *
+     * @return The miss count
+     */
+    public long getPermissionCacheMisses() {
+        return this.permissionCache.getMisses();
     }
 
     @Override
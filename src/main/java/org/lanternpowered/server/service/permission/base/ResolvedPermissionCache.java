@@ -0,0 +1,279 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.service.permission.base;
+
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.SubjectReference;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * A cache of resolved permission values for a {@link LanternSubject}. The
+ * inheritance chain of the subject is flattened into a single ordered array
+ * of {@link MemorySubjectData}, the first data that defines a value for
+ * a permission wins.
+ *
+ * <p>The cached values are invalidated as soon as the version of one of the
+ * {@link GlobalMemorySubjectData}s within the chain changes, so modifications
+ * to the subject itself or any of its ancestors.</p>
+ *
+ * <p>The values are cached per context set and permission, at most
+ * {@link #MAX_CACHED_VALUES} values are cached for a subject.</p>
+ */
+final class ResolvedPermissionCache {
+
+    /**
+     * The maximum amount of values that will be cached, all the values
+     * are dropped once it's exceeded. Permissions that are checked
+     * frequently will then be cached again quickly.
+     */
+    static final int MAX_CACHED_VALUES = 1024;
+
+    private static final String WILDCARD = "*";
+
+    private final LanternSubject subject;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Nullable private volatile Entry entry;
+
+    ResolvedPermissionCache(LanternSubject subject) {
+        this.subject = subject;
+    }
+
+    /**
+     * Gets the amount of permission lookups that were served from the cache.
+     *
+     * @return The hit count
+     */
+    long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the amount of permission lookups that had to be resolved.
+     *
+     * @return The miss count
+     */
+    long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the resolved {@link Tristate} for the given permission.
+     *
+     * @param contexts The contexts
+     * @param permission The permission
+     * @return The permission value
+     */
+    Tristate get(Set<Context> contexts, String permission) {
+        Entry entry = this.entry;
+        if (entry == null || !entry.isValid()) {
+            this.entry = entry = buildEntry();
+        }
+        if (!entry.cacheable) {
+            this.misses.increment();
+            return resolve(entry.chain, contexts, permission);
+        }
+        Tristate value = entry.get(contexts, permission);
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+        this.misses.increment();
+        value = resolve(entry.chain, contexts, permission);
+        entry.put(contexts, permission, value);
+        return value;
+    }
+
+    private Entry buildEntry() {
+        final Builder builder = new Builder();
+        builder.collect(this.subject);
+        return new Entry(builder.chain.toArray(new MemorySubjectData[builder.chain.size()]),
+                builder.versions.toIntArray(), builder.cacheable);
+    }
+
+    private static Tristate resolve(MemorySubjectData[] chain, Set<Context> contexts, String permission) {
+        for (MemorySubjectData data : chain) {
+            Tristate value = Tristate.UNDEFINED;
+            // Values that are specific to the contexts take precedence over the global values
+            if (!contexts.isEmpty()) {
+                value = resolve(data, contexts, permission);
+            }
+            if (value == Tristate.UNDEFINED) {
+                value = resolve(data, SubjectData.GLOBAL_CONTEXT, permission);
+            }
+            if (value != Tristate.UNDEFINED) {
+                return value;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
+    /**
+     * Resolves the value for the given permission within the
+     * {@link MemorySubjectData}. Explicit nodes will take precedence
+     * over wildcard nodes, so for the permission {@code a.b.c} will
+     * the nodes {@code a.b.c}, {@code a.b}, {@code a}, {@code a.b.*},
+     * {@code a.*} and {@code *} be checked in that order.
+     *
+     * @param data The subject data
+     * @param contexts The contexts
+     * @param permission The permission
+     * @return The permission value
+     */
+    private static Tristate resolve(MemorySubjectData data, Set<Context> contexts, String permission) {
+        final Tristate value = data.getNodeTree(contexts).get(permission);
+        if (value != Tristate.UNDEFINED) {
+            return value;
+        }
+        final Map<String, Boolean> permissions = data.getPermissions(contexts);
+        if (permissions.isEmpty()) {
+            return Tristate.UNDEFINED;
+        }
+        int index = permission.length();
+        while ((index = permission.lastIndexOf('.', index - 1)) > 0) {
+            final Boolean wildcard = permissions.get(permission.substring(0, index + 1) + WILDCARD);
+            if (wildcard != null) {
+                return Tristate.fromBoolean(wildcard);
+            }
+        }
+        final Boolean wildcard = permissions.get(WILDCARD);
+        return wildcard == null ? Tristate.UNDEFINED : Tristate.fromBoolean(wildcard);
+    }
+
+    private static final class Entry {
+
+        private final MemorySubjectData[] chain;
+        private final int[] versions;
+        private final boolean cacheable;
+
+        // The cached values per context set
+        private final ConcurrentMap<Set<Context>, ConcurrentMap<String, Tristate>> values = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Entry(MemorySubjectData[] chain, int[] versions, boolean cacheable) {
+            this.chain = chain;
+            this.versions = versions;
+            this.cacheable = cacheable;
+        }
+
+        @Nullable
+        private Tristate get(Set<Context> contexts, String permission) {
+            final ConcurrentMap<String, Tristate> values = this.values.get(contexts);
+            return values == null ? null : values.get(permission);
+        }
+
+        private void put(Set<Context> contexts, String permission, Tristate value) {
+            if (this.size.incrementAndGet() > MAX_CACHED_VALUES) {
+                this.values.clear();
+                this.size.set(1);
+            }
+            ConcurrentMap<String, Tristate> values = this.values.get(contexts);
+            if (values == null) {
+                // The context set may be mutable, so use a copy as key
+                values = new ConcurrentHashMap<>();
+                final ConcurrentMap<String, Tristate> previous = this.values.putIfAbsent(ImmutableSet.copyOf(contexts), values);
+                if (previous != null) {
+                    values = previous;
+                }
+            }
+            values.put(permission, value);
+        }
+
+        private boolean isValid() {
+            if (!this.cacheable) {
+                return false;
+            }
+            for (int i = 0; i < this.chain.length; i++) {
+                if (((GlobalMemorySubjectData) this.chain[i]).getVersion() != this.versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Builder {
+
+        private final Set<MemorySubjectData> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<MemorySubjectData> chain = new ArrayList<>();
+        private final IntArrayList versions = new IntArrayList();
+        private boolean cacheable = true;
+
+        private void collect(LanternSubject subject) {
+            collect(subject.getTransientSubjectData());
+            for (MemorySubjectData data : subject.getFallbackSubjectData()) {
+                collect(data);
+            }
+        }
+
+        private void collect(MemorySubjectData data) {
+            if (!this.visited.add(data)) {
+                return;
+            }
+            // The version must be read before the parents, a modification
+            // in between will then invalidate the chain on the next lookup
+            if (data instanceof GlobalMemorySubjectData) {
+                this.versions.add(((GlobalMemorySubjectData) data).getVersion());
+            } else {
+                this.versions.add(0);
+                this.cacheable = false;
+            }
+            this.chain.add(data);
+            for (SubjectReference parentReference : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+                final Subject parent = parentReference.resolve().join();
+                if (parent instanceof LanternSubject) {
+                    collect((LanternSubject) parent);
+                } else {
+                    // Foreign subjects cannot be tracked, so don't cache anything
+                    this.cacheable = false;
+                    final SubjectData parentData = parent.getTransientSubjectData();
+                    if (parentData instanceof MemorySubjectData) {
+                        collect((MemorySubjectData) parentData);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -95,28 +95,43 @@ public void save(Path path) throws IOException {
             Files.createDirectories(path.getParent());
         }
         try (final BufferedWriter writer = Files.newBufferedWriter(path)) {
-            final JsonObject object = new JsonObject();
-
-            for (Map.Entry<String, StatisticEntry> entry : this.statisticEntries.entrySet()) {
-                final long value = entry.getValue().get();
-                if (value != 0) {
-                    object.addProperty(entry.getKey(), value);
-                }
-            }
-
-            GSON.toJson(object, writer);
+            GSON.toJson(toJson(), writer);
             writer.flush();
         }
     }
 
     public void load(Path path) throws IOException {
         try (final BufferedReader reader = Files.newBufferedReader(path)) {
-            this.statisticEntries.clear();
-            final JsonObject object = GSON.fromJson(reader, JsonObject.class);
+            fromJson(GSON.fromJson(reader, JsonObject.class));
+        }
+    }
 
-            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
-                get(entry.getKey()).set(entry.getValue().getAsLong());
+    /**
+     * Creates a snapshot of all the non zero statistic values.
+     *
+     * @return The json object
+     */
+    public JsonObject toJson() {
+        final JsonObject object = new JsonObject();
+        for (Map.Entry<String, StatisticEntry> entry : this.statisticEntries.entrySet()) {
+            final long value = entry.getValue().get();
+            if (value != 0) {
+                object.addProperty(entry.getKey(), value);
             }
         }
+        return object;
+    }
+
+    /**
+     * Replaces all the statistic values with the
+     * values of the given json object.
+     *
+     * @param object The json object
+     */
+    public void fromJson(JsonObject object) {
+        this.statisticEntries.clear();
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            get(entry.getKey()).set(entry.getValue().getAsLong());
+        }
     }
 }
@@ -0,0 +1,369 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.text.selector;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableSet;
+import org.lanternpowered.server.entity.LanternEntity;
+import org.lanternpowered.server.world.EntityIndex;
+import org.lanternpowered.server.world.LanternWorld;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * The execution plan of a {@link SelectorResolver}. The cheapest source of candidate
+ * entities is chosen per {@link Extent} based on the constraints of the selector, the
+ * full selector filter is only applied to those candidates. Limited selections are
+ * collected in bounded structures, so only the selected entities are kept.
+ */
+final class SelectorPlan {
+
+    /**
+     * The order in which the entities are selected.
+     */
+    enum Order {
+        /**
+         * The entities are selected in the order they are found.
+         */
+        NONE,
+        /**
+         * The entities are sorted by the distance to the origin, or
+         * by the inverse distance if the limit is negative.
+         */
+        DISTANCE,
+        /**
+         * The entities are selected randomly.
+         */
+        RANDOM
+    }
+
+    private final Predicate<Entity> filter;
+    private final Vector3d origin;
+    private final Order order;
+    private final int limit;
+    private final boolean playersOnly;
+
+    // The bounds of the box that contains all the candidates, if present
+    @Nullable private final Vector3d boxMin;
+    @Nullable private final Vector3d boxMax;
+
+    // The radius around the origin that contains all the candidates, or negative
+    private final double radius;
+
+    /**
+     * Creates a new selector plan.
+     *
+     * @param filter The filter that every selected entity must match
+     * @param origin The origin that is used for distance checks
+     * @param order The order of the selection
+     * @param limit The maximum amount of entities to select, negative for the farthest
+     *              entities if sorted by distance or {@code 0} for no limit
+     * @param playersOnly Whether only players can match the filter
+     * @param boxMin The minimum bounds of the box that contains all the matching entities
+     * @param boxMax The maximum bounds of the box that contains all the matching entities
+     * @param radius The radius around the origin that contains all the matching entities, or negative
+     */
+    SelectorPlan(Predicate<Entity> filter, Vector3d origin, Order order, int limit, boolean playersOnly,
+            @Nullable Vector3d boxMin, @Nullable Vector3d boxMax, double radius) {
+        this.filter = filter;
+        this.origin = origin;
+        this.order = order;
+        this.limit = limit;
+        this.playersOnly = playersOnly;
+        this.boxMin = boxMin;
+        this.boxMax = boxMax;
+        this.radius = radius;
+    }
+
+    /**
+     * Selects all the entities within the given {@link Extent}s.
+     *
+     * @param extents The extents
+     * @return The selected entities
+     */
+    Set<Entity> select(Collection<? extends Extent> extents) {
+        final Selection selection;
+        final int maxCount = Math.abs(this.limit);
+        switch (this.order) {
+            case DISTANCE:
+                selection = new DistanceSelection(this.origin, maxCount, this.limit < 0);
+                break;
+            case RANDOM:
+                selection = new RandomSelection(maxCount);
+                break;
+            default:
+                selection = new OrderedSelection(maxCount);
+                break;
+        }
+        final Consumer<Entity> consumer = entity -> {
+            if (selection.accepts(entity) && this.filter.test(entity)) {
+                selection.add(entity);
+            }
+        };
+        for (Extent extent : extents) {
+            if (selection.isFull()) {
+                break;
+            }
+            scan(extent, consumer);
+        }
+        return selection.build();
+    }
+
+    private void scan(Extent extent, Consumer<Entity> consumer) {
+        if (extent instanceof LanternWorld) {
+            final LanternWorld world = (LanternWorld) extent;
+            if (this.playersOnly) {
+                world.getRawPlayers().forEach(consumer);
+                return;
+            }
+            final Consumer<Entity> consumer1 = entity -> {
+                if (!((LanternEntity) entity).isRemoved()) {
+                    consumer.accept(entity);
+                }
+            };
+            final EntityIndex entityIndex = world.getEntityIndex();
+            final double radiusColumns = this.radius < 0 ? Double.POSITIVE_INFINITY : getColumns(
+                    this.origin.getX() - this.radius, this.origin.getZ() - this.radius,
+                    this.origin.getX() + this.radius, this.origin.getZ() + this.radius);
+            //noinspection ConstantConditions
+            final double boxColumns = this.boxMin == null ? Double.POSITIVE_INFINITY : getColumns(
+                    this.boxMin.getX(), this.boxMin.getZ(), this.boxMax.getX(), this.boxMax.getZ());
+            // Scan the smallest area that contains all the candidates, every chunk column
+            // within the area is looked up, so fall back to visiting all the entities if
+            // there are more columns within the area than that there are loaded chunks
+            final int loadedChunks = world.getChunkManager().getLoadedChunkCount();
+            if (radiusColumns <= boxColumns && radiusColumns <= loadedChunks) {
+                entityIndex.forEachInRadius(this.origin, this.radius, Entity.class, consumer1);
+            } else if (boxColumns < radiusColumns && boxColumns <= loadedChunks) {
+                entityIndex.forEachInBox(this.boxMin, this.boxMax, Entity.class, consumer1);
+            } else {
+                entityIndex.forEach(consumer1);
+            }
+        } else if (this.playersOnly && extent instanceof World) {
+            ((World) extent).getPlayers().forEach(consumer);
+        } else {
+            extent.getEntities().forEach(consumer);
+        }
+    }
+
+    private static double getColumns(double minX, double minZ, double maxX, double maxZ) {
+        return ((maxX - minX) / 16.0 + 1.0) * ((maxZ - minZ) / 16.0 + 1.0);
+    }
+
+    private interface Selection {
+
+        /**
+         * Gets whether the entity could be selected, before
+         * the more expensive filter is applied.
+         *
+         * @param entity The entity
+         * @return Whether the entity could be selected
+         */
+        boolean accepts(Entity entity);
+
+        void add(Entity entity);
+
+        boolean isFull();
+
+        Set<Entity> build();
+    }
+
+    private static final class OrderedSelection implements Selection {
+
+        private final ImmutableSet.Builder<Entity> builder = ImmutableSet.builder();
+        private final int maxCount;
+        private int count;
+
+        private OrderedSelection(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        @Override
+        public boolean accepts(Entity entity) {
+            return !isFull();
+        }
+
+        @Override
+        public void add(Entity entity) {
+            this.builder.add(entity);
+            this.count++;
+        }
+
+        @Override
+        public boolean isFull() {
+            return this.maxCount != 0 && this.count >= this.maxCount;
+        }
+
+        @Override
+        public Set<Entity> build() {
+            return this.builder.build();
+        }
+    }
+
+    private static final class DistanceSelection implements Selection {
+
+        private final Vector3d origin;
+        private final int maxCount;
+        private final boolean farthest;
+
+        // A unbounded list if there is no limit, otherwise a heap with the
+        // worst selected entity at the head, to be replaced by better ones
+        @Nullable private final List<Entry> entries;
+        @Nullable private final PriorityQueue<Entry> heap;
+
+        @Nullable private Entry lastEntry;
+
+        private DistanceSelection(Vector3d origin, int maxCount, boolean farthest) {
+            this.origin = origin;
+            this.maxCount = maxCount;
+            this.farthest = farthest;
+            if (maxCount == 0) {
+                this.entries = new ArrayList<>();
+                this.heap = null;
+            } else {
+                this.entries = null;
+                this.heap = new PriorityQueue<>(maxCount, farthest ? Entry.COMPARATOR : Entry.COMPARATOR.reversed());
+            }
+        }
+
+        @Override
+        public boolean accepts(Entity entity) {
+            final double distance = entity.getLocation().getPosition().distanceSquared(this.origin);
+            this.lastEntry = new Entry(entity, distance);
+            if (this.heap == null || this.heap.size() < this.maxCount) {
+                return true;
+            }
+            final double worst = this.heap.peek().distance;
+            return this.farthest ? distance > worst : distance < worst;
+        }
+
+        @Override
+        public void add(Entity entity) {
+            //noinspection ConstantConditions
+            final Entry entry = this.lastEntry.entity == entity ? this.lastEntry :
+                    new Entry(entity, entity.getLocation().getPosition().distanceSquared(this.origin));
+            if (this.heap == null) {
+                //noinspection ConstantConditions
+                this.entries.add(entry);
+            } else {
+                if (this.heap.size() >= this.maxCount) {
+                    this.heap.poll();
+                }
+                this.heap.add(entry);
+            }
+        }
+
+        @Override
+        public boolean isFull() {
+            // More entities could always be closer
+            return false;
+        }
+
+        @Override
+        public Set<Entity> build() {
+            //noinspection ConstantConditions
+            final List<Entry> entries = this.heap == null ? this.entries : new ArrayList<>(this.heap);
+            entries.sort(this.farthest ? Entry.COMPARATOR.reversed() : Entry.COMPARATOR);
+            final ImmutableSet.Builder<Entity> builder = ImmutableSet.builder();
+            for (Entry entry : entries) {
+                builder.add(entry.entity);
+            }
+            return builder.build();
+        }
+
+        private static final class Entry {
+
+            private static final Comparator<Entry> COMPARATOR = Comparator.comparingDouble(entry -> entry.distance);
+
+            private final Entity entity;
+            private final double distance;
+
+            private Entry(Entity entity, double distance) {
+                this.entity = entity;
+                this.distance = distance;
+            }
+        }
+    }
+
+    private static final class RandomSelection implements Selection {
+
+        private final Random random = ThreadLocalRandom.current();
+        private final List<Entity> entities = new ArrayList<>();
+        private final int maxCount;
+        private int seen;
+
+        private RandomSelection(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        @Override
+        public boolean accepts(Entity entity) {
+            return true;
+        }
+
+        @Override
+        public void add(Entity entity) {
+            // Reservoir sampling, every entity has the same chance
+            // to be selected without collecting all of them
+            this.seen++;
+            if (this.maxCount == 0 || this.entities.size() < this.maxCount) {
+                this.entities.add(entity);
+            } else {
+                final int index = this.random.nextInt(this.seen);
+                if (index < this.maxCount) {
+                    this.entities.set(index, entity);
+                }
+            }
+        }
+
+        @Override
+        public boolean isFull() {
+            return false;
+        }
+
+        @Override
+        public Set<Entity> build() {
+            Collections.shuffle(this.entities, this.random);
+            return ImmutableSet.copyOf(this.entities);
+        }
+    }
+}
@@ -119,8 +119,8 @@ private static <E> Collection<E> asSet(Optional<E> opt) {
     private final Vector3d position;
     private final Optional<CommandSource> original;
     private final Selector selector;
-    private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    private final SelectorPlan plan;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -140,14 +140,59 @@ private SelectorResolver(Collection<? extends Extent> extents, @Nullable Vector3
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
-        this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
+        this.plan = makePlan();
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
-        final Selector sel = this.selector;
+    private SelectorPlan makePlan() {
         final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        final boolean playersOnly = isPlayerOnlySelector();
+        final Predicate<Entity> filter = makeFilter(position, playersOnly);
+
+        final SelectorType selectorType = this.selector.getType();
+        final int limit = this.selector.get(ArgumentTypes.COUNT).orElse(INFINITE_TYPES.contains(selectorType) ? 0 : 1);
+        final SelectorPlan.Order order;
+        if (selectorType == SelectorTypes.RANDOM) {
+            order = SelectorPlan.Order.RANDOM;
+        } else if (selectorType == SelectorTypes.NEAREST_PLAYER || selectorType == SelectorTypes.ALL_PLAYERS ||
+                selectorType == SelectorTypes.ALL_ENTITIES) {
+            order = SelectorPlan.Order.DISTANCE;
+        } else {
+            order = SelectorPlan.Order.NONE;
+        }
+
+        // The volume can only be used to limit the scanned
+        // chunks if it's bounded horizontally
+        Vector3d boxMin = null;
+        Vector3d boxMax = null;
+        if (this.selector.has(ArgumentTypes.DIMENSION.x()) && this.selector.has(ArgumentTypes.DIMENSION.z())) {
+            final Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+            final Vector3d det2 = position.add(boxDimensions);
+            boxMin = position.min(det2);
+            boxMax = position.max(det2);
+            if (!this.selector.has(ArgumentTypes.DIMENSION.y())) {
+                boxMin = new Vector3d(boxMin.getX(), Double.NEGATIVE_INFINITY, boxMin.getZ());
+                boxMax = new Vector3d(boxMax.getX(), Double.POSITIVE_INFINITY, boxMax.getZ());
+            }
+        }
+        final double radius = this.selector.get(ArgumentTypes.RADIUS.maximum()).map(TO_DOUBLE).orElse(-1.0);
+        return new SelectorPlan(filter, position, order, limit, playersOnly, boxMin, boxMax, radius);
+    }
+
+    private boolean isPlayerOnlySelector() {
+        final SelectorType selectorType = this.selector.getType();
+        if (selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER) {
+            return true;
+        }
+        final Optional<Argument.Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // A random selector selects only players unless a entity type is specified
+        if (selectorType == SelectorTypes.RANDOM && !type.isPresent()) {
+            return true;
+        }
+        return type.isPresent() && !type.get().isInverted() && type.get().getValue() == EntityTypes.PLAYER;
+    }
+
+    private Predicate<Entity> makeFilter(Vector3d position, boolean playersOnly) {
         final List<Predicate<Entity>> filters = new ArrayList<>();
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
@@ -158,14 +203,7 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        final Optional<Argument.Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        final boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
+        if (playersOnly) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
@@ -344,35 +382,7 @@ public String getName() {
     }
 
     public Set<Entity> resolve() {
-        SelectorType selectorType = this.selector.getType();
-        int defaultCount = 1;
-        if (INFINITE_TYPES.contains(selectorType)) {
-            defaultCount = 0;
-        }
-        int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
-        Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
-        for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<Entity>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
-            }
-
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
-                    continue;
-                }
-                entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
-                }
-            }
-        }
-        return entities.build();
+        return this.plan.select(getExtentSet());
     }
 
     private Set<? extends Extent> getExtentSet() {
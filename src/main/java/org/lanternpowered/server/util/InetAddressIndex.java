@@ -0,0 +1,165 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A index of values that are mapped to {@link InetAddress}es or address ranges. Complete
+ * addresses are stored in a hash map, address ranges (like {@link IpSet}s) are stored in
+ * a binary prefix trie so that a lookup never has to visit more nodes than the amount
+ * of bits in the address.
+ * <p>
+ * This index isn't thread safe, it should be fully populated before it's published
+ * to other threads.
+ *
+ * @param <V> The value type
+ */
+public final class InetAddressIndex<V> {
+
+    private final Map<InetAddress, List<V>> addresses = new HashMap<>();
+
+    @Nullable private Node<V> ipv4Root;
+    @Nullable private Node<V> ipv6Root;
+
+    /**
+     * Adds the value for the given {@link IpSet}.
+     *
+     * @param ipSet The ip set
+     * @param value The value
+     */
+    public void put(IpSet ipSet, V value) {
+        checkNotNull(ipSet, "ipSet");
+        put(ipSet.getAddress(), ipSet.getPrefixLength(), value);
+    }
+
+    /**
+     * Adds the value for all the addresses that share the given
+     * amount of prefix bits with the {@link InetAddress}.
+     *
+     * @param address The address
+     * @param prefixLength The length of the prefix in bits
+     * @param value The value
+     */
+    public void put(InetAddress address, int prefixLength, V value) {
+        checkNotNull(address, "address");
+        checkNotNull(value, "value");
+        final byte[] bytes = address.getAddress();
+        checkArgument(prefixLength >= 0 && prefixLength <= bytes.length * 8,
+                "Invalid prefix length %s for the address %s", prefixLength, address);
+        if (prefixLength == bytes.length * 8) {
+            this.addresses.computeIfAbsent(address, key -> new ArrayList<>(1)).add(value);
+            return;
+        }
+        Node<V> node;
+        if (bytes.length == 4) {
+            if (this.ipv4Root == null) {
+                this.ipv4Root = new Node<>();
+            }
+            node = this.ipv4Root;
+        } else {
+            if (this.ipv6Root == null) {
+                this.ipv6Root = new Node<>();
+            }
+            node = this.ipv6Root;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (getBit(bytes, i)) {
+                if (node.one == null) {
+                    node.one = new Node<>();
+                }
+                node = node.one;
+            } else {
+                if (node.zero == null) {
+                    node.zero = new Node<>();
+                }
+                node = node.zero;
+            }
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Gets whether this index is empty.
+     *
+     * @return Is empty
+     */
+    public boolean isEmpty() {
+        return this.addresses.isEmpty() && this.ipv4Root == null && this.ipv6Root == null;
+    }
+
+    /**
+     * Applies the consumer for every value that contains the given {@link InetAddress}.
+     *
+     * @param address The address
+     * @param consumer The consumer
+     */
+    public void forEachMatch(InetAddress address, Consumer<V> consumer) {
+        checkNotNull(address, "address");
+        checkNotNull(consumer, "consumer");
+        final List<V> exactValues = this.addresses.get(address);
+        if (exactValues != null) {
+            exactValues.forEach(consumer);
+        }
+        final byte[] bytes = address.getAddress();
+        Node<V> node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        final int bits = bytes.length * 8;
+        for (int i = 0; node != null; i++) {
+            if (node.values != null) {
+                node.values.forEach(consumer);
+            }
+            // Complete addresses are stored within the map
+            if (i == bits - 1) {
+                break;
+            }
+            node = getBit(bytes, i) ? node.one : node.zero;
+        }
+    }
+
+    private static boolean getBit(byte[] bytes, int index) {
+        return ((bytes[index >> 3] >> (7 - (index & 7))) & 0x1) != 0;
+    }
+
+    private static final class Node<V> {
+
+        @Nullable private Node<V> zero;
+        @Nullable private Node<V> one;
+        @Nullable private List<V> values;
+    }
+}
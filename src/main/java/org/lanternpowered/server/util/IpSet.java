@@ -70,7 +70,7 @@ public boolean test(@Nullable InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -78,6 +78,25 @@ public boolean test(@Nullable InetAddress input) {
         return true;
     }
 
+    /**
+     * Gets the {@link InetAddress} that defines the prefix of this set.
+     *
+     * @return The address
+     */
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    /**
+     * Gets the amount of bits of the address that
+     * should match to be contained by this set.
+     *
+     * @return The prefix length
+     */
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
@@ -0,0 +1,305 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.lanternpowered.server.world.chunk.LanternChunk.fixEntityYSection;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.lanternpowered.server.entity.LanternEntity;
+import org.lanternpowered.server.world.chunk.EntityBucket;
+import org.lanternpowered.server.world.chunk.LanternChunk;
+import org.lanternpowered.server.world.chunk.LanternChunkManager;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.util.AABB;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * The index of all the {@link LanternEntity}s within a {@link LanternWorld}.
+ * <p>
+ * All the entities are stored in a flat {@link EntityBucket} which can be
+ * iterated without allocating copies, and in a {@link EntityBucket} per chunk
+ * section which are updated incrementally when a entity moves between sections.
+ */
+public final class EntityIndex {
+
+    // The extra distance that will be searched around bounding boxes, entities
+    // are indexed by their position and may extend into neighbour sections
+    private static final double SEARCH_MARGIN = 2.0;
+
+    private final LanternChunkManager chunkManager;
+
+    /**
+     * The entities mapped by their unique id.
+     */
+    private final Map<UUID, LanternEntity> entitiesByUniqueId = new ConcurrentHashMap<>();
+
+    /**
+     * All the entities.
+     */
+    private final EntityBucket entities = new EntityBucket();
+
+    EntityIndex(LanternChunkManager chunkManager) {
+        this.chunkManager = chunkManager;
+    }
+
+    /**
+     * Gets the {@link LanternEntity} for the given {@link UUID}.
+     *
+     * @param uniqueId The unique id
+     * @return The entity, or {@code null} if not present
+     */
+    @Nullable
+    public LanternEntity get(UUID uniqueId) {
+        return this.entitiesByUniqueId.get(checkNotNull(uniqueId, "uniqueId"));
+    }
+
+    /**
+     * Gets the amount of entities in this index.
+     *
+     * @return The amount of entities
+     */
+    public int size() {
+        return this.entities.count();
+    }
+
+    /**
+     * Adds the {@link LanternEntity} to this index, the entity will only be
+     * added to a chunk section after {@link #updateSection(LanternEntity)}.
+     *
+     * @param entity The entity
+     * @return The entity that was already present with the same unique id, or {@code null}
+     */
+    @Nullable
+    LanternEntity add(LanternEntity entity) {
+        final LanternEntity entity1 = this.entitiesByUniqueId.putIfAbsent(entity.getUniqueId(), entity);
+        if (entity1 == null) {
+            this.entities.add(entity);
+        }
+        return entity1;
+    }
+
+    /**
+     * Removes the {@link LanternEntity} from this index.
+     *
+     * @param entity The entity
+     * @param removeFromSection Whether the entity should also be removed from its chunk section
+     */
+    void remove(LanternEntity entity, boolean removeFromSection) {
+        if (this.entitiesByUniqueId.remove(entity.getUniqueId(), entity)) {
+            this.entities.remove(entity);
+        }
+        if (removeFromSection) {
+            final long sectionKey = entity.getLastChunkSectionKey();
+            if (sectionKey != LanternChunk.NO_SECTION_KEY) {
+                final LanternChunk chunk = this.chunkManager.getChunkIfLoaded(
+                        LanternChunk.sectionKeyX(sectionKey), LanternChunk.sectionKeyZ(sectionKey));
+                if (chunk != null) {
+                    chunk.removeEntity(entity, LanternChunk.sectionKeyY(sectionKey));
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the {@link LanternEntity} to the chunk section of its
+     * current position, if it changed since the last update.
+     *
+     * @param entity The entity
+     */
+    void updateSection(LanternEntity entity) {
+        final Vector3d pos = entity.getPosition();
+        final int cx = pos.getFloorX() >> 4;
+        final int cy = fixEntityYSection(pos.getFloorY() >> 4);
+        final int cz = pos.getFloorZ() >> 4;
+        final long sectionKey = LanternChunk.sectionKey(cx, cy, cz);
+        final long lastSectionKey = entity.getLastChunkSectionKey();
+        if (sectionKey == lastSectionKey) {
+            return;
+        }
+        LanternChunk chunk;
+        if (lastSectionKey != LanternChunk.NO_SECTION_KEY) {
+            final int lastCx = LanternChunk.sectionKeyX(lastSectionKey);
+            final int lastCz = LanternChunk.sectionKeyZ(lastSectionKey);
+            chunk = this.chunkManager.getChunkIfLoaded(lastCx, lastCz);
+            if (chunk != null) {
+                chunk.removeEntity(entity, LanternChunk.sectionKeyY(lastSectionKey));
+            }
+        }
+        chunk = this.chunkManager.getOrLoadChunk(cx, cz);
+        chunk.addEntity(entity, cy);
+        entity.setLastChunkSectionKey(sectionKey);
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the {@link LanternEntity}s
+     * in this index, including the ones that are removed.
+     *
+     * @param consumer The consumer
+     */
+    public void forEach(Consumer<? super LanternEntity> consumer) {
+        this.entities.forEach(consumer);
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the {@link LanternEntity}s in this
+     * index that are a instance of the given type and aren't destroyed.
+     *
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T> void forEach(Class<T> type, Consumer<? super T> consumer) {
+        this.entities.forEach(type, consumer);
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the loaded {@link Entity}s of
+     * the given type that intersect with the {@link AABB}.
+     *
+     * @param box The bounding box
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T extends Entity> void forEachIntersecting(AABB box, Class<T> type, Consumer<? super T> consumer) {
+        checkNotNull(box, "box");
+        checkNotNull(type, "type");
+        checkNotNull(consumer, "consumer");
+        final Vector3d min = box.getMin();
+        final Vector3d max = box.getMax();
+        final int maxX = ((int) Math.ceil(max.getX() + SEARCH_MARGIN)) >> 4;
+        final int minX = ((int) Math.floor(min.getX() - SEARCH_MARGIN)) >> 4;
+        final int maxYSection = fixEntityYSection(((int) Math.ceil(max.getY() + SEARCH_MARGIN)) >> 4);
+        final int minYSection = fixEntityYSection(((int) Math.floor(min.getY() - SEARCH_MARGIN)) >> 4);
+        final int maxZ = ((int) Math.ceil(max.getZ() + SEARCH_MARGIN)) >> 4;
+        final int minZ = ((int) Math.floor(min.getZ() - SEARCH_MARGIN)) >> 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final LanternChunk chunk = this.chunkManager.getChunkIfLoaded(x, z);
+                if (chunk != null) {
+                    chunk.forEachIntersectingEntity(maxYSection, minYSection, box, type, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the loaded {@link Entity}s of the
+     * given type which are positioned within the radius around the center.
+     *
+     * @param center The center
+     * @param radius The radius
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T extends Entity> void forEachInRadius(Vector3d center, double radius, Class<T> type, Consumer<? super T> consumer) {
+        checkNotNull(center, "center");
+        checkNotNull(type, "type");
+        checkNotNull(consumer, "consumer");
+        final double radiusSquared = radius * radius;
+        final int maxX = ((int) Math.ceil(center.getX() + radius)) >> 4;
+        final int minX = ((int) Math.floor(center.getX() - radius)) >> 4;
+        final int maxYSection = fixEntityYSection(((int) Math.ceil(center.getY() + radius)) >> 4);
+        final int minYSection = fixEntityYSection(((int) Math.floor(center.getY() - radius)) >> 4);
+        final int maxZ = ((int) Math.ceil(center.getZ() + radius)) >> 4;
+        final int minZ = ((int) Math.floor(center.getZ() - radius)) >> 4;
+        final Consumer<T> radiusConsumer = entity -> {
+            if (((LanternEntity) entity).getPosition().distanceSquared(center) <= radiusSquared) {
+                consumer.accept(entity);
+            }
+        };
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final LanternChunk chunk = this.chunkManager.getChunkIfLoaded(x, z);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int y = minYSection; y <= maxYSection; y++) {
+                    final EntityBucket bucket = chunk.getEntityBucket(y);
+                    if (!bucket.isEmpty()) {
+                        bucket.forEach(type, radiusConsumer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the loaded {@link Entity}s of the given
+     * type which are positioned within the box, the bounds are inclusive.
+     * <p>
+     * Unlike {@link #forEachIntersecting(AABB, Class, Consumer)}, only the position
+     * of the entity is checked and the vertical bounds may be infinite.
+     *
+     * @param min The minimum position
+     * @param max The maximum position
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T extends Entity> void forEachInBox(Vector3d min, Vector3d max, Class<T> type, Consumer<? super T> consumer) {
+        checkNotNull(min, "min");
+        checkNotNull(max, "max");
+        checkNotNull(type, "type");
+        checkNotNull(consumer, "consumer");
+        final int maxX = ((int) Math.floor(max.getX())) >> 4;
+        final int minX = ((int) Math.floor(min.getX())) >> 4;
+        final int maxYSection = fixEntityYSection(((int) Math.floor(max.getY())) >> 4);
+        final int minYSection = fixEntityYSection(((int) Math.floor(min.getY())) >> 4);
+        final int maxZ = ((int) Math.floor(max.getZ())) >> 4;
+        final int minZ = ((int) Math.floor(min.getZ())) >> 4;
+        final Consumer<T> boxConsumer = entity -> {
+            final Vector3d pos = ((LanternEntity) entity).getPosition();
+            if (pos.getX() >= min.getX() && pos.getX() <= max.getX() &&
+                    pos.getY() >= min.getY() && pos.getY() <= max.getY() &&
+                    pos.getZ() >= min.getZ() && pos.getZ() <= max.getZ()) {
+                consumer.accept(entity);
+            }
+        };
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final LanternChunk chunk = this.chunkManager.getChunkIfLoaded(x, z);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int y = minYSection; y <= maxYSection; y++) {
+                    final EntityBucket bucket = chunk.getEntityBucket(y);
+                    if (!bucket.isEmpty()) {
+                        bucket.forEach(type, boxConsumer);
+                    }
+                }
+            }
+        }
+    }
+}
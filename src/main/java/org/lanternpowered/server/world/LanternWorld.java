@@ -27,7 +27,6 @@
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.lanternpowered.server.world.chunk.LanternChunk.fixEntityYSection;
 import static org.lanternpowered.server.world.chunk.LanternChunkLayout.SPACE_MAX;
 import static org.lanternpowered.server.world.chunk.LanternChunkLayout.SPACE_MIN;
 
@@ -53,6 +52,7 @@
 import org.lanternpowered.server.data.io.ScoreboardIO;
 import org.lanternpowered.server.data.io.anvil.AnvilChunkIOService;
 import org.lanternpowered.server.effect.AbstractViewer;
+import org.lanternpowered.server.effect.sound.LanternSoundCategory;
 import org.lanternpowered.server.effect.sound.LanternSoundType;
 import org.lanternpowered.server.entity.LanternEntity;
 import org.lanternpowered.server.entity.LanternEntityType;
@@ -76,6 +76,7 @@
 import org.lanternpowered.server.world.chunk.LanternChunkTicketManager;
 import org.lanternpowered.server.world.dimension.LanternDimensionType;
 import org.lanternpowered.server.world.extent.AbstractExtent;
+import org.lanternpowered.server.world.extent.BlockEditSession;
 import org.lanternpowered.server.world.extent.ExtentViewDownsize;
 import org.lanternpowered.server.world.extent.worker.LanternMutableBiomeVolumeWorker;
 import org.lanternpowered.server.world.extent.worker.LanternMutableBlockVolumeWorker;
@@ -108,6 +109,7 @@
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.effect.particle.ParticleEffect;
+import org.spongepowered.api.effect.sound.SoundCategories;
 import org.spongepowered.api.effect.sound.SoundCategory;
 import org.spongepowered.api.effect.sound.SoundType;
 import org.spongepowered.api.effect.sound.record.RecordType;
@@ -162,14 +164,12 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -189,6 +189,10 @@ public class LanternWorld implements AbstractExtent, org.lanternpowered.api.worl
     public static final Vector3i BIOME_MAX = BLOCK_MAX.mul(1, 0, 1);
     public static final Vector3i BIOME_SIZE = BIOME_MAX.sub(BLOCK_MIN).add(1, 1, 1);
 
+    // The range in which particles without a explicit radius will be
+    // visible, matches the range of long distance particles in vanilla
+    private static final int DEFAULT_PARTICLE_RANGE = 512;
+
     // The spawn size starting from the spawn point and expanded
     // by this size in the directions +x, +z, -x, -z
     private final static int SPAWN_SIZE = 12;
@@ -211,13 +215,19 @@ public class LanternWorld implements AbstractExtent, org.lanternpowered.api.worl
     // All the players in this world
     private final Collection<Player> unmodifiablePlayers = Collections.unmodifiableCollection(this.players);
 
+    // The spatial grid of all the players in this world
+    private final PlayerGrid playerGrid = new PlayerGrid();
+
     // The chunk manager of this world
     private final LanternChunkManager chunkManager;
 
     /**
-     * The entities mapped by their unique id.
+     * The index of all the entities in this world.
      */
-    private final Map<UUID, LanternEntity> entitiesByUniqueId = new ConcurrentHashMap<>();
+    private final EntityIndex entityIndex;
+
+    // The consumer that is used to pulse all the entities
+    private final Consumer<LanternEntity> entityPulser = this::pulseEntity;
 
     /**
      * The chunk manager that will allows observers to track
@@ -292,6 +302,7 @@ public LanternWorld(LanternGame game, WorldConfig worldConfig, Path directory,
         // Finally, create the chunk manager
         this.chunkManager = new LanternChunkManager(Lantern.getMinecraftPlugin(), this.game, this, this.worldConfig, chunkLoadService,
                 chunkIOService, worldGenerator, directory);
+        this.entityIndex = new EntityIndex(this.chunkManager);
         this.worldContext = new Context(Context.WORLD_KEY, getName());
         this.worldEventListener.add(this.observedChunkManager);
         getWorldBorder().updateCurrentTime();
@@ -395,17 +406,14 @@ public Set<LanternPlayer> getRawPlayers() {
     public void addPlayer(LanternPlayer player) {
         this.players.add(player);
         checkArgument(addEntity(player) == null);
+        this.playerGrid.update(player);
     }
 
     public void removePlayer(LanternPlayer player) {
         this.players.remove(player);
-        this.entitiesByUniqueId.remove(player.getUniqueId());
-        final Vector3i lastChunkSection = player.getLastChunkSectionCoords();
-        LanternChunk chunk;
-        if (lastChunkSection != null && (chunk = this.chunkManager.getChunkIfLoaded(
-                lastChunkSection.getX(), lastChunkSection.getZ())) != null) {
-            chunk.removeEntity(player, lastChunkSection.getY());
-        }
+        this.playerGrid.remove(player);
+        this.entityIndex.remove(player, true);
+        player.setLastChunkSectionKey(LanternChunk.NO_SECTION_KEY);
         this.entityProtocolManager.remove(player);
     }
 
@@ -472,6 +480,16 @@ public MutableBlockVolumeWorker<World> getBlockWorker() {
         return new LanternMutableBlockVolumeWorker<>(this);
     }
 
+    @Override
+    public MutableBiomeVolumeWorker<World> getParallelBiomeWorker() {
+        return new LanternMutableBiomeVolumeWorker<>(this, true);
+    }
+
+    @Override
+    public MutableBlockVolumeWorker<World> getParallelBlockWorker() {
+        return new LanternMutableBlockVolumeWorker<>(this, true);
+    }
+
     @Override
     public boolean save() throws IOException {
         this.chunkManager.save();
@@ -566,20 +584,11 @@ public Set<Entity> getIntersectingEntities(AABB box, Predicate<Entity> filter) {
         checkNotNull(box, "box");
         checkNotNull(filter, "filter");
         final ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
-        final int maxX = ((int) Math.ceil(box.getMax().getX() + 2.0)) >> 4;
-        final int minX = ((int) Math.floor(box.getMin().getX() - 2.0)) >> 4;
-        final int maxYSection = fixEntityYSection(((int) Math.round(box.getMax().getY() + 2.0)) >> 4);
-        final int minYSection = fixEntityYSection(((int) Math.round(box.getMin().getY() - 2.0)) >> 4);
-        final int maxZ = ((int) Math.ceil(box.getMax().getZ() + 2.0)) >> 4;
-        final int minZ = ((int) Math.floor(box.getMin().getZ() - 2.0)) >> 4;
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                final LanternChunk chunk = getChunkManager().getChunkIfLoaded(x, z);
-                if (chunk != null) {
-                    chunk.addIntersectingEntities(entities, maxYSection, minYSection, box, filter);
-                }
+        this.entityIndex.forEachIntersecting(box, Entity.class, entity -> {
+            if (filter.test(entity)) {
+                entities.add(entity);
             }
-        }
+        });
         return entities.build();
     }
 
@@ -619,17 +628,21 @@ public ArchetypeVolume createArchetypeVolume(Vector3i min, Vector3i max, Vector3
     }
 
     private void forEachEntity(Consumer<LanternEntity> consumer) {
-        final Iterator<LanternEntity> iterator = this.entitiesByUniqueId.values().iterator();
-        while (iterator.hasNext()) {
-            final LanternEntity entity = iterator.next();
-            // Only remove the entities that are "destroyed",
-            // the other ones can be resurrected after chunk loading
-            if (entity.isRemoved()) {
-                iterator.remove();
-            } else {
+        // The removed entities will be cleaned up by the next entity pulse
+        this.entityIndex.forEach(entity -> {
+            if (!entity.isRemoved()) {
                 consumer.accept(entity);
             }
-        }
+        });
+    }
+
+    /**
+     * Gets the {@link EntityIndex} of this world.
+     *
+     * @return The entity index
+     */
+    public EntityIndex getEntityIndex() {
+        return this.entityIndex;
     }
 
     @Override
@@ -768,6 +781,11 @@ public boolean setBlock(int x, int y, int z, BlockState blockState, BlockChangeF
         return this.chunkManager.getOrLoadChunk(x >> 4, z >> 4).setBlock(x, y, z, blockState, flag);
     }
 
+    @Override
+    public BlockEditSession newBlockEditSession() {
+        return new WorldBlockEditSession(this);
+    }
+
     @Override
     public BlockSnapshot createSnapshot(int x, int y, int z) {
         return this.chunkManager.getOrLoadChunk(x >> 4, z >> 4).createSnapshot(x, y, z);
@@ -1000,18 +1018,14 @@ public void setWeather(Weather weather, long duration) {
 
     @Override
     public void spawnParticles(ParticleEffect particleEffect, Vector3d position) {
-        checkNotNull(particleEffect, "particleEffect");
-        checkNotNull(position, "position");
-        this.spawnParticles(this.players.iterator(), particleEffect, position);
+        spawnParticles(particleEffect, position, DEFAULT_PARTICLE_RANGE);
     }
 
     @Override
     public void spawnParticles(ParticleEffect particleEffect, Vector3d position, int radius) {
         checkNotNull(particleEffect, "particleEffect");
         checkNotNull(position, "position");
-        this.spawnParticles(this.players.stream().filter(
-                player -> player.getLocation().getPosition().distanceSquared(position) < radius * radius).iterator(),
-                particleEffect, position);
+        broadcast(() -> new MessagePlayOutParticleEffect(position, particleEffect), position, radius);
     }
 
     @Override
@@ -1019,8 +1033,14 @@ public void playSound(SoundType sound, SoundCategory category, Vector3d position
         checkNotNull(sound, "sound");
         checkNotNull(position, "position");
         checkNotNull(category, "category");
-        this.broadcast(() -> ((LanternSoundType) sound).createMessage(position,
-                category, (float) Math.max(minVolume, volume), (float) pitch));
+        final Supplier<Message> message = () -> ((LanternSoundType) sound).createMessage(position,
+                category, (float) Math.max(minVolume, volume), (float) pitch);
+        if (minVolume > 0) {
+            // Players outside the audible range should still hear the minimum volume
+            broadcast(message);
+        } else {
+            broadcast(message, position, ((LanternSoundCategory) category).getAudibleRange(volume));
+        }
     }
 
     @Override
@@ -1059,17 +1079,8 @@ public void stopRecord(Vector3i position) {
 
     private void playOrStopRecord(Vector3i position, @Nullable RecordType recordType) {
         checkNotNull(position, "position");
-        broadcast(() -> new MessagePlayOutRecord(position, recordType));
-    }
-
-    private void spawnParticles(Iterator<LanternPlayer> players, ParticleEffect particleEffect, Vector3d position) {
-        if (!players.hasNext()) {
-            return;
-        }
-        final MessagePlayOutParticleEffect message = new MessagePlayOutParticleEffect(position, particleEffect);
-        while (players.hasNext()) {
-            players.next().getConnection().send(message);
-        }
+        broadcast(() -> new MessagePlayOutRecord(position, recordType), position.toDouble().add(0.5, 0.5, 0.5),
+                ((LanternSoundCategory) SoundCategories.RECORD).getAudibleRange(1.0));
     }
 
     @Override
@@ -1194,7 +1205,7 @@ public Iterable<Chunk> getLoadedChunks() {
 
     @Override
     public Optional<Entity> getEntity(UUID uuid) {
-        return Optional.ofNullable(this.entitiesByUniqueId.get(checkNotNull(uuid, "uuid")));
+        return Optional.ofNullable(this.entityIndex.get(checkNotNull(uuid, "uuid")));
     }
 
     /**
@@ -1305,10 +1316,10 @@ private boolean spawnEntity0(Entity entity) {
             return false;
         }
         final LanternEntity entity2 = (LanternEntity) entity;
-        final Vector3i position = entity2.getPosition().toInt();
-        final Vector3i chunkPos = new Vector3i(position.getX() >> 4, fixEntityYSection(position.getY() >> 4), position.getZ() >> 4);
-        final LanternChunk chunk = (LanternChunk) loadChunk(chunkPos.getX(), 0, chunkPos.getZ(), true).get();
-        chunk.addEntity(entity2, chunkPos.getY());
+        final Vector3d position = entity2.getPosition();
+        // Make sure that the chunk is generated before the entity is added to it
+        loadChunk(position.getFloorX() >> 4, 0, position.getFloorZ() >> 4, true);
+        this.entityIndex.updateSection(entity2);
         return false;
     }
 
@@ -1320,7 +1331,7 @@ public void addEntities(Iterable<Entity> entities) {
 
     @Nullable
     private LanternEntity addEntity(LanternEntity entity) {
-        LanternEntity entity1 = this.entitiesByUniqueId.putIfAbsent(entity.getUniqueId(), entity);
+        final LanternEntity entity1 = this.entityIndex.add(entity);
         if (entity1 != null) {
             return entity1;
         }
@@ -1333,33 +1344,22 @@ private LanternEntity addEntity(LanternEntity entity) {
     }
 
     private void pulseEntities() {
-        // Pulse the entities
-        for (LanternEntity entity : new ArrayList<>(this.entitiesByUniqueId.values())) {
-            if (entity.isRemoved()) {
-                final Vector3i lastChunk = entity.getLastChunkSectionCoords();
-                if (lastChunk != null && entity.getRemoveState() == LanternEntity.RemoveState.DESTROYED) {
-                    final LanternChunk chunk = this.chunkManager.getChunkIfLoaded(lastChunk.getX(), lastChunk.getZ());
-                    if (chunk != null) {
-                        chunk.removeEntity(entity, lastChunk.getY());
-                    }
-                }
-                this.entityProtocolManager.remove(entity);
-                this.entitiesByUniqueId.remove(entity.getUniqueId());
-            } else {
-                final Vector3i lastChunkSection = entity.getLastChunkSectionCoords();
-                entity.pulse();
-                final Vector3i pos = entity.getPosition().toInt();
-                final Vector3i newChunk = new Vector3i(pos.getX() >> 4, fixEntityYSection(pos.getY() >> 4), pos.getZ() >> 4);
-                if (lastChunkSection == null || !lastChunkSection.equals(newChunk)) {
-                    LanternChunk chunk;
-                    if (lastChunkSection != null && (chunk = this.chunkManager.getChunkIfLoaded(
-                            lastChunkSection.getX(), lastChunkSection.getZ())) != null) {
-                        chunk.removeEntity(entity, lastChunkSection.getY());
-                    }
-                    chunk = this.chunkManager.getOrLoadChunk(newChunk.getX(), newChunk.getZ());
-                    chunk.addEntity(entity, newChunk.getY());
-                    entity.setLastChunkCoords(newChunk);
-                }
+        // Pulse the entities, the index can be iterated
+        // safely while entities are added or removed
+        this.entityIndex.forEach(this.entityPulser);
+    }
+
+    private void pulseEntity(LanternEntity entity) {
+        if (entity.isRemoved()) {
+            this.entityProtocolManager.remove(entity);
+            // Only remove the entities from their chunk that are "destroyed",
+            // the other ones can be resurrected after chunk loading
+            this.entityIndex.remove(entity, entity.getRemoveState() == LanternEntity.RemoveState.DESTROYED);
+        } else {
+            entity.pulse();
+            this.entityIndex.updateSection(entity);
+            if (entity instanceof LanternPlayer) {
+                this.playerGrid.update((LanternPlayer) entity);
             }
         }
     }
@@ -1488,6 +1488,18 @@ public void broadcast(Supplier<Message> message) {
         this.broadcast(message, null);
     }
 
+    /**
+     * Broadcasts the {@link Message} to all the {@link LanternPlayer}s
+     * that are positioned within the range around the given position.
+     *
+     * @param message The message supplier
+     * @param position The position
+     * @param range The range
+     */
+    public void broadcast(Supplier<Message> message, Vector3d position, double range) {
+        this.playerGrid.broadcast(message, position, range);
+    }
+
     public void broadcast(Supplier<Message> message, @Nullable Predicate<LanternPlayer> filter) {
         Set<LanternPlayer> players = this.players;
         if (filter != null) {
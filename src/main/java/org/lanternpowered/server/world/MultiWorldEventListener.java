@@ -63,6 +63,14 @@ public void onBlockChange(int x, int y, int z, BlockState oldBlockState, BlockSt
         this.listeners.forEach(listener -> listener.onBlockChange(x, y, z, oldBlockState, newBlockState));
     }
 
+    @Override
+    public void onBlockChanges(LanternChunk chunk, int section, int[] positions,
+            BlockState[] oldBlockStates, BlockState[] newBlockStates, int count) {
+        for (WorldEventListener listener : this.listeners) {
+            listener.onBlockChanges(chunk, section, positions, oldBlockStates, newBlockStates, count);
+        }
+    }
+
     @Override
     public void onBlockAction(int x, int y, int z, BlockType blockType, BlockAction blockAction) {
         this.listeners.forEach(listener -> listener.onBlockAction(x, y, z, blockType, blockAction));
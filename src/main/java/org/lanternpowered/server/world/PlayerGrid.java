@@ -0,0 +1,219 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world;
+
+import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.world.chunk.LanternChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A spatial grid of all the {@link LanternPlayer}s within a {@link LanternWorld},
+ * the players are stored per chunk column. This allows position scoped broadcasts
+ * to only visit the players that are within range.
+ * <p>
+ * The grid is updated by the world thread, lookups are allowed from any thread.
+ */
+final class PlayerGrid {
+
+    private static final long NO_CELL = Long.MIN_VALUE;
+
+    private final Long2ObjectMap<List<LanternPlayer>> cells = new Long2ObjectOpenHashMap<>();
+    private final Object2LongMap<LanternPlayer> playerCells = new Object2LongOpenHashMap<>();
+    private final StampedLock lock = new StampedLock();
+
+    {
+        this.playerCells.defaultReturnValue(NO_CELL);
+    }
+
+    /**
+     * Adds the {@link LanternPlayer} to the grid or moves it to the
+     * cell of its current position, if it changed since the last update.
+     *
+     * @param player The player
+     */
+    void update(LanternPlayer player) {
+        final Vector3d pos = player.getPosition();
+        final long cell = LanternChunk.key(pos.getFloorX() >> 4, pos.getFloorZ() >> 4);
+        // Only the world thread modifies the grid, so no lock is needed to read it here
+        final long lastCell = this.playerCells.getLong(player);
+        if (lastCell == cell) {
+            return;
+        }
+        final long stamp = this.lock.writeLock();
+        try {
+            if (lastCell != NO_CELL) {
+                removeFromCell(lastCell, player);
+            }
+            this.cells.computeIfAbsent(cell, cell1 -> new ArrayList<>(4)).add(player);
+            this.playerCells.put(player, cell);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the {@link LanternPlayer} from the grid.
+     *
+     * @param player The player
+     */
+    void remove(LanternPlayer player) {
+        final long stamp = this.lock.writeLock();
+        try {
+            final long lastCell = this.playerCells.removeLong(player);
+            if (lastCell != NO_CELL) {
+                removeFromCell(lastCell, player);
+            }
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void removeFromCell(long cell, LanternPlayer player) {
+        final List<LanternPlayer> players = this.cells.get(cell);
+        if (players != null) {
+            players.remove(player);
+            if (players.isEmpty()) {
+                this.cells.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the {@link LanternPlayer}s
+     * that are positioned within the range around the center.
+     *
+     * @param center The center
+     * @param range The range
+     * @param consumer The consumer
+     */
+    void forEachInRange(Vector3d center, double range, Consumer<LanternPlayer> consumer) {
+        final double rangeSquared = range * range;
+        final long stamp = this.lock.readLock();
+        try {
+            final double minX = Math.floor(center.getX() - range);
+            final double maxX = Math.ceil(center.getX() + range);
+            final double minZ = Math.floor(center.getZ() - range);
+            final double maxZ = Math.ceil(center.getZ() + range);
+            // Fall back to visiting all the players if there are more
+            // cells within range than that there are occupied cells
+            if (((maxX - minX) / 16.0 + 1.0) * ((maxZ - minZ) / 16.0 + 1.0) > this.cells.size()) {
+                for (List<LanternPlayer> players : this.cells.values()) {
+                    forEachInRange(players, center, rangeSquared, consumer);
+                }
+                return;
+            }
+            final int maxCellX = ((int) maxX) >> 4;
+            final int maxCellZ = ((int) maxZ) >> 4;
+            for (int x = ((int) minX) >> 4; x <= maxCellX; x++) {
+                for (int z = ((int) minZ) >> 4; z <= maxCellZ; z++) {
+                    final List<LanternPlayer> players = this.cells.get(LanternChunk.key(x, z));
+                    if (players != null) {
+                        forEachInRange(players, center, rangeSquared, consumer);
+                    }
+                }
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private static void forEachInRange(List<LanternPlayer> players, Vector3d center, double rangeSquared,
+            Consumer<LanternPlayer> consumer) {
+        for (int i = 0; i < players.size(); i++) {
+            final LanternPlayer player = players.get(i);
+            if (player.getPosition().distanceSquared(center) <= rangeSquared) {
+                consumer.accept(player);
+            }
+        }
+    }
+
+    /**
+     * Sends the {@link Message} to all the {@link LanternPlayer}s that are positioned
+     * within the range around the center. The message will only be requested from
+     * the supplier if there is at least one player within range.
+     *
+     * @param message The message supplier
+     * @param center The center
+     * @param range The range
+     */
+    void broadcast(Supplier<Message> message, Vector3d center, double range) {
+        final double rangeSquared = range * range;
+        final long stamp = this.lock.readLock();
+        try {
+            final double minX = Math.floor(center.getX() - range);
+            final double maxX = Math.ceil(center.getX() + range);
+            final double minZ = Math.floor(center.getZ() - range);
+            final double maxZ = Math.ceil(center.getZ() + range);
+            Message message0 = null;
+            if (((maxX - minX) / 16.0 + 1.0) * ((maxZ - minZ) / 16.0 + 1.0) > this.cells.size()) {
+                for (List<LanternPlayer> players : this.cells.values()) {
+                    message0 = broadcast(players, center, rangeSquared, message, message0);
+                }
+                return;
+            }
+            final int maxCellX = ((int) maxX) >> 4;
+            final int maxCellZ = ((int) maxZ) >> 4;
+            for (int x = ((int) minX) >> 4; x <= maxCellX; x++) {
+                for (int z = ((int) minZ) >> 4; z <= maxCellZ; z++) {
+                    final List<LanternPlayer> players = this.cells.get(LanternChunk.key(x, z));
+                    if (players != null) {
+                        message0 = broadcast(players, center, rangeSquared, message, message0);
+                    }
+                }
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Nullable
+    private static Message broadcast(List<LanternPlayer> players, Vector3d center, double rangeSquared,
+            Supplier<Message> supplier, @Nullable Message message) {
+        for (int i = 0; i < players.size(); i++) {
+            final LanternPlayer player = players.get(i);
+            if (player.getPosition().distanceSquared(center) <= rangeSquared) {
+                if (message == null) {
+                    message = supplier.get();
+                }
+                player.getConnection().send(message);
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import org.lanternpowered.server.world.chunk.ChunkBlockEditSession;
+import org.lanternpowered.server.world.extent.BlockEditSession;
+import org.spongepowered.api.block.BlockState;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link BlockEditSession} that spans a whole {@link LanternWorld}, the
+ * changes will be delegated to a {@link ChunkBlockEditSession} per chunk.
+ * Only one chunk session will be open at the same time, so changes should
+ * be grouped by chunk section for the best performance.
+ */
+final class WorldBlockEditSession implements BlockEditSession {
+
+    private final LanternWorld world;
+
+    @Nullable private ChunkBlockEditSession chunkSession;
+    private int chunkX;
+    private int chunkZ;
+
+    private boolean closed;
+
+    WorldBlockEditSession(LanternWorld world) {
+        this.world = world;
+    }
+
+    private ChunkBlockEditSession getChunkSession(int x, int z) {
+        checkState(!this.closed, "This edit session is closed.");
+        final int chunkX = x >> 4;
+        final int chunkZ = z >> 4;
+        ChunkBlockEditSession chunkSession = this.chunkSession;
+        if (chunkSession != null && this.chunkX == chunkX && this.chunkZ == chunkZ) {
+            return chunkSession;
+        }
+        if (chunkSession != null) {
+            chunkSession.close();
+        }
+        chunkSession = this.world.getChunkManager().getOrLoadChunk(chunkX, chunkZ).newBlockEditSession();
+        this.chunkSession = chunkSession;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        return chunkSession;
+    }
+
+    @Override
+    public BlockState getBlock(int x, int y, int z) {
+        return getChunkSession(x, z).getBlock(x, y, z);
+    }
+
+    @Override
+    public boolean setBlock(int x, int y, int z, BlockState block) {
+        checkNotNull(block, "block");
+        return getChunkSession(x, z).setBlock(x, y, z, block);
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        if (this.chunkSession != null) {
+            this.chunkSession.close();
+            this.chunkSession = null;
+        }
+        this.closed = true;
+    }
+}
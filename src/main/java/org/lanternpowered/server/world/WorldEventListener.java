@@ -65,6 +65,31 @@ public interface WorldEventListener {
      */
     void onBlockChange(int x, int y, int z, BlockState oldBlockState, BlockState newBlockState);
 
+    /**
+     * Is called when multiple {@link BlockState}s within a single chunk section
+     * are changed at once. The positions are packed relative to the section,
+     * see {@link LanternChunk.ChunkSection#index(int, int, int)}. The arrays
+     * are reused by the caller and should not be held onto.
+     *
+     * @param chunk The chunk
+     * @param section The section index
+     * @param positions The packed positions
+     * @param oldBlockStates The old block states
+     * @param newBlockStates The new block states
+     * @param count The amount of changes
+     */
+    default void onBlockChanges(LanternChunk chunk, int section, int[] positions,
+            BlockState[] oldBlockStates, BlockState[] newBlockStates, int count) {
+        final int baseX = chunk.getX() << 4;
+        final int baseY = section << 4;
+        final int baseZ = chunk.getZ() << 4;
+        for (int i = 0; i < count; i++) {
+            final int position = positions[i];
+            onBlockChange(baseX | (position & 0xf), baseY | (position >> 8), baseZ | ((position >> 4) & 0xf),
+                    oldBlockStates[i], newBlockStates[i]);
+        }
+    }
+
     /**
      * Is called when the {@link BlockAction} is triggered for the
      * {@link BlockType} at the specified coordinates.
@@ -0,0 +1,257 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static org.lanternpowered.server.world.chunk.LanternChunk.CHUNK_SECTION_VOLUME;
+
+import org.lanternpowered.server.game.registry.type.block.BlockRegistryModule;
+import org.lanternpowered.server.world.chunk.LanternChunk.ChunkSection;
+import org.lanternpowered.server.world.extent.BlockEditSession;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A session that can be used to perform many block changes within a
+ * {@link LanternChunk} without locking the target section for every
+ * change and without allocating any objects per change.
+ * <p>
+ * Changes are buffered per section and will be written into the section
+ * while holding its write lock only once, this happens every time that a
+ * different section is accessed or when the session is closed. Changes
+ * should therefore be grouped by section to get the best performance. No
+ * lock is held in between calls, so reading the chunk while a session is
+ * open can't deadlock.
+ * <p>
+ * Height map updates are applied per column and a single batched change
+ * notification is emitted every time that a section is written.
+ */
+public final class ChunkBlockEditSession implements BlockEditSession {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final LanternChunk chunk;
+    private final ConcurrentObjectArray<ChunkSection> sections;
+    private final ChunkSection[] rawSections;
+
+    // The section of the pending changes, or -1 if none
+    private int pendingSection = -1;
+
+    // The slot (+ 1) of the pending change for every position in the section
+    private final short[] slots = new short[CHUNK_SECTION_VOLUME];
+
+    // The pending changes within the section
+    private int count;
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private short[] types = new short[INITIAL_CAPACITY];
+    private BlockState[] states = new BlockState[INITIAL_CAPACITY];
+    private BlockState[] oldStates = new BlockState[INITIAL_CAPACITY];
+
+    private boolean closed;
+
+    ChunkBlockEditSession(LanternChunk chunk) {
+        this.chunk = chunk;
+        this.sections = chunk.getChunkSections();
+        this.rawSections = this.sections.getRawObjects();
+    }
+
+    /**
+     * Gets the {@link LanternChunk} that is being edited.
+     *
+     * @return The chunk
+     */
+    public LanternChunk getChunk() {
+        return this.chunk;
+    }
+
+    /**
+     * Gets the internal block type at the given coordinates,
+     * including the changes that are still pending.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The block type
+     */
+    public short getType(int x, int y, int z) {
+        checkState(!this.closed, "This edit session is closed.");
+        if (y >> 4 == this.pendingSection) {
+            final int slot = this.slots[ChunkSection.index(x & 0xf, y & 0xf, z & 0xf)];
+            if (slot != 0) {
+                return this.types[slot - 1];
+            }
+        }
+        return this.chunk.getType(x, y, z);
+    }
+
+    /**
+     * Gets the {@link BlockState} at the given coordinates,
+     * including the changes that are still pending.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The block state
+     */
+    @Override
+    public BlockState getBlock(int x, int y, int z) {
+        checkState(!this.closed, "This edit session is closed.");
+        if (y >> 4 == this.pendingSection) {
+            final int slot = this.slots[ChunkSection.index(x & 0xf, y & 0xf, z & 0xf)];
+            if (slot != 0) {
+                return this.states[slot - 1];
+            }
+        }
+        return BlockRegistryModule.get().getStateByInternalIdAndData(this.chunk.getType(x, y, z))
+                .orElse(BlockTypes.AIR.getDefaultState());
+    }
+
+    /**
+     * Sets the {@link BlockState} at the given coordinates, the change
+     * will be applied once the section is written.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param block The block state
+     * @return Whether the change was accepted
+     */
+    @Override
+    public boolean setBlock(int x, int y, int z, BlockState block) {
+        checkNotNull(block, "block");
+        checkState(!this.closed, "This edit session is closed.");
+        this.chunk.checkVolumeBounds(x, y, z);
+        if (!this.chunk.isLoaded()) {
+            return false;
+        }
+        final int section = y >> 4;
+        if (section != this.pendingSection) {
+            flush();
+            this.pendingSection = section;
+        }
+        final short type = BlockRegistryModule.get().getStateInternalIdAndData(block);
+        final int index = ChunkSection.index(x & 0xf, y & 0xf, z & 0xf);
+        final int slot = this.slots[index];
+        if (slot != 0) {
+            // Just overwrite the previous pending change
+            this.types[slot - 1] = type;
+            this.states[slot - 1] = block;
+            return true;
+        }
+        final int newSlot = this.count++;
+        if (newSlot == this.positions.length) {
+            final int length = newSlot << 1;
+            this.positions = Arrays.copyOf(this.positions, length);
+            this.types = Arrays.copyOf(this.types, length);
+            this.states = Arrays.copyOf(this.states, length);
+            this.oldStates = Arrays.copyOf(this.oldStates, length);
+        }
+        this.positions[newSlot] = index;
+        this.types[newSlot] = type;
+        this.states[newSlot] = block;
+        this.slots[index] = (short) (newSlot + 1);
+        return true;
+    }
+
+    /**
+     * Writes all the pending changes into the section.
+     */
+    private void flush() {
+        final int section = this.pendingSection;
+        final int count = this.count;
+        if (section == -1 || count == 0) {
+            return;
+        }
+        this.count = 0;
+        final int baseX = this.chunk.getX() << 4;
+        final int baseY = section << 4;
+        final int baseZ = this.chunk.getZ() << 4;
+        // The amount of changes that actually modified the section,
+        // the changes will be compacted to the start of the arrays
+        int changes = 0;
+        final StampedLock lock = this.sections.getLock(section);
+        final long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < count; i++) {
+                final int position = this.positions[i];
+                final short type = this.types[i];
+                final BlockState block = this.states[i];
+                this.slots[position] = 0;
+                // Air doesn't have metadata values
+                final short type1 = type >> 4 == 0 && type != 0 ? 0 : type;
+                final BlockState oldState = this.chunk.setType0(this.rawSections,
+                        baseX | (position & 0xf), baseY | (position >> 8), baseZ | ((position >> 4) & 0xf), type1, block);
+                if (oldState != null) {
+                    this.positions[changes] = position;
+                    this.types[changes] = type;
+                    this.states[changes] = block;
+                    this.oldStates[changes] = oldState;
+                    changes++;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (changes != 0) {
+            // Apply the changes outside the section lock, listeners
+            // may want to access the section of the chunk
+            this.chunk.updateHeightMap(section, this.positions, this.types, changes);
+            this.chunk.getWorld().getEventListener().onBlockChanges(this.chunk, section,
+                    this.positions, this.oldStates, this.states, changes);
+        }
+        Arrays.fill(this.states, 0, count, null);
+        Arrays.fill(this.oldStates, 0, changes, null);
+    }
+
+    /**
+     * Writes all the pending changes and applies the
+     * height map updates and change notifications.
+     *
+     * @throws IllegalStateException If the chunk was unloaded
+     *         while there were pending changes
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.chunk.isLoaded()) {
+            flush();
+        } else if (this.count != 0) {
+            final int count = this.count;
+            this.count = 0;
+            Arrays.fill(this.slots, (short) 0);
+            Arrays.fill(this.states, 0, count, null);
+            throw new IllegalStateException(String.format("The chunk (%s;%s) was unloaded before %s pending block changes could be written.",
+                    this.chunk.getX(), this.chunk.getZ(), count));
+        }
+    }
+}
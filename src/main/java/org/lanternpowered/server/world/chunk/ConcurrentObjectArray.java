@@ -51,6 +51,17 @@ public O[] getRawObjects() {
         return this.objects;
     }
 
+    /**
+     * Gets the lock of the object at the index, this can be used
+     * to access the raw objects without allocating functions.
+     *
+     * @param index The index of the object
+     * @return The lock
+     */
+    public StampedLock getLock(int index) {
+        return this.locks[index];
+    }
+
     /**
      * Sets the chunk section at the index.
      *
@@ -0,0 +1,228 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.lanternpowered.server.entity.LanternEntity;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A array backed collection of {@link LanternEntity}s which can be
+ * iterated without allocating iterators or copies.
+ * <p>
+ * Modifications are synchronized, iterations are lock free and work
+ * on the array that was present when the iteration started. Removed
+ * entities leave a empty slot behind, the slots will be cleaned up
+ * once there are enough of them by copying the remaining entries into
+ * a new array. This means that entries never move while they are
+ * being iterated. The slot of every entity is indexed, so entities
+ * can be removed without searching the array.
+ */
+public final class EntityBucket {
+
+    private static final LanternEntity[] EMPTY = new LanternEntity[0];
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    // The entities, the array will be replaced when the bucket grows or is being compacted
+    private volatile LanternEntity[] entities = EMPTY;
+
+    // The amount of slots that are in use, including the empty ones
+    private volatile int size;
+
+    // The amount of entities that are present in the bucket
+    private volatile int count;
+
+    // The slot index of every entity in the bucket, only accessed while synchronized
+    private final Reference2IntMap<LanternEntity> slots = new Reference2IntOpenHashMap<>(0);
+
+    public EntityBucket() {
+        this.slots.defaultReturnValue(-1);
+    }
+
+    /**
+     * Gets the amount of entities in this bucket.
+     *
+     * @return The amount of entities
+     */
+    public int count() {
+        return this.count;
+    }
+
+    /**
+     * Gets whether this bucket is empty.
+     *
+     * @return Is empty
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Adds the {@link LanternEntity} to this bucket, if it isn't already present.
+     *
+     * @param entity The entity
+     */
+    public synchronized void add(LanternEntity entity) {
+        if (this.slots.containsKey(entity)) {
+            return;
+        }
+        LanternEntity[] entities = this.entities;
+        final int size = this.size;
+        if (size == entities.length) {
+            // Try to reuse the empty slots before growing
+            if (this.count < size) {
+                entities = compact0(entities, size, entities.length);
+            } else {
+                entities = Arrays.copyOf(entities, Math.max(INITIAL_CAPACITY, entities.length << 1));
+                this.entities = entities;
+            }
+        }
+        final int index = this.size;
+        entities[index] = entity;
+        this.slots.put(entity, index);
+        this.count++;
+        // Publish the new entry
+        this.size = index + 1;
+    }
+
+    /**
+     * Removes the {@link LanternEntity} from this bucket.
+     *
+     * @param entity The entity
+     * @return Whether the entity was removed
+     */
+    public synchronized boolean remove(LanternEntity entity) {
+        final int index = this.slots.removeInt(entity);
+        if (index == -1) {
+            return false;
+        }
+        this.entities[index] = null;
+        this.count--;
+        compact();
+        return true;
+    }
+
+    /**
+     * Removes all the {@link LanternEntity}s that match the given {@link Predicate}.
+     *
+     * @param filter The filter
+     */
+    public synchronized void removeIf(Predicate<LanternEntity> filter) {
+        final LanternEntity[] entities = this.entities;
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            final LanternEntity entity = entities[i];
+            if (entity != null && filter.test(entity)) {
+                entities[i] = null;
+                this.slots.removeInt(entity);
+                this.count--;
+            }
+        }
+        compact();
+    }
+
+    /**
+     * Removes the empty slots that are left behind by removed
+     * entities, if there are enough of them.
+     */
+    private void compact() {
+        final int size = this.size;
+        final int empty = size - this.count;
+        if (empty < Math.max(INITIAL_CAPACITY, size >> 2)) {
+            return;
+        }
+        final LanternEntity[] entities = this.entities;
+        // Shrink the array if it's way too large
+        final int capacity = this.count < (entities.length >> 2) ?
+                Math.max(INITIAL_CAPACITY, entities.length >> 1) : entities.length;
+        compact0(entities, size, capacity);
+    }
+
+    private LanternEntity[] compact0(LanternEntity[] entities, int size, int capacity) {
+        // Always create a new array, the old one may still be iterated
+        final LanternEntity[] newEntities = new LanternEntity[capacity];
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            final LanternEntity entity = entities[i];
+            if (entity != null) {
+                this.slots.put(entity, j);
+                newEntities[j++] = entity;
+            }
+        }
+        // Write the array before the size, this
+        // is the order which is expected by the readers
+        this.entities = newEntities;
+        this.size = j;
+        return newEntities;
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the {@link LanternEntity}s in this bucket.
+     * <p>
+     * Entities that are added while iterating won't be visited, entities that
+     * are removed while iterating may still be visited.
+     *
+     * @param consumer The consumer
+     */
+    public void forEach(Consumer<? super LanternEntity> consumer) {
+        // Read the size before the array
+        final int size = this.size;
+        final LanternEntity[] entities = this.entities;
+        final int length = Math.min(size, entities.length);
+        for (int i = 0; i < length; i++) {
+            final LanternEntity entity = entities[i];
+            if (entity != null) {
+                consumer.accept(entity);
+            }
+        }
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the {@link LanternEntity}s in this
+     * bucket that are a instance of the given type. Entities that are
+     * {@link LanternEntity.RemoveState#DESTROYED} will be skipped.
+     *
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T> void forEach(Class<T> type, Consumer<? super T> consumer) {
+        final int size = this.size;
+        final LanternEntity[] entities = this.entities;
+        final int length = Math.min(size, entities.length);
+        for (int i = 0; i < length; i++) {
+            final LanternEntity entity = entities[i];
+            if (type.isInstance(entity) && entity.getRemoveState() != LanternEntity.RemoveState.DESTROYED) {
+                consumer.accept(type.cast(entity));
+            }
+        }
+    }
+}
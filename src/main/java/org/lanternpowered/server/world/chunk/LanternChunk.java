@@ -37,7 +37,6 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
 import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
@@ -112,7 +111,6 @@
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -133,6 +131,43 @@ public static long key(int cx, int cz) {
         return ((long) cx & 0x3ffffff) << 38 | ((long) cz & 0x3ffffff);
     }
 
+    public static int keyX(long key) {
+        return (int) (key >> 38);
+    }
+
+    public static int keyZ(long key) {
+        return (int) (key << 38 >> 38);
+    }
+
+    /**
+     * A section key that doesn't represent any chunk section.
+     */
+    public static final long NO_SECTION_KEY = Long.MIN_VALUE;
+
+    /**
+     * Packs the coordinates of a chunk section into a single {@code long}.
+     *
+     * @param cx The chunk x coordinate
+     * @param cy The chunk section y coordinate
+     * @param cz The chunk z coordinate
+     * @return The section key
+     */
+    public static long sectionKey(int cx, int cy, int cz) {
+        return ((long) cx & 0x3ffffff) << 38 | ((long) cz & 0x3ffffff) << 12 | ((long) cy & 0xfff);
+    }
+
+    public static int sectionKeyX(long sectionKey) {
+        return (int) (sectionKey >> 38);
+    }
+
+    public static int sectionKeyY(long sectionKey) {
+        return (int) (sectionKey & 0xfff);
+    }
+
+    public static int sectionKeyZ(long sectionKey) {
+        return (int) (sectionKey << 26 >> 38);
+    }
+
     // The size of a chunk section in the x, y and z directions
     public static final int CHUNK_SECTION_SIZE = 16;
     // The volume of a chunk and a chunk section (xz plane)
@@ -374,13 +409,12 @@ private ChunkSectionSnapshot(short[] types, Short2ShortMap typesCountMap, Short2
     // Whether the light in this chunk is populated
     private boolean lightPopulated;
 
-    // The set which contains all the entities in this chunk
-    @SuppressWarnings("unchecked")
-    private final Set<LanternEntity>[] entities = new Set[CHUNK_SECTIONS];
+    // The buckets which contain all the entities in this chunk, per section
+    private final EntityBucket[] entities = new EntityBucket[CHUNK_SECTIONS];
 
     {
         for (int i = 0; i < this.entities.length; i++) {
-            this.entities[i] = Sets.newConcurrentHashSet();
+            this.entities[i] = new EntityBucket();
         }
     }
 
@@ -840,12 +874,27 @@ public short getType(int x, int y, int z) {
         if (!this.loaded) {
             return 0;
         }
-        return this.chunkSections.work(y >> 4, section -> {
-            if (section != null) {
-                return section.types[ChunkSection.index(x & 0xf, y & 0xf, z & 0xf)];
+        final int sectionIndex = y >> 4;
+        final int index = ChunkSection.index(x & 0xf, y & 0xf, z & 0xf);
+        final ChunkSection[] sections = this.chunkSections.getRawObjects();
+        final StampedLock lock = this.chunkSections.getLock(sectionIndex);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            // The types array is final, so the section
+            // can be accessed without the lock
+            final ChunkSection section = sections[sectionIndex];
+            final short type = section == null ? 0 : section.types[index];
+            if (lock.validate(stamp)) {
+                return type;
             }
-            return (short) 0;
-        }, false);
+        }
+        stamp = lock.readLock();
+        try {
+            final ChunkSection section = sections[sectionIndex];
+            return section == null ? 0 : section.types[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
@@ -871,108 +920,217 @@ public boolean setBlock(int x, int y, int z, BlockState block, BlockChangeFlag f
             type1 = type;
         }
 
-        final BlockState[] changeData = new BlockState[1];
+        final int sectionIndex = y >> 4;
+        final StampedLock lock = this.chunkSections.getLock(sectionIndex);
+        final BlockState oldState;
+        final long stamp = lock.writeLock();
+        try {
+            oldState = setType0(this.chunkSections.getRawObjects(), x, y, z, type1, block);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
 
-        final int rx = x & 0xf;
-        final int rz = z & 0xf;
-        this.chunkSections.work(y >> 4, section -> {
-            if (section == null) {
-                // The section is already filled with air,
-                // so we can fail fast
-                if (type1 == 0) {
-                    return section;
-                }
-                // Create a new section
-                section = new ChunkSection();
-            }
-            final int index = ChunkSection.index(rx, y & 0xf, rz);
-            final short oldType = section.types[index];
-            if (oldType == type1) {
-                return section;
-            }
-            if (oldType != 0) {
-                short count = section.typesCountMap.get(oldType);
-                if (count > 0) {
-                    if (--count <= 0) {
-                        section.typesCountMap.remove(oldType);
-                    } else {
-                        section.typesCountMap.put(oldType, count);
-                    }
-                }
+        updateHeightMap(x, y, z, type);
+
+        if (oldState != null) {
+            this.world.getEventListener().onBlockChange(x, y, z, oldState, block);
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets the block type at the given coordinates in the section array. The
+     * caller is responsible for holding the write lock of the target section.
+     *
+     * @param sections The raw chunk sections
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param type1 The new block type
+     * @param block The new block state
+     * @return The old block state, or {@code null} if nothing changed
+     */
+    @Nullable
+    BlockState setType0(ChunkSection[] sections, int x, int y, int z, short type1, BlockState block) {
+        final int sectionIndex = y >> 4;
+        ChunkSection section = sections[sectionIndex];
+        if (section == null) {
+            // The section is already filled with air,
+            // so we can fail fast
+            if (type1 == 0) {
+                return null;
             }
-            if (type1 != 0) {
-                section.typesCountMap.put(type1, (short) (section.typesCountMap.get(type1) + 1));
-                if (oldType == 0) {
-                    section.nonAirCount++;
+            // Create a new section
+            section = new ChunkSection();
+            sections[sectionIndex] = section;
+        }
+        final int index = ChunkSection.index(x & 0xf, y & 0xf, z & 0xf);
+        final short oldType = section.types[index];
+        if (oldType == type1) {
+            return null;
+        }
+        if (oldType != 0) {
+            short count = section.typesCountMap.get(oldType);
+            if (count > 0) {
+                if (--count <= 0) {
+                    section.typesCountMap.remove(oldType);
+                } else {
+                    section.typesCountMap.put(oldType, count);
                 }
-            } else {
-                section.nonAirCount--;
             }
-            final BlockState oldState = BlockRegistryModule.get().getStateByInternalIdAndData(oldType).get();
-            changeData[0] = oldState;
-            // The section is empty, destroy it
-            if (section.nonAirCount <= 0) {
-                return null;
+        }
+        if (type1 != 0) {
+            section.typesCountMap.put(type1, (short) (section.typesCountMap.get(type1) + 1));
+            if (oldType == 0) {
+                section.nonAirCount++;
             }
-            final LanternTileEntity tileEntity = section.tileEntities.get((short) index);
-            boolean remove = false;
-            boolean refresh = false;
-            final Optional<TileEntityProvider> tileEntityProvider = ((LanternBlockType) block.getType()).getTileEntityProvider();
-            if (tileEntity != null) {
-                if (oldType == 0 || type1 == 0) {
-                    remove = true;
-                } else if (tileEntity instanceof ITileEntityRefreshBehavior) {
-                    if (((ITileEntityRefreshBehavior) tileEntity).shouldRefresh(oldState, block)) {
-                        remove = true;
-                        refresh = true;
-                    }
-                } else if (oldType >> 4 != type1 >> 4) {
-                    // The default behavior will only refresh if the
-                    // block type is changed and not the block state
+        } else {
+            section.nonAirCount--;
+        }
+        final BlockState oldState = BlockRegistryModule.get().getStateByInternalIdAndData(oldType).get();
+        // The section is empty, destroy it
+        if (section.nonAirCount <= 0) {
+            sections[sectionIndex] = null;
+            return oldState;
+        }
+        final LanternTileEntity tileEntity = section.tileEntities.get((short) index);
+        boolean remove = false;
+        boolean refresh = false;
+        final Optional<TileEntityProvider> tileEntityProvider = ((LanternBlockType) block.getType()).getTileEntityProvider();
+        if (tileEntity != null) {
+            if (oldType == 0 || type1 == 0) {
+                remove = true;
+            } else if (tileEntity instanceof ITileEntityRefreshBehavior) {
+                if (((ITileEntityRefreshBehavior) tileEntity).shouldRefresh(oldState, block)) {
                     remove = true;
                     refresh = true;
                 }
-                if (refresh && !tileEntityProvider.isPresent()) {
-                    refresh = false;
-                }
-            } else if (tileEntityProvider.isPresent()) {
+            } else if (oldType >> 4 != type1 >> 4) {
+                // The default behavior will only refresh if the
+                // block type is changed and not the block state
+                remove = true;
                 refresh = true;
             }
-            if (remove) {
-                tileEntity.setValid(false);
+            if (refresh && !tileEntityProvider.isPresent()) {
+                refresh = false;
             }
-            if (refresh) {
-                final Location<World> location = tileEntity != null ? tileEntity.getLocation() : new Location<>(this.world, x, y, z);
-                final LanternTileEntity newTileEntity = (LanternTileEntity) tileEntityProvider.get().get(block, location, null);
-                section.tileEntities.put((short) index, newTileEntity);
-                newTileEntity.setLocation(location);
-                newTileEntity.setValid(true);
-            } else if (remove) {
-                section.tileEntities.remove((short) index);
-            }
-            section.types[index] = type1;
-            return section;
-        });
+        } else if (tileEntityProvider.isPresent()) {
+            refresh = true;
+        }
+        if (remove) {
+            tileEntity.setValid(false);
+        }
+        if (refresh) {
+            final Location<World> location = tileEntity != null ? tileEntity.getLocation() : new Location<>(this.world, x, y, z);
+            final LanternTileEntity newTileEntity = (LanternTileEntity) tileEntityProvider.get().get(block, location, null);
+            section.tileEntities.put((short) index, newTileEntity);
+            newTileEntity.setLocation(location);
+            newTileEntity.setValid(true);
+        } else if (remove) {
+            section.tileEntities.remove((short) index);
+        }
+        section.types[index] = type1;
+        return oldState;
+    }
 
-        final int index = rz << 4 | rx;
-        long stamp = this.heightMapLock.writeLock();
+    /**
+     * Updates the height map after the block type at
+     * the given coordinates was changed.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param type The new block type
+     */
+    void updateHeightMap(int x, int y, int z, short type) {
+        final long stamp = this.heightMapLock.writeLock();
         try {
-            // TODO: Check first and then use the write lock?
-            if (type != 0 && (this.heightMap[index] & 0xff) < y) {
-                this.heightMap[index] = (byte) y;
-                this.heightMapUpdateFlags.clear(index);
-            } else if (type == 0 && (this.heightMap[index] & 0xff) == y) {
-                this.heightMapUpdateFlags.set(index);
+            updateHeightMap0(x, y, z, type);
+        } finally {
+            this.heightMapLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates the height map for multiple changed blocks, the
+     * positions are packed as {@link ChunkSection#index(int, int, int)}
+     * relative to the given section.
+     *
+     * @param sectionIndex The section index
+     * @param positions The packed positions
+     * @param types The new block types
+     * @param count The amount of changes
+     */
+    void updateHeightMap(int sectionIndex, int[] positions, short[] types, int count) {
+        final int baseY = sectionIndex << 4;
+        // Collect the changes per column first, so that every column only
+        // has to be updated once. The lowest 9 bits represent the highest
+        // placed block (y + 1) and the 10th bit whether a block was removed.
+        final short[] columns = new short[CHUNK_AREA];
+        for (int i = 0; i < count; i++) {
+            final int position = positions[i];
+            final int column = position & 0xff;
+            final int value = columns[column];
+            if (types[i] != 0) {
+                final int y = baseY + (position >> 8) + 1;
+                if (y > (value & 0x1ff)) {
+                    columns[column] = (short) ((value & 0x200) | y);
+                }
+            } else {
+                columns[column] = (short) (value | 0x200);
+            }
+        }
+        final long stamp = this.heightMapLock.writeLock();
+        try {
+            for (int index = 0; index < CHUNK_AREA; index++) {
+                final int value = columns[index];
+                if (value == 0) {
+                    continue;
+                }
+                final int y = (value & 0x1ff) - 1;
+                final boolean removed = (value & 0x200) != 0;
+                if (y > (this.heightMap[index] & 0xff)) {
+                    this.heightMap[index] = (byte) y;
+                    if (!removed) {
+                        this.heightMapUpdateFlags.clear(index);
+                    }
+                }
+                // The removed block could have been the highest block, or
+                // could have replaced a block placed within the same batch,
+                // let the height map be recalculated when needed
+                if (removed) {
+                    this.heightMapUpdateFlags.set(index);
+                }
             }
         } finally {
-            this.heightMapLock.unlock(stamp);
+            this.heightMapLock.unlockWrite(stamp);
         }
+    }
 
-        if (changeData[0] != null) {
-            this.world.getEventListener().onBlockChange(x, y, z, changeData[0], block);
+    private void updateHeightMap0(int x, int y, int z, short type) {
+        final int index = (z & 0xf) << 4 | x & 0xf;
+        if (type != 0 && (this.heightMap[index] & 0xff) < y) {
+            this.heightMap[index] = (byte) y;
+            this.heightMapUpdateFlags.clear(index);
+        } else if (type == 0 && (this.heightMap[index] & 0xff) == y) {
+            this.heightMapUpdateFlags.set(index);
         }
+    }
 
-        return true;
+    /**
+     * Creates a new {@link ChunkBlockEditSession} which can be used to
+     * perform many block changes while locking each section only once.
+     *
+     * @return The edit session
+     */
+    @Override
+    public ChunkBlockEditSession newBlockEditSession() {
+        return new ChunkBlockEditSession(this);
+    }
+
+    ConcurrentObjectArray<ChunkSection> getChunkSections() {
+        return this.chunkSections;
     }
 
     public void addBlockAction(int x, int y, int z, BlockType blockType, BlockAction blockAction) {
@@ -998,8 +1156,7 @@ public byte getBlockLight(int x, int y, int z) {
         if (!this.loaded) {
             return 0;
         }
-        return this.chunkSections.work(y >> 4, section -> section == null ? 0 :
-                section.lightFromBlock.get(ChunkSection.index(x & 0xf, y & 0xf, z & 0xf)), false);
+        return getLight(x, y, z, false, (byte) 0);
     }
 
     /**
@@ -1015,8 +1172,29 @@ public byte getSkyLight(int x, int y, int z) {
         if (!this.loaded) {
             return 15;
         }
-        return this.chunkSections.work(y >> 4, section -> section == null ? 15 :
-                section.lightFromSky.get(ChunkSection.index(x & 0xf, y & 0xf, z & 0xf)), false);
+        return getLight(x, y, z, true, (byte) 15);
+    }
+
+    private byte getLight(int x, int y, int z, boolean sky, byte defaultValue) {
+        final int sectionIndex = y >> 4;
+        final int index = ChunkSection.index(x & 0xf, y & 0xf, z & 0xf);
+        final ChunkSection[] sections = this.chunkSections.getRawObjects();
+        final StampedLock lock = this.chunkSections.getLock(sectionIndex);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            final ChunkSection section = sections[sectionIndex];
+            final byte light = section == null ? defaultValue : (sky ? section.lightFromSky : section.lightFromBlock).get(index);
+            if (lock.validate(stamp)) {
+                return light;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            final ChunkSection section = sections[sectionIndex];
+            return section == null ? defaultValue : (sky ? section.lightFromSky : section.lightFromBlock).get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
@@ -1311,53 +1489,75 @@ public static int fixEntityYSection(int section) {
     }
 
     public void addIntersectingEntities(ImmutableSet.Builder<Entity> builder, int maxYSection, int minYSection, AABB box, Predicate<Entity> filter) {
-        for (int i = minYSection; i <= maxYSection; i++) {
-            forEachEntity(i, entity -> {
-                final Optional<AABB> aabb = entity.getBoundingBox();
-                if (aabb.isPresent()) {
-                    if (aabb.get().intersects(box) && filter.test(entity)) {
-                        builder.add(entity);
-                    }
-                } else if (box.contains(entity.getPosition()) && filter.test(entity)) {
-                    builder.add(entity);
-                }
-            });
-        }
+        forEachIntersectingEntity(maxYSection, minYSection, box, LanternEntity.class, entity -> {
+            if (filter.test(entity)) {
+                builder.add(entity);
+            }
+        });
     }
 
     public void addIntersectingEntitiesBoxes(ImmutableSet.Builder<AABB> builder, int maxYSection, int minYSection,
             AABB box, Predicate<Entity> filter) {
+        forEachIntersectingEntity(maxYSection, minYSection, box, LanternEntity.class, entity -> {
+            final Optional<AABB> aabb = entity.getBoundingBox();
+            if (aabb.isPresent() && filter.test(entity)) {
+                builder.add(aabb.get());
+            }
+        });
+    }
+
+    /**
+     * Applies the {@link Consumer} to all the entities of the given type
+     * within the specified sections that intersect with the {@link AABB}.
+     *
+     * @param maxYSection The maximum section index
+     * @param minYSection The minimum section index
+     * @param box The bounding box
+     * @param type The entity type
+     * @param consumer The consumer
+     * @param <T> The type of the entity
+     */
+    public <T extends Entity> void forEachIntersectingEntity(int maxYSection, int minYSection, AABB box,
+            Class<T> type, Consumer<? super T> consumer) {
+        Consumer<T> intersectionConsumer = null;
         for (int i = minYSection; i <= maxYSection; i++) {
-            forEachEntity(i, entity -> {
-                final Optional<AABB> aabb = entity.getBoundingBox();
-                if (aabb.isPresent()) {
-                    if (aabb.get().intersects(box) && filter.test(entity)) {
-                        builder.add(aabb.get());
+            final EntityBucket bucket = this.entities[i];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            if (intersectionConsumer == null) {
+                intersectionConsumer = entity -> {
+                    final LanternEntity lanternEntity = (LanternEntity) entity;
+                    final Optional<AABB> aabb = lanternEntity.getBoundingBox();
+                    if (aabb.isPresent() ? aabb.get().intersects(box) : box.contains(lanternEntity.getPosition())) {
+                        consumer.accept(entity);
                     }
-                } else if (box.contains(entity.getPosition()) && filter.test(entity)) {
-                    builder.add(aabb.get());
-                }
-            });
+                };
+            }
+            bucket.forEach(type, intersectionConsumer);
         }
     }
 
+    /**
+     * Gets the {@link EntityBucket} of the given section.
+     *
+     * @param section The section index
+     * @return The entity bucket
+     */
+    public EntityBucket getEntityBucket(int section) {
+        return this.entities[section];
+    }
+
     @Override
     public ArchetypeVolume createArchetypeVolume(Vector3i min, Vector3i max, Vector3i origin) {
         return null;
     }
 
     private void forEachEntity(int section, Consumer<LanternEntity> consumer) {
-        final Iterator<LanternEntity> iterator = this.entities[section].iterator();
-        while (iterator.hasNext()) {
-            final LanternEntity entity = iterator.next();
-            // Only remove the entities that are "destroyed",
-            // the other ones can be resurrected after chunk loading
-            if (entity.getRemoveState() == LanternEntity.RemoveState.DESTROYED) {
-                iterator.remove();
-            } else {
-                consumer.accept(entity);
-            }
-        }
+        // Only remove the entities that are "destroyed",
+        // the other ones can be resurrected after chunk loading
+        this.entities[section].removeIf(entity -> entity.getRemoveState() == LanternEntity.RemoveState.DESTROYED);
+        this.entities[section].forEach(consumer);
     }
 
     private void forEachEntity(Consumer<LanternEntity> consumer) {
@@ -1822,7 +2022,7 @@ public Vector3i getPosition() {
     }
 
     @Override
-    public World getWorld() {
+    public LanternWorld getWorld() {
         return this.world;
     }
 
@@ -575,6 +575,16 @@ public ImmutableSet<Chunk> getLoadedChunks() {
         return this.loadedChunks.values().stream().filter(Chunk::isLoaded).collect(ImmutableSet.toImmutableSet());
     }
 
+    /**
+     * Gets the amount of loaded chunks, this may include
+     * chunks that are currently being loaded or unloaded.
+     *
+     * @return The amount of loaded chunks
+     */
+    public int getLoadedChunkCount() {
+        return this.loadedChunks.size();
+    }
+
     /**
      * Gets a chunk for the coordinates,
      * may not be loaded yet.
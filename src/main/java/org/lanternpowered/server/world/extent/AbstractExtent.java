@@ -72,6 +72,16 @@ default void checkVolumeBounds(Vector3i position) {
         checkVolumeBounds(position.getX(), position.getY(), position.getZ());
     }
 
+    /**
+     * Creates a new {@link BlockEditSession} which can be
+     * used to apply many block changes to this extent.
+     *
+     * @return The edit session
+     */
+    default BlockEditSession newBlockEditSession() {
+        return BlockEditSession.direct(this);
+    }
+
     @Override
     default MutableBiomeVolumeWorker<? extends Extent> getBiomeWorker() {
         return new LanternMutableBiomeVolumeWorker<>(this);
@@ -82,6 +92,28 @@ default MutableBlockVolumeWorker<? extends Extent> getBlockWorker() {
         return new LanternMutableBlockVolumeWorker<>(this);
     }
 
+    /**
+     * Gets a {@link MutableBiomeVolumeWorker} which splits the work into
+     * chunk aligned slabs that are processed in parallel. The procedures
+     * that are passed to the worker must be thread safe.
+     *
+     * @return The parallel biome worker
+     */
+    default MutableBiomeVolumeWorker<? extends Extent> getParallelBiomeWorker() {
+        return new LanternMutableBiomeVolumeWorker<>(this, true);
+    }
+
+    /**
+     * Gets a {@link MutableBlockVolumeWorker} which splits the work into
+     * chunk aligned slabs that are processed in parallel. The procedures
+     * that are passed to the worker must be thread safe.
+     *
+     * @return The parallel block worker
+     */
+    default MutableBlockVolumeWorker<? extends Extent> getParallelBlockWorker() {
+        return new LanternMutableBlockVolumeWorker<>(this, true);
+    }
+
     @Override
     default boolean restoreSnapshot(BlockSnapshot snapshot, boolean force, BlockChangeFlag flag) {
         final Location<World> location = checkNotNull(snapshot, "snapshot").getLocation().orElse(null);
@@ -0,0 +1,115 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.extent;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+
+/**
+ * A session that can be used to apply many block changes to a
+ * {@link MutableBlockVolume} at once. Block volumes that are backed by
+ * chunks will write directly into the chunk sections and will batch the
+ * height map updates and change notifications per section.
+ * <p>
+ * Changes are only guaranteed to be visible to other threads and
+ * observers after the session is closed.
+ */
+public interface BlockEditSession extends AutoCloseable {
+
+    /**
+     * Creates a new {@link BlockEditSession} for the given {@link MutableBlockVolume}.
+     *
+     * @param volume The block volume
+     * @return The edit session
+     */
+    static BlockEditSession of(MutableBlockVolume volume) {
+        checkNotNull(volume, "volume");
+        if (volume instanceof AbstractExtent) {
+            return ((AbstractExtent) volume).newBlockEditSession();
+        }
+        return direct(volume);
+    }
+
+    /**
+     * Creates a new {@link BlockEditSession} which applies all
+     * the changes directly to the {@link MutableBlockVolume}.
+     *
+     * @param volume The block volume
+     * @return The edit session
+     */
+    static BlockEditSession direct(MutableBlockVolume volume) {
+        checkNotNull(volume, "volume");
+        return new BlockEditSession() {
+            @Override
+            public BlockState getBlock(int x, int y, int z) {
+                return volume.getBlock(x, y, z);
+            }
+
+            @Override
+            public boolean setBlock(int x, int y, int z, BlockState block) {
+                return volume.setBlock(x, y, z, block);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Gets the {@link BlockState} at the given coordinates.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The block state
+     */
+    BlockState getBlock(int x, int y, int z);
+
+    /**
+     * Sets the {@link BlockState} at the given coordinates. The change
+     * may be buffered and only be applied once the session is closed.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @param block The block state
+     * @return Whether the change was accepted, a buffered change
+     *         doesn't guarantee that the block will be changed
+     */
+    boolean setBlock(int x, int y, int z, BlockState block);
+
+    /**
+     * Applies all the pending changes and releases
+     * all the resources held by this session.
+     *
+     * @throws IllegalStateException If the pending changes couldn't be applied
+     */
+    @Override
+    void close();
+}
@@ -275,6 +275,29 @@ public boolean setBlock(int x, int y, int z, BlockState blockState) {
         return this.extent.setBlock(x, y, z, blockState);
     }
 
+    @Override
+    public BlockEditSession newBlockEditSession() {
+        final BlockEditSession session = BlockEditSession.of(this.extent);
+        return new BlockEditSession() {
+            @Override
+            public BlockState getBlock(int x, int y, int z) {
+                checkRange(x, y, z);
+                return session.getBlock(x, y, z);
+            }
+
+            @Override
+            public boolean setBlock(int x, int y, int z, BlockState block) {
+                checkRange(x, y, z);
+                return session.setBlock(x, y, z, block);
+            }
+
+            @Override
+            public void close() {
+                session.close();
+            }
+        };
+    }
+
     @Override
     public BlockSnapshot createSnapshot(int x, int y, int z) {
         checkRange(x, y, z);
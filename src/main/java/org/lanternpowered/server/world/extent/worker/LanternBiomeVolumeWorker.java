@@ -44,8 +44,20 @@
 
     protected final V volume;
 
+    /**
+     * Whether the work should be split into slabs which are processed in
+     * parallel. The procedures and the destination volumes must be thread
+     * safe in that case, every slab will only write to its own chunk columns.
+     */
+    protected final boolean parallel;
+
     public LanternBiomeVolumeWorker(V volume) {
+        this(volume, false);
+    }
+
+    public LanternBiomeVolumeWorker(V volume, boolean parallel) {
         this.volume = volume;
+        this.parallel = parallel;
     }
 
     @Override
@@ -53,6 +65,15 @@ public V getVolume() {
         return this.volume;
     }
 
+    /**
+     * Gets whether this worker processes the volume in parallel.
+     *
+     * @return Is parallel
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
     @Override
     public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final Vector3i offset = align(destination);
@@ -66,14 +87,16 @@ public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BiomeType biome = mapper.map(unmodifiableArea, x, y, z);
-                    destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biome);
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, xOffset, zOffset, (xMin1, zMin1, xMax1, zMax1) -> {
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        final BiomeType biome = mapper.map(unmodifiableArea, x, y, z);
+                        destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biome);
+                    }
                 }
             }
-        }
+        });
     }
 
     @Override
@@ -94,15 +117,18 @@ public void merge(BiomeVolume second, BiomeVolumeMerger merger, MutableBiomeVolu
         final int yMax = firstUnmodifiableArea.getBiomeMax().getY();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getZ();
         final UnmodifiableBiomeVolume secondUnmodifiableArea = second.getUnmodifiableBiomeView();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BiomeType biome = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond, y + yOffsetSecond,
-                            z + zOffsetSecond);
-                    destination.setBiome(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, biome);
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, xOffsetDestination, zOffsetDestination,
+                (xMin1, zMin1, xMax1, zMax1) -> {
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        final BiomeType biome = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea,
+                                x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        destination.setBiome(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, biome);
+                    }
                 }
             }
-        }
+        });
     }
 
     @Override
@@ -113,13 +139,15 @@ public void iterate(BiomeVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBiomeMax().getX();
         final int yMax = this.volume.getBiomeMax().getY();
         final int zMax = this.volume.getBiomeMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    visitor.visit(this.volume, x, y, z);
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, 0, 0, (xMin1, zMin1, xMax1, zMax1) -> {
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
                 }
             }
-        }
+        });
     }
 
     @Override
@@ -131,15 +159,19 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
-        T reduction = identity;
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableArea, x, y, z, reduction);
+        // Every slab is reduced starting from the identity, the partial
+        // results are combined afterwards with the merge function
+        return VolumeSlabExecutor.reduce(this.parallel, xMin, zMin, xMax, zMax, (xMin1, zMin1, xMax1, zMax1, identity1) -> {
+            T reduction = identity1;
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        reduction = reducer.reduce(unmodifiableArea, x, y, z, reduction);
+                    }
                 }
             }
-        }
-        return reduction;
+            return reduction;
+        }, merge, identity);
     }
 
     private Vector3i align(BiomeVolume other) {
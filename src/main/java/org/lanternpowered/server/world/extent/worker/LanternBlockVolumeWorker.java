@@ -29,6 +29,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.vector.Vector3i;
+import org.lanternpowered.server.world.extent.BlockEditSession;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.world.extent.BlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
@@ -45,8 +46,20 @@
 
     protected final V volume;
 
+    /**
+     * Whether the work should be split into slabs which are processed in
+     * parallel. The procedures and the destination volumes must be thread
+     * safe in that case, every slab will only write to its own chunk columns.
+     */
+    protected final boolean parallel;
+
     public LanternBlockVolumeWorker(V volume) {
+        this(volume, false);
+    }
+
+    public LanternBlockVolumeWorker(V volume, boolean parallel) {
         this.volume = checkNotNull(volume, "volume");
+        this.parallel = parallel;
     }
 
     @Override
@@ -54,6 +67,15 @@ public V getVolume() {
         return this.volume;
     }
 
+    /**
+     * Gets whether this worker processes the volume in parallel.
+     *
+     * @return Is parallel
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
     @Override
     public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final Vector3i offset = align(destination);
@@ -67,14 +89,16 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, xOffset, zOffset, (xMin1, zMin1, xMax1, zMax1) -> {
+            // Apply all the changes through a edit session, iterating per destination
+            // section allows the changes to be applied per section at once
+            try (BlockEditSession session = BlockEditSession.of(destination)) {
+                SectionAlignedIterator.iterate(xMin1, yMin, zMin1, xMax1, yMax, zMax1, xOffset, yOffset, zOffset, (x, y, z) -> {
                     final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
-                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
-                }
+                    session.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                });
             }
-        }
+        });
     }
 
     @Override
@@ -95,15 +119,17 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, xOffsetDestination, zOffsetDestination,
+                (xMin1, zMin1, xMax1, zMax1) -> {
+            try (BlockEditSession session = BlockEditSession.of(destination)) {
+                SectionAlignedIterator.iterate(xMin1, yMin, zMin1, xMax1, yMax, zMax1,
+                        xOffsetDestination, yOffsetDestination, zOffsetDestination, (x, y, z) -> {
                     final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
                             secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                    destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
-                }
+                    session.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                });
             }
-        }
+        });
     }
 
     @Override
@@ -114,13 +140,15 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    visitor.visit(this.volume, x, y, z);
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, 0, 0, (xMin1, zMin1, xMax1, zMax1) -> {
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
                 }
             }
-        }
+        });
     }
 
     @Override
@@ -132,15 +160,19 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        T reduction = identity;
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+        // Every slab is reduced starting from the identity, the partial
+        // results are combined afterwards with the merge function
+        return VolumeSlabExecutor.reduce(this.parallel, xMin, zMin, xMax, zMax, (xMin1, zMin1, xMax1, zMax1, identity1) -> {
+            T reduction = identity1;
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                    }
                 }
             }
-        }
-        return reduction;
+            return reduction;
+        }, merge, identity);
     }
 
     private Vector3i align(BlockVolume other) {
@@ -36,6 +36,10 @@ public LanternMutableBiomeVolumeWorker(V volume) {
         super(volume);
     }
 
+    public LanternMutableBiomeVolumeWorker(V volume, boolean parallel) {
+        super(volume, parallel);
+    }
+
     @Override
     public void fill(BiomeVolumeFiller filler) {
         final int xMin = this.volume.getBiomeMin().getX();
@@ -44,13 +48,15 @@ public void fill(BiomeVolumeFiller filler) {
         final int xMax = this.volume.getBiomeMax().getX();
         final int yMax = this.volume.getBiomeMax().getY();
         final int zMax = this.volume.getBiomeMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BiomeType biome = filler.produce(x, y, z);
-                    this.volume.setBiome(x, y, z, biome);
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, 0, 0, (xMin1, zMin1, xMax1, zMax1) -> {
+            for (int z = zMin1; z <= zMax1; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin1; x <= xMax1; x++) {
+                        final BiomeType biome = filler.produce(x, y, z);
+                        this.volume.setBiome(x, y, z, biome);
+                    }
                 }
             }
-        }
+        });
     }
 }
@@ -25,6 +25,7 @@
  */
 package org.lanternpowered.server.world.extent.worker;
 
+import org.lanternpowered.server.world.extent.BlockEditSession;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
@@ -37,6 +38,10 @@ public LanternMutableBlockVolumeWorker(V volume) {
         super(volume);
     }
 
+    public LanternMutableBlockVolumeWorker(V volume, boolean parallel) {
+        super(volume, parallel);
+    }
+
     @Override
     public void fill(BlockVolumeFiller filler) {
         final int xMin = this.volume.getBlockMin().getX();
@@ -45,13 +50,13 @@ public void fill(BlockVolumeFiller filler) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
+        VolumeSlabExecutor.forEach(this.parallel, xMin, zMin, xMax, zMax, 0, 0, (xMin1, zMin1, xMax1, zMax1) -> {
+            try (BlockEditSession session = BlockEditSession.of(this.volume)) {
+                SectionAlignedIterator.iterate(xMin1, yMin, zMin1, xMax1, yMax, zMax1, 0, 0, 0, (x, y, z) -> {
                     final BlockState block = filler.produce(x, y, z);
-                    this.volume.setBlock(x, y, z, block);
-                }
+                    session.setBlock(x, y, z, block);
+                });
             }
-        }
+        });
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.extent.worker;
+
+/**
+ * Iterates through the positions of a volume, grouped by the 16x16x16 chunk
+ * sections of the destination volume. Iterating in this order allows
+ * section based {@link org.lanternpowered.server.world.extent.BlockEditSession}s
+ * to apply all the changes of a section at once.
+ */
+final class SectionAlignedIterator {
+
+    @FunctionalInterface
+    interface PositionVisitor {
+
+        /**
+         * Visits the position in the source volume.
+         *
+         * @param x The x coordinate
+         * @param y The y coordinate
+         * @param z The z coordinate
+         */
+        void visit(int x, int y, int z);
+    }
+
+    /**
+     * Iterates through all the positions between the min and max coordinates
+     * (inclusive), the section boundaries are calculated after applying the
+     * offset to the destination volume.
+     *
+     * @param xMin The minimum x coordinate
+     * @param yMin The minimum y coordinate
+     * @param zMin The minimum z coordinate
+     * @param xMax The maximum x coordinate
+     * @param yMax The maximum y coordinate
+     * @param zMax The maximum z coordinate
+     * @param xOffset The x offset to the destination
+     * @param yOffset The y offset to the destination
+     * @param zOffset The z offset to the destination
+     * @param visitor The visitor
+     */
+    static void iterate(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax,
+            int xOffset, int yOffset, int zOffset, PositionVisitor visitor) {
+        int zStart = zMin;
+        while (zStart <= zMax) {
+            final int zEnd = sectionEnd(zStart, zMax, zOffset);
+            int xStart = xMin;
+            while (xStart <= xMax) {
+                final int xEnd = sectionEnd(xStart, xMax, xOffset);
+                int yStart = yMin;
+                while (yStart <= yMax) {
+                    final int yEnd = sectionEnd(yStart, yMax, yOffset);
+                    for (int y = yStart; y <= yEnd; y++) {
+                        for (int z = zStart; z <= zEnd; z++) {
+                            for (int x = xStart; x <= xEnd; x++) {
+                                visitor.visit(x, y, z);
+                            }
+                        }
+                    }
+                    yStart = yEnd + 1;
+                }
+                xStart = xEnd + 1;
+            }
+            zStart = zEnd + 1;
+        }
+    }
+
+    /**
+     * Gets the last coordinate that is located in the same
+     * destination section as the start coordinate.
+     */
+    private static int sectionEnd(int start, int max, int offset) {
+        return Math.min(max, ((start + offset) | 0xf) - offset);
+    }
+
+    private SectionAlignedIterator() {
+    }
+}
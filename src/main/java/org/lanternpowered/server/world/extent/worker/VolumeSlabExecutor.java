@@ -0,0 +1,206 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.extent.worker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Splits volumes into slabs along the x and z axes which are aligned to the
+ * 16x16 chunk columns of the destination volume, and executes work for each
+ * slab on the {@link ForkJoinPool#commonPool()}. Different slabs never write
+ * to the same chunk, which avoids contention on the section locks.
+ */
+final class VolumeSlabExecutor {
+
+    /**
+     * The minimum amount of slabs before the work will be executed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 2;
+
+    @FunctionalInterface
+    interface SlabTask {
+
+        void run(int xMin, int zMin, int xMax, int zMax);
+    }
+
+    @FunctionalInterface
+    interface SlabReducer<T> {
+
+        T reduce(int xMin, int zMin, int xMax, int zMax, T identity);
+    }
+
+    /**
+     * Executes the {@link SlabTask} for every slab of the volume.
+     *
+     * @param parallel Whether the slabs should be processed in parallel
+     * @param xMin The minimum x coordinate
+     * @param zMin The minimum z coordinate
+     * @param xMax The maximum x coordinate
+     * @param zMax The maximum z coordinate
+     * @param xOffset The x offset to the destination
+     * @param zOffset The z offset to the destination
+     * @param task The task
+     */
+    static void forEach(boolean parallel, int xMin, int zMin, int xMax, int zMax,
+            int xOffset, int zOffset, SlabTask task) {
+        if (!parallel) {
+            task.run(xMin, zMin, xMax, zMax);
+            return;
+        }
+        final int[] slabs = slabs(xMin, zMin, xMax, zMax, xOffset, zOffset);
+        final int count = slabs.length >> 2;
+        if (count < PARALLEL_THRESHOLD) {
+            task.run(xMin, zMin, xMax, zMax);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new SlabAction(slabs, 0, count, task));
+    }
+
+    /**
+     * Reduces every slab of the volume and merges the results.
+     *
+     * @param parallel Whether the slabs should be processed in parallel
+     * @param xMin The minimum x coordinate
+     * @param zMin The minimum z coordinate
+     * @param xMax The maximum x coordinate
+     * @param zMax The maximum z coordinate
+     * @param reducer The reducer of a single slab
+     * @param merge The function to merge the results of two slabs
+     * @param identity The identity value
+     * @param <T> The type of the result
+     * @return The result
+     */
+    static <T> T reduce(boolean parallel, int xMin, int zMin, int xMax, int zMax,
+            SlabReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        if (!parallel) {
+            return reducer.reduce(xMin, zMin, xMax, zMax, identity);
+        }
+        final int[] slabs = slabs(xMin, zMin, xMax, zMax, 0, 0);
+        final int count = slabs.length >> 2;
+        if (count < PARALLEL_THRESHOLD) {
+            return reducer.reduce(xMin, zMin, xMax, zMax, identity);
+        }
+        return ForkJoinPool.commonPool().invoke(new SlabReduceTask<>(slabs, 0, count, reducer, merge, identity));
+    }
+
+    /**
+     * Calculates all the slabs, every slab is stored as
+     * four values: xMin, zMin, xMax and zMax.
+     */
+    private static int[] slabs(int xMin, int zMin, int xMax, int zMax, int xOffset, int zOffset) {
+        final int xCount = ((xMax + xOffset) >> 4) - ((xMin + xOffset) >> 4) + 1;
+        final int zCount = ((zMax + zOffset) >> 4) - ((zMin + zOffset) >> 4) + 1;
+        final int[] slabs = new int[(xCount * zCount) << 2];
+        int i = 0;
+        int zStart = zMin;
+        while (zStart <= zMax) {
+            final int zEnd = Math.min(zMax, ((zStart + zOffset) | 0xf) - zOffset);
+            int xStart = xMin;
+            while (xStart <= xMax) {
+                final int xEnd = Math.min(xMax, ((xStart + xOffset) | 0xf) - xOffset);
+                slabs[i++] = xStart;
+                slabs[i++] = zStart;
+                slabs[i++] = xEnd;
+                slabs[i++] = zEnd;
+                xStart = xEnd + 1;
+            }
+            zStart = zEnd + 1;
+        }
+        return slabs;
+    }
+
+    private static final class SlabAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 6016234372411283468L;
+
+        private final int[] slabs;
+        private final int from;
+        private final int to;
+        private final SlabTask task;
+
+        private SlabAction(int[] slabs, int from, int to, SlabTask task) {
+            this.slabs = slabs;
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                final int i = this.from << 2;
+                this.task.run(this.slabs[i], this.slabs[i + 1], this.slabs[i + 2], this.slabs[i + 3]);
+            } else {
+                final int middle = (this.from + this.to) >>> 1;
+                invokeAll(new SlabAction(this.slabs, this.from, middle, this.task),
+                        new SlabAction(this.slabs, middle, this.to, this.task));
+            }
+        }
+    }
+
+    private static final class SlabReduceTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = -2817542342620416131L;
+
+        private final int[] slabs;
+        private final int from;
+        private final int to;
+        private final SlabReducer<T> reducer;
+        private final BiFunction<T, T, T> merge;
+        private final T identity;
+
+        private SlabReduceTask(int[] slabs, int from, int to, SlabReducer<T> reducer,
+                BiFunction<T, T, T> merge, T identity) {
+            this.slabs = slabs;
+            this.from = from;
+            this.to = to;
+            this.reducer = reducer;
+            this.merge = merge;
+            this.identity = identity;
+        }
+
+        @Override
+        protected T compute() {
+            if (this.to - this.from == 1) {
+                final int i = this.from << 2;
+                return this.reducer.reduce(this.slabs[i], this.slabs[i + 1], this.slabs[i + 2], this.slabs[i + 3], this.identity);
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            final SlabReduceTask<T> left = new SlabReduceTask<>(this.slabs, this.from, middle, this.reducer, this.merge, this.identity);
+            final SlabReduceTask<T> right = new SlabReduceTask<>(this.slabs, middle, this.to, this.reducer, this.merge, this.identity);
+            left.fork();
+            final T rightResult = right.compute();
+            // Keep the order of the slabs when merging the results
+            return this.merge.apply(left.join(), rightResult);
+        }
+    }
+
+    private VolumeSlabExecutor() {
+    }
+}
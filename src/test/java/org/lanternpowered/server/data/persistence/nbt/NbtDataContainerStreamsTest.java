@@ -25,15 +25,19 @@
  */
 package org.lanternpowered.server.data.persistence.nbt;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.Test;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataQuery;
@@ -84,4 +88,85 @@ public void test() throws IOException {
 
         assertEquals(container, newContainer);
     }
+
+    @Test
+    public void testByteBufArrays() throws IOException {
+        final byte[] bytes = new byte[4096];
+        final int[] ints = new int[2500];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 0x9E3779B9;
+        }
+        final DataContainer container = DataContainer.createNew();
+        container.set(A, bytes);
+        container.set(B, ints);
+        container.set(C, true);
+        container.createView(D).set(A, "TestA");
+
+        final ByteBuf buf = Unpooled.buffer();
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(buf)) {
+            output.write(container);
+        }
+        final DataContainer newContainer;
+        try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(buf)) {
+            newContainer = input.read();
+        }
+        assertEquals(0, buf.readableBytes());
+
+        assertArrayEquals(bytes, (byte[]) newContainer.get(A).get());
+        assertArrayEquals(ints, (int[]) newContainer.get(B).get());
+        assertEquals(true, newContainer.get(C).get());
+        assertEquals("TestA", newContainer.getString(D.then(A)).get());
+    }
+
+    private static byte[] write(DataContainer container) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (NbtDataContainerOutputStream output = new NbtDataContainerOutputStream(new DataOutputStream(baos))) {
+            output.write(container);
+        }
+        return baos.toByteArray();
+    }
+
+    private static DataContainer read(byte[] content) throws IOException {
+        try (NbtDataContainerInputStream input = new NbtDataContainerInputStream(new ByteArrayInputStream(content))) {
+            return input.read();
+        }
+    }
+
+    @Test
+    public void testLargeStreamArrays() throws IOException {
+        // Larger than the arrays that are allocated up front for streams
+        final byte[] bytes = new byte[200000];
+        final int[] ints = new int[100000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 0x9E3779B9;
+        }
+        final DataContainer container = DataContainer.createNew();
+        container.set(A, bytes);
+        container.set(B, ints);
+
+        final DataContainer newContainer = read(write(container));
+        assertArrayEquals(bytes, (byte[]) newContainer.get(A).get());
+        assertArrayEquals(ints, (int[]) newContainer.get(B).get());
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedStreamArray() throws IOException {
+        final DataContainer container = DataContainer.createNew();
+        container.set(A, new byte[] { 1, 2, 3, 4 });
+        final byte[] content = write(container);
+        // The array length is followed by the 4 elements and the end of the compound
+        final int lengthIndex = content.length - 1 - 4 - 4;
+        content[lengthIndex] = 0x7f;
+        content[lengthIndex + 1] = (byte) 0xff;
+        content[lengthIndex + 2] = (byte) 0xff;
+        content[lengthIndex + 3] = (byte) 0xff;
+        // Must fail because the data ends, without allocating the whole array
+        read(content);
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.entity.living.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.world.chunk.LanternChunk;
+
+import java.util.Random;
+
+public class ChunkViewAreaTest {
+
+    private ChunkViewArea area;
+    private LongList entering;
+    private LongList leaving;
+
+    @Before
+    public void setup() {
+        this.area = new ChunkViewArea();
+        this.entering = new LongArrayList();
+        this.leaving = new LongArrayList();
+    }
+
+    private boolean update(int centerX, int centerZ, int radius) {
+        this.entering.clear();
+        this.leaving.clear();
+        return this.area.update(centerX, centerZ, radius, this.entering::add, this.leaving::add);
+    }
+
+    private static LongSet square(int centerX, int centerZ, int radius) {
+        final LongSet chunks = new LongOpenHashSet();
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                chunks.add(LanternChunk.key(x, z));
+            }
+        }
+        return chunks;
+    }
+
+    private static LongSet difference(LongSet a, LongSet b) {
+        final LongSet result = new LongOpenHashSet(a);
+        result.removeAll(b);
+        return result;
+    }
+
+    private static LongSet toSet(LongList chunks) {
+        final LongSet set = new LongOpenHashSet(chunks);
+        // Every chunk should only be passed once
+        assertEquals(chunks.size(), set.size());
+        return set;
+    }
+
+    private void assertDiff(LongSet oldChunks, LongSet newChunks) {
+        assertEquals(difference(newChunks, oldChunks), toSet(this.entering));
+        assertEquals(difference(oldChunks, newChunks), toSet(this.leaving));
+    }
+
+    private LongSet getChunks() {
+        final LongList chunks = new LongArrayList();
+        this.area.forEach(chunks::add);
+        return toSet(chunks);
+    }
+
+    @Test
+    public void testInitialUpdate() {
+        assertFalse(this.area.isPresent());
+        assertTrue(update(3, -2, 4));
+        assertTrue(this.area.isPresent());
+        assertDiff(new LongOpenHashSet(), square(3, -2, 4));
+        assertEquals(square(3, -2, 4), getChunks());
+    }
+
+    @Test
+    public void testSpiralOrder() {
+        update(5, 7, 6);
+        assertEquals(LanternChunk.key(5, 7), this.entering.getLong(0));
+        // The chunks should never move away from the center
+        int lastDistance = 0;
+        for (int i = 0; i < this.entering.size(); i++) {
+            final long key = this.entering.getLong(i);
+            final int distance = Math.max(Math.abs(LanternChunk.keyX(key) - 5), Math.abs(LanternChunk.keyZ(key) - 7));
+            assertTrue(distance >= lastDistance);
+            lastDistance = distance;
+        }
+    }
+
+    @Test
+    public void testUnchanged() {
+        update(0, 0, 3);
+        assertFalse(update(0, 0, 3));
+        assertTrue(this.entering.isEmpty());
+        assertTrue(this.leaving.isEmpty());
+    }
+
+    @Test
+    public void testMove() {
+        update(0, 0, 3);
+        assertTrue(update(1, 0, 3));
+        assertDiff(square(0, 0, 3), square(1, 0, 3));
+        assertEquals(7, this.entering.size());
+        assertEquals(7, this.leaving.size());
+
+        assertTrue(update(0, -1, 3));
+        assertDiff(square(1, 0, 3), square(0, -1, 3));
+
+        // Diagonal movement
+        assertTrue(update(2, 1, 3));
+        assertDiff(square(0, -1, 3), square(2, 1, 3));
+    }
+
+    @Test
+    public void testMoveOutOfRange() {
+        update(0, 0, 2);
+        assertTrue(update(100, -100, 2));
+        assertDiff(square(0, 0, 2), square(100, -100, 2));
+        assertEquals(25, this.entering.size());
+        assertEquals(25, this.leaving.size());
+    }
+
+    @Test
+    public void testRadiusChange() {
+        update(0, 0, 2);
+        assertTrue(update(0, 0, 5));
+        assertDiff(square(0, 0, 2), square(0, 0, 5));
+        assertTrue(this.leaving.isEmpty());
+
+        assertTrue(update(0, 0, 1));
+        assertDiff(square(0, 0, 5), square(0, 0, 1));
+        assertTrue(this.entering.isEmpty());
+
+        // Changing the center and the radius at the same time
+        assertTrue(update(2, 3, 4));
+        assertDiff(square(0, 0, 1), square(2, 3, 4));
+    }
+
+    @Test
+    public void testClear() {
+        update(0, 0, 2);
+        this.area.clear();
+        assertFalse(this.area.isPresent());
+        assertTrue(getChunks().isEmpty());
+        assertTrue(update(0, 0, 2));
+        assertDiff(new LongOpenHashSet(), square(0, 0, 2));
+    }
+
+    @Test
+    public void testRandomUpdates() {
+        final Random random = new Random(4867);
+        int centerX = 0;
+        int centerZ = 0;
+        int radius = 4;
+        update(centerX, centerZ, radius);
+        for (int i = 0; i < 500; i++) {
+            final int newCenterX = centerX + random.nextInt(7) - 3;
+            final int newCenterZ = centerZ + random.nextInt(7) - 3;
+            final int newRadius = 1 + random.nextInt(8);
+            update(newCenterX, newCenterZ, newRadius);
+            assertDiff(square(centerX, centerZ, radius), square(newCenterX, newCenterZ, newRadius));
+            centerX = newCenterX;
+            centerZ = newCenterZ;
+            radius = newRadius;
+            assertEquals(square(centerX, centerZ, radius), getChunks());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.entity.living.player.tab;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTabListEntries;
+import org.spongepowered.api.entity.living.player.gamemode.GameMode;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class LanternTabListTest {
+
+    private final List<Message> sentMessages = new ArrayList<>();
+    private LanternTabList tabList;
+
+    @Before
+    public void setup() {
+        final NetworkSession session = mock(NetworkSession.class);
+        doAnswer(invocation -> this.sentMessages.add(invocation.getArgument(0))).when(session).send(any(Message.class));
+        final LanternPlayer player = mock(LanternPlayer.class);
+        when(player.getConnection()).thenReturn(session);
+        this.tabList = new LanternTabList(player);
+    }
+
+    private LanternTabListEntry createEntry() {
+        final GameProfile gameProfile = mock(GameProfile.class);
+        when(gameProfile.getUniqueId()).thenReturn(UUID.randomUUID());
+        final GlobalTabListEntry globalEntry = GlobalTabList.getInstance().getOrCreate(gameProfile);
+        return new LanternTabListEntry(globalEntry, this.tabList, mock(GameMode.class), 0, null);
+    }
+
+    private MessagePlayOutTabListEntries.Entry getEntry(int index) {
+        final Message message = this.sentMessages.get(index);
+        assertTrue(message instanceof MessagePlayOutTabListEntries);
+        final List<MessagePlayOutTabListEntries.Entry> entries = ((MessagePlayOutTabListEntries) message).getEntries();
+        assertEquals(1, entries.size());
+        return entries.get(0);
+    }
+
+    @Test
+    public void testAddIsSentBeforeFollowingMessages() {
+        final LanternTabListEntry entry = createEntry();
+        this.tabList.addEntry(entry);
+        // Simulates the spawn message of the player that
+        // is sent by the entity tracker in the same tick
+        final Message spawnMessage = mock(Message.class);
+        this.tabList.getPlayer().getConnection().send(spawnMessage);
+        this.tabList.flush();
+
+        assertEquals(2, this.sentMessages.size());
+        assertTrue(getEntry(0) instanceof MessagePlayOutTabListEntries.Entry.Add);
+        assertEquals(spawnMessage, this.sentMessages.get(1));
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedUntilFlush() {
+        final LanternTabListEntry entry = createEntry();
+        this.tabList.addEntry(entry);
+        this.sentMessages.clear();
+
+        entry.setLatency(10);
+        entry.setLatency(20);
+        assertTrue(this.sentMessages.isEmpty());
+        this.tabList.flush();
+
+        assertEquals(1, this.sentMessages.size());
+        final MessagePlayOutTabListEntries.Entry messageEntry = getEntry(0);
+        assertTrue(messageEntry instanceof MessagePlayOutTabListEntries.Entry.UpdateLatency);
+        assertEquals(20, (int) messageEntry.getPing());
+    }
+
+    @Test
+    public void testPendingRemoveIsSentBeforeAdd() {
+        final LanternTabListEntry entry = createEntry();
+        this.tabList.addEntry(entry);
+        this.sentMessages.clear();
+
+        this.tabList.removeEntry(entry.getProfile().getUniqueId());
+        assertTrue(this.sentMessages.isEmpty());
+        final LanternTabListEntry newEntry = new LanternTabListEntry(
+                entry.getGlobalEntry(), this.tabList, entry.getGameMode(), 5, null);
+        this.tabList.addEntry(newEntry);
+
+        assertEquals(2, this.sentMessages.size());
+        assertTrue(getEntry(0) instanceof MessagePlayOutTabListEntries.Entry.Remove);
+        assertTrue(getEntry(1) instanceof MessagePlayOutTabListEntries.Entry.Add);
+
+        // Nothing is left to be flushed
+        this.tabList.flush();
+        assertEquals(2, this.sentMessages.size());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.network;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.lanternpowered.server.config.GlobalConfig;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static GlobalConfig.Limits limits(double perAddressRate, int perAddressBurst, double globalRate, int globalBurst) {
+        final GlobalConfig.Limits limits = mock(GlobalConfig.Limits.class);
+        when(limits.getPerAddressRate()).thenReturn(perAddressRate);
+        when(limits.getPerAddressBurst()).thenReturn(perAddressBurst);
+        when(limits.getGlobalRate()).thenReturn(globalRate);
+        when(limits.getGlobalBurst()).thenReturn(globalBurst);
+        return limits;
+    }
+
+    @Test
+    public void testBurst() {
+        final ConnectionThrottle.TokenBucket bucket = new ConnectionThrottle.TokenBucket(1.0, 3, 0L);
+        assertTrue(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(0L));
+        assertFalse(bucket.tryAcquire(0L));
+    }
+
+    @Test
+    public void testRefill() {
+        final ConnectionThrottle.TokenBucket bucket = new ConnectionThrottle.TokenBucket(2.0, 2, 0L);
+        assertTrue(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(0L));
+        assertFalse(bucket.tryAcquire(0L));
+        // Half a token isn't enough
+        assertFalse(bucket.tryAcquire(SECOND / 4));
+        assertTrue(bucket.tryAcquire(SECOND * 3 / 4));
+        assertFalse(bucket.tryAcquire(SECOND * 3 / 4));
+    }
+
+    @Test
+    public void testRefillIsCappedAtCapacity() {
+        final ConnectionThrottle.TokenBucket bucket = new ConnectionThrottle.TokenBucket(10.0, 2, 0L);
+        assertTrue(bucket.tryAcquire(0L));
+        // Long enough to refill a lot more tokens than the capacity
+        final long now = 100 * SECOND;
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+    }
+
+    @Test
+    public void testTimeGoingBackwards() {
+        final ConnectionThrottle.TokenBucket bucket = new ConnectionThrottle.TokenBucket(1.0, 1, SECOND);
+        assertTrue(bucket.tryAcquire(SECOND));
+        assertFalse(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(3 * SECOND));
+    }
+
+    @Test
+    public void testRefund() {
+        final ConnectionThrottle.TokenBucket bucket = new ConnectionThrottle.TokenBucket(1.0, 1, 0L);
+        assertTrue(bucket.tryAcquire(0L));
+        bucket.refund();
+        assertTrue(bucket.tryAcquire(0L));
+        // Refunds can't exceed the capacity
+        bucket.refund();
+        bucket.refund();
+        assertTrue(bucket.tryAcquire(0L));
+        assertFalse(bucket.tryAcquire(0L));
+    }
+
+    @Test
+    public void testPerAddressLimit() throws UnknownHostException {
+        final ConnectionThrottle.Limiter limiter = new ConnectionThrottle.Limiter(limits(1.0, 2, 0.0, 0), true);
+        final InetAddress first = InetAddress.getByName("10.0.0.1");
+        final InetAddress second = InetAddress.getByName("10.0.0.2");
+        assertTrue(limiter.tryAcquire(first, 0L));
+        assertTrue(limiter.tryAcquire(first, 0L));
+        assertFalse(limiter.tryAcquire(first, 0L));
+        // Other addresses have their own bucket
+        assertTrue(limiter.tryAcquire(second, 0L));
+        assertTrue(limiter.tryAcquire(first, 2 * SECOND));
+    }
+
+    @Test
+    public void testGlobalRejectionRefundsAddress() throws UnknownHostException {
+        final ConnectionThrottle.Limiter limiter = new ConnectionThrottle.Limiter(limits(0.001, 2, 1.0, 1), true);
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        final long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire(address, start));
+        // Rejected by the global limit, the address keeps its last token
+        assertFalse(limiter.tryAcquire(address, start));
+        assertTrue(limiter.tryAcquire(address, start + 2 * SECOND));
+        // The address is out of tokens now
+        assertFalse(limiter.tryAcquire(address, start + 4 * SECOND));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.scoreboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.message.Message;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardObjective;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutScoreboardScore;
+import org.lanternpowered.server.network.vanilla.message.type.play.MessagePlayOutTeams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class LanternScoreboardTest {
+
+    private final List<Message> sentMessages = new ArrayList<>();
+    private LanternScoreboard scoreboard;
+
+    @Before
+    public void setup() {
+        final NetworkSession session = mock(NetworkSession.class);
+        doAnswer(invocation -> {
+            invocation.<Iterable<Message>>getArgument(0).forEach(this.sentMessages::add);
+            return null;
+        }).when(session).send(any(Iterable.class));
+        final LanternPlayer player = mock(LanternPlayer.class);
+        when(player.getConnection()).thenReturn(session);
+        this.scoreboard = new LanternScoreboard();
+        this.scoreboard.addPlayer(player);
+        this.sentMessages.clear();
+    }
+
+    private void queue(Message... messages) {
+        this.scoreboard.sendToPlayers(() -> Arrays.asList(messages));
+    }
+
+    private static MessagePlayOutTeams.Create createTeam(String name) {
+        return new MessagePlayOutTeams.Create(name, name, "", "", null, null, null, false, false, Collections.emptyList());
+    }
+
+    private static MessagePlayOutTeams.Update updateTeam(String name, String displayName) {
+        return new MessagePlayOutTeams.Update(name, displayName, "", "", null, null, null, false, false);
+    }
+
+    private static List<String> getPlayers(Message message) {
+        return ((MessagePlayOutTeams.Players) message).getPlayers();
+    }
+
+    @Test
+    public void testTeamRecreateOrder() {
+        final Message create1 = createTeam("team");
+        final Message remove = new MessagePlayOutTeams.Remove("team");
+        final Message create2 = createTeam("team");
+        final Message update2 = updateTeam("team", "b");
+        queue(create1, updateTeam("team", "a"));
+        queue(remove);
+        queue(create2, update2);
+        this.scoreboard.flush();
+
+        // The first update is replaced by the last one, which must come after the last create
+        assertEquals(Arrays.asList(create1, remove, create2, update2), this.sentMessages);
+    }
+
+    @Test
+    public void testTeamUpdateBeforeRemove() {
+        final Message create = createTeam("team");
+        final Message update = updateTeam("team", "a");
+        final Message remove = new MessagePlayOutTeams.Remove("team");
+        queue(create, update, remove);
+        this.scoreboard.flush();
+        assertEquals(Arrays.asList(create, update, remove), this.sentMessages);
+    }
+
+    @Test
+    public void testScoreUpdatesCollapse() {
+        for (int i = 0; i < 10; i++) {
+            queue(new MessagePlayOutScoreboardScore.CreateOrUpdate("objective", "score", i));
+        }
+        // A different score isn't collapsed
+        queue(new MessagePlayOutScoreboardScore.CreateOrUpdate("objective", "other", 3));
+        this.scoreboard.flush();
+
+        assertEquals(2, this.sentMessages.size());
+        assertEquals(9, ((MessagePlayOutScoreboardScore.CreateOrUpdate) this.sentMessages.get(0)).getValue());
+        assertEquals("other", ((MessagePlayOutScoreboardScore) this.sentMessages.get(1)).getScoreName());
+
+        // Nothing should be sent twice
+        this.sentMessages.clear();
+        this.scoreboard.flush();
+        assertTrue(this.sentMessages.isEmpty());
+    }
+
+    @Test
+    public void testScoreAfterObjectiveRecreate() {
+        final Message remove = new MessagePlayOutScoreboardObjective.Remove("objective");
+        final Message create = new MessagePlayOutScoreboardObjective.Create("objective", "objective", null);
+        final Message score = new MessagePlayOutScoreboardScore.CreateOrUpdate("objective", "score", 2);
+        queue(new MessagePlayOutScoreboardScore.CreateOrUpdate("objective", "score", 1));
+        queue(remove);
+        queue(create, score);
+        this.scoreboard.flush();
+
+        // The score may not be sent for the removed objective
+        assertEquals(Arrays.asList(remove, create, score), this.sentMessages);
+    }
+
+    @Test
+    public void testPlayersMerged() {
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("a")));
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("b")));
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("c")));
+        this.scoreboard.flush();
+
+        assertEquals(1, this.sentMessages.size());
+        assertTrue(this.sentMessages.get(0) instanceof MessagePlayOutTeams.AddPlayers);
+        assertEquals(Arrays.asList("a", "b", "c"), getPlayers(this.sentMessages.get(0)));
+    }
+
+    @Test
+    public void testPlayersMergeStopsOnActionChange() {
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("a")));
+        queue(new MessagePlayOutTeams.RemovePlayers("team", Collections.singletonList("a")));
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("b")));
+        this.scoreboard.flush();
+
+        assertEquals(3, this.sentMessages.size());
+        assertTrue(this.sentMessages.get(0) instanceof MessagePlayOutTeams.AddPlayers);
+        assertEquals(Collections.singletonList("a"), getPlayers(this.sentMessages.get(0)));
+        assertTrue(this.sentMessages.get(1) instanceof MessagePlayOutTeams.RemovePlayers);
+        assertEquals(Collections.singletonList("a"), getPlayers(this.sentMessages.get(1)));
+        assertTrue(this.sentMessages.get(2) instanceof MessagePlayOutTeams.AddPlayers);
+        assertEquals(Collections.singletonList("b"), getPlayers(this.sentMessages.get(2)));
+    }
+
+    @Test
+    public void testPlayersMergeStopsOnTeamChange() {
+        queue(new MessagePlayOutTeams.AddPlayers("team1", Collections.singletonList("a")));
+        queue(new MessagePlayOutTeams.AddPlayers("team2", Collections.singletonList("b")));
+        queue(new MessagePlayOutTeams.AddPlayers("team1", Collections.singletonList("c")));
+        this.scoreboard.flush();
+
+        assertEquals(3, this.sentMessages.size());
+        assertEquals("team1", ((MessagePlayOutTeams) this.sentMessages.get(0)).getTeamName());
+        assertEquals(Collections.singletonList("a"), getPlayers(this.sentMessages.get(0)));
+        assertEquals("team2", ((MessagePlayOutTeams) this.sentMessages.get(1)).getTeamName());
+        assertEquals("team1", ((MessagePlayOutTeams) this.sentMessages.get(2)).getTeamName());
+        assertEquals(Collections.singletonList("c"), getPlayers(this.sentMessages.get(2)));
+    }
+
+    @Test
+    public void testPlayersMergeStopsAfterOtherMessage() {
+        final Message update = updateTeam("team", "a");
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("a")));
+        queue(update);
+        queue(new MessagePlayOutTeams.AddPlayers("team", Collections.singletonList("b")));
+        this.scoreboard.flush();
+
+        assertEquals(3, this.sentMessages.size());
+        assertEquals(Collections.singletonList("a"), getPlayers(this.sentMessages.get(0)));
+        assertSame(update, this.sentMessages.get(1));
+        assertEquals(Collections.singletonList("b"), getPlayers(this.sentMessages.get(2)));
+    }
+}
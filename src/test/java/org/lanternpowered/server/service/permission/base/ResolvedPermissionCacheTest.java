@@ -0,0 +1,188 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class ResolvedPermissionCacheTest {
+
+    private static final Set<Context> WORLD_CONTEXT = ImmutableSet.of(new Context(Context.WORLD_KEY, "world"));
+
+    private GlobalMemorySubjectData data;
+    private GlobalMemorySubjectData fallbackData;
+    private TestSubject subject;
+
+    @Before
+    public void setup() {
+        final PermissionService service = mock(PermissionService.class);
+        this.data = new GlobalMemorySubjectData(service);
+        this.fallbackData = new GlobalMemorySubjectData(service);
+        this.subject = new TestSubject(service, this.data, ImmutableList.of(this.fallbackData));
+    }
+
+    private Tristate get(String permission) {
+        return this.subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
+    }
+
+    @Test
+    public void testResolve() {
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a.b", Tristate.TRUE);
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a.c.*", Tristate.FALSE);
+        this.fallbackData.setPermission(SubjectData.GLOBAL_CONTEXT, "a.c.d", Tristate.TRUE);
+        this.fallbackData.setPermission(SubjectData.GLOBAL_CONTEXT, "*", Tristate.FALSE);
+        assertEquals(Tristate.TRUE, get("a.b"));
+        assertEquals(Tristate.TRUE, get("a.b.c"));
+        // The subject data takes precedence over the fallback data
+        assertEquals(Tristate.FALSE, get("a.c.d"));
+        assertEquals(Tristate.FALSE, get("x"));
+    }
+
+    @Test
+    public void testUndefined() {
+        assertEquals(Tristate.UNDEFINED, get("a"));
+    }
+
+    @Test
+    public void testCachedValues() {
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, get("a"));
+        assertEquals(Tristate.TRUE, get("a"));
+        assertEquals(1, this.subject.getPermissionCacheMisses());
+        assertEquals(1, this.subject.getPermissionCacheHits());
+    }
+
+    @Test
+    public void testInvalidation() {
+        assertEquals(Tristate.UNDEFINED, get("a"));
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, get("a"));
+        this.fallbackData.setPermission(SubjectData.GLOBAL_CONTEXT, "b", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, get("b"));
+        this.data.clearPermissions();
+        assertEquals(Tristate.UNDEFINED, get("a"));
+    }
+
+    @Test
+    public void testVersion() {
+        final int version = this.data.getVersion();
+        // Reading the version has no side effects
+        assertEquals(version, this.data.getVersion());
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a", Tristate.TRUE);
+        assertNotEquals(version, this.data.getVersion());
+    }
+
+    @Test
+    public void testContexts() {
+        this.data.setPermission(SubjectData.GLOBAL_CONTEXT, "a", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, get("a"));
+        assertEquals(Tristate.TRUE, this.subject.getPermissionValue(WORLD_CONTEXT, "a"));
+        // Every context set is cached separately
+        assertEquals(2, this.subject.getPermissionCacheMisses());
+        assertEquals(Tristate.TRUE, this.subject.getPermissionValue(new HashSet<>(WORLD_CONTEXT), "a"));
+        assertEquals(1, this.subject.getPermissionCacheHits());
+    }
+
+    @Test
+    public void testMaxCachedValues() {
+        get("a");
+        for (int i = 0; i < ResolvedPermissionCache.MAX_CACHED_VALUES; i++) {
+            get("b" + i);
+        }
+        // The cache was cleared once the limit was exceeded
+        get("a");
+        assertEquals(ResolvedPermissionCache.MAX_CACHED_VALUES + 2, this.subject.getPermissionCacheMisses());
+        assertEquals(0, this.subject.getPermissionCacheHits());
+        get("a");
+        assertEquals(1, this.subject.getPermissionCacheHits());
+    }
+
+    private static final class TestSubject extends LanternSubject {
+
+        private final PermissionService service;
+        private final MemorySubjectData data;
+        private final List<MemorySubjectData> fallbackData;
+
+        private TestSubject(PermissionService service, MemorySubjectData data, List<MemorySubjectData> fallbackData) {
+            this.service = service;
+            this.data = data;
+            this.fallbackData = fallbackData;
+        }
+
+        @Override
+        public PermissionService getService() {
+            return this.service;
+        }
+
+        @Override
+        public MemorySubjectData getSubjectData() {
+            return this.data;
+        }
+
+        @Override
+        protected List<MemorySubjectData> getFallbackSubjectData() {
+            return this.fallbackData;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return "test";
+        }
+
+        @Override
+        public Optional<String> getFriendlyIdentifier() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<CommandSource> getCommandSource() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SubjectCollection getContainingCollection() {
+            return mock(SubjectCollection.class);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.LanternEntity;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.world.EntityIndex;
+import org.lanternpowered.server.world.LanternWorld;
+import org.lanternpowered.server.world.chunk.LanternChunkManager;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class SelectorPlanTest {
+
+    private static final Predicate<Entity> ANY = entity -> true;
+
+    private final List<LanternEntity> entities = new ArrayList<>();
+    private final Set<LanternPlayer> players = ImmutableSet.of(
+            createEntity(LanternPlayer.class, new Vector3d(1.0, 0.0, 0.0)),
+            createEntity(LanternPlayer.class, new Vector3d(-5.0, 0.0, 0.0)));
+
+    private EntityIndex entityIndex;
+    private LanternWorld world;
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < 10; i++) {
+            this.entities.add(createEntity(LanternEntity.class, new Vector3d(i * 2.0, 0.0, 0.0)));
+        }
+        this.entityIndex = mock(EntityIndex.class);
+        this.world = createWorld(this.entityIndex);
+    }
+
+    private LanternWorld createWorld(EntityIndex entityIndex) {
+        final LanternWorld world = mock(LanternWorld.class);
+        doReturn(entityIndex).when(world).getEntityIndex();
+        final LanternChunkManager chunkManager = mock(LanternChunkManager.class);
+        doReturn(1000).when(chunkManager).getLoadedChunkCount();
+        doReturn(chunkManager).when(world).getChunkManager();
+        doReturn(this.players).when(world).getRawPlayers();
+        // Every scan of the entity index visits all the entities, the filter decides what matches
+        final List<LanternEntity> entities = this.entities;
+        doAnswer(invocation -> {
+            entities.forEach(invocation.<Consumer<Entity>>getArgument(0));
+            return null;
+        }).when(entityIndex).forEach(any());
+        doAnswer(invocation -> {
+            entities.forEach(invocation.<Consumer<Entity>>getArgument(3));
+            return null;
+        }).when(entityIndex).forEachInRadius(any(), anyDouble(), any(), any());
+        doAnswer(invocation -> {
+            entities.forEach(invocation.<Consumer<Entity>>getArgument(3));
+            return null;
+        }).when(entityIndex).forEachInBox(any(), any(), any(), any());
+        return world;
+    }
+
+    private static <T extends LanternEntity> T createEntity(Class<T> type, Vector3d position) {
+        final T entity = mock(type);
+        final Location<?> location = mock(Location.class);
+        doReturn(position).when(location).getPosition();
+        doReturn(location).when(entity).getLocation();
+        return entity;
+    }
+
+    private static SelectorPlan createPlan(SelectorPlan.Order order, int limit, boolean playersOnly,
+            Vector3d boxMin, Vector3d boxMax, double radius) {
+        return new SelectorPlan(ANY, Vector3d.ZERO, order, limit, playersOnly, boxMin, boxMax, radius);
+    }
+
+    @Test
+    public void testPlayersOnly() {
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 0, true, null, null, 10.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(this.players, selected);
+        // The players are visited directly, even if there is a radius
+        verify(this.world, never()).getEntityIndex();
+    }
+
+    @Test
+    public void testPlayersOnlyNonLanternWorld() {
+        final World world = mock(World.class);
+        doReturn(this.players).when(world).getPlayers();
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 0, true, null, null, -1.0)
+                .select(ImmutableSet.of(world));
+        assertEquals(this.players, selected);
+        verify(world, never()).getEntities();
+    }
+
+    @Test
+    public void testUnbounded() {
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 0, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableSet.copyOf(this.entities), selected);
+        verify(this.entityIndex).forEach(any());
+        verify(this.entityIndex, never()).forEachInRadius(any(), anyDouble(), any(), any());
+        verify(this.entityIndex, never()).forEachInBox(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testRadius() {
+        createPlan(SelectorPlan.Order.NONE, 0, false, null, null, 10.0).select(ImmutableSet.of(this.world));
+        verify(this.entityIndex).forEachInRadius(eq(Vector3d.ZERO), eq(10.0), eq(Entity.class), any());
+        verify(this.entityIndex, never()).forEach(any());
+    }
+
+    @Test
+    public void testVolume() {
+        createPlan(SelectorPlan.Order.NONE, 0, false, new Vector3d(0.0, 0.0, 0.0), new Vector3d(5.0, 10.0, 5.0), -1.0)
+                .select(ImmutableSet.of(this.world));
+        verify(this.entityIndex).forEachInBox(eq(new Vector3d(0.0, 0.0, 0.0)), eq(new Vector3d(5.0, 10.0, 5.0)), eq(Entity.class), any());
+        verify(this.entityIndex, never()).forEach(any());
+    }
+
+    @Test
+    public void testVolumeSmallerThanRadius() {
+        // A area of 25 is smaller than the 20 by 20 area around the radius
+        createPlan(SelectorPlan.Order.NONE, 0, false, new Vector3d(0.0, 0.0, 0.0), new Vector3d(5.0, 10.0, 5.0), 10.0)
+                .select(ImmutableSet.of(this.world));
+        verify(this.entityIndex).forEachInBox(any(), any(), eq(Entity.class), any());
+        verify(this.entityIndex, never()).forEachInRadius(any(), anyDouble(), any(), any());
+    }
+
+    @Test
+    public void testRadiusSmallerThanVolume() {
+        createPlan(SelectorPlan.Order.NONE, 0, false, new Vector3d(-50.0, 0.0, -50.0), new Vector3d(50.0, 10.0, 50.0), 10.0)
+                .select(ImmutableSet.of(this.world));
+        verify(this.entityIndex).forEachInRadius(eq(Vector3d.ZERO), eq(10.0), eq(Entity.class), any());
+        verify(this.entityIndex, never()).forEachInBox(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testHugeRadius() {
+        // There are way more chunk columns within the radius than loaded chunks
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 0, false, null, null, 30000000.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableSet.copyOf(this.entities), selected);
+        verify(this.entityIndex).forEach(any());
+        verify(this.entityIndex, never()).forEachInRadius(any(), anyDouble(), any(), any());
+    }
+
+    @Test
+    public void testHugeVolume() {
+        createPlan(SelectorPlan.Order.NONE, 0, false, new Vector3d(-1.0e9, 0.0, -1.0e9), new Vector3d(1.0e9, 10.0, 1.0e9), -1.0)
+                .select(ImmutableSet.of(this.world));
+        verify(this.entityIndex).forEach(any());
+        verify(this.entityIndex, never()).forEachInBox(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testRemovedEntitiesSkipped() {
+        final LanternEntity removed = this.entities.get(3);
+        doReturn(true).when(removed).isRemoved();
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 0, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(this.entities.size() - 1, selected.size());
+        assertFalse(selected.contains(removed));
+    }
+
+    @Test
+    public void testLimitStopsScanning() {
+        final EntityIndex otherIndex = mock(EntityIndex.class);
+        final LanternWorld otherWorld = createWorld(otherIndex);
+        final Set<Entity> selected = createPlan(SelectorPlan.Order.NONE, 3, false, null, null, -1.0)
+                .select(ImmutableList.of(this.world, otherWorld));
+        assertEquals(3, selected.size());
+        verify(otherWorld, never()).getEntityIndex();
+    }
+
+    @Test
+    public void testDistanceOrder() {
+        final Set<Entity> nearest = createPlan(SelectorPlan.Order.DISTANCE, 3, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableList.of(this.entities.get(0), this.entities.get(1), this.entities.get(2)), ImmutableList.copyOf(nearest));
+
+        final Set<Entity> farthest = createPlan(SelectorPlan.Order.DISTANCE, -2, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableList.of(this.entities.get(9), this.entities.get(8)), ImmutableList.copyOf(farthest));
+
+        // Without a limit, all the entities are sorted
+        final Set<Entity> all = createPlan(SelectorPlan.Order.DISTANCE, 0, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(this.entities, ImmutableList.copyOf(all));
+    }
+
+    @Test
+    public void testDistanceFilter() {
+        // Only the entities that match the filter should be selected, even if closer ones exist
+        final Predicate<Entity> filter = entity -> entity.getLocation().getPosition().getX() >= 7.0;
+        final Set<Entity> selected = new SelectorPlan(filter, Vector3d.ZERO, SelectorPlan.Order.DISTANCE, 2, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableList.of(this.entities.get(4), this.entities.get(5)), ImmutableList.copyOf(selected));
+    }
+
+    @Test
+    public void testRandom() {
+        for (int i = 0; i < 20; i++) {
+            final Set<Entity> selected = createPlan(SelectorPlan.Order.RANDOM, 4, false, null, null, -1.0)
+                    .select(ImmutableSet.of(this.world));
+            assertEquals(4, selected.size());
+            assertTrue(this.entities.containsAll(selected));
+        }
+        final Set<Entity> all = createPlan(SelectorPlan.Order.RANDOM, 0, false, null, null, -1.0)
+                .select(ImmutableSet.of(this.world));
+        assertEquals(ImmutableSet.copyOf(this.entities), all);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class InetAddressIndexTest {
+
+    private static InetAddress address(String address) throws UnknownHostException {
+        return InetAddress.getByName(address);
+    }
+
+    private static <V> List<V> matches(InetAddressIndex<V> index, InetAddress address) {
+        final List<V> matches = new ArrayList<>();
+        index.forEachMatch(address, matches::add);
+        return matches;
+    }
+
+    @Test
+    public void testEmpty() throws UnknownHostException {
+        final InetAddressIndex<String> index = new InetAddressIndex<>();
+        assertTrue(index.isEmpty());
+        assertTrue(matches(index, address("127.0.0.1")).isEmpty());
+        index.put(IpSet.fromCidr("127.0.0.1"), "a");
+        assertFalse(index.isEmpty());
+    }
+
+    @Test
+    public void testExactAddress() throws UnknownHostException {
+        final InetAddressIndex<String> index = new InetAddressIndex<>();
+        index.put(IpSet.fromCidr("192.168.1.1"), "a");
+        index.put(IpSet.fromCidr("192.168.1.1/32"), "b");
+        assertEquals(Arrays.asList("a", "b"), matches(index, address("192.168.1.1")));
+        assertTrue(matches(index, address("192.168.1.2")).isEmpty());
+    }
+
+    @Test
+    public void testRanges() throws UnknownHostException {
+        final InetAddressIndex<String> index = new InetAddressIndex<>();
+        index.put(IpSet.fromCidr("0.0.0.0/0"), "all");
+        index.put(IpSet.fromCidr("10.0.0.0/8"), "10/8");
+        index.put(IpSet.fromCidr("10.0.0.0/12"), "10/12");
+        index.put(IpSet.fromCidr("10.0.0.5"), "exact");
+        assertEquals(Arrays.asList("exact", "all", "10/8", "10/12"), matches(index, address("10.0.0.5")));
+        assertEquals(Arrays.asList("all", "10/8", "10/12"), matches(index, address("10.15.0.1")));
+        assertEquals(Arrays.asList("all", "10/8"), matches(index, address("10.16.0.1")));
+        assertEquals(Collections.singletonList("all"), matches(index, address("11.0.0.1")));
+    }
+
+    @Test
+    public void testSeparateAddressTypes() throws UnknownHostException {
+        final InetAddressIndex<String> index = new InetAddressIndex<>();
+        index.put(IpSet.fromCidr("0.0.0.0/0"), "ipv4");
+        index.put(IpSet.fromCidr("::/0"), "ipv6");
+        index.put(IpSet.fromCidr("2001:db8::/32"), "2001:db8::/32");
+        assertEquals(Collections.singletonList("ipv4"), matches(index, address("192.168.1.1")));
+        assertEquals(Arrays.asList("ipv6", "2001:db8::/32"), matches(index, address("2001:db8::1")));
+        assertEquals(Collections.singletonList("ipv6"), matches(index, address("2001:db9::1")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPrefixLength() throws UnknownHostException {
+        new InetAddressIndex<String>().put(address("10.0.0.0"), 33, "a");
+    }
+
+    @Test
+    public void testMatchesIpSets() throws UnknownHostException {
+        final Random random = new Random(0L);
+        final List<IpSet> ipSets = new ArrayList<>();
+        final InetAddressIndex<IpSet> index = new InetAddressIndex<>();
+        for (int i = 0; i < 200; i++) {
+            // Only use a few different first bytes, so that the ranges overlap
+            final byte[] bytes = new byte[4];
+            random.nextBytes(bytes);
+            bytes[0] = (byte) random.nextInt(4);
+            final IpSet ipSet = IpSet.fromAddrPrefix(InetAddress.getByAddress(bytes), random.nextInt(33));
+            ipSets.add(ipSet);
+            index.put(ipSet, ipSet);
+        }
+        for (int i = 0; i < 10000; i++) {
+            final byte[] bytes = new byte[4];
+            random.nextBytes(bytes);
+            bytes[0] = (byte) random.nextInt(4);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            final List<IpSet> expected = new ArrayList<>();
+            for (IpSet ipSet : ipSets) {
+                if (ipSet.test(address)) {
+                    expected.add(ipSet);
+                }
+            }
+            final List<IpSet> actual = matches(index, address);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTest {
+
+    private static InetAddress address(String address) throws UnknownHostException {
+        return InetAddress.getByName(address);
+    }
+
+    @Test
+    public void testCompleteSegments() throws UnknownHostException {
+        final IpSet ipSet = IpSet.fromCidr("192.168.1.0/24");
+        assertTrue(ipSet.test(address("192.168.1.0")));
+        assertTrue(ipSet.test(address("192.168.1.255")));
+        assertFalse(ipSet.test(address("192.168.2.1")));
+        assertFalse(ipSet.test(address("10.168.1.1")));
+    }
+
+    @Test
+    public void testPartialSegment() throws UnknownHostException {
+        // The first 4 bits of the second byte must match
+        final IpSet ipSet = IpSet.fromCidr("10.0.0.0/12");
+        assertTrue(ipSet.test(address("10.0.0.1")));
+        assertTrue(ipSet.test(address("10.15.255.255")));
+        assertFalse(ipSet.test(address("10.16.0.0")));
+        assertFalse(ipSet.test(address("10.128.0.0")));
+    }
+
+    @Test
+    public void testPartialSegmentIgnoresLaterSegments() throws UnknownHostException {
+        // The partial segment is the third byte, the fourth byte doesn't matter
+        final IpSet ipSet = IpSet.fromCidr("172.16.0.0/23");
+        assertTrue(ipSet.test(address("172.16.0.255")));
+        assertTrue(ipSet.test(address("172.16.1.255")));
+        assertFalse(ipSet.test(address("172.16.2.0")));
+        assertFalse(ipSet.test(address("172.16.128.0")));
+    }
+
+    @Test
+    public void testSingleAddress() throws UnknownHostException {
+        final IpSet ipSet = IpSet.fromCidr("127.0.0.1");
+        assertTrue(ipSet.test(address("127.0.0.1")));
+        assertFalse(ipSet.test(address("127.0.0.2")));
+    }
+
+    @Test
+    public void testAllAddresses() throws UnknownHostException {
+        final IpSet ipSet = IpSet.fromCidr("0.0.0.0/0");
+        assertTrue(ipSet.test(address("1.2.3.4")));
+        assertTrue(ipSet.test(address("255.255.255.255")));
+        // Only the addresses of the same type
+        assertFalse(ipSet.test(address("::1")));
+    }
+
+    @Test
+    public void testIpv6() throws UnknownHostException {
+        final IpSet ipSet = IpSet.fromCidr("2001:db8::/33");
+        assertTrue(ipSet.test(address("2001:db8::1")));
+        assertTrue(ipSet.test(address("2001:db8:7fff::1")));
+        assertFalse(ipSet.test(address("2001:db8:8000::1")));
+        assertFalse(ipSet.test(address("192.168.1.1")));
+    }
+
+    @Test
+    public void testNull() {
+        assertFalse(IpSet.fromCidr("0.0.0.0/0").test(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPrefixLength() {
+        IpSet.fromCidr("10.0.0.0/33");
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.LanternEntity;
+import org.lanternpowered.server.world.chunk.LanternChunk;
+import org.lanternpowered.server.world.chunk.LanternChunkManager;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class EntityIndexTest {
+
+    private LanternChunkManager chunkManager;
+    private EntityIndex entityIndex;
+
+    @Before
+    public void setup() {
+        this.chunkManager = mock(LanternChunkManager.class);
+        this.entityIndex = new EntityIndex(this.chunkManager);
+    }
+
+    private static LanternEntity createEntity(Vector3d position) {
+        // The real section key accessors are used, the index stores the section in the entity
+        final LanternEntity entity = mock(LanternEntity.class, withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+        entity.setLastChunkSectionKey(LanternChunk.NO_SECTION_KEY);
+        doReturn(UUID.randomUUID()).when(entity).getUniqueId();
+        doReturn(position).when(entity).getPosition();
+        doReturn(null).when(entity).getRemoveState();
+        return entity;
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        final LanternEntity entity = createEntity(Vector3d.ZERO);
+        assertNull(this.entityIndex.add(entity));
+        assertSame(entity, this.entityIndex.get(entity.getUniqueId()));
+        assertEquals(1, this.entityIndex.size());
+
+        // A entity with the same unique id can't be added twice
+        final LanternEntity duplicate = createEntity(Vector3d.ZERO);
+        doReturn(entity.getUniqueId()).when(duplicate).getUniqueId();
+        assertSame(entity, this.entityIndex.add(duplicate));
+        assertEquals(1, this.entityIndex.size());
+
+        this.entityIndex.remove(entity, false);
+        assertNull(this.entityIndex.get(entity.getUniqueId()));
+        assertEquals(0, this.entityIndex.size());
+    }
+
+    @Test
+    public void testTypedForEachSkipsDestroyedEntities() {
+        final LanternEntity entity = createEntity(Vector3d.ZERO);
+        final LanternEntity destroyed = createEntity(Vector3d.ZERO);
+        doReturn(LanternEntity.RemoveState.DESTROYED).when(destroyed).getRemoveState();
+        this.entityIndex.add(entity);
+        this.entityIndex.add(destroyed);
+
+        final List<LanternEntity> entities = new ArrayList<>();
+        this.entityIndex.forEach(LanternEntity.class, entities::add);
+        assertEquals(Collections.singletonList(entity), entities);
+    }
+
+    @Test
+    public void testUpdateSection() {
+        final LanternChunk chunk1 = mock(LanternChunk.class);
+        final LanternChunk chunk2 = mock(LanternChunk.class);
+        when(this.chunkManager.getOrLoadChunk(0, 0)).thenReturn(chunk1);
+        when(this.chunkManager.getChunkIfLoaded(0, 0)).thenReturn(chunk1);
+        when(this.chunkManager.getOrLoadChunk(1, 0)).thenReturn(chunk2);
+        when(this.chunkManager.getChunkIfLoaded(1, 0)).thenReturn(chunk2);
+
+        final LanternEntity entity = createEntity(new Vector3d(8, 40, 8));
+        this.entityIndex.add(entity);
+        this.entityIndex.updateSection(entity);
+        verify(chunk1).addEntity(entity, 2);
+        assertEquals(LanternChunk.sectionKey(0, 2, 0), entity.getLastChunkSectionKey());
+
+        // Moving within the same section doesn't change anything
+        doReturn(new Vector3d(9, 41, 9)).when(entity).getPosition();
+        this.entityIndex.updateSection(entity);
+        verify(chunk1).addEntity(entity, 2);
+
+        // Moving into the next chunk
+        doReturn(new Vector3d(20, 41, 9)).when(entity).getPosition();
+        this.entityIndex.updateSection(entity);
+        verify(chunk1).removeEntity(entity, 2);
+        verify(chunk2).addEntity(entity, 2);
+        assertEquals(LanternChunk.sectionKey(1, 2, 0), entity.getLastChunkSectionKey());
+
+        // Removing also removes it from the section
+        this.entityIndex.remove(entity, true);
+        verify(chunk2).removeEntity(entity, 2);
+        assertNull(this.entityIndex.get(entity.getUniqueId()));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.junit.Before;
+import org.junit.Test;
+import org.lanternpowered.server.entity.living.player.LanternPlayer;
+import org.lanternpowered.server.network.NetworkSession;
+import org.lanternpowered.server.network.message.Message;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class PlayerGridTest {
+
+    private PlayerGrid playerGrid;
+
+    @Before
+    public void setup() {
+        this.playerGrid = new PlayerGrid();
+    }
+
+    private static LanternPlayer createPlayer(Vector3d position) {
+        final LanternPlayer player = mock(LanternPlayer.class);
+        final NetworkSession session = mock(NetworkSession.class);
+        doReturn(position).when(player).getPosition();
+        doReturn(session).when(player).getConnection();
+        return player;
+    }
+
+    private Set<LanternPlayer> getInRange(Vector3d center, double range) {
+        final Set<LanternPlayer> players = new HashSet<>();
+        this.playerGrid.forEachInRange(center, range, player -> assertTrue(players.add(player)));
+        return players;
+    }
+
+    @Test
+    public void testForEachInRange() {
+        final LanternPlayer near = createPlayer(new Vector3d(4.0, 64.0, 4.0));
+        final LanternPlayer border = createPlayer(new Vector3d(20.0, 64.0, 4.0));
+        final LanternPlayer far = createPlayer(new Vector3d(200.0, 64.0, -300.0));
+        this.playerGrid.update(near);
+        this.playerGrid.update(border);
+        this.playerGrid.update(far);
+
+        final Set<LanternPlayer> players = getInRange(new Vector3d(4.0, 64.0, 4.0), 16.0);
+        assertEquals(2, players.size());
+        assertTrue(players.contains(near));
+        assertTrue(players.contains(border));
+
+        // The vertical distance is also taken into account
+        assertTrue(getInRange(new Vector3d(4.0, 200.0, 4.0), 16.0).isEmpty());
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        final LanternPlayer player = createPlayer(new Vector3d(0.5, 64.0, 0.5));
+        this.playerGrid.update(player);
+        assertEquals(1, getInRange(Vector3d.ZERO, 70.0).size());
+
+        // Move the player to a different cell
+        final Vector3d position = new Vector3d(-100.0, 64.0, 50.0);
+        doReturn(position).when(player).getPosition();
+        this.playerGrid.update(player);
+        assertTrue(getInRange(new Vector3d(0.5, 64.0, 0.5), 8.0).isEmpty());
+        assertEquals(1, getInRange(position, 8.0).size());
+
+        this.playerGrid.remove(player);
+        assertTrue(getInRange(position, 8.0).isEmpty());
+    }
+
+    @Test
+    public void testBroadcast() {
+        final LanternPlayer near = createPlayer(new Vector3d(-3.0, 10.0, 7.0));
+        final LanternPlayer far = createPlayer(new Vector3d(300.0, 10.0, 7.0));
+        this.playerGrid.update(near);
+        this.playerGrid.update(far);
+
+        final Message message = mock(Message.class);
+        final AtomicInteger requests = new AtomicInteger();
+        final Supplier<Message> supplier = () -> {
+            requests.incrementAndGet();
+            return message;
+        };
+        this.playerGrid.broadcast(supplier, new Vector3d(0.0, 10.0, 0.0), 32.0);
+        verify(near.getConnection(), times(1)).send(message);
+        verify(far.getConnection(), never()).send(message);
+        assertEquals(1, requests.get());
+
+        // The message shouldn't be created if there are no players in range
+        this.playerGrid.broadcast(supplier, new Vector3d(-500.0, 10.0, 0.0), 32.0);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testRandomPositions() {
+        final Random random = new Random(1937);
+        final List<LanternPlayer> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final LanternPlayer player = createPlayer(new Vector3d(
+                    random.nextDouble() * 512.0 - 256.0, 64.0, random.nextDouble() * 512.0 - 256.0));
+            this.playerGrid.update(player);
+            players.add(player);
+        }
+        for (int i = 0; i < 100; i++) {
+            final Vector3d center = new Vector3d(random.nextDouble() * 512.0 - 256.0, 64.0, random.nextDouble() * 512.0 - 256.0);
+            // Cover both the cell lookup and the fallback that visits all the cells
+            final double range = i % 2 == 0 ? random.nextDouble() * 64.0 : 200.0 + random.nextDouble() * 300.0;
+            final Set<LanternPlayer> expected = new HashSet<>();
+            for (LanternPlayer player : players) {
+                if (player.getPosition().distanceSquared(center) <= range * range) {
+                    expected.add(player);
+                }
+            }
+            assertEquals(expected, getInRange(center, range));
+        }
+    }
+}
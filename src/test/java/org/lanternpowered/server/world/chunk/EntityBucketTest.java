@@ -0,0 +1,154 @@
+/*
+ * This file is part of LanternServer, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) LanternPowered <https://www.lanternpowered.org>
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the Software), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED AS IS, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.lanternpowered.server.world.chunk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.lanternpowered.server.entity.LanternEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+public class EntityBucketTest {
+
+    private static List<LanternEntity> createEntities(int amount) {
+        final List<LanternEntity> entities = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            entities.add(mock(LanternEntity.class));
+        }
+        return entities;
+    }
+
+    private static List<LanternEntity> collect(EntityBucket bucket) {
+        final List<LanternEntity> entities = new ArrayList<>();
+        bucket.forEach(entities::add);
+        return entities;
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        final EntityBucket bucket = new EntityBucket();
+        assertTrue(bucket.isEmpty());
+
+        final List<LanternEntity> entities = createEntities(20);
+        entities.forEach(bucket::add);
+        assertEquals(20, bucket.count());
+        assertEquals(entities, collect(bucket));
+
+        // Entities can only be present once
+        bucket.add(entities.get(0));
+        assertEquals(20, bucket.count());
+
+        assertTrue(bucket.remove(entities.get(5)));
+        assertFalse(bucket.remove(entities.get(5)));
+        assertFalse(bucket.remove(mock(LanternEntity.class)));
+        assertEquals(19, bucket.count());
+        assertFalse(collect(bucket).contains(entities.get(5)));
+    }
+
+    @Test
+    public void testRemoveAfterCompaction() {
+        final EntityBucket bucket = new EntityBucket();
+        final List<LanternEntity> entities = createEntities(100);
+        entities.forEach(bucket::add);
+
+        // Removing half of the entities will compact the bucket multiple times,
+        // the remaining entities should still be found in their new slots
+        for (int i = 0; i < entities.size(); i += 2) {
+            assertTrue(bucket.remove(entities.get(i)));
+        }
+        assertEquals(50, bucket.count());
+        for (int i = 1; i < entities.size(); i += 2) {
+            assertTrue(bucket.remove(entities.get(i)));
+        }
+        assertTrue(bucket.isEmpty());
+        assertTrue(collect(bucket).isEmpty());
+    }
+
+    @Test
+    public void testRemoveIf() {
+        final EntityBucket bucket = new EntityBucket();
+        final List<LanternEntity> entities = createEntities(40);
+        entities.forEach(bucket::add);
+
+        final List<LanternEntity> removed = entities.subList(0, 30);
+        bucket.removeIf(removed::contains);
+        assertEquals(10, bucket.count());
+        assertEquals(entities.subList(30, 40), collect(bucket));
+        // The removed entities are no longer indexed
+        assertFalse(bucket.remove(entities.get(0)));
+        assertTrue(bucket.remove(entities.get(35)));
+    }
+
+    @Test
+    public void testCompactionWhileIterating() {
+        final EntityBucket bucket = new EntityBucket();
+        final List<LanternEntity> entities = createEntities(64);
+        entities.forEach(bucket::add);
+
+        final Set<LanternEntity> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<LanternEntity> added = createEntities(16);
+        bucket.forEach(entity -> {
+            assertTrue(visited.add(entity));
+            // Removing every entity triggers compactions while the old array is still being iterated
+            assertTrue(bucket.remove(entity));
+            if (visited.size() <= added.size()) {
+                bucket.add(added.get(visited.size() - 1));
+            }
+        });
+
+        // All the original entities are visited exactly once, the ones
+        // that were added while iterating are not visited
+        assertEquals(entities.size(), visited.size());
+        assertTrue(visited.containsAll(entities));
+        assertEquals(added.size(), bucket.count());
+        assertEquals(added, collect(bucket));
+    }
+
+    @Test
+    public void testTypedForEachSkipsDestroyedEntities() {
+        final EntityBucket bucket = new EntityBucket();
+        final LanternEntity entity = mock(LanternEntity.class);
+        final LanternEntity destroyed = mock(LanternEntity.class);
+        when(destroyed.getRemoveState()).thenReturn(LanternEntity.RemoveState.DESTROYED);
+        bucket.add(entity);
+        bucket.add(destroyed);
+
+        final List<LanternEntity> entities = new ArrayList<>();
+        bucket.forEach(LanternEntity.class, entities::add);
+        assertEquals(Collections.singletonList(entity), entities);
+        // The untyped iteration still includes them
+        assertEquals(2, collect(bucket).size());
+    }
+}